@@ -0,0 +1,48 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler (allocation rate) for a range of thread counts.
+ *
+ * All JMH command line options are supported, for instance a benchmark regular expression or -p strategy=HASH_MAP.
+ * Thread counts are taken from the system property "threads" as a comma separated list, default is "1,4".
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public class BenchmarkRunner {
+
+	public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+		CommandLineOptions cli = new CommandLineOptions(args);
+		for(String threads : System.getProperty("threads", "1,4").split(",")){
+			int count = Integer.parseInt(threads.trim());
+			new Runner(
+				new OptionsBuilder()
+					.parent(cli)
+					.threads(count)
+					.addProfiler(GCProfiler.class)
+					.build()
+			).run();
+		}
+	}
+}
@@ -0,0 +1,116 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.vandermeer.skb.collections.CacheStrategy;
+import de.vandermeer.skb.collections.cache.CacheMap;
+
+/**
+ * Benchmarks for all cache strategies, reading keys with a skewed distribution and loading missing keys.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CacheStrategyBenchmark {
+
+	/** The strategy, all constants if not set otherwise. */
+	@Param
+	public CacheStrategy strategy;
+
+	/** Maximum size of the cache. */
+	@Param({"1000", "100000"})
+	public int maximumSize;
+
+	/** Number of distinct keys, ten times the maximum size. */
+	String[] keys;
+
+	/** Values for the keys. */
+	Integer[] values;
+
+	/** Key positions following a skewed distribution, a few keys are read much more often than most. */
+	int[] probes;
+
+	/** The cache. */
+	CacheMap<Integer> cache;
+
+	@Setup(Level.Trial)
+	public void setup(){
+		this.values = Fixtures.INTEGERS(this.maximumSize * 10);
+		this.keys = Fixtures.KEYS(this.values);
+		this.cache = this.strategy.get(Integer.class, this.maximumSize);
+		Random random = new Random(42);
+		this.probes = new int[Fixtures.PROBE_COUNT];
+		for(int i=0; i<this.probes.length; i++){
+			//a cubed uniform value favours small positions
+			double u = random.nextDouble();
+			this.probes[i] = (int)(u * u * u * this.keys.length);
+		}
+	}
+
+	/** Per thread state for random access. */
+	@State(Scope.Thread)
+	public static class Cursor {
+		int next;
+
+		int next(int[] probes){
+			int ret = probes[this.next];
+			this.next = (this.next + 1) & (probes.length - 1);
+			return ret;
+		}
+	}
+
+	@Benchmark
+	public Integer getOrLoad(Cursor cursor){
+		int pos = cursor.next(this.probes);
+		Integer ret = this.cache.get(this.keys[pos]);
+		if(ret==null){
+			ret = this.values[pos];
+			this.cache.put(this.keys[pos], ret);
+		}
+		return ret;
+	}
+
+	@Benchmark
+	@Threads(4)
+	public Integer getOrLoadShared(Cursor cursor){
+		if(!this.strategy.isConcurrent()){
+			return null;
+		}
+		return this.getOrLoad(cursor);
+	}
+}
@@ -0,0 +1,130 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections.benchmarks;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.vandermeer.skb.base.Skb_Transformer;
+import de.vandermeer.skb.collections.CollectionFilters;
+import de.vandermeer.skb.collections.CollectionTools;
+import de.vandermeer.skb.collections.ListStrategy;
+import de.vandermeer.skb.collections.SetStrategy;
+
+/**
+ * Benchmarks for the transformations in {@link CollectionTools} and the filters in {@link CollectionFilters}.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CollectionToolsBenchmark {
+
+	/** Target list strategy. */
+	@Param({"ARRAY_LIST", "LINKED_LIST"})
+	public ListStrategy listStrategy;
+
+	/** Target set strategy. */
+	@Param({"HASH_SET", "LINKED_HASH_SET"})
+	public SetStrategy setStrategy;
+
+	/** Number of elements. */
+	@Param({"100", "10000", "1000000"})
+	public int size;
+
+	/** Input collection. */
+	List<Integer> input;
+
+	/** Input arrays for the varargs filter. */
+	Integer[][] arrays;
+
+	/** Transformer from integer to string. */
+	final Skb_Transformer<Integer, String> transformer = new Skb_Transformer<Integer, String>(){
+		@Override public String transform(Integer i){
+			return Integer.toString(i);
+		}
+	};
+
+	/** Predicate for even numbers. */
+	final Predicate<Integer> even = i -> (i & 1)==0;
+
+	/** Filter instance. */
+	final CollectionFilters<Integer> filters = new CollectionFilters<Integer>(){};
+
+	@Setup(Level.Trial)
+	public void setup(){
+		Integer[] values = Fixtures.INTEGERS(this.size);
+		this.input = Arrays.asList(values);
+		int half = this.size / 2;
+		this.arrays = new Integer[][]{Arrays.copyOfRange(values, 0, half), Arrays.copyOfRange(values, half, this.size)};
+	}
+
+	@Benchmark
+	public List<String> transformToList(){
+		return CollectionTools.TRANSFORM(this.input, this.transformer, String.class, this.listStrategy);
+	}
+
+	@Benchmark
+	public Set<String> transformToSet(){
+		return CollectionTools.TRANSFORM(this.input, this.transformer, String.class, this.setStrategy);
+	}
+
+	@Benchmark
+	public List<String> transformToListParallel(){
+		return CollectionTools.TRANSFORM(this.input, this.transformer, String.class, this.listStrategy, null, 0);
+	}
+
+	@Benchmark
+	public Set<String> transformToSetParallel(){
+		return CollectionTools.TRANSFORM(this.input, this.transformer, String.class, this.setStrategy, null, 0);
+	}
+
+	@Benchmark
+	public Collection<Integer> filter(){
+		return this.filters.filter(this.even, this.input);
+	}
+
+	@Benchmark
+	public Collection<Integer> filterArrays(){
+		return this.filters.filter(this.even, this.arrays);
+	}
+
+	@Benchmark
+	public List<Integer> filterToList(){
+		return this.filters.filter(this.even, this.input, this.listStrategy);
+	}
+}
@@ -0,0 +1,208 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections.benchmarks;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.vandermeer.skb.collections.MapStrategy;
+import de.vandermeer.skb.collections.QueueStrategy;
+import de.vandermeer.skb.collections.RingBufferStrategy;
+import de.vandermeer.skb.collections.SetStrategy;
+
+/**
+ * Benchmarks for the thread-safe map, set and queue strategies under contention.
+ * The group annotations give the ratio of readers to writers and producers to consumers, the total thread count is set with the JMH option -t or the runner's thread counts.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContendedBenchmark {
+
+	/** Shared map, read by most and written by some threads. */
+	@State(Scope.Group)
+	public static class SharedMap {
+
+		/** The strategy, only thread-safe constants. */
+		@Param({"HASH_TABLE", "CONCURRENT_HASH_MAP"})
+		public MapStrategy mapStrategy;
+
+		/** Number of entries. */
+		@Param({"10000", "1000000"})
+		public int size;
+
+		Integer[] values;
+		String[] keys;
+		Map<String, Integer> map;
+
+		@Setup(Level.Trial)
+		public void setup(){
+			this.values = Fixtures.INTEGERS(this.size);
+			this.keys = Fixtures.KEYS(this.values);
+			this.map = this.mapStrategy.get(Integer.class, this.size);
+			for(int i=0; i<this.size; i++){
+				this.map.put(this.keys[i], this.values[i]);
+			}
+		}
+	}
+
+	/** Shared set, read by most and written by some threads. */
+	@State(Scope.Group)
+	public static class SharedSet {
+
+		/** The strategy, only thread-safe constants. */
+		@Param({"CONCURRENT_HASH_SET", "STRIPED_HASH_SET", "CONCURRENT_LINKED_HASH_SET"})
+		public SetStrategy setStrategy;
+
+		/** Number of elements. */
+		@Param({"10000", "1000000"})
+		public int size;
+
+		Integer[] values;
+		Set<Integer> set;
+
+		@Setup(Level.Trial)
+		public void setup(){
+			this.values = Fixtures.INTEGERS(this.size);
+			this.set = this.setStrategy.get(Integer.class, this.size);
+			for(int i=0; i<this.size; i+=2){
+				this.set.add(this.values[i]);
+			}
+		}
+	}
+
+	/** Shared queue with producers and consumers. */
+	@State(Scope.Group)
+	public static class SharedQueue {
+
+		/** The strategy, only thread-safe constants that hold elements. */
+		@Param({"CONCURRENT_LINKED_QUEUE", "LINKED_BLOCKING_QUEUE", "LINKED_TRANSFER_QUEUE", "PRIORITY_BLOCKING_QUEUE", "CONCURRENT_LINKED_DEQUE", "LINKED_BLOCKING_DEQUE"})
+		public QueueStrategy queueStrategy;
+
+		Queue<Integer> queue;
+
+		@Setup(Level.Iteration)
+		public void setup(){
+			this.queue = this.queueStrategy.get(Integer.class);
+		}
+	}
+
+	/** Shared ring buffer with producers and consumers. */
+	@State(Scope.Group)
+	public static class SharedRingBuffer {
+
+		/** The strategy, only constants for several producers and consumers. */
+		@Param({"MPMC_RING_BUFFER"})
+		public RingBufferStrategy ringBufferStrategy;
+
+		Queue<Integer> queue;
+
+		@Setup(Level.Iteration)
+		public void setup(){
+			this.queue = this.ringBufferStrategy.get(Integer.class, 1024);
+		}
+	}
+
+	/** Per thread random source. */
+	@State(Scope.Thread)
+	public static class Probe {
+		final Random random = new Random();
+
+		int next(int size){
+			return this.random.nextInt(size);
+		}
+	}
+
+	@Benchmark
+	@Group("mapReadWrite")
+	@GroupThreads(3)
+	public Integer mapGet(SharedMap shared, Probe probe){
+		return shared.map.get(shared.keys[probe.next(shared.size)]);
+	}
+
+	@Benchmark
+	@Group("mapReadWrite")
+	@GroupThreads(1)
+	public Integer mapPut(SharedMap shared, Probe probe){
+		int i = probe.next(shared.size);
+		return shared.map.put(shared.keys[i], shared.values[i]);
+	}
+
+	@Benchmark
+	@Group("setReadWrite")
+	@GroupThreads(3)
+	public boolean setContains(SharedSet shared, Probe probe){
+		return shared.set.contains(shared.values[probe.next(shared.size)]);
+	}
+
+	@Benchmark
+	@Group("setReadWrite")
+	@GroupThreads(1)
+	public boolean setAddRemove(SharedSet shared, Probe probe){
+		Integer value = shared.values[probe.next(shared.size)];
+		return shared.set.add(value) && shared.set.remove(value);
+	}
+
+	@Benchmark
+	@Group("queueProduceConsume")
+	@GroupThreads(2)
+	public boolean queueOffer(SharedQueue shared){
+		return shared.queue.offer(42);
+	}
+
+	@Benchmark
+	@Group("queueProduceConsume")
+	@GroupThreads(2)
+	public Integer queuePoll(SharedQueue shared){
+		return shared.queue.poll();
+	}
+
+	@Benchmark
+	@Group("ringBufferProduceConsume")
+	@GroupThreads(2)
+	public boolean ringBufferOffer(SharedRingBuffer shared){
+		return shared.queue.offer(42);
+	}
+
+	@Benchmark
+	@Group("ringBufferProduceConsume")
+	@GroupThreads(2)
+	public Integer ringBufferPoll(SharedRingBuffer shared){
+		return shared.queue.poll();
+	}
+}
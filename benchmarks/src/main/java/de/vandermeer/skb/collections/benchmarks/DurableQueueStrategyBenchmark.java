@@ -0,0 +1,106 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.vandermeer.skb.collections.benchmarks;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.vandermeer.skb.collections.DurableQueueStrategy;
+import de.vandermeer.skb.collections.ValueCodecs;
+
+/**
+ * Benchmarks for all durable queue strategies, offering and polling small elements in a temporary directory.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DurableQueueStrategyBenchmark {
+
+	/** The strategy, all constants if not set otherwise. */
+	@Param
+	public DurableQueueStrategy strategy;
+
+	/** Number of offers after which elements are forced to disk, 0 for full segments only. */
+	@Param({"0", "1000"})
+	public int syncInterval;
+
+	/** Number of elements offered and polled per invocation. */
+	@Param({"10000"})
+	public int size;
+
+	/** Directory of the queue. */
+	Path directory;
+
+	/** The queue. */
+	Queue<Long> queue;
+
+	/** Element to offer. */
+	Long value = 42L;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException{
+		this.directory = Files.createTempDirectory("benchmark");
+		this.queue = this.strategy.get(this.directory, ValueCodecs.LONG, 1 << 26, this.syncInterval);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException{
+		((Closeable)this.queue).close();
+		try(DirectoryStream<Path> files = Files.newDirectoryStream(this.directory)){
+			for(Path file : files){
+				Files.delete(file);
+			}
+		}
+		Files.delete(this.directory);
+	}
+
+	@Benchmark
+	public int offerPoll(){
+		for(int i=0; i<this.size; i++){
+			this.queue.offer(this.value);
+		}
+		int ret = 0;
+		while(this.queue.poll()!=null){
+			ret++;
+		}
+		return ret;
+	}
+}
@@ -0,0 +1,76 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections.benchmarks;
+
+import java.util.Random;
+
+/**
+ * Shared test data for benchmarks.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public abstract class Fixtures {
+
+	/** Number of random probes, a power of two. */
+	public static final int PROBE_COUNT = 1 << 12;
+
+	/**
+	 * Returns integers 0 to size-1 in random order.
+	 * @param size number of integers
+	 * @return new array of integers
+	 */
+	public static Integer[] INTEGERS(int size){
+		Integer[] ret = new Integer[size];
+		for(int i=0; i<size; i++){
+			ret[i] = i;
+		}
+		Random random = new Random(size);
+		for(int i=size-1; i>0; i--){
+			int j = random.nextInt(i + 1);
+			Integer tmp = ret[i];
+			ret[i] = ret[j];
+			ret[j] = tmp;
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns string keys for the given integers.
+	 * @param values input integers
+	 * @return new array of keys
+	 */
+	public static String[] KEYS(Integer[] values){
+		String[] ret = new String[values.length];
+		for(int i=0; i<values.length; i++){
+			ret[i] = "key/" + values[i];
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns random positions in the range 0 to size-1.
+	 * @param size range of the positions
+	 * @param random random generator
+	 * @return new array of {@link #PROBE_COUNT} positions
+	 */
+	public static int[] PROBES(int size, Random random){
+		int[] ret = new int[PROBE_COUNT];
+		for(int i=0; i<ret.length; i++){
+			ret[i] = random.nextInt(size);
+		}
+		return ret;
+	}
+}
@@ -0,0 +1,199 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections.benchmarks;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import de.vandermeer.skb.collections.MapStrategy;
+
+/**
+ * Benchmarks for all map strategies.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapStrategyBenchmark {
+
+	/** The strategy, all constants if not set otherwise. */
+	@Param
+	public MapStrategy strategy;
+
+	/** Number of entries. */
+	@Param({"100", "10000", "1000000"})
+	public int size;
+
+	/** Values to put. */
+	Integer[] values;
+
+	/** Keys to put, same instances are used for lookups so identity maps work. */
+	String[] keys;
+
+	/** Prefilled map, only read by benchmarks. */
+	Map<String, Integer> filled;
+
+	/** Random positions for access benchmarks. */
+	int[] probes;
+
+	@Setup(Level.Trial)
+	public void setup(){
+		this.values = Fixtures.INTEGERS(this.size);
+		this.keys = Fixtures.KEYS(this.values);
+		if(this.strategy==MapStrategy.IMMUTABLE){
+			//immutable maps can only be built from a map
+			this.filled = this.strategy.get(FILL(new HashMap<>(), this.keys, this.values));
+		}
+		else{
+			this.filled = FILL(this.strategy.get(Integer.class, this.size), this.keys, this.values);
+		}
+		this.probes = Fixtures.PROBES(this.size, new Random(42));
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException{
+		CLOSE(this.filled);
+	}
+
+	static Map<String, Integer> FILL(Map<String, Integer> map, String[] keys, Integer[] values){
+		for(int i=0; i<keys.length; i++){
+			map.put(keys[i], values[i]);
+		}
+		return map;
+	}
+
+	static void CLOSE(Map<?, ?> map) throws IOException{
+		if(map instanceof Closeable){
+			((Closeable)map).close();
+		}
+	}
+
+	/** Per thread state for random access. */
+	@State(Scope.Thread)
+	public static class Cursor {
+		int next;
+
+		int next(int[] probes){
+			int ret = probes[this.next];
+			this.next = (this.next + 1) & (probes.length - 1);
+			return ret;
+		}
+	}
+
+	/** Per invocation state with a filled map to remove from. */
+	@State(Scope.Thread)
+	public static class Removable {
+		Map<String, Integer> map;
+
+		@Setup(Level.Invocation)
+		public void setup(MapStrategyBenchmark benchmark){
+			this.map = benchmark.strategy.get(benchmark.filled);
+		}
+
+		@TearDown(Level.Invocation)
+		public void tearDown() throws IOException{
+			CLOSE(this.map);
+		}
+	}
+
+	/** Per invocation state for maps created by a benchmark, closed afterwards. */
+	@State(Scope.Thread)
+	public static class Created {
+		Map<String, Integer> map;
+
+		@TearDown(Level.Invocation)
+		public void tearDown() throws IOException{
+			CLOSE(this.map);
+		}
+	}
+
+	@Benchmark
+	public Map<String, Integer> put(Created created){
+		if(this.strategy==MapStrategy.IMMUTABLE){
+			return created.map = this.strategy.get(FILL(new HashMap<>(), this.keys, this.values));
+		}
+		Map<String, Integer> ret = created.map = this.strategy.get(Integer.class);
+		for(int i=0; i<this.size; i++){
+			ret.put(this.keys[i], this.values[i]);
+		}
+		return ret;
+	}
+
+	@Benchmark
+	public Map<String, Integer> putPresized(Created created){
+		if(this.strategy==MapStrategy.IMMUTABLE){
+			return created.map = this.strategy.get(FILL(new HashMap<>(), this.keys, this.values));
+		}
+		Map<String, Integer> ret = created.map = this.strategy.get(Integer.class, this.size);
+		for(int i=0; i<this.size; i++){
+			ret.put(this.keys[i], this.values[i]);
+		}
+		return ret;
+	}
+
+	@Benchmark
+	public Integer get(Cursor cursor){
+		return this.filled.get(this.keys[cursor.next(this.probes)]);
+	}
+
+	@Benchmark
+	public boolean containsKey(Cursor cursor){
+		return this.filled.containsKey(this.keys[cursor.next(this.probes)]);
+	}
+
+	@Benchmark
+	public void iterate(Blackhole blackhole){
+		for(Map.Entry<String, Integer> entry : this.filled.entrySet()){
+			blackhole.consume(entry.getValue());
+		}
+	}
+
+	@Benchmark
+	public int remove(Removable removable){
+		Map<String, Integer> map = removable.map;
+		if(this.strategy==MapStrategy.IMMUTABLE){
+			//immutable maps do not support removal
+			return map.size();
+		}
+		for(String key : this.keys){
+			map.remove(key);
+		}
+		return map.size();
+	}
+}
@@ -0,0 +1,131 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.vandermeer.skb.collections.benchmarks;
+
+import java.util.Collections;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import de.vandermeer.skb.base.Skb_Transformer;
+import de.vandermeer.skb.collections.QueueStrategy;
+import de.vandermeer.skb.collections.RingBufferStrategy;
+import de.vandermeer.skb.collections.concurrent.QueueStage;
+
+/**
+ * Benchmarks for a queue processing stage, pushing elements through a source queue, the stage and a target queue.
+ * A batch size of 1 shows the per-element overhead the batching avoids.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QueueStageBenchmark {
+
+	/** Number of elements per invocation. */
+	static final int ELEMENTS = 10000;
+
+	/** Strategy for source and target, a queue or ring buffer strategy constant permitting several producers and consumers. */
+	@Param({"CONCURRENT_LINKED_QUEUE", "LINKED_BLOCKING_QUEUE", "MPMC_RING_BUFFER"})
+	public String strategy;
+
+	/** Number of workers of the stage. */
+	@Param({"1", "2"})
+	public int workers;
+
+	/** Maximum number of elements per batch. */
+	@Param({"1", "16", "256"})
+	public int batchSize;
+
+	/** Elements to push. */
+	Integer[] values;
+
+	/** Source queue. */
+	Queue<Integer> source;
+
+	/** Target queue. */
+	Queue<Integer> target;
+
+	/** The stage. */
+	QueueStage<Integer, Integer> stage;
+
+	@Setup(Level.Trial)
+	public void setup(){
+		this.values = Fixtures.INTEGERS(ELEMENTS);
+		this.source = this.queue();
+		this.target = this.queue();
+		Skb_Transformer<Integer, Integer> increment = new Skb_Transformer<Integer, Integer>(){
+			@Override
+			public Integer transform(Integer i){
+				return i + 1;
+			}
+		};
+		this.stage = new QueueStage<Integer, Integer>(Collections.singletonList(this.source), increment, this.target, this.workers, this.batchSize, null).start();
+	}
+
+	/**
+	 * Returns a new queue of the strategy, ring buffers with capacity for all elements.
+	 * @return new queue
+	 */
+	private Queue<Integer> queue(){
+		if(this.strategy.endsWith("_RING_BUFFER")){
+			return RingBufferStrategy.valueOf(this.strategy).get(Integer.class, ELEMENTS);
+		}
+		return QueueStrategy.valueOf(this.strategy).get(Integer.class, ELEMENTS);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown(){
+		this.stage.close();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ELEMENTS)
+	public void pipe(Blackhole bh){
+		int offered = 0;
+		int received = 0;
+		while(received<ELEMENTS){
+			while(offered<ELEMENTS && this.source.offer(this.values[offered])){
+				offered++;
+			}
+			Integer e;
+			while((e = this.target.poll())!=null){
+				bh.consume(e);
+				received++;
+			}
+		}
+	}
+}
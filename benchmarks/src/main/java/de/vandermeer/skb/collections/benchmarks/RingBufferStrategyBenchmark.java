@@ -0,0 +1,97 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import de.vandermeer.skb.collections.RingBufferStrategy;
+import de.vandermeer.skb.collections.concurrent.RingBuffer;
+
+/**
+ * Benchmarks for all ring buffer strategies, single threaded, see {@link ContendedBenchmark} for producers and consumers on several threads.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RingBufferStrategyBenchmark {
+
+	/** The strategy, all constants if not set otherwise. */
+	@Param
+	public RingBufferStrategy strategy;
+
+	/** Number of elements, also the capacity. */
+	@Param({"100", "10000", "1000000"})
+	public int size;
+
+	/** Elements to offer. */
+	Integer[] values;
+
+	/** Reused ring buffer, empty between invocations. */
+	RingBuffer<Integer> queue;
+
+	@Setup(Level.Trial)
+	public void setup(){
+		this.values = Fixtures.INTEGERS(this.size);
+		this.queue = this.strategy.get(Integer.class, this.size);
+	}
+
+	@Benchmark
+	public RingBuffer<Integer> offer(){
+		RingBuffer<Integer> ret = this.strategy.get(Integer.class, this.size);
+		for(Integer value : this.values){
+			ret.offer(value);
+		}
+		return ret;
+	}
+
+	@Benchmark
+	public int offerPoll(){
+		for(Integer value : this.values){
+			this.queue.offer(value);
+		}
+		int ret = 0;
+		while(this.queue.poll()!=null){
+			ret++;
+		}
+		return ret;
+	}
+
+	@Benchmark
+	public int fillDrain(Blackhole blackhole){
+		int[] next = {0};
+		this.queue.fill(() -> this.values[next[0]++], this.size);
+		return this.queue.drain(blackhole::consume, this.size);
+	}
+}
@@ -0,0 +1,130 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.vandermeer.skb.collections.benchmarks;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import de.vandermeer.skb.collections.SortedMapStrategy;
+
+/**
+ * Benchmarks for all sorted map strategies, using time stamps as keys.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SortedMapStrategyBenchmark {
+
+	/** The strategy, all constants if not set otherwise. */
+	@Param
+	public SortedMapStrategy strategy;
+
+	/** Number of entries. */
+	@Param({"100", "10000", "1000000"})
+	public int size;
+
+	/** Keys to put, time stamps 10 apart in random order. */
+	Long[] keys;
+
+	/** Prefilled map, only read by benchmarks. */
+	NavigableMap<Long, Integer> filled;
+
+	/** Random positions for access benchmarks. */
+	int[] probes;
+
+	@Setup(Level.Trial)
+	public void setup(){
+		Integer[] values = Fixtures.INTEGERS(this.size);
+		this.keys = new Long[this.size];
+		for(int i=0; i<this.size; i++){
+			this.keys[i] = values[i] * 10L;
+		}
+		this.filled = this.strategy.get(Long.class, Integer.class);
+		for(int i=0; i<this.size; i++){
+			this.filled.put(this.keys[i], i);
+		}
+		this.probes = Fixtures.PROBES(this.size, new Random(42));
+	}
+
+	/** Per thread state for random access. */
+	@State(Scope.Thread)
+	public static class Cursor {
+		int next;
+
+		int next(int[] probes){
+			int ret = probes[this.next];
+			this.next = (this.next + 1) & (probes.length - 1);
+			return ret;
+		}
+	}
+
+	@Benchmark
+	public NavigableMap<Long, Integer> put(){
+		NavigableMap<Long, Integer> ret = this.strategy.get(Long.class, Integer.class);
+		for(int i=0; i<this.size; i++){
+			ret.put(this.keys[i], i);
+		}
+		return ret;
+	}
+
+	@Benchmark
+	public Integer get(Cursor cursor){
+		return this.filled.get(this.keys[cursor.next(this.probes)]);
+	}
+
+	@Benchmark
+	public Long floorKey(Cursor cursor){
+		//between two keys, the lookup of a time stamp falling into an interval
+		return this.filled.floorKey(this.keys[cursor.next(this.probes)] + 5);
+	}
+
+	@Benchmark
+	public void range(Cursor cursor, Blackhole blackhole){
+		long from = this.keys[cursor.next(this.probes)];
+		for(Map.Entry<Long, Integer> entry : this.filled.subMap(from, true, from + 1000, false).entrySet()){
+			blackhole.consume(entry.getValue());
+		}
+	}
+
+	@Benchmark
+	public void iterate(Blackhole blackhole){
+		for(Map.Entry<Long, Integer> entry : this.filled.entrySet()){
+			blackhole.consume(entry.getValue());
+		}
+	}
+}
@@ -0,0 +1,136 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections.benchmarks;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.SortedSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import de.vandermeer.skb.collections.SortedSetStrategy;
+
+/**
+ * Benchmarks for all sorted set strategies.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SortedSetStrategyBenchmark {
+
+	/** The strategy, all constants if not set otherwise. */
+	@Param
+	public SortedSetStrategy strategy;
+
+	/** Number of elements. */
+	@Param({"100", "10000", "1000000"})
+	public int size;
+
+	/** Elements to add. */
+	Integer[] values;
+
+	/** Prefilled set, only read by benchmarks. */
+	SortedSet<Integer> filled;
+
+	/** Random positions for access benchmarks. */
+	int[] probes;
+
+	@Setup(Level.Trial)
+	public void setup(){
+		this.values = Fixtures.INTEGERS(this.size);
+		this.filled = this.strategy.get(Arrays.asList(this.values));
+		this.probes = Fixtures.PROBES(this.size, new Random(42));
+	}
+
+	/** Per thread state for random access. */
+	@State(Scope.Thread)
+	public static class Cursor {
+		int next;
+
+		int next(int[] probes){
+			int ret = probes[this.next];
+			this.next = (this.next + 1) & (probes.length - 1);
+			return ret;
+		}
+	}
+
+	/** Per invocation state with a filled set to remove from. */
+	@State(Scope.Thread)
+	public static class Removable {
+		SortedSet<Integer> set;
+
+		@Setup(Level.Invocation)
+		public void setup(SortedSetStrategyBenchmark benchmark){
+			this.set = benchmark.strategy.get(benchmark.filled);
+		}
+	}
+
+	@Benchmark
+	public SortedSet<Integer> add(){
+		if(this.strategy==SortedSetStrategy.IMMUTABLE){
+			//immutable sets can only be built from a collection
+			return this.strategy.get(Arrays.asList(this.values));
+		}
+		SortedSet<Integer> ret = this.strategy.get(Integer.class);
+		for(Integer value : this.values){
+			ret.add(value);
+		}
+		return ret;
+	}
+
+	@Benchmark
+	public boolean contains(Cursor cursor){
+		return this.filled.contains(this.values[cursor.next(this.probes)]);
+	}
+
+	@Benchmark
+	public void iterate(Blackhole blackhole){
+		for(Integer value : this.filled){
+			blackhole.consume(value);
+		}
+	}
+
+	@Benchmark
+	public int remove(Removable removable){
+		SortedSet<Integer> set = removable.set;
+		if(this.strategy==SortedSetStrategy.IMMUTABLE){
+			//immutable sets do not support removal
+			return set.size();
+		}
+		for(Integer value : this.values){
+			set.remove(value);
+		}
+		return set.size();
+	}
+}
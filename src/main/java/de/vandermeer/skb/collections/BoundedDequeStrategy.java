@@ -0,0 +1,89 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections;
+
+import java.util.Collection;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+
+/**
+ * Strategies for bounded deques.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public enum BoundedDequeStrategy implements IsBoundedDequeStrategy {
+
+	/** Default bounded deque, results in a LinkedBlockingDeque. */
+	DEFAULT,
+
+	/** LinkedBlockingDeque from java-utils with capacity. */
+	LINKED_BLOCKING_DEQUE,
+	;
+
+	@Override
+	public boolean isList() {
+		return false;
+	}
+
+	@Override
+	public boolean isSet() {
+		return false;
+	}
+
+	@Override
+	public boolean isQueue() {
+		return true;
+	}
+
+	@Override
+	public <T> BlockingDeque<T> get(Collection<T> collection, int capacity) {
+		if(collection!=null && collection.size()>capacity){
+			throw new IllegalArgumentException("collection size <" + collection.size() + "> exceeds capacity <" + capacity + ">");
+		}
+		BlockingDeque<T> ret = this.get((Class<T>)null, capacity);
+		if(collection!=null){
+			ret.addAll(collection);
+		}
+		return ret;
+	}
+
+	@Override
+	public <T> BlockingDeque<T> get(Class<T> T, int capacity) {
+		BlockingDeque<T> ret;
+		switch(this){
+			case LINKED_BLOCKING_DEQUE:
+			case DEFAULT:
+			default:
+				ret = new LinkedBlockingDeque<T>(capacity);
+				break;
+		}
+		return ret;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * The fairness policy is ignored, LinkedBlockingDeque does not support one.
+	 */
+	@Override
+	public <T> BlockingDeque<T> get(Class<T> T, int capacity, boolean fair) {
+		return this.get(T, capacity);
+	}
+
+	@Override
+	public String toString() {
+		return this.name();
+	}
+}
@@ -0,0 +1,93 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.vandermeer.skb.collections;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import de.vandermeer.skb.collections.cache.CacheMap;
+import de.vandermeer.skb.collections.cache.ConcurrentCache;
+import de.vandermeer.skb.collections.cache.LruCache;
+import de.vandermeer.skb.collections.cache.TinyLfuCache;
+
+/**
+ * Strategies for caches.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public enum CacheStrategy implements IsCacheStrategy {
+
+	/** Default cache, results in an LruCache. */
+	DEFAULT,
+
+	/** LruCache evicting the least recently used entry, not thread-safe. */
+	LRU,
+
+	/** TinyLfuCache using the W-TinyLFU policy, admitting entries by estimated frequency, not thread-safe. */
+	TINY_LFU,
+
+	/** ConcurrentCache with LruCache segments, evicting the least recently used entry per segment. */
+	CONCURRENT_LRU,
+
+	/** ConcurrentCache with TinyLfuCache segments, using the W-TinyLFU policy per segment. */
+	CONCURRENT_TINY_LFU,
+	;
+
+	@Override
+	public boolean isConcurrent() {
+		switch(this){
+			case CONCURRENT_LRU:
+			case CONCURRENT_TINY_LFU:
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	@Override
+	public <T> CacheMap<T> get(Class<?> T, int maximumSize) {
+		return this.get(T, maximumSize, 0, 0, TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public <T> CacheMap<T> get(Class<?> T, int maximumSize, long expireAfterWrite, long expireAfterAccess, TimeUnit unit) {
+		switch(this){
+			case TINY_LFU:
+				return new TinyLfuCache<T>(maximumSize, expireAfterWrite, expireAfterAccess, unit);
+			case CONCURRENT_LRU:
+				return new ConcurrentCache<T>(maximumSize, size -> new LruCache<T>(size, expireAfterWrite, expireAfterAccess, unit));
+			case CONCURRENT_TINY_LFU:
+				return new ConcurrentCache<T>(maximumSize, size -> new TinyLfuCache<T>(size, expireAfterWrite, expireAfterAccess, unit));
+			case LRU:
+			case DEFAULT:
+			default:
+				return new LruCache<T>(maximumSize, expireAfterWrite, expireAfterAccess, unit);
+		}
+	}
+
+	@Override
+	public <T> CacheMap<T> get(Map<String, T> map, int maximumSize) {
+		CacheMap<T> ret = this.get((Class<?>)null, maximumSize);
+		ret.putAll(map);
+		return ret;
+	}
+
+	@Override
+	public String toString() {
+		return this.name();
+	}
+}
@@ -19,10 +19,12 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Predicate;
 
 /**
  * A filter interface with predefined methods.
+ * For chains of several predicates and transformations see {@link FusedFilter}.
  *
  * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
  * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
@@ -64,18 +66,23 @@ public interface CollectionFilters<T> {
 
 	/**
 	 * Generic filter that uses a predicate as filter method.
+	 * All collections are filtered in one pass into a single result collection.
 	 * @param predicate filter method
 	 * @param coll array of collections to filter
 	 * @return a collection with elements that pass the filter
 	 */
-	default Collection<T> filter(Predicate<T> predicate, @SuppressWarnings("unchecked") Collection<T> ... coll){
-		if(coll==null){
-			return new ArrayList<T>(); 
-		}
-		Collection<T> ret = filter(predicate, coll[0]);
-		if(coll.length>1){
-			for(int i=1; i<coll.length; i++){
-				ret.addAll(filter(predicate, coll[1]));
+	@SuppressWarnings("unchecked")
+	default Collection<T> filter(Predicate<T> predicate, Collection<T> ... coll){
+		Collection<T> ret = new ArrayList<T>();
+		if(coll!=null && predicate!=null){
+			for(int i=0; i<coll.length; i++){
+				if(coll[i]!=null){
+					for(T t : coll[i]){
+						if(predicate.test(t)){
+							ret.add(t);
+						}
+					}
+				}
 			}
 		}
 		return ret;
@@ -83,18 +90,23 @@ public interface CollectionFilters<T> {
 
 	/**
 	 * Generic filter that uses a predicate as filter method.
+	 * All arrays are filtered in one pass into a single result collection.
 	 * @param predicate filter method
 	 * @param coll array of arrays to filter
 	 * @return a collection with elements that pass the filter
 	 */
-	default Collection<T> filter(Predicate<T> predicate, @SuppressWarnings("unchecked") T[] ... coll){
-		if(coll==null){
-			return new ArrayList<T>(); 
-		}
-		Collection<T> ret = filter(predicate, coll[0]);
-		if(coll.length>1){
-			for(int i=1; i<coll.length; i++){
-				ret.addAll(filter(predicate, coll[1]));
+	@SuppressWarnings("unchecked")
+	default Collection<T> filter(Predicate<T> predicate, T[] ... coll){
+		Collection<T> ret = new ArrayList<T>();
+		if(coll!=null && predicate!=null){
+			for(int i=0; i<coll.length; i++){
+				if(coll[i]!=null){
+					for(T t : coll[i]){
+						if(predicate.test(t)){
+							ret.add(t);
+						}
+					}
+				}
 			}
 		}
 		return ret;
@@ -102,12 +114,71 @@ public interface CollectionFilters<T> {
 
 	/**
 	 * Generic filter that uses a predicate as filter method returning a specific list.
+	 * The list is filled in one pass and presized for the size of the input collection.
 	 * @param predicate filter method
 	 * @param coll a collection with elements that pass the filter
 	 * @param strategy list strategy for the returned list
 	 * @return a list with elements that pass the filter
 	 */
 	default List<T> filter(Predicate<T> predicate, Collection<T> coll, ListStrategy strategy){
-		return strategy.get(filter(predicate, coll));
+		if(strategy==ListStrategy.IMMUTABLE){
+			//immutable lists cannot be filled, collect into a list first
+			return strategy.get(this.filter(predicate, coll, ListStrategy.ARRAY_LIST));
+		}
+		List<T> ret = (coll==null)?strategy.get((Class<T>)null):strategy.get((Class<T>)null, coll.size());
+		if(coll!=null && predicate!=null){
+			for(T t : coll){
+				if(predicate.test(t)){
+					ret.add(t);
+				}
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Generic filter that uses a predicate as filter method returning a specific set.
+	 * The set is filled in one pass and presized for the size of the input collection.
+	 * @param predicate filter method
+	 * @param coll a collection with elements that pass the filter
+	 * @param strategy set strategy for the returned set
+	 * @return a set with elements that pass the filter
+	 */
+	default Set<T> filter(Predicate<T> predicate, Collection<T> coll, SetStrategy strategy){
+		if(strategy==SetStrategy.IMMUTABLE){
+			//immutable sets cannot be filled, collect into a list first
+			return strategy.get(this.filter(predicate, coll, ListStrategy.ARRAY_LIST));
+		}
+		Set<T> ret = (coll==null)?strategy.get((Class<T>)null):strategy.get((Class<T>)null, coll.size());
+		if(coll!=null && predicate!=null){
+			for(T t : coll){
+				if(predicate.test(t)){
+					ret.add(t);
+				}
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Counts the elements passing a predicate without collecting them.
+	 * @param predicate filter method
+	 * @param coll array of collections to test
+	 * @return number of elements that pass the filter, 0 if predicate or collections are null
+	 */
+	@SuppressWarnings("unchecked")
+	default long count(Predicate<T> predicate, Collection<T> ... coll){
+		return (predicate==null)?0:FusedFilter.of(predicate).count(coll);
+	}
+
+	/**
+	 * Returns the first element passing a predicate, stopping at it.
+	 * @param predicate filter method
+	 * @param coll array of collections to test
+	 * @return first element that passes the filter, null if there is none or predicate or collections are null
+	 */
+	@SuppressWarnings("unchecked")
+	default T first(Predicate<T> predicate, Collection<T> ... coll){
+		return (predicate==null)?null:FusedFilter.of(predicate).first(coll);
 	}
 }
@@ -15,22 +15,25 @@
 
 package de.vandermeer.skb.collections;
 
+import java.io.IOException;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Deque;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.ListIterator;
 import java.util.Map;
 import java.util.Queue;
+import java.util.RandomAccess;
 import java.util.Set;
 import java.util.SortedSet;
-
-import org.stringtemplate.v4.ST;
-import org.stringtemplate.v4.STGroup;
-import org.stringtemplate.v4.STGroupString;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import de.vandermeer.skb.base.Skb_Transformer;
+import de.vandermeer.skb.collections.concurrent.QueueStage;
 
 /**
  * Transformation methods for collections.
@@ -40,6 +43,27 @@ import de.vandermeer.skb.base.Skb_Transformer;
  */
 public abstract class CollectionTools {
 
+	/** Default load factor for hash based collections and maps, same as used in java-util. */
+	public static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+	/**
+	 * Returns the initial capacity a hash based collection or map needs to hold the expected number of elements without rehashing.
+	 * @param expectedSize number of elements the collection or map is expected to hold
+	 * @param loadFactor load factor of the collection or map
+	 * @return initial capacity for the collection or map
+	 * @throws IllegalArgumentException if the expected size is negative or the load factor is not positive
+	 */
+	public static final int HASH_CAPACITY(int expectedSize, float loadFactor){
+		if(expectedSize<0){
+			throw new IllegalArgumentException("expected size must not be negative: " + expectedSize);
+		}
+		if(loadFactor<=0 || Float.isNaN(loadFactor)){
+			throw new IllegalArgumentException("load factor must be positive: " + loadFactor);
+		}
+		double capacity = Math.ceil(expectedSize / (double)loadFactor);
+		return (capacity>=Integer.MAX_VALUE)?Integer.MAX_VALUE:(int)capacity;
+	}
+
 	/**
 	 * Converts a collection into a set and transforms each element of the collection.
 	 * @param <T1> type for the left site of the transformation (source)
@@ -52,7 +76,11 @@ public abstract class CollectionTools {
 	 * @return an empty set of type clazz or a set of type clazz with transformed objects from the input collection
 	 */
 	public static final <T1, T2, T3 extends T1> Set<T2> TRANSFORM(final Collection<T3> input, final Skb_Transformer<T1, T2> transformer, Class<T2> clazz, SetStrategy strategy){
-		Set<T2> ret = strategy.get(clazz);
+		if(strategy==SetStrategy.IMMUTABLE){
+			//immutable collections cannot be filled, collect into a list first
+			return strategy.get(TRANSFORM(input, transformer, clazz, ListStrategy.ARRAY_LIST));
+		}
+		Set<T2> ret = (input==null)?strategy.get(clazz):strategy.get(clazz, input.size());
 		if(input!=null){
 			for(T1 t1 : input){
 				ret.add(transformer.transform(t1));
@@ -74,7 +102,11 @@ public abstract class CollectionTools {
 	 * @return an empty list of type clazz or a list of type clazz with transformed objects from the input collection
 	 */
 	public static final <T1, T2, T3 extends T1> List<T2> TRANSFORM(final Collection<T3> input, final Skb_Transformer<T1, T2> transformer, Class<T2> clazz, ListStrategy strategy){
-		List<T2> ret = strategy.get(clazz);
+		if(strategy==ListStrategy.IMMUTABLE){
+			//immutable collections cannot be filled, collect into a list first
+			return strategy.get(TRANSFORM(input, transformer, clazz, ListStrategy.ARRAY_LIST));
+		}
+		List<T2> ret = (input==null)?strategy.get(clazz):strategy.get(clazz, input.size());
 		if(input!=null){
 			for(T1 t1 : input){
 				ret.add(transformer.transform(t1));
@@ -96,7 +128,7 @@ public abstract class CollectionTools {
 	 * @return an empty deque of type clazz or a deque of type clazz with transformed objects from the input collection
 	 */
 	public static final <T1, T2, T3 extends T1> Deque<T2> TRANSFORM(Collection<T3> input, Skb_Transformer<T1, T2> transformer, Class<T2> clazz, DequeStrategy strategy) {
-		Deque<T2> ret = strategy.get(clazz);
+		Deque<T2> ret = (input==null)?strategy.get(clazz):strategy.get(clazz, input.size());
 		if(input!=null){
 			for(T1 t1 : input){
 				ret.add(transformer.transform(t1));
@@ -118,6 +150,10 @@ public abstract class CollectionTools {
 	 * @return an empty sorted set of type clazz or a sorted set of type clazz with transformed objects from the input collection
 	 */
 	public static final <T1, T2 extends Comparable<T2>, T3 extends T1> SortedSet<T2> TRANSFORM(final Collection<T3> input, final Skb_Transformer<T1, T2> transformer, Class<T2> clazz, SortedSetStrategy strategy){
+		if(strategy==SortedSetStrategy.IMMUTABLE){
+			//immutable collections cannot be filled, collect into a list first
+			return strategy.get(TRANSFORM(input, transformer, clazz, ListStrategy.ARRAY_LIST));
+		}
 		SortedSet<T2> ret = strategy.get(clazz);
 		if(input!=null){
 			for(T1 t1 : input){
@@ -143,6 +179,10 @@ public abstract class CollectionTools {
 	 */
 
 	public static final <T1, T2, T3 extends T1> SortedSet<T2> TRANSFORM(final Collection<T3> input, final Skb_Transformer<T1, T2> transformer, Class<T2> clazz, SortedSetStrategy strategy, Comparator<T2> comparator){
+		if(strategy==SortedSetStrategy.IMMUTABLE){
+			//immutable collections cannot be filled, collect into a list first
+			return strategy.get(TRANSFORM(input, transformer, clazz, ListStrategy.ARRAY_LIST), comparator);
+		}
 		SortedSet<T2> ret = strategy.get(clazz, comparator);
 		if(input!=null){
 			for(T1 t1 : input){
@@ -165,7 +205,7 @@ public abstract class CollectionTools {
 	 * @return an empty queue of type clazz or a queue of type clazz with transformed objects from the input collection
 	 */
 	public static final <T1, T2, T3 extends T1> Queue<T2> TRANSFORM(Collection<T3> input, Skb_Transformer<T1, T2> transformer, Class<T2> clazz, QueueStrategy strategy) {
-		Queue<T2> ret = strategy.get(clazz);
+		Queue<T2> ret = (input==null)?strategy.get(clazz):strategy.get(clazz, input.size());
 		if(input!=null){
 			for(T1 t1 : input){
 				ret.add(transformer.transform(t1));
@@ -175,6 +215,328 @@ public abstract class CollectionTools {
 		return ret;
 	}
 
+	/**
+	 * Converts a collection into a set and transforms each element of the collection in parallel, using fork-join.
+	 * The input is split into ranges transformed by separate tasks into their own part of a result array,
+	 * which is then added to the set in one pass.
+	 * @param <T1> type for the left site of the transformation (source)
+	 * @param <T2> type for the right site of the transformation (target)
+	 * @param <T3> type for the input collection
+	 * @param input collection that should be converted
+	 * @param transformer object that performs the transformation, must be safe to be used by several threads
+	 * @param clazz type of the returned set
+	 * @param strategy set strategy
+	 * @param pool fork-join pool to run the transformation in, null for the common pool
+	 * @param threshold maximum number of elements transformed by one task, 0 for four tasks per worker of the pool; inputs not larger than the threshold are transformed sequentially
+	 * @return an empty set of type clazz or a set of type clazz with transformed objects from the input collection
+	 * @throws IllegalArgumentException if the threshold is negative
+	 */
+	public static final <T1, T2, T3 extends T1> Set<T2> TRANSFORM(final Collection<T3> input, final Skb_Transformer<T1, T2> transformer, Class<T2> clazz, SetStrategy strategy, ForkJoinPool pool, int threshold){
+		if(threshold<0){
+			throw new IllegalArgumentException("threshold must not be negative: " + threshold);
+		}
+		if(input==null || input.size()<=Math.max(1, threshold)){
+			return TRANSFORM(input, transformer, clazz, strategy);
+		}
+		if(strategy==SetStrategy.IMMUTABLE){
+			return strategy.get(TransformTask.APPLY(input, transformer, pool, threshold));
+		}
+		Set<T2> ret = strategy.get(clazz, input.size());
+		ret.addAll(TransformTask.APPLY(input, transformer, pool, threshold));
+		return ret;
+	}
+
+	/**
+	 * Converts a collection into a list and transforms each element of the collection in parallel, using fork-join.
+	 * The input is split into ranges transformed by separate tasks into their own part of a result array,
+	 * which is then added to the list in one pass, keeping the encounter order of the input.
+	 * @param <T1> type for the left site of the transformation (source)
+	 * @param <T2> type for the right site of the transformation (target)
+	 * @param <T3> type for the input collection
+	 * @param input collection that should be converted
+	 * @param transformer object that performs the transformation, must be safe to be used by several threads
+	 * @param clazz type of the returned list
+	 * @param strategy list strategy
+	 * @param pool fork-join pool to run the transformation in, null for the common pool
+	 * @param threshold maximum number of elements transformed by one task, 0 for four tasks per worker of the pool; inputs not larger than the threshold are transformed sequentially
+	 * @return an empty list of type clazz or a list of type clazz with transformed objects from the input collection
+	 * @throws IllegalArgumentException if the threshold is negative
+	 */
+	public static final <T1, T2, T3 extends T1> List<T2> TRANSFORM(final Collection<T3> input, final Skb_Transformer<T1, T2> transformer, Class<T2> clazz, ListStrategy strategy, ForkJoinPool pool, int threshold){
+		if(threshold<0){
+			throw new IllegalArgumentException("threshold must not be negative: " + threshold);
+		}
+		if(input==null || input.size()<=Math.max(1, threshold)){
+			return TRANSFORM(input, transformer, clazz, strategy);
+		}
+		if(strategy==ListStrategy.IMMUTABLE){
+			return strategy.get(TransformTask.APPLY(input, transformer, pool, threshold));
+		}
+		List<T2> ret = strategy.get(clazz, input.size());
+		ret.addAll(TransformTask.APPLY(input, transformer, pool, threshold));
+		return ret;
+	}
+
+	/**
+	 * Converts a collection into a deque and transforms each element of the collection in parallel, using fork-join.
+	 * The input is split into ranges transformed by separate tasks into their own part of a result array,
+	 * which is then added to the deque in one pass, keeping the encounter order of the input.
+	 * @param <T1> type for the left site of the transformation (source)
+	 * @param <T2> type for the right site of the transformation (target)
+	 * @param <T3> type for the input collection
+	 * @param input collection that should be converted
+	 * @param transformer object that performs the transformation, must be safe to be used by several threads
+	 * @param clazz type of the returned deque
+	 * @param strategy deque strategy
+	 * @param pool fork-join pool to run the transformation in, null for the common pool
+	 * @param threshold maximum number of elements transformed by one task, 0 for four tasks per worker of the pool; inputs not larger than the threshold are transformed sequentially
+	 * @return an empty deque of type clazz or a deque of type clazz with transformed objects from the input collection
+	 * @throws IllegalArgumentException if the threshold is negative
+	 */
+	public static final <T1, T2, T3 extends T1> Deque<T2> TRANSFORM(final Collection<T3> input, final Skb_Transformer<T1, T2> transformer, Class<T2> clazz, DequeStrategy strategy, ForkJoinPool pool, int threshold){
+		if(threshold<0){
+			throw new IllegalArgumentException("threshold must not be negative: " + threshold);
+		}
+		if(input==null || input.size()<=Math.max(1, threshold)){
+			return TRANSFORM(input, transformer, clazz, strategy);
+		}
+		Deque<T2> ret = strategy.get(clazz, input.size());
+		ret.addAll(TransformTask.APPLY(input, transformer, pool, threshold));
+		return ret;
+	}
+
+	/**
+	 * Converts a collection into a sorted set and transforms each element of the collection in parallel, using fork-join.
+	 * The input is split into ranges transformed by separate tasks into their own part of a result array,
+	 * which is then added to the sorted set in one pass.
+	 * @param <T1> type for the left site of the transformation (source)
+	 * @param <T2> type for the right site of the transformation (target)
+	 * @param <T3> type for the input collection
+	 * @param input collection that should be converted
+	 * @param transformer object that performs the transformation, must be safe to be used by several threads
+	 * @param clazz type of the returned sorted set
+	 * @param strategy sorted set strategy
+	 * @param pool fork-join pool to run the transformation in, null for the common pool
+	 * @param threshold maximum number of elements transformed by one task, 0 for four tasks per worker of the pool; inputs not larger than the threshold are transformed sequentially
+	 * @return an empty sorted set of type clazz or a sorted set of type clazz with transformed objects from the input collection
+	 * @throws IllegalArgumentException if the threshold is negative
+	 */
+	public static final <T1, T2 extends Comparable<T2>, T3 extends T1> SortedSet<T2> TRANSFORM(final Collection<T3> input, final Skb_Transformer<T1, T2> transformer, Class<T2> clazz, SortedSetStrategy strategy, ForkJoinPool pool, int threshold){
+		if(threshold<0){
+			throw new IllegalArgumentException("threshold must not be negative: " + threshold);
+		}
+		if(input==null || input.size()<=Math.max(1, threshold)){
+			return TRANSFORM(input, transformer, clazz, strategy);
+		}
+		if(strategy==SortedSetStrategy.IMMUTABLE){
+			return strategy.get(TransformTask.APPLY(input, transformer, pool, threshold));
+		}
+		SortedSet<T2> ret = strategy.get(clazz);
+		ret.addAll(TransformTask.APPLY(input, transformer, pool, threshold));
+		return ret;
+	}
+
+	/**
+	 * Converts a collection into a sorted set and transforms each element of the collection in parallel, using fork-join.
+	 * The input is split into ranges transformed by separate tasks into their own part of a result array,
+	 * which is then added to the sorted set in one pass.
+	 * @param <T1> type for the left site of the transformation (source)
+	 * @param <T2> type for the right site of the transformation (target)
+	 * @param <T3> type for the input collection
+	 * @param input collection that should be converted
+	 * @param transformer object that performs the transformation, must be safe to be used by several threads
+	 * @param clazz type of the returned sorted set
+	 * @param strategy sorted set strategy
+	 * @param comparator a comparator function to be used by the sorted set
+	 * @param pool fork-join pool to run the transformation in, null for the common pool
+	 * @param threshold maximum number of elements transformed by one task, 0 for four tasks per worker of the pool; inputs not larger than the threshold are transformed sequentially
+	 * @return an empty sorted set of type clazz or a sorted set of type clazz with transformed objects from the input collection
+	 * @throws IllegalArgumentException if the threshold is negative
+	 */
+	public static final <T1, T2, T3 extends T1> SortedSet<T2> TRANSFORM(final Collection<T3> input, final Skb_Transformer<T1, T2> transformer, Class<T2> clazz, SortedSetStrategy strategy, Comparator<T2> comparator, ForkJoinPool pool, int threshold){
+		if(threshold<0){
+			throw new IllegalArgumentException("threshold must not be negative: " + threshold);
+		}
+		if(input==null || input.size()<=Math.max(1, threshold)){
+			return TRANSFORM(input, transformer, clazz, strategy, comparator);
+		}
+		if(strategy==SortedSetStrategy.IMMUTABLE){
+			return strategy.get(TransformTask.APPLY(input, transformer, pool, threshold), comparator);
+		}
+		SortedSet<T2> ret = strategy.get(clazz, comparator);
+		ret.addAll(TransformTask.APPLY(input, transformer, pool, threshold));
+		return ret;
+	}
+
+	/**
+	 * Converts a collection into a queue and transforms each element of the collection in parallel, using fork-join.
+	 * The input is split into ranges transformed by separate tasks into their own part of a result array,
+	 * which is then added to the queue in one pass in the encounter order of the input.
+	 * @param <T1> type for the left site of the transformation (source)
+	 * @param <T2> type for the right site of the transformation (target)
+	 * @param <T3> type for the input collection
+	 * @param input collection that should be converted
+	 * @param transformer object that performs the transformation, must be safe to be used by several threads
+	 * @param clazz type of the returned queue
+	 * @param strategy queue strategy
+	 * @param pool fork-join pool to run the transformation in, null for the common pool
+	 * @param threshold maximum number of elements transformed by one task, 0 for four tasks per worker of the pool; inputs not larger than the threshold are transformed sequentially
+	 * @return an empty queue of type clazz or a queue of type clazz with transformed objects from the input collection
+	 * @throws IllegalArgumentException if the threshold is negative
+	 */
+	public static final <T1, T2, T3 extends T1> Queue<T2> TRANSFORM(final Collection<T3> input, final Skb_Transformer<T1, T2> transformer, Class<T2> clazz, QueueStrategy strategy, ForkJoinPool pool, int threshold){
+		if(threshold<0){
+			throw new IllegalArgumentException("threshold must not be negative: " + threshold);
+		}
+		if(input==null || input.size()<=Math.max(1, threshold)){
+			return TRANSFORM(input, transformer, clazz, strategy);
+		}
+		Queue<T2> ret = strategy.get(clazz, input.size());
+		ret.addAll(TransformTask.APPLY(input, transformer, pool, threshold));
+		return ret;
+	}
+
+	/**
+	 * Returns a started processing stage that continuously takes elements from a source queue in batches, transforms them, and adds them to a new queue.
+	 * The target queue is created by the strategy and available through {@link QueueStage#getTarget()}, it is unbounded.
+	 * The stage runs on daemon threads until it is closed.
+	 * @param <T1> type for the left site of the transformation (source)
+	 * @param <T2> type for the right site of the transformation (target)
+	 * @param source queue the elements are taken from
+	 * @param transformer object that performs the transformation, must be safe to be used by several threads if more than one worker is used
+	 * @param clazz type of the target queue
+	 * @param strategy queue strategy for the target queue, must be concurrent since the target is used by the workers and its consumers at the same time
+	 * @param expectedSize expected size of the target queue
+	 * @param workers number of workers
+	 * @param batchSize maximum number of elements taken from the source at once
+	 * @return started stage
+	 * @throws IllegalArgumentException if any argument is null, expected size is negative, workers or batch size are not positive, or the strategy is not concurrent
+	 */
+	public static final <T1, T2> QueueStage<T1, T2> TRANSFORM_STAGE(final Queue<? extends T1> source, final Skb_Transformer<T1, T2> transformer, Class<T2> clazz, QueueStrategy strategy, int expectedSize, int workers, int batchSize){
+		if(strategy==null){
+			throw new IllegalArgumentException("strategy must not be null");
+		}
+		if(!strategy.isConcurrent()){
+			throw new IllegalArgumentException("strategy must return thread-safe queues: " + strategy);
+		}
+		Queue<T2> target = strategy.get(clazz, expectedSize);
+		return new QueueStage<T1, T2>(Collections.singletonList(source), transformer, target, workers, batchSize, null).start();
+	}
+
+	/**
+	 * Returns a started processing stage that continuously takes elements from a source queue in batches, transforms them, and adds them to a new ring buffer.
+	 * The ring buffer is created by the strategy and available through {@link QueueStage#getTarget()}, it applies backpressure once it holds capacity elements.
+	 * The stage runs on daemon threads until it is closed.
+	 * @param <T1> type for the left site of the transformation (source)
+	 * @param <T2> type for the right site of the transformation (target)
+	 * @param source queue the elements are taken from
+	 * @param transformer object that performs the transformation, must be safe to be used by several threads if more than one worker is used
+	 * @param clazz type of the target ring buffer
+	 * @param strategy ring buffer strategy for the target, must permit several producers if more than one worker is used
+	 * @param capacity capacity of the target ring buffer
+	 * @param workers number of workers
+	 * @param batchSize maximum number of elements taken from the source at once
+	 * @return started stage
+	 * @throws IllegalArgumentException if any argument is null, capacity is not positive, workers or batch size are not positive, or the strategy does not support several workers
+	 */
+	public static final <T1, T2> QueueStage<T1, T2> TRANSFORM_STAGE(final Queue<? extends T1> source, final Skb_Transformer<T1, T2> transformer, Class<T2> clazz, RingBufferStrategy strategy, int capacity, int workers, int batchSize){
+		if(strategy==null){
+			throw new IllegalArgumentException("strategy must not be null");
+		}
+		if(workers>1 && !strategy.isMultiProducer()){
+			throw new IllegalArgumentException("strategy supports a single producer only, cannot be used with " + workers + " workers: " + strategy);
+		}
+		Queue<T2> target = strategy.get(clazz, capacity);
+		return new QueueStage<T1, T2>(Collections.singletonList(source), transformer, target, workers, batchSize, null).start();
+	}
+
+	/**
+	 * Returns a read-only list view that transforms the elements of the input list on access, without copying the input.
+	 * Each access transforms the element again, the view reflects changes of the input list.
+	 * Use it when only some elements are needed or the result is iterated once, otherwise {@link #TRANSFORM(Collection, Skb_Transformer, Class, ListStrategy)} is cheaper.
+	 * @param <T1> type for the left site of the transformation (source)
+	 * @param <T2> type for the right site of the transformation (target)
+	 * @param <T3> type for the input list
+	 * @param input list that should be viewed, null results in an empty view
+	 * @param transformer object that performs the transformation
+	 * @return list view with transformed elements, implementing {@link java.util.RandomAccess} if the input does
+	 */
+	public static final <T1, T2, T3 extends T1> List<T2> TRANSFORM_VIEW(final List<T3> input, final Skb_Transformer<T1, T2> transformer){
+		return TRANSFORM_VIEW(input, transformer, false);
+	}
+
+	/**
+	 * Returns a read-only list view that transforms the elements of the input list on access, optionally remembering transformed elements.
+	 * With memoization each element is transformed at most once, the input list must not change while the view is used and the view is not thread-safe.
+	 * @param <T1> type for the left site of the transformation (source)
+	 * @param <T2> type for the right site of the transformation (target)
+	 * @param <T3> type for the input list
+	 * @param input list that should be viewed, null results in an empty view
+	 * @param transformer object that performs the transformation
+	 * @param memoize true to remember transformed elements, false to transform on every access
+	 * @return list view with transformed elements, implementing {@link java.util.RandomAccess} if the input does
+	 */
+	public static final <T1, T2, T3 extends T1> List<T2> TRANSFORM_VIEW(final List<T3> input, final Skb_Transformer<T1, T2> transformer, boolean memoize){
+		if(input==null){
+			return Collections.emptyList();
+		}
+		return TransformedList.create(input, transformer, memoize);
+	}
+
+	/**
+	 * Returns an iterable that transforms the elements of the input (for instance a set or queue) while iterating, without copying the input.
+	 * Iterators support remove if the iterators of the input do.
+	 * @param <T1> type for the left site of the transformation (source)
+	 * @param <T2> type for the right site of the transformation (target)
+	 * @param <T3> type for the input
+	 * @param input iterable that should be viewed, null results in an empty iterable
+	 * @param transformer object that performs the transformation
+	 * @return iterable with transformed elements
+	 */
+	public static final <T1, T2, T3 extends T1> Iterable<T2> TRANSFORM_ITERABLE(final Iterable<T3> input, final Skb_Transformer<T1, T2> transformer){
+		if(input==null){
+			return Collections.emptyList();
+		}
+		return new Iterable<T2>(){
+			@Override
+			public Iterator<T2> iterator(){
+				final Iterator<T3> it = input.iterator();
+				return new Iterator<T2>(){
+					@Override
+					public boolean hasNext(){
+						return it.hasNext();
+					}
+
+					@Override
+					public T2 next(){
+						return transformer.transform(it.next());
+					}
+
+					@Override
+					public void remove(){
+						it.remove();
+					}
+				};
+			}
+		};
+	}
+
+	/**
+	 * Returns a stream that transforms the elements of the input collection lazily, for pipelines that short-circuit (findFirst, limit, anyMatch).
+	 * @param <T1> type for the left site of the transformation (source)
+	 * @param <T2> type for the right site of the transformation (target)
+	 * @param <T3> type for the input collection
+	 * @param input collection that should be streamed, null results in an empty stream
+	 * @param transformer object that performs the transformation
+	 * @return stream with transformed elements
+	 */
+	public static final <T1, T2, T3 extends T1> Stream<T2> TRANSFORM_STREAM(final Collection<T3> input, final Skb_Transformer<T1, T2> transformer){
+		if(input==null){
+			return Stream.empty();
+		}
+		return input.stream().map(t3 -> transformer.transform(t3));
+	}
+
 	/**
 	 * Returns a transformer that takes a collection and transforms it into a textual representation, for instance for debug output.
 	 * @return transformer for textual representation of the collection
@@ -182,19 +544,7 @@ public abstract class CollectionTools {
 	public static final Skb_Transformer<Collection<?>, String> COLLECTION_TO_TEXT(){
 		return new Skb_Transformer<Collection<?>, String>(){
 			@Override public String transform(Collection<?> coll){
-				//String template="    <collection:{n | - <n>}; separator=\"\n\">";		//simple string didn't work in tests??? :(
-				//ST ret=new ST(template);
-
-				String collG = "collection(entries) ::= <<\n    <entries:{n | - <n>}; separator=\"\n\">\n>>";
-				STGroup stg = new STGroupString(collG);
-				ST ret = stg.getInstanceOf("collection");
-
-				if(coll!=null){
-					for(Object obj : coll){
-						ret.add("entries", obj);
-					}
-				}
-				return ret.render();
+				return CollectionTools.COLLECTION_TO_TEXT(coll, new StringBuilder()).toString();
 			}
 		};
 	}
@@ -205,7 +555,37 @@ public abstract class CollectionTools {
 	 * @return textual representation of the collection, empty string as default
 	 */
 	public final static String COLLECTION_TO_TEXT(Collection<?> coll){
-		return CollectionTools.COLLECTION_TO_TEXT().transform(coll);
+		return CollectionTools.COLLECTION_TO_TEXT(coll, new StringBuilder()).toString();
+	}
+
+	/**
+	 * Writes the textual representation of a collection to a string builder, without creating intermediate strings for the whole collection.
+	 * @param coll input collection, null results in no output
+	 * @param out target for the text
+	 * @return the target
+	 */
+	public final static StringBuilder COLLECTION_TO_TEXT(Collection<?> coll, StringBuilder out){
+		try{
+			new TextRenderer(out).collection(coll);
+		}
+		catch(IOException ex){
+			//a string builder does not throw
+			throw new IllegalStateException(ex);
+		}
+		return out;
+	}
+
+	/**
+	 * Streams the textual representation of a collection to an appendable (for instance a writer), element by element.
+	 * @param <A> type of the appendable
+	 * @param coll input collection, null results in no output
+	 * @param out target for the text
+	 * @return the target
+	 * @throws IOException if writing to the target fails
+	 */
+	public final static <A extends Appendable> A COLLECTION_TO_TEXT(Collection<?> coll, A out) throws IOException {
+		new TextRenderer(out).collection(coll);
+		return out;
 	}
 
 	/**
@@ -215,33 +595,7 @@ public abstract class CollectionTools {
 	public static final Skb_Transformer<Map<?, ?>, String> MAP_TO_TEXT(){
 		return new Skb_Transformer<Map<?, ?>, String>(){
 			@Override public String transform(Map<?, ?> map){
-				String collG = "map(tree) ::= <<\n    <tree.keys:{k | - <k> ==> [<tree.(k).(\"type\")> <tree.(k).(\"val\")>]}; separator=\"\n\">\n>>";
-				STGroup stg = new STGroupString(collG);
-				ST ret = stg.getInstanceOf("map");
-
-				LinkedHashMap<String, LinkedHashMap<String, String>> tree = new LinkedHashMap<String, LinkedHashMap<String, String>>();
-				@SuppressWarnings("unchecked")
-				Set<String> keySet = (Set<String>)map.keySet();
-				Iterator<String> keyIt = keySet.iterator();
-				while(keyIt.hasNext()){
-					LinkedHashMap<String, String> node = new LinkedHashMap<String, String>();
-					String key = keyIt.next();
-
-					Object v = map.get(key);
-					if(v!=null){
-						node.put("type", v.getClass().getSimpleName());//TODO add maybe TypeMap
-						String val = v.toString();
-						if(val.contains("\n")){
-							node.put("val", "\n    "+val);
-						}
-						else{
-							node.put("val", val);
-						}
-						tree.put(key, node);
-					}
-				}
-				ret.add("tree", tree);
-				return ret.render();
+				return CollectionTools.MAP_TO_TEXT(map, new StringBuilder()).toString();
 			}
 		};
 	}
@@ -252,26 +606,251 @@ public abstract class CollectionTools {
 	 * @return textual representation of the map, empty string as default
 	 */
 	public final static String MAP_TO_TEXT(Map<?, ?> map){
-		return CollectionTools.MAP_TO_TEXT().transform(map);
+		return CollectionTools.MAP_TO_TEXT(map, new StringBuilder()).toString();
+	}
+
+	/**
+	 * Writes the textual representation of a map to a string builder, without building an intermediate tree.
+	 * @param map input map, null results in no output
+	 * @param out target for the text
+	 * @return the target
+	 */
+	public final static StringBuilder MAP_TO_TEXT(Map<?, ?> map, StringBuilder out){
+		try{
+			new TextRenderer(out).map(map);
+		}
+		catch(IOException ex){
+			//a string builder does not throw
+			throw new IllegalStateException(ex);
+		}
+		return out;
+	}
+
+	/**
+	 * Streams the textual representation of a map to an appendable (for instance a writer), entry by entry.
+	 * @param <A> type of the appendable
+	 * @param map input map, null results in no output
+	 * @param out target for the text
+	 * @return the target
+	 * @throws IOException if writing to the target fails
+	 */
+	public final static <A extends Appendable> A MAP_TO_TEXT(Map<?, ?> map, A out) throws IOException {
+		new TextRenderer(out).map(map);
+		return out;
+	}
+
+	/**
+	 * Returns a bounded textual representation of a collection for logging, rendered only when its toString method is called, using default limits.
+	 * @param coll input collection, null renders an empty string
+	 * @return log text, see {@link LogText} for the default limits
+	 */
+	public final static LogText COLLECTION_TO_LOG(Collection<?> coll){
+		return new LogText(coll, null, LogText.DEFAULT_MAX_ELEMENTS, LogText.DEFAULT_MAX_DEPTH, LogText.DEFAULT_MAX_CHARS);
+	}
+
+	/**
+	 * Returns a bounded textual representation of a collection for logging, rendered only when its toString method is called.
+	 * Elements beyond the limit are summarized, for instance as {@code ... 4,999,990 more}.
+	 * @param coll input collection, null renders an empty string
+	 * @param maxElements maximum number of elements rendered per collection
+	 * @param maxDepth maximum nesting depth of element collections and maps rendered with their elements, deeper ones are rendered with their size only
+	 * @param maxChars maximum number of characters, longer output is cut and ends with {@code ...}
+	 * @return log text
+	 * @throws IllegalArgumentException if a limit is negative
+	 */
+	public final static LogText COLLECTION_TO_LOG(Collection<?> coll, int maxElements, int maxDepth, int maxChars){
+		return new LogText(coll, null, maxElements, maxDepth, maxChars);
 	}
 
 	/**
-	 * Returns the first element of the given collection.
+	 * Returns a bounded textual representation of a map for logging, rendered only when its toString method is called, using default limits.
+	 * @param map input map, null renders an empty string
+	 * @return log text, see {@link LogText} for the default limits
+	 */
+	public final static LogText MAP_TO_LOG(Map<?, ?> map){
+		return new LogText(null, map, LogText.DEFAULT_MAX_ELEMENTS, LogText.DEFAULT_MAX_DEPTH, LogText.DEFAULT_MAX_CHARS);
+	}
+
+	/**
+	 * Returns a bounded textual representation of a map for logging, rendered only when its toString method is called.
+	 * Entries beyond the limit are summarized, for instance as {@code ... 4,999,990 more}.
+	 * @param map input map, null renders an empty string
+	 * @param maxElements maximum number of entries rendered per map or collection
+	 * @param maxDepth maximum nesting depth of value collections and maps rendered with their elements, deeper ones are rendered with their size only
+	 * @param maxChars maximum number of characters, longer output is cut and ends with {@code ...}
+	 * @return log text
+	 * @throws IllegalArgumentException if a limit is negative
+	 */
+	public final static LogText MAP_TO_LOG(Map<?, ?> map, int maxElements, int maxDepth, int maxChars){
+		return new LogText(null, map, maxElements, maxDepth, maxChars);
+	}
+
+	/**
+	 * Returns the first non-null element of the given collection.
 	 * @param coll input collection
 	 * @return first element of the collection or null if not applicable
+	 * @deprecated use {@link #FIRST_NON_NULL(Collection)}, which does not copy the collection
 	 */
+	@Deprecated
 	public static Object GET_FIRST_ELEMENT(Collection<?> coll){
-		Object ret = null;
-		if(coll.size()>0){
-			Object[] ar = new Object[coll.size()];
-			ar = coll.toArray(ar);
-			for(int i=0; i<ar.length; i++){
-				if((ar[i]!=null)){
-					ret = ar[i];
-					break;
-				}
+		if(coll==null){
+			throw new NullPointerException();
+		}
+		return FIRST_NON_NULL(coll);
+	}
+
+	/**
+	 * Returns the first element of a collection in iteration order, the head for queues and deques, the lowest element for sorted sets.
+	 * Lists, deques, sorted sets and queues are accessed directly, other collections with a single iterator step.
+	 * @param <T> type of the elements
+	 * @param coll input collection
+	 * @return first element, null if the collection is null or empty
+	 */
+	public static <T> T FIRST(Collection<T> coll){
+		if(coll==null || coll.isEmpty()){
+			return null;
+		}
+		if(coll instanceof List){
+			return ((List<T>)coll).get(0);
+		}
+		if(coll instanceof SortedSet){
+			return ((SortedSet<T>)coll).first();
+		}
+		if(coll instanceof Queue){
+			//covers deques, peek returns null for a queue emptied concurrently
+			return ((Queue<T>)coll).peek();
+		}
+		Iterator<T> it = coll.iterator();
+		return (it.hasNext())?it.next():null;
+	}
+
+	/**
+	 * Returns the last element of a collection in iteration order, the tail for deques, the highest element for sorted sets.
+	 * Random access lists, deques and sorted sets are accessed directly, linked lists are walked backwards one step,
+	 * other collections are iterated to the end without copying them.
+	 * @param <T> type of the elements
+	 * @param coll input collection
+	 * @return last element, null if the collection is null or empty
+	 */
+	public static <T> T LAST(Collection<T> coll){
+		if(coll==null || coll.isEmpty()){
+			return null;
+		}
+		if(coll instanceof Deque){
+			return ((Deque<T>)coll).peekLast();
+		}
+		if(coll instanceof List){
+			List<T> list = (List<T>)coll;
+			if(list instanceof RandomAccess){
+				return list.get(list.size() - 1);
 			}
+			ListIterator<T> it = list.listIterator(list.size());
+			return (it.hasPrevious())?it.previous():null;
+		}
+		if(coll instanceof SortedSet){
+			return ((SortedSet<T>)coll).last();
+		}
+		T ret = null;
+		for(T t : coll){
+			ret = t;
 		}
 		return ret;
 	}
+
+	/**
+	 * Returns the element at a position of a collection in iteration order.
+	 * Lists are accessed by index, other collections are iterated up to the position.
+	 * @param <T> type of the elements
+	 * @param coll input collection
+	 * @param n position of the element, 0 for the first element
+	 * @return element at position n, null if the collection is null or has not more than n elements
+	 * @throws IllegalArgumentException if n is negative
+	 */
+	public static <T> T NTH(Collection<T> coll, int n){
+		if(n<0){
+			throw new IllegalArgumentException("position must not be negative: " + n);
+		}
+		if(coll==null || n>=coll.size()){
+			return null;
+		}
+		if(coll instanceof List){
+			return ((List<T>)coll).get(n);
+		}
+		if(n==0){
+			return FIRST(coll);
+		}
+		Iterator<T> it = coll.iterator();
+		for(int i=0; i<n && it.hasNext(); i++){
+			it.next();
+		}
+		return (it.hasNext())?it.next():null;
+	}
+
+	/**
+	 * Returns the first non-null element of a collection in iteration order, stopping at it.
+	 * Queues and deques other than lists do not hold null, so their head is returned directly.
+	 * @param <T> type of the elements
+	 * @param coll input collection
+	 * @return first non-null element, null if there is none or the collection is null
+	 */
+	public static <T> T FIRST_NON_NULL(Collection<T> coll){
+		if(coll==null || coll.isEmpty()){
+			return null;
+		}
+		if(coll instanceof List && coll instanceof RandomAccess){
+			List<T> list = (List<T>)coll;
+			for(int i=0; i<list.size(); i++){
+				T t = list.get(i);
+				if(t!=null){
+					return t;
+				}
+			}
+			return null;
+		}
+		if(coll instanceof Queue && !(coll instanceof List)){
+			T ret = ((Queue<T>)coll).peek();
+			if(ret!=null){
+				return ret;
+			}
+		}
+		for(T t : coll){
+			if(t!=null){
+				return t;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the first element of a collection in iteration order that matches a predicate, stopping at it.
+	 * @param <T> type of the elements
+	 * @param coll input collection
+	 * @param predicate the predicate
+	 * @return first matching element, null if there is none or the collection is null
+	 * @throws IllegalArgumentException if the predicate is null
+	 */
+	public static <T> T FIRST_MATCHING(Collection<T> coll, Predicate<? super T> predicate){
+		if(predicate==null){
+			throw new IllegalArgumentException("predicate must not be null");
+		}
+		if(coll==null){
+			return null;
+		}
+		if(coll instanceof List && coll instanceof RandomAccess){
+			List<T> list = (List<T>)coll;
+			for(int i=0; i<list.size(); i++){
+				T t = list.get(i);
+				if(predicate.test(t)){
+					return t;
+				}
+			}
+			return null;
+		}
+		for(T t : coll){
+			if(predicate.test(t)){
+				return t;
+			}
+		}
+		return null;
+	}
 }
@@ -62,27 +62,21 @@ public enum DequeStrategy implements IsDequeStrategy {
 
 	@Override
 	public <T> Deque<T> get(Collection<T> collection) {
-		Deque<T> ret;
+		if(collection==null){
+			return this.get((Class<T>)null);
+		}
 		switch(this){
 			case ARRAY_DEQUE:
-				ret = new ArrayDeque<T>();
-				break;
+				return new ArrayDeque<T>(collection);
 			case CONCURRENT_LINKED_DEQUE:
-				ret = new ConcurrentLinkedDeque<T>();
-				break;
+				return new ConcurrentLinkedDeque<T>(collection);
 			case LINKED_BLOCKING_DEQUE:
-				ret = new LinkedBlockingDeque<T>();
-				break;
+				return new LinkedBlockingDeque<T>(collection);
 			case LINKED_LIST:
 			case DEFAULT:
 			default:
-				ret = new LinkedList<T>();
-				break;
+				return new LinkedList<T>(collection);
 		}
-		if(collection!=null){
-			ret.addAll(collection);
-		}
-		return ret;
 	}
 
 	@Override
@@ -106,4 +100,22 @@ public enum DequeStrategy implements IsDequeStrategy {
 		}
 		return ret;
 	}
+
+	/**
+	 * {@inheritDoc}
+	 * The expected size is used as initial capacity for array based deques, linked deques ignore it.
+	 * It is never used as a bound, all returned deques remain unbounded.
+	 */
+	@Override
+	public <T> Deque<T> get(Class<T> T, int expectedSize) {
+		if(expectedSize<0){
+			throw new IllegalArgumentException("expected size must not be negative: " + expectedSize);
+		}
+		switch(this){
+			case ARRAY_DEQUE:
+				return new ArrayDeque<T>(expectedSize);
+			default:
+				return this.get(T);
+		}
+	}
 }
@@ -0,0 +1,62 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+import de.vandermeer.skb.collections.offheap.MappedQueue;
+
+/**
+ * Strategies for durable queues.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public enum DurableQueueStrategy implements IsDurableQueueStrategy {
+
+	/** Default durable queue, results in a MappedQueue. */
+	DEFAULT,
+
+	/** MappedQueue appending encoded elements to memory mapped segment files, see {@link MappedQueue} for details and the need to close it. */
+	MAPPED_FILE,
+	;
+
+	@Override
+	public <T> MappedQueue<T> get(Path directory, ValueCodec<T> codec) {
+		return this.get(directory, codec, MappedQueue.DEFAULT_SEGMENT_SIZE, 0);
+	}
+
+	@Override
+	public <T> MappedQueue<T> get(Path directory, ValueCodec<T> codec, int segmentSize, int syncInterval) {
+		try{
+			switch(this){
+				case MAPPED_FILE:
+				case DEFAULT:
+				default:
+					return new MappedQueue<T>(directory, codec, segmentSize, syncInterval);
+			}
+		}
+		catch(IOException ex){
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return this.name();
+	}
+}
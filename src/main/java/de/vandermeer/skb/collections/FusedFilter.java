@@ -0,0 +1,240 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import de.vandermeer.skb.base.Skb_Transformer;
+
+/**
+ * A chain of predicates and transformations applied to all elements of one or more sources in a single pass.
+ *
+ * Each element runs through all stages before the next element is read, so no intermediate collections are created.
+ * Terminal operations either collect into a strategy-chosen output, count the accepted elements or return the first one,
+ * the latter two without building any output.
+ * A fused filter is immutable, adding a stage returns a new fused filter.
+ *
+ * @param <S> type of the source elements
+ * @param <T> type of the result elements
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public final class FusedFilter<S, T> {
+
+	/** Result of a rejected element. */
+	private static final Object REJECTED = new Object();
+
+	/** Stages, predicates or transformers. */
+	private final Object[] stages;
+
+	/** Flags for stages that are predicates. */
+	private final boolean[] predicates;
+
+	private FusedFilter(Object[] stages, boolean[] predicates){
+		this.stages = stages;
+		this.predicates = predicates;
+	}
+
+	/**
+	 * Returns a new fused filter with a single predicate.
+	 * @param <S> type of the source elements
+	 * @param predicate the predicate
+	 * @return new fused filter
+	 * @throws IllegalArgumentException if the predicate is null
+	 */
+	public static <S> FusedFilter<S, S> of(Predicate<? super S> predicate){
+		return new FusedFilter<S, S>(new Object[0], new boolean[0]).filter(predicate);
+	}
+
+	/**
+	 * Returns a new fused filter with an additional predicate, applied to the results of all previous stages.
+	 * @param predicate the predicate
+	 * @return new fused filter
+	 * @throws IllegalArgumentException if the predicate is null
+	 */
+	public FusedFilter<S, T> filter(Predicate<? super T> predicate){
+		if(predicate==null){
+			throw new IllegalArgumentException("predicate must not be null");
+		}
+		return this.add(predicate, true);
+	}
+
+	/**
+	 * Returns a new fused filter with an additional transformation, applied to the results of all previous stages.
+	 * @param <R> type of the transformed elements
+	 * @param transformer the transformer
+	 * @return new fused filter
+	 * @throws IllegalArgumentException if the transformer is null
+	 */
+	public <R> FusedFilter<S, R> transform(Skb_Transformer<T, R> transformer){
+		if(transformer==null){
+			throw new IllegalArgumentException("transformer must not be null");
+		}
+		return this.add(transformer, false);
+	}
+
+	private <R> FusedFilter<S, R> add(Object stage, boolean predicate){
+		Object[] s = Arrays.copyOf(this.stages, this.stages.length + 1);
+		boolean[] p = Arrays.copyOf(this.predicates, this.predicates.length + 1);
+		s[s.length - 1] = stage;
+		p[p.length - 1] = predicate;
+		return new FusedFilter<S, R>(s, p);
+	}
+
+	/**
+	 * Runs an element through all stages.
+	 * @param element source element
+	 * @return result element or REJECTED
+	 */
+	@SuppressWarnings("unchecked")
+	private Object apply(Object element){
+		Object ret = element;
+		for(int i=0; i<this.stages.length; i++){
+			if(this.predicates[i]){
+				if(!((Predicate<Object>)this.stages[i]).test(ret)){
+					return REJECTED;
+				}
+			}
+			else{
+				ret = ((Skb_Transformer<Object, Object>)this.stages[i]).transform(ret);
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Adds all accepted elements of the sources to the target collection.
+	 * @param <C> type of the target collection
+	 * @param target target collection
+	 * @param sources source collections, null sources are ignored
+	 * @return the target collection
+	 */
+	@SafeVarargs
+	@SuppressWarnings("unchecked")
+	public final <C extends Collection<? super T>> C into(C target, Iterable<? extends S> ... sources){
+		if(sources!=null){
+			for(Iterable<? extends S> source : sources){
+				if(source!=null){
+					for(S s : source){
+						Object r = this.apply(s);
+						if(r!=REJECTED){
+							target.add((T)r);
+						}
+					}
+				}
+			}
+		}
+		return target;
+	}
+
+	/**
+	 * Returns a list of all accepted elements of the sources, presized for the number of source elements.
+	 * @param strategy list strategy for the returned list
+	 * @param sources source collections, null sources are ignored
+	 * @return list of accepted elements
+	 */
+	@SafeVarargs
+	@SuppressWarnings("varargs")
+	public final List<T> toList(ListStrategy strategy, Collection<? extends S> ... sources){
+		if(strategy==ListStrategy.IMMUTABLE){
+			//immutable lists cannot be filled, collect into a list first
+			return strategy.get(this.toList(ListStrategy.ARRAY_LIST, sources));
+		}
+		return this.into(strategy.get((Class<T>)null, SIZE(sources)), sources);
+	}
+
+	/**
+	 * Returns a set of all accepted elements of the sources, presized for the number of source elements.
+	 * @param strategy set strategy for the returned set
+	 * @param sources source collections, null sources are ignored
+	 * @return set of accepted elements
+	 */
+	@SafeVarargs
+	@SuppressWarnings("varargs")
+	public final Set<T> toSet(SetStrategy strategy, Collection<? extends S> ... sources){
+		if(strategy==SetStrategy.IMMUTABLE){
+			//immutable sets cannot be filled, collect into a list first
+			return strategy.get(this.toList(ListStrategy.ARRAY_LIST, sources));
+		}
+		return this.into(strategy.get((Class<T>)null, SIZE(sources)), sources);
+	}
+
+	/**
+	 * Counts the accepted elements of the sources without collecting them.
+	 * @param sources source collections, null sources are ignored
+	 * @return number of accepted elements
+	 */
+	@SafeVarargs
+	public final long count(Iterable<? extends S> ... sources){
+		long ret = 0;
+		if(sources!=null){
+			for(Iterable<? extends S> source : sources){
+				if(source!=null){
+					for(S s : source){
+						if(this.apply(s)!=REJECTED){
+							ret++;
+						}
+					}
+				}
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns the first accepted element of the sources, stopping at it.
+	 * @param sources source collections, null sources are ignored
+	 * @return first accepted element, null if there is none
+	 */
+	@SafeVarargs
+	@SuppressWarnings("unchecked")
+	public final T first(Iterable<? extends S> ... sources){
+		if(sources!=null){
+			for(Iterable<? extends S> source : sources){
+				if(source!=null){
+					for(S s : source){
+						Object r = this.apply(s);
+						if(r!=REJECTED){
+							return (T)r;
+						}
+					}
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the number of elements in all sources.
+	 * @param sources the sources
+	 * @return number of elements
+	 */
+	static int SIZE(Collection<?>[] sources){
+		long ret = 0;
+		if(sources!=null){
+			for(Collection<?> source : sources){
+				if(source!=null){
+					ret += source.size();
+				}
+			}
+		}
+		return (int)Math.min(ret, Integer.MAX_VALUE);
+	}
+}
@@ -0,0 +1,36 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections;
+
+import java.util.Collection;
+import java.util.concurrent.BlockingDeque;
+
+/**
+ * Interface for bounded Deque strategies.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public interface IsBoundedDequeStrategy extends IsBoundedQueueStrategy {
+
+	@Override
+	<T> BlockingDeque<T> get(Collection<T> collection, int capacity);
+
+	@Override
+	<T> BlockingDeque<T> get(Class<T> T, int capacity);
+
+	@Override
+	<T> BlockingDeque<T> get(Class<T> T, int capacity, boolean fair);
+}
@@ -0,0 +1,77 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections;
+
+import java.util.Collection;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Interface for bounded Queue strategies.
+ * Bounded queues block (or reject) producers once the capacity is reached, instead of growing without limit.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public interface IsBoundedQueueStrategy extends IsMCStrategy {
+
+	/**
+	 * Test if the collection is a list.
+	 * @return true if list, false otherwise
+	 */
+	boolean isList();
+
+	/**
+	 * Test if the collection is a set.
+	 * @return true if set, false otherwise
+	 */
+	boolean isSet();
+
+	/**
+	 * Test if the collection is a queue.
+	 * @return true if queue, false otherwise
+	 */
+	boolean isQueue();
+
+	/**
+	 * Returns a new bounded queue with the elements of the given collection.
+	 * @param <T> type of the queue
+	 * @param collection input collection, can be null
+	 * @param capacity maximum number of elements the queue can hold
+	 * @return new queue
+	 * @throws IllegalArgumentException if the capacity is less than 1 or less than the size of the collection
+	 */
+	<T> BlockingQueue<T> get(Collection<T> collection, int capacity);
+
+	/**
+	 * Returns a new bounded queue of requested type.
+	 * @param <T> type of the queue
+	 * @param T class for the queue type, used for initialisation
+	 * @param capacity maximum number of elements the queue can hold
+	 * @return new queue
+	 * @throws IllegalArgumentException if the capacity is less than 1
+	 */
+	<T> BlockingQueue<T> get(Class<T> T, int capacity);
+
+	/**
+	 * Returns a new bounded queue of requested type.
+	 * @param <T> type of the queue
+	 * @param T class for the queue type, used for initialisation
+	 * @param capacity maximum number of elements the queue can hold
+	 * @param fair true if blocked threads should be served in FIFO order, ignored by implementations without fairness policy
+	 * @return new queue
+	 * @throws IllegalArgumentException if the capacity is less than 1
+	 */
+	<T> BlockingQueue<T> get(Class<T> T, int capacity, boolean fair);
+}
@@ -0,0 +1,70 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.vandermeer.skb.collections;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import de.vandermeer.skb.collections.cache.CacheMap;
+
+/**
+ * Interface for cache strategies.
+ * Caches are maps with string keys holding at most a maximum number of entries, evicting entries once full instead of growing without limit.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public interface IsCacheStrategy extends IsMCStrategy {
+
+	/**
+	 * Test if the strategy returns thread-safe caches.
+	 * @return true if thread-safe, false otherwise
+	 */
+	boolean isConcurrent();
+
+	/**
+	 * Returns a new cache without expiry for the given class T.
+	 * @param <T> type for the cached values
+	 * @param T class to be used for initialising the cache
+	 * @param maximumSize maximum number of entries
+	 * @return new cache
+	 * @throws IllegalArgumentException if the maximum size is less than 1
+	 */
+	<T> CacheMap<T> get(Class<?> T, int maximumSize);
+
+	/**
+	 * Returns a new cache for the given class T with entries expiring after a write or after the last access.
+	 * @param <T> type for the cached values
+	 * @param T class to be used for initialising the cache
+	 * @param maximumSize maximum number of entries
+	 * @param expireAfterWrite time after a write an entry expires, 0 for never
+	 * @param expireAfterAccess time after the last read or write an entry expires, 0 for never
+	 * @param unit unit of the expiry times
+	 * @return new cache
+	 * @throws IllegalArgumentException if the maximum size is less than 1 or an expiry time is negative
+	 */
+	<T> CacheMap<T> get(Class<?> T, int maximumSize, long expireAfterWrite, long expireAfterAccess, TimeUnit unit);
+
+	/**
+	 * Returns a new cache without expiry with the entries of the given map, entries beyond the maximum size are evicted following the policy of the cache.
+	 * @param <T> type for the cached values
+	 * @param map input map, must not contain null keys or values
+	 * @param maximumSize maximum number of entries
+	 * @return new cache
+	 * @throws IllegalArgumentException if the maximum size is less than 1
+	 */
+	<T> CacheMap<T> get(Map<String, T> map, int maximumSize);
+}
@@ -58,4 +58,20 @@ public interface IsCollectionStrategy extends IsMCStrategy {
 	 * @return new collection
 	 */
 	<T> Collection<T> get(Class<T> T);
+
+	/**
+	 * Returns a new collection of requested type, sized for an expected number of elements.
+	 * Implementations without a notion of capacity (for instance linked structures) ignore the size, as does the default implementation returning {@link #get(Class)}.
+	 * @param <T> type of the collection
+	 * @param T class for the collection type, used for initialisation
+	 * @param expectedSize number of elements the collection is expected to hold
+	 * @return new collection
+	 * @throws IllegalArgumentException if the expected size is negative
+	 */
+	default <T> Collection<T> get(Class<T> T, int expectedSize){
+		if(expectedSize<0){
+			throw new IllegalArgumentException("expected size must not be negative: " + expectedSize);
+		}
+		return this.get(T);
+	}
 }
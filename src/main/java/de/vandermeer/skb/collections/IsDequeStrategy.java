@@ -31,4 +31,12 @@ public interface IsDequeStrategy extends IsCollectionStrategy {
 
 	@Override
 	<T> Deque<T> get(Class<T> T);
+
+	@Override
+	default <T> Deque<T> get(Class<T> T, int expectedSize){
+		if(expectedSize<0){
+			throw new IllegalArgumentException("expected size must not be negative: " + expectedSize);
+		}
+		return this.get(T);
+	}
 }
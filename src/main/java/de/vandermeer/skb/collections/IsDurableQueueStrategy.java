@@ -0,0 +1,54 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections;
+
+import java.nio.file.Path;
+
+import de.vandermeer.skb.collections.offheap.MappedQueue;
+
+/**
+ * Interface for durable Queue strategies.
+ * Durable queues keep their elements in files of a directory, encoded with a codec, so elements not yet consumed survive a restart.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public interface IsDurableQueueStrategy extends IsMCStrategy {
+
+	/**
+	 * Returns a queue in the given directory with default settings, containing the elements left in the directory by an earlier queue.
+	 * @param <T> type of the queue
+	 * @param directory directory for the queue files, created if it does not exist
+	 * @param codec codec for the elements
+	 * @return new queue, to be closed once not needed anymore
+	 * @throws java.io.UncheckedIOException if the directory or its files cannot be accessed, or another open queue uses the directory
+	 * @throws NullPointerException if an argument is null
+	 */
+	<T> MappedQueue<T> get(Path directory, ValueCodec<T> codec);
+
+	/**
+	 * Returns a queue in the given directory, containing the elements left in the directory by an earlier queue.
+	 * @param <T> type of the queue
+	 * @param directory directory for the queue files, created if it does not exist
+	 * @param codec codec for the elements
+	 * @param segmentSize size of a queue file in bytes, the queue continues in a new file once a file is full
+	 * @param syncInterval number of added elements after which they are forced to disk, 1 to force every element, 0 to force only full files
+	 * @return new queue, to be closed once not needed anymore
+	 * @throws java.io.UncheckedIOException if the directory or its files cannot be accessed, or another open queue uses the directory
+	 * @throws IllegalArgumentException if the segment size is too small or the sync interval is negative
+	 * @throws NullPointerException if the directory or the codec is null
+	 */
+	<T> MappedQueue<T> get(Path directory, ValueCodec<T> codec, int segmentSize, int syncInterval);
+}
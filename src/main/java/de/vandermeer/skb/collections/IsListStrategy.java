@@ -18,6 +18,9 @@ package de.vandermeer.skb.collections;
 import java.util.Collection;
 import java.util.List;
 
+import de.vandermeer.skb.collections.instrumented.CollectionMetrics;
+import de.vandermeer.skb.collections.instrumented.Instruments;
+
 /**
  * Interface for List strategies.
  *
@@ -31,4 +34,36 @@ public interface IsListStrategy extends IsCollectionStrategy {
 
 	@Override
 	<T> List<T> get(Class<T> T);
+
+	@Override
+	default <T> List<T> get(Class<T> T, int expectedSize){
+		if(expectedSize<0){
+			throw new IllegalArgumentException("expected size must not be negative: " + expectedSize);
+		}
+		return this.get(T);
+	}
+
+	/**
+	 * Returns a new list for the given class, decorated to record its operations in the given metrics.
+	 * @param <T> type for the list elements
+	 * @param T class to be used for initialising the list
+	 * @param metrics metrics to record in, should not be shared with other collections
+	 * @return new instrumented list
+	 * @throws IllegalArgumentException if metrics is null
+	 */
+	default <T> List<T> instrumented(Class<T> T, CollectionMetrics metrics){
+		return Instruments.LIST(this.get(T), metrics);
+	}
+
+	/**
+	 * Returns a new list with the elements of the given collection, decorated to record its operations in the given metrics.
+	 * @param <T> type for the list elements
+	 * @param collection input collection
+	 * @param metrics metrics to record in, should not be shared with other collections
+	 * @return new instrumented list
+	 * @throws IllegalArgumentException if metrics is null
+	 */
+	default <T> List<T> instrumented(Collection<T> collection, CollectionMetrics metrics){
+		return Instruments.LIST(this.get(collection), metrics);
+	}
 }
@@ -17,6 +17,9 @@ package de.vandermeer.skb.collections;
 
 import java.util.Map;
 
+import de.vandermeer.skb.collections.instrumented.CollectionMetrics;
+import de.vandermeer.skb.collections.instrumented.Instruments;
+
 /**
  * Interface for Map strategies.
  *
@@ -40,4 +43,74 @@ public interface IsMapStrategy extends IsMCStrategy {
 	 * @return new map view
 	 */
 	<T> Map<String, T> get(Map<String, T> map);
+
+	/**
+	 * Returns a new map for the given class T as map &lt;String, T&gt;, sized for an expected number of entries.
+	 * Implementations without a notion of capacity (for instance tree maps) ignore the size, as does the default implementation returning {@link #get(Class)}.
+	 * @param <T> type for the map values
+	 * @param T class to be used for initialising the map
+	 * @param expectedSize number of entries the map is expected to hold
+	 * @return new map for the given class
+	 * @throws IllegalArgumentException if the expected size is negative
+	 */
+	default <T> Map<String, T> get(Class<?> T, int expectedSize){
+		if(expectedSize<0){
+			throw new IllegalArgumentException("expected size must not be negative: " + expectedSize);
+		}
+		return this.get(T);
+	}
+
+	/**
+	 * Returns a new map for the given class T as map &lt;String, T&gt;, sized for an expected number of entries using the given load factor.
+	 * The default implementation ignores the load factor.
+	 * @param <T> type for the map values
+	 * @param T class to be used for initialising the map
+	 * @param expectedSize number of entries the map is expected to hold
+	 * @param loadFactor load factor for hash based maps
+	 * @return new map for the given class
+	 * @throws IllegalArgumentException if the expected size is negative or the load factor is not positive
+	 */
+	default <T> Map<String, T> get(Class<?> T, int expectedSize, float loadFactor){
+		if(!(loadFactor>0)){
+			throw new IllegalArgumentException("load factor must be positive: " + loadFactor);
+		}
+		return this.get(T, expectedSize);
+	}
+
+	/**
+	 * Returns a new map as map &lt;String, T&gt;, sized for an expected number of entries, using a codec for strategies that store values in encoded form.
+	 * Strategies storing values as objects ignore the codec, as does the default implementation returning {@link #get(Class, int)}.
+	 * @param <T> type for the map values
+	 * @param codec codec for the values
+	 * @param expectedSize number of entries the map is expected to hold
+	 * @return new map
+	 * @throws IllegalArgumentException if the expected size is negative
+	 */
+	default <T> Map<String, T> get(ValueCodec<T> codec, int expectedSize){
+		return this.get((Class<?>)null, expectedSize);
+	}
+
+	/**
+	 * Returns a new map for the given class T as map &lt;String, T&gt;, decorated to record its operations in the given metrics.
+	 * @param <T> type for the map values
+	 * @param T class to be used for initialising the map
+	 * @param metrics metrics to record in, should not be shared with other maps
+	 * @return new instrumented map
+	 * @throws IllegalArgumentException if metrics is null
+	 */
+	default <T> Map<String, T> instrumented(Class<?> T, CollectionMetrics metrics){
+		return Instruments.MAP(this.<T>get(T), metrics);
+	}
+
+	/**
+	 * Returns a new map with the entries of the given map, decorated to record its operations in the given metrics.
+	 * @param <T> type for the map values
+	 * @param map input map
+	 * @param metrics metrics to record in, should not be shared with other maps
+	 * @return new instrumented map
+	 * @throws IllegalArgumentException if metrics is null
+	 */
+	default <T> Map<String, T> instrumented(Map<String, T> map, CollectionMetrics metrics){
+		return Instruments.MAP(this.get(map), metrics);
+	}
 }
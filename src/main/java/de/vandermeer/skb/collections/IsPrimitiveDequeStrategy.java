@@ -0,0 +1,116 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.vandermeer.skb.collections;
+
+import de.vandermeer.skb.collections.primitives.DoubleCollection;
+import de.vandermeer.skb.collections.primitives.DoubleDeque;
+import de.vandermeer.skb.collections.primitives.IntCollection;
+import de.vandermeer.skb.collections.primitives.IntDeque;
+import de.vandermeer.skb.collections.primitives.LongCollection;
+import de.vandermeer.skb.collections.primitives.LongDeque;
+
+/**
+ * Interface for strategies of deques of primitive values.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public interface IsPrimitiveDequeStrategy extends IsMCStrategy {
+
+	/**
+	 * Test if the collection is a list.
+	 * @return true if list, false otherwise
+	 */
+	boolean isList();
+
+	/**
+	 * Test if the collection is a set.
+	 * @return true if set, false otherwise
+	 */
+	boolean isSet();
+
+	/**
+	 * Test if the collection is a queue.
+	 * @return true if queue, false otherwise
+	 */
+	boolean isQueue();
+
+	/**
+	 * Returns a new deque of primitive int values, sized for an expected number of values.
+	 * @param expectedSize number of values the deque is expected to hold
+	 * @return new deque
+	 * @throws IllegalArgumentException if the expected size is negative
+	 */
+	IntDeque getInt(int expectedSize);
+
+	/**
+	 * Returns a new deque of primitive int values with a copy of the given array.
+	 * @param values input values, can be null
+	 * @return new deque
+	 */
+	IntDeque getInt(int[] values);
+
+	/**
+	 * Returns a new deque of primitive int values with the values of the given collection.
+	 * @param values input collection, can be null
+	 * @return new deque
+	 */
+	IntDeque getInt(IntCollection values);
+
+	/**
+	 * Returns a new deque of primitive long values, sized for an expected number of values.
+	 * @param expectedSize number of values the deque is expected to hold
+	 * @return new deque
+	 * @throws IllegalArgumentException if the expected size is negative
+	 */
+	LongDeque getLong(int expectedSize);
+
+	/**
+	 * Returns a new deque of primitive long values with a copy of the given array.
+	 * @param values input values, can be null
+	 * @return new deque
+	 */
+	LongDeque getLong(long[] values);
+
+	/**
+	 * Returns a new deque of primitive long values with the values of the given collection.
+	 * @param values input collection, can be null
+	 * @return new deque
+	 */
+	LongDeque getLong(LongCollection values);
+
+	/**
+	 * Returns a new deque of primitive double values, sized for an expected number of values.
+	 * @param expectedSize number of values the deque is expected to hold
+	 * @return new deque
+	 * @throws IllegalArgumentException if the expected size is negative
+	 */
+	DoubleDeque getDouble(int expectedSize);
+
+	/**
+	 * Returns a new deque of primitive double values with a copy of the given array.
+	 * @param values input values, can be null
+	 * @return new deque
+	 */
+	DoubleDeque getDouble(double[] values);
+
+	/**
+	 * Returns a new deque of primitive double values with the values of the given collection.
+	 * @param values input collection, can be null
+	 * @return new deque
+	 */
+	DoubleDeque getDouble(DoubleCollection values);
+}
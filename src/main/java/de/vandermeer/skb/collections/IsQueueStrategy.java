@@ -26,9 +26,25 @@ import java.util.Queue;
  */
 public interface IsQueueStrategy extends IsCollectionStrategy {
 
+	/**
+	 * Test if the strategy returns thread-safe queues.
+	 * @return true if thread-safe, false otherwise (default)
+	 */
+	default boolean isConcurrent(){
+		return false;
+	}
+
 	@Override
 	<T> Queue<T> get(Collection<T> collection);
 
 	@Override
 	<T> Queue<T> get(Class<T> T);
+
+	@Override
+	default <T> Queue<T> get(Class<T> T, int expectedSize){
+		if(expectedSize<0){
+			throw new IllegalArgumentException("expected size must not be negative: " + expectedSize);
+		}
+		return this.get(T);
+	}
 }
@@ -0,0 +1,79 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections;
+
+import java.util.Collection;
+
+import de.vandermeer.skb.collections.concurrent.RingBuffer;
+
+/**
+ * Interface for ring buffer strategies.
+ * Ring buffers are bounded lock-free queues, offers are rejected once the capacity is reached.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public interface IsRingBufferStrategy extends IsMCStrategy {
+
+	/**
+	 * Test if the collection is a list.
+	 * @return true if list, false otherwise
+	 */
+	boolean isList();
+
+	/**
+	 * Test if the collection is a set.
+	 * @return true if set, false otherwise
+	 */
+	boolean isSet();
+
+	/**
+	 * Test if the collection is a queue.
+	 * @return true if queue, false otherwise
+	 */
+	boolean isQueue();
+
+	/**
+	 * Test if the ring buffer permits several producer threads.
+	 * @return true if several threads may add elements at the same time, false if only a single thread may
+	 */
+	boolean isMultiProducer();
+
+	/**
+	 * Test if the ring buffer permits several consumer threads.
+	 * @return true if several threads may remove elements at the same time, false if only a single thread may
+	 */
+	boolean isMultiConsumer();
+
+	/**
+	 * Returns a new ring buffer with the elements of the given collection.
+	 * @param <T> type of the ring buffer
+	 * @param collection input collection, can be null
+	 * @param capacity minimum number of elements the ring buffer can hold, rounded up to a power of two
+	 * @return new ring buffer
+	 * @throws IllegalArgumentException if the capacity is less than 1, larger than {@link RingBuffer#MAX_CAPACITY} or less than the size of the collection
+	 */
+	<T> RingBuffer<T> get(Collection<T> collection, int capacity);
+
+	/**
+	 * Returns a new ring buffer of requested type.
+	 * @param <T> type of the ring buffer
+	 * @param T class for the ring buffer type, used for initialisation
+	 * @param capacity minimum number of elements the ring buffer can hold, rounded up to a power of two
+	 * @return new ring buffer
+	 * @throws IllegalArgumentException if the capacity is less than 1 or larger than {@link RingBuffer#MAX_CAPACITY}
+	 */
+	<T> RingBuffer<T> get(Class<T> T, int capacity);
+}
@@ -18,6 +18,9 @@ package de.vandermeer.skb.collections;
 import java.util.Collection;
 import java.util.Set;
 
+import de.vandermeer.skb.collections.instrumented.CollectionMetrics;
+import de.vandermeer.skb.collections.instrumented.Instruments;
+
 /**
  * Interface for Set strategies.
  *
@@ -31,4 +34,53 @@ public interface IsSetStrategy extends IsCollectionStrategy {
 
 	@Override
 	<T> Set<T> get(Class<T> T);
+
+	@Override
+	default <T> Set<T> get(Class<T> T, int expectedSize){
+		if(expectedSize<0){
+			throw new IllegalArgumentException("expected size must not be negative: " + expectedSize);
+		}
+		return this.get(T);
+	}
+
+	/**
+	 * Returns a new set of requested type, sized for an expected number of elements using the given load factor.
+	 * The default implementation ignores the load factor.
+	 * @param <T> type of the set
+	 * @param T class for the set type, used for initialisation
+	 * @param expectedSize number of elements the set is expected to hold
+	 * @param loadFactor load factor for hash based sets
+	 * @return new set
+	 * @throws IllegalArgumentException if the expected size is negative or the load factor is not positive
+	 */
+	default <T> Set<T> get(Class<T> T, int expectedSize, float loadFactor){
+		if(!(loadFactor>0)){
+			throw new IllegalArgumentException("load factor must be positive: " + loadFactor);
+		}
+		return this.get(T, expectedSize);
+	}
+
+	/**
+	 * Returns a new set for the given class, decorated to record its operations in the given metrics.
+	 * @param <T> type for the set elements
+	 * @param T class to be used for initialising the set
+	 * @param metrics metrics to record in, should not be shared with other collections
+	 * @return new instrumented set
+	 * @throws IllegalArgumentException if metrics is null
+	 */
+	default <T> Set<T> instrumented(Class<T> T, CollectionMetrics metrics){
+		return Instruments.SET(this.get(T), metrics);
+	}
+
+	/**
+	 * Returns a new set with the elements of the given collection, decorated to record its operations in the given metrics.
+	 * @param <T> type for the set elements
+	 * @param collection input collection
+	 * @param metrics metrics to record in, should not be shared with other collections
+	 * @return new instrumented set
+	 * @throws IllegalArgumentException if metrics is null
+	 */
+	default <T> Set<T> instrumented(Collection<T> collection, CollectionMetrics metrics){
+		return Instruments.SET(this.get(collection), metrics);
+	}
 }
@@ -0,0 +1,76 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.NavigableMap;
+
+/**
+ * Interface for Sorted Map strategies.
+ * Other than map strategies, sorted maps are not limited to string keys: keys are ordered by their natural ordering or a comparator,
+ * and the returned maps support range views and floor, ceiling, lower and higher lookups.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public interface IsSortedMapStrategy extends IsMCStrategy {
+
+	/**
+	 * Test if the strategy returns thread-safe maps.
+	 * @return true if thread-safe, false otherwise
+	 */
+	boolean isConcurrent();
+
+	/**
+	 * Returns a new map of requested types, ordered by the natural ordering of the keys.
+	 * @param <K> type of the map keys
+	 * @param <V> type of the map values
+	 * @param K class for the key type
+	 * @param V class for the value type
+	 * @return new map
+	 */
+	<K extends Comparable<? super K>, V> NavigableMap<K, V> get(Class<K> K, Class<V> V);
+
+	/**
+	 * Returns a new map of requested types, ordered by a comparator.
+	 * @param <K> type of the map keys
+	 * @param <V> type of the map values
+	 * @param K class for the key type
+	 * @param V class for the value type
+	 * @param comparator comparator for the keys, null for the natural ordering
+	 * @return new map
+	 */
+	<K, V> NavigableMap<K, V> get(Class<K> K, Class<V> V, Comparator<? super K> comparator);
+
+	/**
+	 * Returns a new map with the entries of the given map, ordered by the natural ordering of the keys.
+	 * @param <K> type of the map keys
+	 * @param <V> type of the map values
+	 * @param map input map, null for an empty map
+	 * @return new map
+	 */
+	<K extends Comparable<? super K>, V> NavigableMap<K, V> get(Map<K, ? extends V> map);
+
+	/**
+	 * Returns a new map with the entries of the given map, ordered by a comparator.
+	 * @param <K> type of the map keys
+	 * @param <V> type of the map values
+	 * @param map input map, null for an empty map
+	 * @param comparator comparator for the keys, null for the natural ordering
+	 * @return new map
+	 */
+	<K, V> NavigableMap<K, V> get(Map<K, ? extends V> map, Comparator<? super K> comparator);
+}
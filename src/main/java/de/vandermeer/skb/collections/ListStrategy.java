@@ -21,6 +21,13 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Stack;
 import java.util.Vector;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import de.vandermeer.skb.collections.adaptive.AdaptiveList;
+import de.vandermeer.skb.collections.concurrent.AppendOnlyList;
+import de.vandermeer.skb.collections.concurrent.LockPolicy;
+import de.vandermeer.skb.collections.concurrent.LockedList;
+import de.vandermeer.skb.collections.immutable.ImmutableArrayList;
 
 /**
  * Strategies for lists.
@@ -38,35 +45,67 @@ public enum ListStrategy implements IsListStrategy {
 	/** LinkedList from java-util. */
 	LINKED_LIST,
 
-	/** Stack from java-util. */
+	/** Stack from java-util, a LockedList if {@link LockPolicy#PREFER_LOCKS()} (opt-in), then compound actions must lock {@link LockedList#getLock()}, synchronizing on the list does not guard them. */
 	STACK,
 
-	/** Vector from java-util. */
+	/** Vector from java-util, a LockedList if {@link LockPolicy#PREFER_LOCKS()} (opt-in), then compound actions must lock {@link LockedList#getLock()}, synchronizing on the list does not guard them. */
 	VECTOR,
+
+	/** AdaptiveList switching between ArrayList and LinkedList depending on the workload, not thread-safe, see {@link AdaptiveList} for details. */
+	AUTO,
+
+	/** CopyOnWriteArrayList from java-util-concurrent, for read-mostly lists shared between threads. */
+	COPY_ON_WRITE_ARRAY_LIST,
+
+	/** AppendOnlyList, lock-free list for many concurrent writers that only append, see {@link AppendOnlyList} for details. */
+	APPEND_ONLY_LIST,
+
+	/** ImmutableArrayList backed by an array of exactly its size, built from a collection, all mutating methods throw an UnsupportedOperationException. */
+	IMMUTABLE,
 	;
 
 	@Override
 	public <T> List<T> get(Collection<T> collection) {
+		if(collection==null){
+			return this.get((Class<T>)null);
+		}
 		List<T> ret;
 		switch(this){
 			case LINKED_LIST:
-				ret = new LinkedList<T>();
+				ret = new LinkedList<T>(collection);
 				break;
 			case STACK:
-				ret = new Stack<T>();
+				if(LockPolicy.PREFER_LOCKS()){
+					ret = new LockedList<T>(collection);
+				}
+				else{
+					Stack<T> stack = new Stack<T>();
+					stack.ensureCapacity(collection.size());
+					stack.addAll(collection);
+					ret = stack;
+				}
 				break;
 			case VECTOR:
-				ret = new Vector<T>();
+				ret = (LockPolicy.PREFER_LOCKS())?new LockedList<T>(collection):new Vector<T>(collection);
+				break;
+			case AUTO:
+				ret = new AdaptiveList<T>(collection);
+				break;
+			case COPY_ON_WRITE_ARRAY_LIST:
+				ret = new CopyOnWriteArrayList<T>(collection);
+				break;
+			case APPEND_ONLY_LIST:
+				ret = new AppendOnlyList<T>(collection);
+				break;
+			case IMMUTABLE:
+				ret = new ImmutableArrayList<T>(collection);
 				break;
 			case ARRAY_LIST:
 			case DEFAULT:
 			default:
-				ret = new ArrayList<T>();
+				ret = new ArrayList<T>(collection);
 				break;
 		}
-		if(collection!=null){
-			ret.addAll(collection);
-		}
 		return ret;
 	}
 
@@ -78,10 +117,22 @@ public enum ListStrategy implements IsListStrategy {
 				ret = new LinkedList<T>();
 				break;
 			case STACK:
-				ret = new Stack<T>();
+				ret = (LockPolicy.PREFER_LOCKS())?new LockedList<T>():new Stack<T>();
 				break;
 			case VECTOR:
-				ret = new Vector<T>();
+				ret = (LockPolicy.PREFER_LOCKS())?new LockedList<T>():new Vector<T>();
+				break;
+			case AUTO:
+				ret = new AdaptiveList<T>();
+				break;
+			case COPY_ON_WRITE_ARRAY_LIST:
+				ret = new CopyOnWriteArrayList<T>();
+				break;
+			case APPEND_ONLY_LIST:
+				ret = new AppendOnlyList<T>();
+				break;
+			case IMMUTABLE:
+				ret = new ImmutableArrayList<T>();
 				break;
 			case ARRAY_LIST:
 			case DEFAULT:
@@ -92,6 +143,50 @@ public enum ListStrategy implements IsListStrategy {
 		return ret;
 	}
 
+	@Override
+	public <T> List<T> get(Class<T> T, int expectedSize){
+		if(expectedSize<0){
+			throw new IllegalArgumentException("expected size must not be negative: " + expectedSize);
+		}
+		List<T> ret;
+		switch(this){
+			case LINKED_LIST:
+				ret = new LinkedList<T>();
+				break;
+			case STACK:
+				if(LockPolicy.PREFER_LOCKS()){
+					ret = new LockedList<T>(expectedSize);
+				}
+				else{
+					Stack<T> stack = new Stack<T>();
+					stack.ensureCapacity(expectedSize);
+					ret = stack;
+				}
+				break;
+			case VECTOR:
+				ret = (LockPolicy.PREFER_LOCKS())?new LockedList<T>(expectedSize):new Vector<T>(expectedSize);
+				break;
+			case AUTO:
+				ret = new AdaptiveList<T>(expectedSize);
+				break;
+			case COPY_ON_WRITE_ARRAY_LIST:
+				ret = new CopyOnWriteArrayList<T>();
+				break;
+			case APPEND_ONLY_LIST:
+				ret = new AppendOnlyList<T>(expectedSize);
+				break;
+			case IMMUTABLE:
+				ret = new ImmutableArrayList<T>();
+				break;
+			case ARRAY_LIST:
+			case DEFAULT:
+			default:
+				ret = new ArrayList<T>(expectedSize);
+				break;
+		}
+		return ret;
+	}
+
 	@Override
 	public String toString() {
 		return this.name();
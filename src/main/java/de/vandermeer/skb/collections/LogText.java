@@ -0,0 +1,105 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Bounded textual representation of a collection or map, rendered only when {@link #toString()} is called.
+ *
+ * Creating a log text costs one small object, so it can be passed to a logger on hot paths:
+ * the collection is only rendered if the logger actually writes the message, and then only up to the configured limits.
+ * The text is rendered again on every call and reflects the current content of the collection or map.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public final class LogText {
+
+	/** Default maximum number of elements rendered per collection or map. */
+	public static final int DEFAULT_MAX_ELEMENTS = 10;
+
+	/** Default maximum nesting depth of collections and maps rendered with their elements. */
+	public static final int DEFAULT_MAX_DEPTH = 2;
+
+	/** Default maximum number of characters. */
+	public static final int DEFAULT_MAX_CHARS = 1024;
+
+	/** The collection to render, null if a map is rendered. */
+	private final Collection<?> collection;
+
+	/** The map to render, null if a collection is rendered. */
+	private final Map<?, ?> map;
+
+	/** Maximum number of elements rendered per collection or map. */
+	private final int maxElements;
+
+	/** Maximum nesting depth. */
+	private final int maxDepth;
+
+	/** Maximum number of characters. */
+	private final int maxChars;
+
+	/**
+	 * Returns a new log text.
+	 * @param collection collection to render, null if a map is rendered
+	 * @param map map to render, null if a collection is rendered
+	 * @param maxElements maximum number of elements rendered per collection or map
+	 * @param maxDepth maximum nesting depth of collections and maps rendered with their elements
+	 * @param maxChars maximum number of characters
+	 * @throws IllegalArgumentException if a limit is negative
+	 */
+	LogText(Collection<?> collection, Map<?, ?> map, int maxElements, int maxDepth, int maxChars){
+		if(maxElements<0 || maxDepth<0 || maxChars<0){
+			throw new IllegalArgumentException("limits must not be negative: elements " + maxElements + ", depth " + maxDepth + ", characters " + maxChars);
+		}
+		this.collection = collection;
+		this.map = map;
+		this.maxElements = maxElements;
+		this.maxDepth = maxDepth;
+		this.maxChars = maxChars;
+	}
+
+	/**
+	 * Renders the text to an appendable.
+	 * @param <A> type of the appendable
+	 * @param out target for the text
+	 * @return the target
+	 * @throws IOException if writing to the target fails
+	 */
+	public <A extends Appendable> A appendTo(A out) throws IOException {
+		TextRenderer renderer = new TextRenderer(out, this.maxElements, this.maxDepth, this.maxChars);
+		if(this.map!=null){
+			renderer.map(this.map);
+		}
+		else{
+			renderer.collection(this.collection);
+		}
+		return out;
+	}
+
+	@Override
+	public String toString(){
+		try{
+			return this.appendTo(new StringBuilder(Math.min(this.maxChars + TextRenderer.CUT.length(), 256))).toString();
+		}
+		catch(IOException ex){
+			//a string builder does not throw
+			throw new IllegalStateException(ex);
+		}
+	}
+}
@@ -24,6 +24,17 @@ import java.util.TreeMap;
 import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
 
+import de.vandermeer.skb.collections.adaptive.AdaptiveMap;
+import de.vandermeer.skb.collections.concurrent.LockPolicy;
+import de.vandermeer.skb.collections.concurrent.LockedMap;
+import de.vandermeer.skb.collections.immutable.ImmutableStringMap;
+import de.vandermeer.skb.collections.offheap.OffHeapMap;
+import de.vandermeer.skb.collections.references.ConcurrentReferenceValueMap;
+import de.vandermeer.skb.collections.references.ReferenceValueMap;
+import de.vandermeer.skb.collections.references.Strength;
+import de.vandermeer.skb.collections.strings.RadixTreeMap;
+import de.vandermeer.skb.collections.strings.RobinHoodMap;
+
 /**
  * Strategies for maps.
  *
@@ -37,7 +48,7 @@ public enum MapStrategy implements IsMapStrategy {
 	/** HashMap from java-util. */
 	HASH_MAP,
 
-	/** Hashtable from java-util. */
+	/** Hashtable from java-util, a LockedMap if {@link LockPolicy#PREFER_LOCKS()} (opt-in), then compound actions must lock {@link LockedMap#getLock()}, synchronizing on the map does not guard them. */
 	HASH_TABLE,
 
 	/** LinkedHashMap from java-util. */
@@ -54,6 +65,33 @@ public enum MapStrategy implements IsMapStrategy {
 
 	/** TreeMap from java-util. */
 	TREE_MAP,
+
+	/** OffHeapMap storing keys and encoded values in direct buffers, see {@link OffHeapMap} for details and the need to close it. */
+	OFF_HEAP,
+
+	/** RobinHoodMap, an open addressing table with parallel key, value and cached hash arrays, no null keys, see {@link RobinHoodMap} for details. */
+	ROBIN_HOOD_HASH_MAP,
+
+	/** RadixTreeMap sharing common key prefixes, iterating in key order with prefix views, no null keys, see {@link RadixTreeMap} for details. */
+	RADIX_TREE_MAP,
+
+	/** ReferenceValueMap holding values through soft references, reclaimed under memory pressure, no null keys or values, see {@link ReferenceValueMap} for details. */
+	SOFT_VALUE,
+
+	/** ReferenceValueMap holding values through weak references, reclaimed once not used elsewhere, no null keys or values, see {@link ReferenceValueMap} for details. */
+	WEAK_VALUE,
+
+	/** ConcurrentReferenceValueMap holding values through soft references, thread-safe, no null keys or values. */
+	CONCURRENT_SOFT_VALUE,
+
+	/** ConcurrentReferenceValueMap holding values through weak references, thread-safe, no null keys or values. */
+	CONCURRENT_WEAK_VALUE,
+
+	/** ImmutableStringMap using a minimal perfect hash function over arrays of keys and values, built from a map, no null keys, all mutating methods throw an UnsupportedOperationException. */
+	IMMUTABLE,
+
+	/** AdaptiveMap switching between HashMap and LinkedHashMap depending on the workload, not thread-safe, see {@link AdaptiveMap} for details. */
+	AUTO,
 	;
 
 	/**
@@ -69,13 +107,31 @@ public enum MapStrategy implements IsMapStrategy {
 			case TREE_MAP:
 				return new TreeMap<String, T>();
 			case HASH_TABLE:
-				return new Hashtable<String, T>();
+				return (LockPolicy.PREFER_LOCKS())?new LockedMap<String, T>():new Hashtable<String, T>();
 			case IDENTITY_HASH_MAP:
 				return new IdentityHashMap<String, T>();
 			case WEAK_HASH_MAP:
 				return new WeakHashMap<String, T>();
 			case CONCURRENT_HASH_MAP:
 				return new ConcurrentHashMap<String, T>();
+			case OFF_HEAP:
+				return new OffHeapMap<T>(ValueCodecs.<T>FOR_CLASS(T));
+			case ROBIN_HOOD_HASH_MAP:
+				return new RobinHoodMap<T>();
+			case RADIX_TREE_MAP:
+				return new RadixTreeMap<T>();
+			case SOFT_VALUE:
+				return new ReferenceValueMap<T>(Strength.SOFT);
+			case WEAK_VALUE:
+				return new ReferenceValueMap<T>(Strength.WEAK);
+			case CONCURRENT_SOFT_VALUE:
+				return new ConcurrentReferenceValueMap<T>(Strength.SOFT);
+			case CONCURRENT_WEAK_VALUE:
+				return new ConcurrentReferenceValueMap<T>(Strength.WEAK);
+			case IMMUTABLE:
+				return new ImmutableStringMap<T>();
+			case AUTO:
+				return new AdaptiveMap<T>();
 			case HASH_MAP:
 			case DEFAULT:
 			default:
@@ -100,7 +156,7 @@ public enum MapStrategy implements IsMapStrategy {
 				ret = new TreeMap<String, T>(map);
 				break;
 			case HASH_TABLE:
-				ret = new Hashtable<String, T>(map);
+				ret = (LockPolicy.PREFER_LOCKS())?new LockedMap<String, T>(map):new Hashtable<String, T>(map);
 				break;
 			case IDENTITY_HASH_MAP:
 				ret = new IdentityHashMap<String, T>(map);
@@ -111,15 +167,117 @@ public enum MapStrategy implements IsMapStrategy {
 			case CONCURRENT_HASH_MAP:
 				ret = new ConcurrentHashMap<String, T>(map);
 				break;
+			case OFF_HEAP:
+				ret = new OffHeapMap<T>(ValueCodecs.<T>FOR_CLASS(null), map.size(), CollectionTools.DEFAULT_LOAD_FACTOR, OffHeapMap.DEFAULT_PAGE_SIZE);
+				ret.putAll(map);
+				break;
+			case ROBIN_HOOD_HASH_MAP:
+				ret = new RobinHoodMap<T>(map);
+				break;
+			case RADIX_TREE_MAP:
+				ret = new RadixTreeMap<T>(map);
+				break;
+			case SOFT_VALUE:
+			case WEAK_VALUE:
+			case CONCURRENT_SOFT_VALUE:
+			case CONCURRENT_WEAK_VALUE:
+				ret = this.get((Class<?>)null, map.size());
+				ret.putAll(map);
+				break;
+			case IMMUTABLE:
+				ret = new ImmutableStringMap<T>(map);
+				break;
+			case AUTO:
+				ret = new AdaptiveMap<T>(map);
+				break;
 			case HASH_MAP:
 			case DEFAULT:
 			default:
 				ret = new HashMap<String, T>(map);
 				break;
-	}
+		}
 		return ret;
 	}
 
+	/**
+	 * Returns a new map for the used strategy (enum) for the given class T as map &lt;String, T&gt;, sized for an expected number of entries.
+	 * @param <T> type for the map values
+	 * @param T class to be used for initialising the map
+	 * @param expectedSize number of entries the map is expected to hold
+	 * @return new map for the given class
+	 */
+	@Override
+	public <T> Map<String, T> get(Class<?> T, int expectedSize) {
+		return this.get(T, expectedSize, CollectionTools.DEFAULT_LOAD_FACTOR);
+	}
+
+	/**
+	 * Returns a new map for the used strategy (enum) for the given class T as map &lt;String, T&gt;, sized for an expected number of entries using the given load factor.
+	 * @param <T> type for the map values
+	 * @param T class to be used for initialising the map
+	 * @param expectedSize number of entries the map is expected to hold
+	 * @param loadFactor load factor for hash based maps, open addressing maps (OFF_HEAP, ROBIN_HOOD_HASH_MAP) use at most 0.9
+	 * @return new map for the given class
+	 */
+	@Override
+	public <T> Map<String, T> get(Class<?> T, int expectedSize, float loadFactor) {
+		int capacity = CollectionTools.HASH_CAPACITY(expectedSize, loadFactor);
+		switch(this){
+			case LINKED_HASH_MAP:
+				return new LinkedHashMap<String, T>(capacity, loadFactor);
+			case TREE_MAP:
+				return new TreeMap<String, T>();
+			case HASH_TABLE:
+				return (LockPolicy.PREFER_LOCKS())?new LockedMap<String, T>(capacity, loadFactor):new Hashtable<String, T>(capacity, loadFactor);
+			case IDENTITY_HASH_MAP:
+				return new IdentityHashMap<String, T>(expectedSize);
+			case WEAK_HASH_MAP:
+				return new WeakHashMap<String, T>(capacity, loadFactor);
+			case CONCURRENT_HASH_MAP:
+				return new ConcurrentHashMap<String, T>(expectedSize, loadFactor);
+			case OFF_HEAP:
+				return new OffHeapMap<T>(ValueCodecs.<T>FOR_CLASS(T), expectedSize, Math.min(loadFactor, OffHeapMap.MAX_LOAD_FACTOR), OffHeapMap.DEFAULT_PAGE_SIZE);
+			case ROBIN_HOOD_HASH_MAP:
+				return new RobinHoodMap<T>(expectedSize, Math.min(loadFactor, RobinHoodMap.MAX_LOAD_FACTOR));
+			case RADIX_TREE_MAP:
+				return new RadixTreeMap<T>();
+			case SOFT_VALUE:
+				return new ReferenceValueMap<T>(Strength.SOFT, expectedSize);
+			case WEAK_VALUE:
+				return new ReferenceValueMap<T>(Strength.WEAK, expectedSize);
+			case CONCURRENT_SOFT_VALUE:
+				return new ConcurrentReferenceValueMap<T>(Strength.SOFT, expectedSize);
+			case CONCURRENT_WEAK_VALUE:
+				return new ConcurrentReferenceValueMap<T>(Strength.WEAK, expectedSize);
+			case IMMUTABLE:
+				return new ImmutableStringMap<T>();
+			case AUTO:
+				return new AdaptiveMap<T>(expectedSize);
+			case HASH_MAP:
+			case DEFAULT:
+			default:
+				return new HashMap<String, T>(capacity, loadFactor);
+		}
+	}
+
+	/**
+	 * Returns a new map as map &lt;String, T&gt;, sized for an expected number of entries, using a codec for strategies that store values in encoded form.
+	 * Only OFF_HEAP uses the codec, all other strategies ignore it.
+	 * @param <T> type for the map values
+	 * @param codec codec for the values
+	 * @param expectedSize number of entries the map is expected to hold
+	 * @return new map
+	 */
+	@Override
+	public <T> Map<String, T> get(ValueCodec<T> codec, int expectedSize) {
+		switch(this){
+			case OFF_HEAP:
+				return new OffHeapMap<T>(codec, expectedSize, CollectionTools.DEFAULT_LOAD_FACTOR, OffHeapMap.DEFAULT_PAGE_SIZE);
+			default:
+				return this.get((Class<?>)null, expectedSize);
+		}
+	}
+
 	@Override
 	public String toString() {
 		return this.name();
@@ -0,0 +1,154 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.vandermeer.skb.collections;
+
+import de.vandermeer.skb.collections.primitives.DoubleArrayDeque;
+import de.vandermeer.skb.collections.primitives.DoubleCollection;
+import de.vandermeer.skb.collections.primitives.DoubleDeque;
+import de.vandermeer.skb.collections.primitives.IntArrayDeque;
+import de.vandermeer.skb.collections.primitives.IntCollection;
+import de.vandermeer.skb.collections.primitives.IntDeque;
+import de.vandermeer.skb.collections.primitives.LongArrayDeque;
+import de.vandermeer.skb.collections.primitives.LongCollection;
+import de.vandermeer.skb.collections.primitives.LongDeque;
+
+/**
+ * Strategies for deques of primitive int, long and double values, avoiding boxing of elements.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public enum PrimitiveDequeStrategy implements IsPrimitiveDequeStrategy {
+	/** Default deque, results in an array deque. */
+	DEFAULT,
+
+	/** Array deque, values are stored in a circular array. */
+	ARRAY_DEQUE,
+	;
+
+	@Override
+	public IntDeque getInt(int expectedSize){
+		IntDeque ret;
+		switch(this){
+			case ARRAY_DEQUE:
+			case DEFAULT:
+			default:
+				ret = new IntArrayDeque(expectedSize);
+				break;
+		}
+		return ret;
+	}
+
+	@Override
+	public IntDeque getInt(int[] values){
+		IntDeque ret = this.getInt((values==null)?0:values.length);
+		if(values!=null){
+			ret.addAll(values);
+		}
+		return ret;
+	}
+
+	@Override
+	public IntDeque getInt(IntCollection values){
+		IntDeque ret = this.getInt((values==null)?0:values.size());
+		if(values!=null){
+			ret.addAll(values);
+		}
+		return ret;
+	}
+
+	@Override
+	public LongDeque getLong(int expectedSize){
+		LongDeque ret;
+		switch(this){
+			case ARRAY_DEQUE:
+			case DEFAULT:
+			default:
+				ret = new LongArrayDeque(expectedSize);
+				break;
+		}
+		return ret;
+	}
+
+	@Override
+	public LongDeque getLong(long[] values){
+		LongDeque ret = this.getLong((values==null)?0:values.length);
+		if(values!=null){
+			ret.addAll(values);
+		}
+		return ret;
+	}
+
+	@Override
+	public LongDeque getLong(LongCollection values){
+		LongDeque ret = this.getLong((values==null)?0:values.size());
+		if(values!=null){
+			ret.addAll(values);
+		}
+		return ret;
+	}
+
+	@Override
+	public DoubleDeque getDouble(int expectedSize){
+		DoubleDeque ret;
+		switch(this){
+			case ARRAY_DEQUE:
+			case DEFAULT:
+			default:
+				ret = new DoubleArrayDeque(expectedSize);
+				break;
+		}
+		return ret;
+	}
+
+	@Override
+	public DoubleDeque getDouble(double[] values){
+		DoubleDeque ret = this.getDouble((values==null)?0:values.length);
+		if(values!=null){
+			ret.addAll(values);
+		}
+		return ret;
+	}
+
+	@Override
+	public DoubleDeque getDouble(DoubleCollection values){
+		DoubleDeque ret = this.getDouble((values==null)?0:values.size());
+		if(values!=null){
+			ret.addAll(values);
+		}
+		return ret;
+	}
+
+	@Override
+	public String toString() {
+		return this.name();
+	}
+
+	@Override
+	public boolean isList(){
+		return false;
+	}
+
+	@Override
+	public boolean isSet(){
+		return false;
+	}
+
+	@Override
+	public boolean isQueue(){
+		return true;
+	}
+}
@@ -0,0 +1,154 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.vandermeer.skb.collections;
+
+import de.vandermeer.skb.collections.primitives.DoubleArrayList;
+import de.vandermeer.skb.collections.primitives.DoubleCollection;
+import de.vandermeer.skb.collections.primitives.DoubleList;
+import de.vandermeer.skb.collections.primitives.IntArrayList;
+import de.vandermeer.skb.collections.primitives.IntCollection;
+import de.vandermeer.skb.collections.primitives.IntList;
+import de.vandermeer.skb.collections.primitives.LongArrayList;
+import de.vandermeer.skb.collections.primitives.LongCollection;
+import de.vandermeer.skb.collections.primitives.LongList;
+
+/**
+ * Strategies for lists of primitive int, long and double values, avoiding boxing of elements.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public enum PrimitiveListStrategy implements IsPrimitiveListStrategy {
+	/** Default list, results in an array list. */
+	DEFAULT,
+
+	/** Array list, values are stored in a growable array. */
+	ARRAY_LIST,
+	;
+
+	@Override
+	public IntList getInt(int expectedSize){
+		IntList ret;
+		switch(this){
+			case ARRAY_LIST:
+			case DEFAULT:
+			default:
+				ret = new IntArrayList(expectedSize);
+				break;
+		}
+		return ret;
+	}
+
+	@Override
+	public IntList getInt(int[] values){
+		IntList ret = this.getInt((values==null)?0:values.length);
+		if(values!=null){
+			ret.addAll(values);
+		}
+		return ret;
+	}
+
+	@Override
+	public IntList getInt(IntCollection values){
+		IntList ret = this.getInt((values==null)?0:values.size());
+		if(values!=null){
+			ret.addAll(values);
+		}
+		return ret;
+	}
+
+	@Override
+	public LongList getLong(int expectedSize){
+		LongList ret;
+		switch(this){
+			case ARRAY_LIST:
+			case DEFAULT:
+			default:
+				ret = new LongArrayList(expectedSize);
+				break;
+		}
+		return ret;
+	}
+
+	@Override
+	public LongList getLong(long[] values){
+		LongList ret = this.getLong((values==null)?0:values.length);
+		if(values!=null){
+			ret.addAll(values);
+		}
+		return ret;
+	}
+
+	@Override
+	public LongList getLong(LongCollection values){
+		LongList ret = this.getLong((values==null)?0:values.size());
+		if(values!=null){
+			ret.addAll(values);
+		}
+		return ret;
+	}
+
+	@Override
+	public DoubleList getDouble(int expectedSize){
+		DoubleList ret;
+		switch(this){
+			case ARRAY_LIST:
+			case DEFAULT:
+			default:
+				ret = new DoubleArrayList(expectedSize);
+				break;
+		}
+		return ret;
+	}
+
+	@Override
+	public DoubleList getDouble(double[] values){
+		DoubleList ret = this.getDouble((values==null)?0:values.length);
+		if(values!=null){
+			ret.addAll(values);
+		}
+		return ret;
+	}
+
+	@Override
+	public DoubleList getDouble(DoubleCollection values){
+		DoubleList ret = this.getDouble((values==null)?0:values.size());
+		if(values!=null){
+			ret.addAll(values);
+		}
+		return ret;
+	}
+
+	@Override
+	public String toString() {
+		return this.name();
+	}
+
+	@Override
+	public boolean isList(){
+		return true;
+	}
+
+	@Override
+	public boolean isSet(){
+		return false;
+	}
+
+	@Override
+	public boolean isQueue(){
+		return false;
+	}
+}
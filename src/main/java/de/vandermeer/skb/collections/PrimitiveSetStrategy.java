@@ -0,0 +1,154 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.vandermeer.skb.collections;
+
+import de.vandermeer.skb.collections.primitives.DoubleCollection;
+import de.vandermeer.skb.collections.primitives.DoubleOpenHashSet;
+import de.vandermeer.skb.collections.primitives.DoubleSet;
+import de.vandermeer.skb.collections.primitives.IntCollection;
+import de.vandermeer.skb.collections.primitives.IntOpenHashSet;
+import de.vandermeer.skb.collections.primitives.IntSet;
+import de.vandermeer.skb.collections.primitives.LongCollection;
+import de.vandermeer.skb.collections.primitives.LongOpenHashSet;
+import de.vandermeer.skb.collections.primitives.LongSet;
+
+/**
+ * Strategies for sets of primitive int, long and double values, avoiding boxing of elements.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public enum PrimitiveSetStrategy implements IsPrimitiveSetStrategy {
+	/** Default set, results in an open addressing hash set. */
+	DEFAULT,
+
+	/** Open addressing hash set with linear probing, values are stored inline in a single array. */
+	OPEN_HASH_SET,
+	;
+
+	@Override
+	public IntSet getInt(int expectedSize){
+		IntSet ret;
+		switch(this){
+			case OPEN_HASH_SET:
+			case DEFAULT:
+			default:
+				ret = new IntOpenHashSet(expectedSize);
+				break;
+		}
+		return ret;
+	}
+
+	@Override
+	public IntSet getInt(int[] values){
+		IntSet ret = this.getInt((values==null)?0:values.length);
+		if(values!=null){
+			ret.addAll(values);
+		}
+		return ret;
+	}
+
+	@Override
+	public IntSet getInt(IntCollection values){
+		IntSet ret = this.getInt((values==null)?0:values.size());
+		if(values!=null){
+			ret.addAll(values);
+		}
+		return ret;
+	}
+
+	@Override
+	public LongSet getLong(int expectedSize){
+		LongSet ret;
+		switch(this){
+			case OPEN_HASH_SET:
+			case DEFAULT:
+			default:
+				ret = new LongOpenHashSet(expectedSize);
+				break;
+		}
+		return ret;
+	}
+
+	@Override
+	public LongSet getLong(long[] values){
+		LongSet ret = this.getLong((values==null)?0:values.length);
+		if(values!=null){
+			ret.addAll(values);
+		}
+		return ret;
+	}
+
+	@Override
+	public LongSet getLong(LongCollection values){
+		LongSet ret = this.getLong((values==null)?0:values.size());
+		if(values!=null){
+			ret.addAll(values);
+		}
+		return ret;
+	}
+
+	@Override
+	public DoubleSet getDouble(int expectedSize){
+		DoubleSet ret;
+		switch(this){
+			case OPEN_HASH_SET:
+			case DEFAULT:
+			default:
+				ret = new DoubleOpenHashSet(expectedSize);
+				break;
+		}
+		return ret;
+	}
+
+	@Override
+	public DoubleSet getDouble(double[] values){
+		DoubleSet ret = this.getDouble((values==null)?0:values.length);
+		if(values!=null){
+			ret.addAll(values);
+		}
+		return ret;
+	}
+
+	@Override
+	public DoubleSet getDouble(DoubleCollection values){
+		DoubleSet ret = this.getDouble((values==null)?0:values.size());
+		if(values!=null){
+			ret.addAll(values);
+		}
+		return ret;
+	}
+
+	@Override
+	public String toString() {
+		return this.name();
+	}
+
+	@Override
+	public boolean isList(){
+		return false;
+	}
+
+	@Override
+	public boolean isSet(){
+		return true;
+	}
+
+	@Override
+	public boolean isQueue(){
+		return false;
+	}
+}
@@ -40,7 +40,7 @@ public enum QueueStrategy implements IsQueueStrategy {
 	DEFAULT,
 
 	/** ArrayBlockingQueue from java-utils. */
-	//ARRAY_BLOCKING_QUEUE, --> doesn work here because it uses capacity in constructor
+	//ARRAY_BLOCKING_QUEUE, --> doesn work here because it uses capacity in constructor, see BoundedQueueStrategy
 
 	/** Concurrent linked queue from java-utils. */
 	CONCURRENT_LINKED_QUEUE,
@@ -75,8 +75,27 @@ public enum QueueStrategy implements IsQueueStrategy {
 
 	/** LinkedBlockingDeque queue from java-utils. */
 	LINKED_BLOCKING_DEQUE,
+
+	/** Ring buffers are bounded, see RingBufferStrategy. */
+	//SPSC_RING_BUFFER, MPSC_RING_BUFFER, MPMC_RING_BUFFER --> capacity is a bound, not an expected size
 	;
 
+	@Override
+	public boolean isConcurrent() {
+		switch(this){
+			case CONCURRENT_LINKED_QUEUE:
+			case LINKED_BLOCKING_QUEUE:
+			case LINKED_TRANSFER_QUEUE:
+			case PRIORITY_BLOCKING_QUEUE:
+			case SYNCHRONOUS_QUEUE:
+			case CONCURRENT_LINKED_DEQUE:
+			case LINKED_BLOCKING_DEQUE:
+				return true;
+			default:
+				return false;
+		}
+	}
+
 	@Override
 	public boolean isList() {
 		return false;
@@ -94,44 +113,32 @@ public enum QueueStrategy implements IsQueueStrategy {
 
 	@Override
 	public <T> Queue<T> get(Collection<T> collection) {
+		if(collection==null){
+			return this.get((Class<T>)null);
+		}
 		Queue<T> ret;
 		switch(this){
-			case CONCURRENT_LINKED_QUEUE:
-				ret = new ConcurrentLinkedQueue<T>();
-				break;
-			case LINKED_BLOCKING_QUEUE:
-				ret = new LinkedBlockingQueue<T>();
-				break;
-			case LINKED_TRANSFER_QUEUE:
-				ret = new LinkedTransferQueue<T>();
-				break;
-			case PRIORITY_BLOCKING_QUEUE:
-				ret = new PriorityBlockingQueue<T>();
-				break;
-			case PRIORITY_QUEUE:
-				ret = new PriorityQueue<T>();
-				break;
-			case SYNCHRONOUS_QUEUE:
-				ret = new SynchronousQueue<T>();
-				break;
 			case LINKED_LIST:
 			case DEFAULT:
 			default:
-				ret = new LinkedList<T>();
-				break;
+				return new LinkedList<T>(collection);
 			case ARRAY_DEQUE:
-				ret = new ArrayDeque<T>();
+				return new ArrayDeque<T>(collection);
+			case PRIORITY_BLOCKING_QUEUE:
+			case PRIORITY_QUEUE:
+				//presize only, the collection constructors would take over the ordering of sorted sets and priority queues
+				ret = this.get((Class<T>)null, collection.size());
 				break;
+			case CONCURRENT_LINKED_QUEUE:
+			case LINKED_BLOCKING_QUEUE:
+			case LINKED_TRANSFER_QUEUE:
+			case SYNCHRONOUS_QUEUE:
 			case CONCURRENT_LINKED_DEQUE:
-				ret = new ConcurrentLinkedDeque<T>();
-				break;
 			case LINKED_BLOCKING_DEQUE:
-				ret = new LinkedBlockingDeque<T>();
+				ret = this.get((Class<T>)null);
 				break;
 		}
-		if(collection!=null){
-			ret.addAll(collection);
-		}
+		ret.addAll(collection);
 		return ret;
 	}
 
@@ -174,4 +181,26 @@ public enum QueueStrategy implements IsQueueStrategy {
 		}
 		return ret;
 	}
+
+	/**
+	 * {@inheritDoc}
+	 * The expected size is used as initial capacity for array based queues, linked queues ignore it.
+	 * It is never used as a bound, all returned queues remain unbounded.
+	 */
+	@Override
+	public <T> Queue<T> get(Class<T> T, int expectedSize) {
+		if(expectedSize<0){
+			throw new IllegalArgumentException("expected size must not be negative: " + expectedSize);
+		}
+		switch(this){
+			case PRIORITY_BLOCKING_QUEUE:
+				return new PriorityBlockingQueue<T>(Math.max(1, expectedSize));
+			case PRIORITY_QUEUE:
+				return new PriorityQueue<T>(Math.max(1, expectedSize));
+			case ARRAY_DEQUE:
+				return new ArrayDeque<T>(expectedSize);
+			default:
+				return this.get(T);
+		}
+	}
 }
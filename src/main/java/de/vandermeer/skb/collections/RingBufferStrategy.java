@@ -0,0 +1,116 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections;
+
+import java.util.Collection;
+
+import de.vandermeer.skb.collections.concurrent.MpmcRingBuffer;
+import de.vandermeer.skb.collections.concurrent.MpscRingBuffer;
+import de.vandermeer.skb.collections.concurrent.RingBuffer;
+import de.vandermeer.skb.collections.concurrent.SpscRingBuffer;
+
+/**
+ * Strategies for ring buffers, bounded lock-free queues without allocation per element.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public enum RingBufferStrategy implements IsRingBufferStrategy {
+
+	/** Default ring buffer, results in an MpmcRingBuffer. */
+	DEFAULT,
+
+	/** SpscRingBuffer, a ring buffer for a single producer and a single consumer thread. */
+	SPSC_RING_BUFFER,
+
+	/** MpscRingBuffer, a ring buffer for many producer threads and a single consumer thread. */
+	MPSC_RING_BUFFER,
+
+	/** MpmcRingBuffer, a ring buffer for many producer and consumer threads. */
+	MPMC_RING_BUFFER,
+	;
+
+	@Override
+	public boolean isList() {
+		return false;
+	}
+
+	@Override
+	public boolean isSet() {
+		return false;
+	}
+
+	@Override
+	public boolean isQueue() {
+		return true;
+	}
+
+	@Override
+	public boolean isMultiProducer() {
+		switch(this){
+			case SPSC_RING_BUFFER:
+				return false;
+			case MPSC_RING_BUFFER:
+			case MPMC_RING_BUFFER:
+			case DEFAULT:
+			default:
+				return true;
+		}
+	}
+
+	@Override
+	public boolean isMultiConsumer() {
+		switch(this){
+			case SPSC_RING_BUFFER:
+			case MPSC_RING_BUFFER:
+				return false;
+			case MPMC_RING_BUFFER:
+			case DEFAULT:
+			default:
+				return true;
+		}
+	}
+
+	@Override
+	public <T> RingBuffer<T> get(Collection<T> collection, int capacity) {
+		if(collection!=null && collection.size()>capacity){
+			throw new IllegalArgumentException("collection size <" + collection.size() + "> exceeds capacity <" + capacity + ">");
+		}
+		RingBuffer<T> ret = this.get((Class<T>)null, capacity);
+		if(collection!=null){
+			ret.addAll(collection);
+		}
+		return ret;
+	}
+
+	@Override
+	public <T> RingBuffer<T> get(Class<T> T, int capacity) {
+		switch(this){
+			case SPSC_RING_BUFFER:
+				return new SpscRingBuffer<T>(capacity);
+			case MPSC_RING_BUFFER:
+				return new MpscRingBuffer<T>(capacity);
+			case MPMC_RING_BUFFER:
+			case DEFAULT:
+			default:
+				return new MpmcRingBuffer<T>(capacity);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return this.name();
+	}
+}
@@ -19,6 +19,12 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import de.vandermeer.skb.collections.adaptive.AdaptiveSet;
+import de.vandermeer.skb.collections.concurrent.ConcurrentLinkedSet;
+import de.vandermeer.skb.collections.concurrent.StripedSet;
+import de.vandermeer.skb.collections.immutable.ImmutableHashSet;
 
 /**
  * Strategies for sets.
@@ -35,6 +41,21 @@ public enum SetStrategy implements IsSetStrategy {
 
 	/** LinkedHashSet from java-util. */
 	LINKED_HASH_SET,
+
+	/** AdaptiveSet switching between HashSet and LinkedHashSet depending on the workload, not thread-safe, see {@link AdaptiveSet} for details. */
+	AUTO,
+
+	/** Set view of a ConcurrentHashMap from java-util-concurrent (ConcurrentHashMap.newKeySet), thread-safe, no null elements. */
+	CONCURRENT_HASH_SET,
+
+	/** StripedSet, thread-safe hash set with one lock per stripe, see {@link StripedSet} for details. */
+	STRIPED_HASH_SET,
+
+	/** ConcurrentLinkedSet, thread-safe set iterating in insertion order, see {@link ConcurrentLinkedSet} for details. */
+	CONCURRENT_LINKED_HASH_SET,
+
+	/** ImmutableHashSet, a single open addressing table built from a collection, no null elements, all mutating methods throw an UnsupportedOperationException. */
+	IMMUTABLE,
 	;
 
 	@Override
@@ -45,6 +66,30 @@ public enum SetStrategy implements IsSetStrategy {
 					return new LinkedHashSet<T>();
 				}
 				return new LinkedHashSet<T>(collection);
+			case AUTO:
+				return new AdaptiveSet<T>(collection);
+			case CONCURRENT_HASH_SET:
+				if(collection==null){
+					return ConcurrentHashMap.newKeySet();
+				}
+				Set<T> ret = ConcurrentHashMap.newKeySet(collection.size());
+				ret.addAll(collection);
+				return ret;
+			case STRIPED_HASH_SET:
+				if(collection==null){
+					return new StripedSet<T>();
+				}
+				return new StripedSet<T>(collection);
+			case CONCURRENT_LINKED_HASH_SET:
+				if(collection==null){
+					return new ConcurrentLinkedSet<T>();
+				}
+				return new ConcurrentLinkedSet<T>(collection);
+			case IMMUTABLE:
+				if(collection==null){
+					return new ImmutableHashSet<T>();
+				}
+				return new ImmutableHashSet<T>(collection);
 			case HASH_SET:
 			case DEFAULT:
 			default:
@@ -62,6 +107,21 @@ public enum SetStrategy implements IsSetStrategy {
 			case LINKED_HASH_SET:
 				ret = new LinkedHashSet<T>();
 				break;
+			case AUTO:
+				ret = new AdaptiveSet<T>();
+				break;
+			case CONCURRENT_HASH_SET:
+				ret = ConcurrentHashMap.newKeySet();
+				break;
+			case STRIPED_HASH_SET:
+				ret = new StripedSet<T>();
+				break;
+			case CONCURRENT_LINKED_HASH_SET:
+				ret = new ConcurrentLinkedSet<T>();
+				break;
+			case IMMUTABLE:
+				ret = new ImmutableHashSet<T>();
+				break;
 			case HASH_SET:
 			case DEFAULT:
 			default:
@@ -71,6 +131,43 @@ public enum SetStrategy implements IsSetStrategy {
 		return ret;
 	}
 
+	@Override
+	public <T> Set<T> get(Class<T> T, int expectedSize){
+		return this.get(T, expectedSize, CollectionTools.DEFAULT_LOAD_FACTOR);
+	}
+
+	@Override
+	public <T> Set<T> get(Class<T> T, int expectedSize, float loadFactor){
+		int capacity = CollectionTools.HASH_CAPACITY(expectedSize, loadFactor);
+		Set<T> ret;
+		switch(this){
+			case LINKED_HASH_SET:
+				ret = new LinkedHashSet<T>(capacity, loadFactor);
+				break;
+			case AUTO:
+				ret = new AdaptiveSet<T>(expectedSize);
+				break;
+			case CONCURRENT_HASH_SET:
+				ret = ConcurrentHashMap.newKeySet(expectedSize);
+				break;
+			case STRIPED_HASH_SET:
+				ret = new StripedSet<T>(expectedSize);
+				break;
+			case CONCURRENT_LINKED_HASH_SET:
+				ret = new ConcurrentLinkedSet<T>(expectedSize);
+				break;
+			case IMMUTABLE:
+				ret = new ImmutableHashSet<T>();
+				break;
+			case HASH_SET:
+			case DEFAULT:
+			default:
+				ret = new HashSet<T>(capacity, loadFactor);
+				break;
+		}
+		return ret;
+	}
+
 	@Override
 	public String toString() {
 		return this.name();
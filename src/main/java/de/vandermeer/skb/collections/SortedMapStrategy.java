@@ -0,0 +1,92 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import de.vandermeer.skb.collections.sorted.BTreeMap;
+
+/**
+ * Strategies for sorted maps.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public enum SortedMapStrategy implements IsSortedMapStrategy {
+	/** Default map, results in a TreeMap */
+	DEFAULT,
+
+	/** TreeMap from java-util, a red-black tree. */
+	TREE_MAP,
+
+	/** Concurrent Skip List Map from java-util, thread-safe, null values are not permitted. */
+	CONCURRENT_SKIP_LIST_MAP,
+
+	/** BTreeMap, a B+ tree with wide nodes keeping keys and values in arrays, fewer cache misses than a tree map for lookups, range queries and iteration. */
+	B_TREE_MAP,
+	;
+
+	@Override
+	public boolean isConcurrent() {
+		switch(this){
+			case CONCURRENT_SKIP_LIST_MAP:
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	@Override
+	public <K extends Comparable<? super K>, V> NavigableMap<K, V> get(Class<K> K, Class<V> V) {
+		return this.get(K, V, null);
+	}
+
+	@Override
+	public <K, V> NavigableMap<K, V> get(Class<K> K, Class<V> V, Comparator<? super K> comparator) {
+		switch(this){
+			case CONCURRENT_SKIP_LIST_MAP:
+				return new ConcurrentSkipListMap<K, V>(comparator);
+			case B_TREE_MAP:
+				return new BTreeMap<K, V>(comparator);
+			case TREE_MAP:
+			case DEFAULT:
+			default:
+				return new TreeMap<K, V>(comparator);
+		}
+	}
+
+	@Override
+	public <K extends Comparable<? super K>, V> NavigableMap<K, V> get(Map<K, ? extends V> map) {
+		return this.get(map, null);
+	}
+
+	@Override
+	public <K, V> NavigableMap<K, V> get(Map<K, ? extends V> map, Comparator<? super K> comparator) {
+		NavigableMap<K, V> ret = this.get(null, null, comparator);
+		if(map!=null){
+			ret.putAll(map);
+		}
+		return ret;
+	}
+
+	@Override
+	public String toString() {
+		return this.name();
+	}
+}
@@ -21,6 +21,8 @@ import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.concurrent.ConcurrentSkipListSet;
 
+import de.vandermeer.skb.collections.immutable.ImmutableSortedSet;
+
 /**
  * Strategies for sorted sets.
  *
@@ -36,13 +38,24 @@ public enum SortedSetStrategy implements IsSortedSetStrategy {
 
 	/** Concurrent SKip List Set from java-util. */
 	CONCURRENT_SKIP_LIST_SET,
+
+	/** ImmutableSortedSet, a sorted array searched with a binary search, built from a collection, all mutating methods throw an UnsupportedOperationException. */
+	IMMUTABLE,
 	;
 
 	@Override
 	public <T extends Comparable<T>> SortedSet<T> get(Collection<T> collection) {
 		switch(this){
 			case CONCURRENT_SKIP_LIST_SET:
+				if(collection==null){
+					return new ConcurrentSkipListSet<T>();
+				}
 				return new ConcurrentSkipListSet<T>(collection);
+			case IMMUTABLE:
+				if(collection==null){
+					return new ImmutableSortedSet<T>((Comparator<T>)null);
+				}
+				return new ImmutableSortedSet<T>(collection, null);
 			case TREE_SET:
 			case DEFAULT:
 			default:
@@ -61,15 +74,22 @@ public enum SortedSetStrategy implements IsSortedSetStrategy {
 		switch(this){
 			case CONCURRENT_SKIP_LIST_SET:
 				ret = new ConcurrentSkipListSet<T>(comparator);
-				ret.addAll(collection);
+				if(collection!=null){
+					ret.addAll(collection);
+				}
 				return ret;
+			case IMMUTABLE:
+				if(collection==null){
+					return new ImmutableSortedSet<T>(comparator);
+				}
+				return new ImmutableSortedSet<T>(collection, comparator);
 			case TREE_SET:
 			case DEFAULT:
 			default:
 				if(collection==null){
 					return new TreeSet<T>(comparator);
 				}
-				ret = new TreeSet<T>();
+				ret = new TreeSet<T>(comparator);
 				ret.addAll(collection);
 				return ret;
 		}
@@ -81,6 +101,10 @@ public enum SortedSetStrategy implements IsSortedSetStrategy {
 		switch(this){
 			case CONCURRENT_SKIP_LIST_SET:
 				ret = new ConcurrentSkipListSet<T>();
+				break;
+			case IMMUTABLE:
+				ret = new ImmutableSortedSet<T>((Comparator<T>)null);
+				break;
 			case DEFAULT:
 			default:
 			case TREE_SET:
@@ -96,6 +120,10 @@ public enum SortedSetStrategy implements IsSortedSetStrategy {
 		switch(this){
 			case CONCURRENT_SKIP_LIST_SET:
 				ret = new ConcurrentSkipListSet<T>(comparator);
+				break;
+			case IMMUTABLE:
+				ret = new ImmutableSortedSet<T>(comparator);
+				break;
 			case DEFAULT:
 			default:
 			case TREE_SET:
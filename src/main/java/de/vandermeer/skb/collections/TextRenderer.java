@@ -0,0 +1,363 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Renders collections and maps as text directly into an {@link Appendable}.
+ *
+ * The output is the same as the StringTemplate templates used before:
+ * every line is indented by four spaces (including lines inside element text), elements are listed as {@code - element},
+ * map entries as {@code - key ==> [Type value]}, null elements and null map values are skipped.
+ * Elements that are collections, arrays or maps are rendered as the concatenation of their elements (keys for maps), as StringTemplate does.
+ * Lines are separated by the system line separator.
+ *
+ * A bounded renderer limits the number of elements per collection, the nesting depth and the number of characters.
+ * Elements beyond the limit are summarized as {@code ... 1,234 more}, nested collections and maps are rendered
+ * as {@code [a, b, ... 3 more]} and {@code {k=v, ... 3 more}} and beyond the depth limit only with their size.
+ * The number of omitted elements is taken from the size without iterating the rest, so it includes skipped null elements and null map values.
+ * Output cut at the character limit ends with {@code ...}.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+final class TextRenderer {
+
+	/** Indentation of every line. */
+	static final String INDENT = "    ";
+
+	/** Line separator. */
+	static final String NEWLINE = System.lineSeparator();
+
+	/** Marker for output cut at the character limit. */
+	static final String CUT = "...";
+
+	/** Target of the rendering. */
+	private final Appendable out;
+
+	/** Flag for a bounded renderer. */
+	private final boolean bounded;
+
+	/** Maximum number of elements rendered per collection or map. */
+	private final int maxElements;
+
+	/** Maximum nesting depth of rendered collections and maps, the rendered collection or map has depth 0. */
+	private final int maxDepth;
+
+	/** Maximum number of characters. */
+	private final long maxChars;
+
+	/** Characters written so far. */
+	private long chars;
+
+	/** Flag for output that reached the character limit. */
+	private boolean full;
+
+	/** Flag for the start of a line, indentation is written before the next character. */
+	private boolean startOfLine = true;
+
+	/**
+	 * Returns a new renderer without limits.
+	 * @param out target of the rendering
+	 */
+	TextRenderer(Appendable out){
+		this.out = out;
+		this.bounded = false;
+		this.maxElements = Integer.MAX_VALUE;
+		this.maxDepth = Integer.MAX_VALUE;
+		this.maxChars = Long.MAX_VALUE;
+	}
+
+	/**
+	 * Returns a new bounded renderer.
+	 * @param out target of the rendering
+	 * @param maxElements maximum number of elements rendered per collection or map
+	 * @param maxDepth maximum nesting depth of collections and maps rendered with their elements
+	 * @param maxChars maximum number of characters, not counting the marker for cut output
+	 */
+	TextRenderer(Appendable out, int maxElements, int maxDepth, long maxChars){
+		this.out = out;
+		this.bounded = true;
+		this.maxElements = maxElements;
+		this.maxDepth = maxDepth;
+		this.maxChars = maxChars;
+	}
+
+	/**
+	 * Formats a number with grouping, for instance 4,999,990.
+	 * @param number the number
+	 * @return formatted number
+	 */
+	static String NUMBER(long number){
+		return String.format(Locale.ROOT, "%,d", number);
+	}
+
+	/**
+	 * Writes text, replacing line breaks by the line separator and indenting every line.
+	 * @param text the text
+	 * @throws IOException if the target throws it
+	 */
+	void text(CharSequence text) throws IOException {
+		int start = 0;
+		int length = text.length();
+		for(int i=0; i<length && !this.full; i++){
+			char c = text.charAt(i);
+			if(c=='\n' || c=='\r'){
+				this.chunk(text, start, i);
+				if(c=='\n'){
+					this.newline();
+				}
+				start = i + 1;
+			}
+		}
+		this.chunk(text, start, length);
+	}
+
+	private void chunk(CharSequence text, int start, int end) throws IOException {
+		if(start<end){
+			if(this.startOfLine){
+				this.append(INDENT, 0, INDENT.length());
+				this.startOfLine = false;
+			}
+			this.append(text, start, end);
+		}
+	}
+
+	private void append(CharSequence text, int start, int end) throws IOException {
+		if(this.full){
+			return;
+		}
+		if(end - start > this.maxChars - this.chars){
+			end = start + (int)(this.maxChars - this.chars);
+			this.full = true;
+		}
+		this.out.append(text, start, end);
+		this.chars += end - start;
+		if(this.full){
+			this.out.append(CUT);
+		}
+	}
+
+	/**
+	 * Writes a line separator.
+	 * @throws IOException if the target throws it
+	 */
+	void newline() throws IOException {
+		this.append(NEWLINE, 0, NEWLINE.length());
+		this.startOfLine = true;
+	}
+
+	/**
+	 * Writes an element value, iterating collections, arrays and maps.
+	 * @param value the value, null is ignored
+	 * @throws IOException if the target throws it
+	 */
+	void value(Object value) throws IOException {
+		if(value==null){
+			return;
+		}
+		if(this.bounded && IS_CONTAINER(value)){
+			this.nested(value, 1);
+			return;
+		}
+		if(value instanceof Map){
+			value = ((Map<?, ?>)value).keySet();
+		}
+		if(value instanceof Iterable){
+			for(Object o : (Iterable<?>)value){
+				this.value(o);
+			}
+		}
+		else if(value.getClass().isArray()){
+			for(int i=0; i<Array.getLength(value); i++){
+				this.value(Array.get(value, i));
+			}
+		}
+		else{
+			this.text(value.toString());
+		}
+	}
+
+	private static boolean IS_CONTAINER(Object value){
+		return value instanceof Iterable || value instanceof Map || value.getClass().isArray();
+	}
+
+	/**
+	 * Writes a nested collection, map or array of a bounded renderer.
+	 * @param value the value
+	 * @param depth nesting depth of the value
+	 * @throws IOException if the target throws it
+	 */
+	private void nested(Object value, int depth) throws IOException {
+		if(value instanceof Map){
+			Map<?, ?> map = (Map<?, ?>)value;
+			if(depth>this.maxDepth){
+				this.text("{" + NUMBER(map.size()) + " entries}");
+				return;
+			}
+			this.text("{");
+			int count = 0;
+			for(Map.Entry<?, ?> entry : map.entrySet()){
+				if(this.full){
+					return;
+				}
+				if(count>0){
+					this.text(", ");
+				}
+				if(count==this.maxElements){
+					this.text("... " + NUMBER(map.size() - count) + " more");
+					break;
+				}
+				this.element(entry.getKey(), depth);
+				this.text("=");
+				this.element(entry.getValue(), depth);
+				count++;
+			}
+			this.text("}");
+			return;
+		}
+
+		int size;
+		Iterator<?> it;
+		if(value.getClass().isArray()){
+			final Object array = value;
+			size = Array.getLength(array);
+			it = new Iterator<Object>(){
+				int i;
+
+				@Override
+				public boolean hasNext(){
+					return this.i<Array.getLength(array);
+				}
+
+				@Override
+				public Object next(){
+					return Array.get(array, this.i++);
+				}
+			};
+		}
+		else{
+			size = (value instanceof Collection)?((Collection<?>)value).size():-1;
+			it = ((Iterable<?>)value).iterator();
+		}
+		if(depth>this.maxDepth){
+			this.text((size<0)?"[...]":"[" + NUMBER(size) + " elements]");
+			return;
+		}
+		this.text("[");
+		int count = 0;
+		while(it.hasNext() && !this.full){
+			if(count>0){
+				this.text(", ");
+			}
+			if(count==this.maxElements){
+				this.text((size<0)?"...":"... " + NUMBER(size - count) + " more");
+				break;
+			}
+			this.element(it.next(), depth);
+			count++;
+		}
+		this.text("]");
+	}
+
+	private void element(Object element, int depth) throws IOException {
+		if(element!=null && IS_CONTAINER(element)){
+			this.nested(element, depth + 1);
+		}
+		else{
+			this.text(String.valueOf(element));
+		}
+	}
+
+	/**
+	 * Renders a collection.
+	 * @param coll the collection, null renders nothing
+	 * @throws IOException if the target throws it
+	 */
+	void collection(Collection<?> coll) throws IOException {
+		if(coll==null){
+			return;
+		}
+		int count = 0;
+		for(Object obj : coll){
+			if(this.full){
+				return;
+			}
+			if(obj!=null){
+				if(count>0){
+					this.newline();
+				}
+				if(count==this.maxElements){
+					this.text("... " + NUMBER(coll.size() - count) + " more");
+					return;
+				}
+				count++;
+				this.text("- ");
+				this.value(obj);
+			}
+		}
+	}
+
+	/**
+	 * Renders a map.
+	 * @param map the map, null renders nothing
+	 * @throws IOException if the target throws it
+	 */
+	void map(Map<?, ?> map) throws IOException {
+		if(map==null){
+			return;
+		}
+		int count = 0;
+		for(Map.Entry<?, ?> entry : map.entrySet()){
+			if(this.full){
+				return;
+			}
+			Object v = entry.getValue();
+			if(v!=null){
+				if(count>0){
+					this.newline();
+				}
+				if(count==this.maxElements){
+					this.text("... " + NUMBER(map.size() - count) + " more");
+					return;
+				}
+				count++;
+				this.text("- ");
+				this.text(String.valueOf(entry.getKey()));
+				this.text(" ==> [");
+				this.text(v.getClass().getSimpleName());
+				this.text(" ");
+				if(this.bounded && IS_CONTAINER(v)){
+					this.nested(v, 1);
+				}
+				else{
+					String val = v.toString();
+					if(val.indexOf('\n')>=0){
+						this.newline();
+						this.text(INDENT);
+					}
+					this.text(val);
+				}
+				this.text("]");
+			}
+		}
+	}
+}
@@ -0,0 +1,120 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import de.vandermeer.skb.base.Skb_Transformer;
+
+/**
+ * Fork-join task applying a transformer to a range of an array, writing the results into the same range of an output array.
+ *
+ * Tasks write to disjoint ranges, so they need no synchronization and the output keeps the encounter order of the input.
+ *
+ * @param <T1> type of the input elements
+ * @param <T2> type of the output elements
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+final class TransformTask<T1, T2> extends RecursiveAction {
+
+	private static final long serialVersionUID = 1L;
+
+	/** Input elements. */
+	private final Object[] in;
+
+	/** Output elements. */
+	private final Object[] out;
+
+	/** First index of the range, inclusive. */
+	private final int from;
+
+	/** Last index of the range, exclusive. */
+	private final int to;
+
+	/** Maximum number of elements transformed without splitting the range. */
+	private final int threshold;
+
+	/** The transformer. */
+	private final Skb_Transformer<T1, T2> transformer;
+
+	private TransformTask(Object[] in, Object[] out, int from, int to, int threshold, Skb_Transformer<T1, T2> transformer){
+		this.in = in;
+		this.out = out;
+		this.from = from;
+		this.to = to;
+		this.threshold = threshold;
+		this.transformer = transformer;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	protected void compute(){
+		if(this.to - this.from <= this.threshold){
+			for(int i=this.from; i<this.to; i++){
+				this.out[i] = this.transformer.transform((T1)this.in[i]);
+			}
+		}
+		else{
+			int mid = (this.from + this.to) >>> 1;
+			invokeAll(
+					new TransformTask<T1, T2>(this.in, this.out, this.from, mid, this.threshold, this.transformer),
+					new TransformTask<T1, T2>(this.in, this.out, mid, this.to, this.threshold, this.transformer)
+			);
+		}
+	}
+
+	/**
+	 * Returns the effective threshold for an input size and pool.
+	 * @param size number of input elements
+	 * @param pool the pool
+	 * @param threshold requested threshold, 0 for a default of four tasks per worker of the pool
+	 * @return threshold
+	 * @throws IllegalArgumentException if the threshold is negative
+	 */
+	static int THRESHOLD(int size, ForkJoinPool pool, int threshold){
+		if(threshold<0){
+			throw new IllegalArgumentException("threshold must not be negative: " + threshold);
+		}
+		if(threshold==0){
+			return Math.max(1, size / (pool.getParallelism() << 2));
+		}
+		return threshold;
+	}
+
+	/**
+	 * Transforms all elements of a collection in parallel.
+	 * @param <T1> type of the input elements
+	 * @param <T2> type of the output elements
+	 * @param input input collection, must not be null
+	 * @param transformer the transformer, must be safe to be used by several threads
+	 * @param pool the pool to use, null for the common pool
+	 * @param threshold maximum number of elements transformed by one task, 0 for a default
+	 * @return transformed elements in encounter order of the input, as fixed size list backed by an array
+	 */
+	@SuppressWarnings("unchecked")
+	static <T1, T2> List<T2> APPLY(Collection<? extends T1> input, Skb_Transformer<T1, T2> transformer, ForkJoinPool pool, int threshold){
+		ForkJoinPool fjp = (pool==null)?ForkJoinPool.commonPool():pool;
+		Object[] in = input.toArray();
+		Object[] out = new Object[in.length];
+		fjp.invoke(new TransformTask<T1, T2>(in, out, 0, in.length, THRESHOLD(in.length, fjp, threshold), transformer));
+		return (List<T2>)Arrays.asList(out);
+	}
+}
@@ -0,0 +1,146 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+
+import de.vandermeer.skb.base.Skb_Transformer;
+
+/**
+ * Read-only list view transforming the elements of a list on access.
+ *
+ * Without memoization every access transforms the element again and the view reflects all changes of the underlying list.
+ * With memoization each element is transformed at most once, which requires that the underlying list does not change while the view is used.
+ * The view is not thread-safe when memoizing.
+ *
+ * @param <T1> type of the elements of the underlying list
+ * @param <T2> type of the elements of the view
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+class TransformedList<T1, T2> extends AbstractList<T2> {
+
+	/** Marker for elements not yet transformed. */
+	private static final Object EMPTY = new Object();
+
+	/** Underlying list. */
+	private final List<? extends T1> input;
+
+	/** The transformer. */
+	private final Skb_Transformer<T1, T2> transformer;
+
+	/** Transformed elements if memoizing, created on first access. */
+	private Object[] cache;
+
+	/** Flag for memoization. */
+	private final boolean memoize;
+
+	TransformedList(List<? extends T1> input, Skb_Transformer<T1, T2> transformer, boolean memoize){
+		this.input = input;
+		this.transformer = transformer;
+		this.memoize = memoize;
+	}
+
+	/**
+	 * Returns a new view, implementing {@link RandomAccess} if the underlying list does.
+	 * @param <T1> type of the elements of the underlying list
+	 * @param <T2> type of the elements of the view
+	 * @param input underlying list
+	 * @param transformer the transformer
+	 * @param memoize true to transform each element at most once, false to transform on every access
+	 * @return new view
+	 */
+	static <T1, T2> List<T2> create(List<? extends T1> input, Skb_Transformer<T1, T2> transformer, boolean memoize){
+		if(input instanceof RandomAccess){
+			return new RandomAccessList<T1, T2>(input, transformer, memoize);
+		}
+		return new TransformedList<T1, T2>(input, transformer, memoize);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T2 get(int index){
+		if(!this.memoize){
+			return this.transformer.transform(this.input.get(index));
+		}
+		Object[] c = this.cache();
+		Object ret = c[index];
+		if(ret==EMPTY){
+			ret = this.transformer.transform(this.input.get(index));
+			c[index] = ret;
+		}
+		return (T2)ret;
+	}
+
+	private Object[] cache(){
+		if(this.cache==null){
+			this.cache = new Object[this.input.size()];
+			Arrays.fill(this.cache, EMPTY);
+		}
+		return this.cache;
+	}
+
+	@Override
+	public Iterator<T2> iterator(){
+		//walk the underlying iterator, positional access would be quadratic for linked lists
+		final Iterator<? extends T1> it = this.input.iterator();
+		return new Iterator<T2>(){
+			int index;
+
+			@Override
+			public boolean hasNext(){
+				return it.hasNext();
+			}
+
+			@Override
+			@SuppressWarnings("unchecked")
+			public T2 next(){
+				T1 t1 = it.next();
+				int i = this.index++;
+				if(!TransformedList.this.memoize){
+					return TransformedList.this.transformer.transform(t1);
+				}
+				Object[] c = TransformedList.this.cache();
+				if(c[i]==EMPTY){
+					c[i] = TransformedList.this.transformer.transform(t1);
+				}
+				return (T2)c[i];
+			}
+		};
+	}
+
+	@Override
+	public int size(){
+		return (this.cache==null)?this.input.size():this.cache.length;
+	}
+
+	/**
+	 * View for lists with random access.
+	 *
+	 * @param <T1> type of the elements of the underlying list
+	 * @param <T2> type of the elements of the view
+	 */
+	static class RandomAccessList<T1, T2> extends TransformedList<T1, T2> implements RandomAccess {
+
+		RandomAccessList(List<? extends T1> input, Skb_Transformer<T1, T2> transformer, boolean memoize){
+			super(input, transformer, memoize);
+		}
+	}
+}
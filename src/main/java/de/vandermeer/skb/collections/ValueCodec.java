@@ -0,0 +1,44 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A codec for values stored in serialized form, for instance off heap or in files.
+ *
+ * @param <T> type of the values
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public interface ValueCodec<T> {
+
+	/**
+	 * Encodes a value.
+	 * @param value value to encode, never null
+	 * @return encoded value
+	 * @throws IllegalArgumentException if the value cannot be encoded
+	 */
+	byte[] encode(T value);
+
+	/**
+	 * Decodes a value.
+	 * @param buffer buffer with the encoded value between its position and limit, must not be modified
+	 * @return decoded value
+	 * @throws IllegalArgumentException if the value cannot be decoded
+	 */
+	T decode(ByteBuffer buffer);
+}
@@ -0,0 +1,211 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Predefined value codecs.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public abstract class ValueCodecs {
+
+	/** Codec for strings, encoded as UTF-8. */
+	public static final ValueCodec<String> STRING = new ValueCodec<String>(){
+		@Override public byte[] encode(String value){
+			return value.getBytes(StandardCharsets.UTF_8);
+		}
+
+		@Override public String decode(ByteBuffer buffer){
+			return new String(BYTES(buffer), StandardCharsets.UTF_8);
+		}
+	};
+
+	/** Codec for integers, encoded as 4 bytes. */
+	public static final ValueCodec<Integer> INTEGER = new ValueCodec<Integer>(){
+		@Override public byte[] encode(Integer value){
+			return ByteBuffer.allocate(4).putInt(value).array();
+		}
+
+		@Override public Integer decode(ByteBuffer buffer){
+			return buffer.getInt(buffer.position());
+		}
+	};
+
+	/** Codec for longs, encoded as 8 bytes. */
+	public static final ValueCodec<Long> LONG = new ValueCodec<Long>(){
+		@Override public byte[] encode(Long value){
+			return ByteBuffer.allocate(8).putLong(value).array();
+		}
+
+		@Override public Long decode(ByteBuffer buffer){
+			return buffer.getLong(buffer.position());
+		}
+	};
+
+	/** Codec for doubles, encoded as 8 bytes. */
+	public static final ValueCodec<Double> DOUBLE = new ValueCodec<Double>(){
+		@Override public byte[] encode(Double value){
+			return ByteBuffer.allocate(8).putDouble(value).array();
+		}
+
+		@Override public Double decode(ByteBuffer buffer){
+			return buffer.getDouble(buffer.position());
+		}
+	};
+
+	/** Codec for byte arrays, stored as they are. */
+	public static final ValueCodec<byte[]> BYTE_ARRAY = new ValueCodec<byte[]>(){
+		@Override public byte[] encode(byte[] value){
+			return value.clone();
+		}
+
+		@Override public byte[] decode(ByteBuffer buffer){
+			return BYTES(buffer);
+		}
+	};
+
+	/** Codec for serializable objects, using Java serialization. */
+	public static final ValueCodec<Object> SERIALIZABLE = new ValueCodec<Object>(){
+		@Override public byte[] encode(Object value){
+			if(!(value instanceof Serializable)){
+				throw new IllegalArgumentException("value of type <" + value.getClass().getName() + "> is not serializable");
+			}
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			try(ObjectOutputStream out = new ObjectOutputStream(bytes)){
+				out.writeObject(value);
+			}
+			catch(IOException ex){
+				throw new IllegalArgumentException("could not serialize value of type <" + value.getClass().getName() + ">", ex);
+			}
+			return bytes.toByteArray();
+		}
+
+		@Override public Object decode(ByteBuffer buffer){
+			try(ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(BYTES(buffer)))){
+				return in.readObject();
+			}
+			catch(IOException | ClassNotFoundException ex){
+				throw new IllegalArgumentException("could not deserialize value", ex);
+			}
+		}
+	};
+
+	/** Tags used by the object codec. */
+	private static final byte TAG_STRING = 1, TAG_INTEGER = 2, TAG_LONG = 3, TAG_DOUBLE = 4, TAG_BYTE_ARRAY = 5, TAG_SERIALIZABLE = 6;
+
+	/** Codec for values of any type, using a one byte type tag and the specific codec for strings, numbers and byte arrays, Java serialization otherwise. */
+	public static final ValueCodec<Object> OBJECT = new ValueCodec<Object>(){
+		@Override public byte[] encode(Object value){
+			byte tag;
+			byte[] payload;
+			if(value instanceof String){
+				tag = TAG_STRING;
+				payload = STRING.encode((String)value);
+			}
+			else if(value instanceof Integer){
+				tag = TAG_INTEGER;
+				payload = INTEGER.encode((Integer)value);
+			}
+			else if(value instanceof Long){
+				tag = TAG_LONG;
+				payload = LONG.encode((Long)value);
+			}
+			else if(value instanceof Double){
+				tag = TAG_DOUBLE;
+				payload = DOUBLE.encode((Double)value);
+			}
+			else if(value instanceof byte[]){
+				tag = TAG_BYTE_ARRAY;
+				payload = (byte[])value;
+			}
+			else{
+				tag = TAG_SERIALIZABLE;
+				payload = SERIALIZABLE.encode(value);
+			}
+			byte[] ret = new byte[payload.length + 1];
+			ret[0] = tag;
+			System.arraycopy(payload, 0, ret, 1, payload.length);
+			return ret;
+		}
+
+		@Override public Object decode(ByteBuffer buffer){
+			ByteBuffer payload = buffer.duplicate();
+			byte tag = payload.get();
+			switch(tag){
+				case TAG_STRING:
+					return STRING.decode(payload);
+				case TAG_INTEGER:
+					return INTEGER.decode(payload);
+				case TAG_LONG:
+					return LONG.decode(payload);
+				case TAG_DOUBLE:
+					return DOUBLE.decode(payload);
+				case TAG_BYTE_ARRAY:
+					return BYTE_ARRAY.decode(payload);
+				case TAG_SERIALIZABLE:
+					return SERIALIZABLE.decode(payload);
+				default:
+					throw new IllegalArgumentException("unknown value tag <" + tag + ">");
+			}
+		}
+	};
+
+	/**
+	 * Returns the bytes between position and limit of a buffer, without changing the buffer.
+	 * @param buffer input buffer
+	 * @return new byte array with the remaining bytes of the buffer
+	 */
+	public static final byte[] BYTES(ByteBuffer buffer){
+		byte[] ret = new byte[buffer.remaining()];
+		buffer.duplicate().get(ret);
+		return ret;
+	}
+
+	/**
+	 * Returns a codec for values of the given class.
+	 * @param <T> type of the values
+	 * @param clazz class of the values, null or an unknown class result in the object codec
+	 * @return codec for the class
+	 */
+	@SuppressWarnings("unchecked")
+	public static final <T> ValueCodec<T> FOR_CLASS(Class<?> clazz){
+		if(clazz==String.class){
+			return (ValueCodec<T>)STRING;
+		}
+		if(clazz==Integer.class){
+			return (ValueCodec<T>)INTEGER;
+		}
+		if(clazz==Long.class){
+			return (ValueCodec<T>)LONG;
+		}
+		if(clazz==Double.class){
+			return (ValueCodec<T>)DOUBLE;
+		}
+		if(clazz==byte[].class){
+			return (ValueCodec<T>)BYTE_ARRAY;
+		}
+		return (ValueCodec<T>)OBJECT;
+	}
+}
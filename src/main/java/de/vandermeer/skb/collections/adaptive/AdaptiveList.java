@@ -0,0 +1,345 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections.adaptive;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+
+import de.vandermeer.skb.collections.ListStrategy;
+
+/**
+ * A list that samples its workload and switches between {@link ListStrategy#ARRAY_LIST} and {@link ListStrategy#LINKED_LIST}.
+ *
+ * Positional access favours the array list, insertions and removals near the head or through an iterator favour the linked list.
+ * The list estimates the cost of both implementations for a window of operations and migrates if the other one is clearly cheaper,
+ * including the cost of copying the elements.
+ * Migration is transparent, iterators continue on the new implementation.
+ *
+ * The list is not thread-safe.
+ *
+ * @param <T> type of the list elements
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public class AdaptiveList<T> extends AbstractList<T> {
+
+	/** Number of elements an array list moves for the cost of one element access. */
+	private static final double SHIFT_FACTOR = 8.0;
+
+	/** Current implementation. */
+	private ListStrategy strategy;
+
+	/** Current backing list. */
+	private List<T> backing;
+
+	/** Number of migrations, used by iterators to detect a new backing list. */
+	private int migrations;
+
+	/** Sampled workload. */
+	private final Workload workload = new Workload();
+
+	/**
+	 * Returns a new empty adaptive list, starting as array list.
+	 */
+	public AdaptiveList(){
+		this.strategy = ListStrategy.ARRAY_LIST;
+		this.backing = this.strategy.get((Class<T>)null);
+	}
+
+	/**
+	 * Returns a new empty adaptive list sized for an expected number of elements, starting as array list.
+	 * @param expectedSize number of elements the list is expected to hold
+	 */
+	public AdaptiveList(int expectedSize){
+		this.strategy = ListStrategy.ARRAY_LIST;
+		this.backing = this.strategy.get((Class<T>)null, expectedSize);
+	}
+
+	/**
+	 * Returns a new adaptive list with the elements of the given collection, starting as array list.
+	 * @param collection input collection, can be null
+	 */
+	public AdaptiveList(Collection<T> collection){
+		this.strategy = ListStrategy.ARRAY_LIST;
+		this.backing = this.strategy.get(collection);
+	}
+
+	/**
+	 * Returns the strategy currently used for the backing list.
+	 * @return current strategy
+	 */
+	public ListStrategy getStrategy(){
+		return this.strategy;
+	}
+
+	/**
+	 * Returns the number of migrations between implementations so far.
+	 * @return number of migrations
+	 */
+	public int getMigrations(){
+		return this.migrations;
+	}
+
+	/**
+	 * Records an access by position.
+	 * @param index position of the access
+	 */
+	private void recordAccess(int index){
+		int size = this.backing.size();
+		double walk = 1 + Math.min(index, size - index);
+		if(this.strategy==ListStrategy.ARRAY_LIST){
+			this.record(1, walk);
+		}
+		else{
+			this.record(walk, 1);
+		}
+	}
+
+	/**
+	 * Records an insertion or removal by position.
+	 * @param index position of the change
+	 * @param viaIterator true if done through an iterator, which needs no walk in a linked list
+	 */
+	private void recordChange(int index, boolean viaIterator){
+		int size = this.backing.size();
+		double shift = 1 + (size - index) / SHIFT_FACTOR;
+		double walk = viaIterator?1:1 + Math.min(index, size - index);
+		if(this.strategy==ListStrategy.ARRAY_LIST){
+			this.record(shift, walk);
+		}
+		else{
+			this.record(walk, shift);
+		}
+	}
+
+	private void record(double currentCost, double alternativeCost){
+		if(this.workload.record(currentCost, alternativeCost) && this.workload.evaluate(this.backing.size())){
+			this.strategy = (this.strategy==ListStrategy.ARRAY_LIST)?ListStrategy.LINKED_LIST:ListStrategy.ARRAY_LIST;
+			this.backing = this.strategy.get(this.backing);
+			this.migrations++;
+		}
+	}
+
+	@Override
+	public int size(){
+		return this.backing.size();
+	}
+
+	@Override
+	public T get(int index){
+		this.recordAccess(index);
+		return this.backing.get(index);
+	}
+
+	@Override
+	public T set(int index, T element){
+		this.recordAccess(index);
+		return this.backing.set(index, element);
+	}
+
+	@Override
+	public boolean add(T element){
+		this.modCount++;
+		this.record(1, 1);
+		return this.backing.add(element);
+	}
+
+	@Override
+	public void add(int index, T element){
+		this.modCount++;
+		this.recordChange(index, false);
+		this.backing.add(index, element);
+	}
+
+	@Override
+	public T remove(int index){
+		this.modCount++;
+		this.recordChange(index, false);
+		return this.backing.remove(index);
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends T> collection){
+		this.modCount++;
+		return this.backing.addAll(collection);
+	}
+
+	@Override
+	public void clear(){
+		this.modCount++;
+		this.backing.clear();
+	}
+
+	@Override
+	public boolean contains(Object o){
+		return this.backing.contains(o);
+	}
+
+	@Override
+	public int indexOf(Object o){
+		return this.backing.indexOf(o);
+	}
+
+	@Override
+	public int lastIndexOf(Object o){
+		return this.backing.lastIndexOf(o);
+	}
+
+	@Override
+	public Object[] toArray(){
+		return this.backing.toArray();
+	}
+
+	@Override
+	public <E> E[] toArray(E[] a){
+		return this.backing.toArray(a);
+	}
+
+	@Override
+	public Iterator<T> iterator(){
+		return new Itr(0);
+	}
+
+	@Override
+	public ListIterator<T> listIterator(int index){
+		if(index<0 || index>this.backing.size()){
+			throw new IndexOutOfBoundsException("index: " + index + ", size: " + this.backing.size());
+		}
+		return new Itr(index);
+	}
+
+	/**
+	 * List iterator delegating to the backing list, continuing on a new backing list after a migration.
+	 */
+	private class Itr implements ListIterator<T> {
+
+		/** Iterator of the backing list. */
+		ListIterator<T> it;
+
+		/** Migration count when the iterator was obtained. */
+		int migrations;
+
+		/** Index of the last returned element, -1 if none. */
+		int lastRet = -1;
+
+		/** True if the iterator was replaced after the last returned element, then changes must go through the list. */
+		boolean resynced;
+
+		Itr(int index){
+			this.it = AdaptiveList.this.backing.listIterator(index);
+			this.migrations = AdaptiveList.this.migrations;
+		}
+
+		private void sync(){
+			if(this.migrations!=AdaptiveList.this.migrations){
+				this.it = AdaptiveList.this.backing.listIterator(this.it.nextIndex());
+				this.migrations = AdaptiveList.this.migrations;
+				this.resynced = true;
+			}
+		}
+
+		@Override
+		public boolean hasNext(){
+			this.sync();
+			return this.it.hasNext();
+		}
+
+		@Override
+		public T next(){
+			this.sync();
+			T ret = this.it.next();
+			this.lastRet = this.it.previousIndex();
+			this.resynced = false;
+			AdaptiveList.this.record(1, 1);
+			return ret;
+		}
+
+		@Override
+		public boolean hasPrevious(){
+			this.sync();
+			return this.it.hasPrevious();
+		}
+
+		@Override
+		public T previous(){
+			this.sync();
+			T ret = this.it.previous();
+			this.lastRet = this.it.nextIndex();
+			this.resynced = false;
+			AdaptiveList.this.record(1, 1);
+			return ret;
+		}
+
+		@Override
+		public int nextIndex(){
+			this.sync();
+			return this.it.nextIndex();
+		}
+
+		@Override
+		public int previousIndex(){
+			this.sync();
+			return this.it.previousIndex();
+		}
+
+		@Override
+		public void remove(){
+			if(this.lastRet<0){
+				throw new IllegalStateException();
+			}
+			this.sync();
+			AdaptiveList.this.modCount++;
+			if(this.resynced){
+				AdaptiveList.this.backing.remove(this.lastRet);
+				this.it = AdaptiveList.this.backing.listIterator(this.lastRet);
+				this.resynced = false;
+			}
+			else{
+				this.it.remove();
+			}
+			int index = this.lastRet;
+			this.lastRet = -1;
+			AdaptiveList.this.recordChange(index, true);
+		}
+
+		@Override
+		public void set(T element){
+			if(this.lastRet<0){
+				throw new IllegalStateException();
+			}
+			this.sync();
+			if(this.resynced){
+				AdaptiveList.this.backing.set(this.lastRet, element);
+			}
+			else{
+				this.it.set(element);
+			}
+		}
+
+		@Override
+		public void add(T element){
+			this.sync();
+			AdaptiveList.this.modCount++;
+			int index = this.it.nextIndex();
+			this.it.add(element);
+			this.lastRet = -1;
+			AdaptiveList.this.recordChange(index, true);
+		}
+	}
+}
@@ -0,0 +1,258 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections.adaptive;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import de.vandermeer.skb.collections.MapStrategy;
+
+/**
+ * A map that samples its workload and switches between {@link MapStrategy#HASH_MAP} and {@link MapStrategy#LINKED_HASH_MAP}.
+ *
+ * The trade-off is the same as for {@link AdaptiveSet}: a hash map iterates over its whole table, which never shrinks,
+ * a linked hash map iterates in time proportional to its size, at a higher cost per update.
+ * The iteration order is not specified and may change with a migration.
+ * Iterators created before a migration continue on the entries as they were at the time of the migration,
+ * changes through them (remove, setValue) are applied to the map.
+ *
+ * The map is not thread-safe.
+ *
+ * @param <T> type of the map values
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public class AdaptiveMap<T> extends AbstractMap<String, T> {
+
+	/** Current implementation. */
+	private MapStrategy strategy;
+
+	/** Current backing map. */
+	private Map<String, T> backing;
+
+	/** Estimated table size of the backing map. */
+	private int table;
+
+	/** Number of migrations, used by iterators to detect a new backing map. */
+	private int migrations;
+
+	/** Sampled workload. */
+	private final Workload workload = new Workload();
+
+	/** Entry set view, created on demand. */
+	private Set<Entry<String, T>> entrySet;
+
+	/**
+	 * Returns a new empty adaptive map, starting as hash map.
+	 */
+	public AdaptiveMap(){
+		this(0);
+	}
+
+	/**
+	 * Returns a new empty adaptive map sized for an expected number of entries, starting as hash map.
+	 * @param expectedSize number of entries the map is expected to hold
+	 */
+	public AdaptiveMap(int expectedSize){
+		this.strategy = MapStrategy.HASH_MAP;
+		this.backing = this.strategy.get((Class<?>)null, expectedSize);
+		this.table = AdaptiveSet.TABLE_SIZE(expectedSize);
+	}
+
+	/**
+	 * Returns a new adaptive map with the entries of the given map, starting as hash map.
+	 * @param map input map, can be null
+	 */
+	public AdaptiveMap(Map<String, T> map){
+		this(0);
+		if(map!=null){
+			this.backing = this.strategy.get(map);
+			this.table = AdaptiveSet.TABLE_SIZE(this.backing.size());
+		}
+	}
+
+	/**
+	 * Returns the strategy currently used for the backing map.
+	 * @return current strategy
+	 */
+	public MapStrategy getStrategy(){
+		return this.strategy;
+	}
+
+	/**
+	 * Returns the number of migrations between implementations so far.
+	 * @return number of migrations
+	 */
+	public int getMigrations(){
+		return this.migrations;
+	}
+
+	private void recordUpdate(){
+		if(this.backing.size()>this.table*0.75){
+			this.table <<= 1;
+		}
+		if(this.strategy==MapStrategy.HASH_MAP){
+			this.record(1, AdaptiveSet.LINKED_UPDATE);
+		}
+		else{
+			this.record(AdaptiveSet.LINKED_UPDATE, 1);
+		}
+	}
+
+	private void recordLookup(){
+		this.record(1, 1);
+	}
+
+	private void recordNext(){
+		int size = Math.max(1, this.backing.size());
+		if(this.strategy==MapStrategy.HASH_MAP){
+			this.record(Math.max(1.0, this.table / (double)size), 1);
+		}
+		else{
+			this.record(1, Math.max(1.0, AdaptiveSet.TABLE_SIZE(size) / (double)size));
+		}
+	}
+
+	private void record(double currentCost, double alternativeCost){
+		if(this.workload.record(currentCost, alternativeCost) && this.workload.evaluate(this.backing.size())){
+			this.strategy = (this.strategy==MapStrategy.HASH_MAP)?MapStrategy.LINKED_HASH_MAP:MapStrategy.HASH_MAP;
+			this.backing = this.strategy.get(this.backing);
+			this.table = AdaptiveSet.TABLE_SIZE(this.backing.size());
+			this.migrations++;
+		}
+	}
+
+	@Override
+	public int size(){
+		return this.backing.size();
+	}
+
+	@Override
+	public boolean containsKey(Object key){
+		this.recordLookup();
+		return this.backing.containsKey(key);
+	}
+
+	@Override
+	public T get(Object key){
+		this.recordLookup();
+		return this.backing.get(key);
+	}
+
+	@Override
+	public T put(String key, T value){
+		T ret = this.backing.put(key, value);
+		this.recordUpdate();
+		return ret;
+	}
+
+	@Override
+	public T remove(Object key){
+		T ret = this.backing.remove(key);
+		this.recordUpdate();
+		return ret;
+	}
+
+	@Override
+	public void clear(){
+		this.backing.clear();
+	}
+
+	@Override
+	public Set<Entry<String, T>> entrySet(){
+		if(this.entrySet==null){
+			this.entrySet = new AbstractSet<Entry<String, T>>(){
+				@Override
+				public Iterator<Entry<String, T>> iterator(){
+					return new EntryIterator();
+				}
+
+				@Override
+				public int size(){
+					return AdaptiveMap.this.backing.size();
+				}
+
+				@Override
+				public void clear(){
+					AdaptiveMap.this.clear();
+				}
+			};
+		}
+		return this.entrySet;
+	}
+
+	/**
+	 * Iterator over the entries of the backing map at creation time.
+	 */
+	private class EntryIterator implements Iterator<Entry<String, T>> {
+
+		/** Iterator of the backing map. */
+		final Iterator<Entry<String, T>> it = AdaptiveMap.this.backing.entrySet().iterator();
+
+		/** Migration count when the iterator was obtained. */
+		final int migrations = AdaptiveMap.this.migrations;
+
+		/** Last returned entry. */
+		Entry<String, T> last;
+
+		private boolean migrated(){
+			return this.migrations!=AdaptiveMap.this.migrations;
+		}
+
+		@Override
+		public boolean hasNext(){
+			return this.it.hasNext();
+		}
+
+		@Override
+		public Entry<String, T> next(){
+			Entry<String, T> entry = this.it.next();
+			AdaptiveMap.this.recordNext();
+			if(this.migrated()){
+				//entries of the old backing map must write through to the current one
+				entry = new SimpleEntry<String, T>(entry){
+					private static final long serialVersionUID = 1L;
+
+					@Override
+					public T setValue(T value){
+						super.setValue(value);
+						return AdaptiveMap.this.backing.put(this.getKey(), value);
+					}
+				};
+			}
+			this.last = entry;
+			return entry;
+		}
+
+		@Override
+		public void remove(){
+			if(this.migrated()){
+				if(this.last==null){
+					throw new IllegalStateException();
+				}
+				AdaptiveMap.this.backing.remove(this.last.getKey());
+			}
+			else{
+				this.it.remove();
+			}
+			this.last = null;
+			AdaptiveMap.this.recordUpdate();
+		}
+	}
+}
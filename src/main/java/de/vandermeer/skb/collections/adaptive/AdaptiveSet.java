@@ -0,0 +1,226 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections.adaptive;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Set;
+
+import de.vandermeer.skb.collections.SetStrategy;
+
+/**
+ * A set that samples its workload and switches between {@link SetStrategy#HASH_SET} and {@link SetStrategy#LINKED_HASH_SET}.
+ *
+ * A hash set never shrinks its table, so iterating a set that was much larger before visits many empty buckets.
+ * A linked hash set iterates in time proportional to its size, at a higher cost per update.
+ * The set estimates the cost of both implementations for a window of operations and migrates if the other one is clearly cheaper,
+ * including the cost of copying the elements. A migration to a hash set also sizes the table for the current number of elements.
+ * The iteration order is not specified and may change with a migration.
+ * Iterators created before a migration continue on the elements as they were at the time of the migration.
+ *
+ * The set is not thread-safe.
+ *
+ * @param <T> type of the set elements
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public class AdaptiveSet<T> extends AbstractSet<T> {
+
+	/** Relative cost of an update in a linked hash set, maintaining the links. */
+	static final double LINKED_UPDATE = 1.25;
+
+	/** Minimum table size of a hash set. */
+	static final int MIN_TABLE = 16;
+
+	/** Current implementation. */
+	private SetStrategy strategy;
+
+	/** Current backing set. */
+	private Set<T> backing;
+
+	/** Estimated table size of the backing set. */
+	private int table;
+
+	/** Number of migrations, used by iterators to detect a new backing set. */
+	private int migrations;
+
+	/** Sampled workload. */
+	private final Workload workload = new Workload();
+
+	/**
+	 * Returns a new empty adaptive set, starting as hash set.
+	 */
+	public AdaptiveSet(){
+		this(0);
+	}
+
+	/**
+	 * Returns a new empty adaptive set sized for an expected number of elements, starting as hash set.
+	 * @param expectedSize number of elements the set is expected to hold
+	 */
+	public AdaptiveSet(int expectedSize){
+		this.strategy = SetStrategy.HASH_SET;
+		this.backing = this.strategy.get((Class<T>)null, expectedSize);
+		this.table = TABLE_SIZE(expectedSize);
+	}
+
+	/**
+	 * Returns a new adaptive set with the elements of the given collection, starting as hash set.
+	 * @param collection input collection, can be null
+	 */
+	public AdaptiveSet(Collection<T> collection){
+		this.strategy = SetStrategy.HASH_SET;
+		this.backing = this.strategy.get(collection);
+		this.table = TABLE_SIZE(this.backing.size());
+	}
+
+	/**
+	 * Returns the table size of a hash set or map sized for the given number of elements with default load factor.
+	 * @param size number of elements
+	 * @return table size, a power of two
+	 */
+	static int TABLE_SIZE(int size){
+		int ret = MIN_TABLE;
+		while(ret<(1<<30) && ret*0.75<size){
+			ret <<= 1;
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns the strategy currently used for the backing set.
+	 * @return current strategy
+	 */
+	public SetStrategy getStrategy(){
+		return this.strategy;
+	}
+
+	/**
+	 * Returns the number of migrations between implementations so far.
+	 * @return number of migrations
+	 */
+	public int getMigrations(){
+		return this.migrations;
+	}
+
+	private void recordUpdate(){
+		if(this.backing.size()>this.table*0.75){
+			this.table <<= 1;
+		}
+		if(this.strategy==SetStrategy.HASH_SET){
+			this.record(1, LINKED_UPDATE);
+		}
+		else{
+			this.record(LINKED_UPDATE, 1);
+		}
+	}
+
+	private void recordLookup(){
+		this.record(1, 1);
+	}
+
+	private void recordNext(){
+		int size = Math.max(1, this.backing.size());
+		if(this.strategy==SetStrategy.HASH_SET){
+			this.record(Math.max(1.0, this.table / (double)size), 1);
+		}
+		else{
+			this.record(1, Math.max(1.0, TABLE_SIZE(size) / (double)size));
+		}
+	}
+
+	private void record(double currentCost, double alternativeCost){
+		if(this.workload.record(currentCost, alternativeCost) && this.workload.evaluate(this.backing.size())){
+			this.strategy = (this.strategy==SetStrategy.HASH_SET)?SetStrategy.LINKED_HASH_SET:SetStrategy.HASH_SET;
+			this.backing = this.strategy.get(this.backing);
+			this.table = TABLE_SIZE(this.backing.size());
+			this.migrations++;
+		}
+	}
+
+	@Override
+	public int size(){
+		return this.backing.size();
+	}
+
+	@Override
+	public boolean contains(Object o){
+		this.recordLookup();
+		return this.backing.contains(o);
+	}
+
+	@Override
+	public boolean add(T element){
+		boolean ret = this.backing.add(element);
+		this.recordUpdate();
+		return ret;
+	}
+
+	@Override
+	public boolean remove(Object o){
+		boolean ret = this.backing.remove(o);
+		this.recordUpdate();
+		return ret;
+	}
+
+	@Override
+	public void clear(){
+		this.backing.clear();
+	}
+
+	@Override
+	public Object[] toArray(){
+		return this.backing.toArray();
+	}
+
+	@Override
+	public <E> E[] toArray(E[] a){
+		return this.backing.toArray(a);
+	}
+
+	@Override
+	public Iterator<T> iterator(){
+		return new Iterator<T>(){
+			final Iterator<T> it = AdaptiveSet.this.backing.iterator();
+			final int migrations = AdaptiveSet.this.migrations;
+			T last;
+
+			@Override
+			public boolean hasNext(){
+				return this.it.hasNext();
+			}
+
+			@Override
+			public T next(){
+				this.last = this.it.next();
+				AdaptiveSet.this.recordNext();
+				return this.last;
+			}
+
+			@Override
+			public void remove(){
+				if(this.migrations==AdaptiveSet.this.migrations){
+					this.it.remove();
+				}
+				else{
+					AdaptiveSet.this.backing.remove(this.last);
+				}
+				AdaptiveSet.this.recordUpdate();
+			}
+		};
+	}
+}
@@ -0,0 +1,69 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections.adaptive;
+
+/**
+ * Sampled workload of an adaptive collection, comparing the estimated cost of the current implementation with an alternative.
+ * Costs are abstract units, roughly one per touched element or node.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+final class Workload {
+
+	/** Number of operations in a sampling window. */
+	static final int WINDOW = 4096;
+
+	/** Minimum size for a migration, smaller collections are cheap with any implementation. */
+	static final int MIN_SIZE = 64;
+
+	/** Factor by which the alternative must be cheaper, avoids flipping between implementations. */
+	static final double ADVANTAGE = 2.0;
+
+	/** Estimated cost of the window with the current implementation. */
+	private double current;
+
+	/** Estimated cost of the window with the alternative implementation. */
+	private double alternative;
+
+	/** Operations in the window. */
+	private int ops;
+
+	/**
+	 * Records an operation.
+	 * @param currentCost cost with the current implementation
+	 * @param alternativeCost cost with the alternative implementation
+	 * @return true if the window is complete and should be evaluated
+	 */
+	boolean record(double currentCost, double alternativeCost){
+		this.current += currentCost;
+		this.alternative += alternativeCost;
+		return ++this.ops>=WINDOW;
+	}
+
+	/**
+	 * Evaluates and resets the window.
+	 * A migration is recommended if the alternative is clearly cheaper and the saving in one window pays for copying all elements.
+	 * @param size current number of elements
+	 * @return true if the collection should migrate to the alternative, false otherwise
+	 */
+	boolean evaluate(int size){
+		boolean ret = size>=MIN_SIZE && this.alternative * ADVANTAGE < this.current && this.current - this.alternative > size;
+		this.current = 0;
+		this.alternative = 0;
+		this.ops = 0;
+		return ret;
+	}
+}
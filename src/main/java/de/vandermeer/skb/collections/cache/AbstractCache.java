@@ -0,0 +1,401 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.vandermeer.skb.collections.cache;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import de.vandermeer.skb.collections.CollectionTools;
+
+/**
+ * Base of the single-threaded caches: a hash map of entry nodes, which the eviction policy links into access order lists.
+ *
+ * @param <T> type of the cached values
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+abstract class AbstractCache<T> extends AbstractMap<String, T> implements CacheMap<T> {
+
+	/** Entry nodes by key. */
+	private final HashMap<String, Node<T>> data;
+
+	/** Maximum number of entries. */
+	private final int maximumSize;
+
+	/** Time after a write an entry expires in nanoseconds, 0 for never. */
+	private final long expireAfterWrite;
+
+	/** Time after the last read or write an entry expires in nanoseconds, 0 for never. */
+	private final long expireAfterAccess;
+
+	/** Source of the time in nanoseconds. */
+	private final LongSupplier ticker;
+
+	/** Reads returning a value. */
+	private long hits;
+
+	/** Reads not returning a value. */
+	private long misses;
+
+	/** Entries removed to keep the maximum size. */
+	private long evictions;
+
+	/** Entries removed because they expired. */
+	private long expirations;
+
+	/** Entry set view, created on demand. */
+	private Set<Entry<String, T>> entrySet;
+
+	/**
+	 * Returns a new empty cache.
+	 * @param maximumSize maximum number of entries
+	 * @param expireAfterWrite time after a write an entry expires, 0 for never
+	 * @param expireAfterAccess time after the last read or write an entry expires, 0 for never
+	 * @param unit unit of the expiry times
+	 * @param ticker source of the time in nanoseconds, for instance System::nanoTime
+	 * @throws IllegalArgumentException if the maximum size is less than 1 or an expiry time is negative
+	 * @throws NullPointerException if unit or ticker is null
+	 */
+	AbstractCache(int maximumSize, long expireAfterWrite, long expireAfterAccess, TimeUnit unit, LongSupplier ticker){
+		if(maximumSize<1){
+			throw new IllegalArgumentException("maximum size must be at least 1: " + maximumSize);
+		}
+		if(expireAfterWrite<0 || expireAfterAccess<0){
+			throw new IllegalArgumentException("expiry times must not be negative: " + expireAfterWrite + ", " + expireAfterAccess);
+		}
+		if(ticker==null){
+			throw new NullPointerException("ticker must not be null");
+		}
+		this.maximumSize = maximumSize;
+		this.expireAfterWrite = unit.toNanos(expireAfterWrite);
+		this.expireAfterAccess = unit.toNanos(expireAfterAccess);
+		this.ticker = ticker;
+		this.data = new HashMap<String, Node<T>>(CollectionTools.HASH_CAPACITY(Math.min(maximumSize, 1 << 16), CollectionTools.DEFAULT_LOAD_FACTOR));
+	}
+
+	/**
+	 * A cache entry, linked into one of the access order lists of the policy.
+	 * @param <T> type of the cached values
+	 */
+	static final class Node<T> {
+
+		/** The key. */
+		final String key;
+
+		/** The value. */
+		T value;
+
+		/** Time of the last write. */
+		long written;
+
+		/** Time of the last read or write. */
+		long accessed;
+
+		/** List the node is linked into, defined by the policy. */
+		int list;
+
+		/** Previous node in the list. */
+		Node<T> prev;
+
+		/** Next node in the list. */
+		Node<T> next;
+
+		Node(String key){
+			this.key = key;
+		}
+	}
+
+	/**
+	 * Doubly linked list of nodes, from the least to the most recently used.
+	 * @param <T> type of the cached values
+	 */
+	static final class AccessList<T> {
+
+		/** Sentinel, its next is the first and its previous the last node. */
+		private final Node<T> head = new Node<T>(null);
+
+		/** Number of nodes. */
+		int size;
+
+		AccessList(){
+			this.head.prev = this.head;
+			this.head.next = this.head;
+		}
+
+		/**
+		 * Returns the least recently used node.
+		 * @return first node, null if the list is empty
+		 */
+		Node<T> first(){
+			return (this.size==0)?null:this.head.next;
+		}
+
+		void addLast(Node<T> node){
+			node.prev = this.head.prev;
+			node.next = this.head;
+			this.head.prev.next = node;
+			this.head.prev = node;
+			this.size++;
+		}
+
+		void remove(Node<T> node){
+			node.prev.next = node.next;
+			node.next.prev = node.prev;
+			node.prev = null;
+			node.next = null;
+			this.size--;
+		}
+
+		void moveToLast(Node<T> node){
+			this.remove(node);
+			this.addLast(node);
+		}
+
+		void clear(){
+			this.head.prev = this.head;
+			this.head.next = this.head;
+			this.size = 0;
+		}
+	}
+
+	/**
+	 * Links a new node into the policy.
+	 * @param node new node
+	 */
+	abstract void onInsert(Node<T> node);
+
+	/**
+	 * Records a read or update of a node.
+	 * @param node the node
+	 */
+	abstract void onAccess(Node<T> node);
+
+	/**
+	 * Unlinks a removed node from the policy.
+	 * @param node removed node
+	 */
+	abstract void onRemove(Node<T> node);
+
+	/**
+	 * Selects the node to evict once the cache holds more than the maximum number of entries.
+	 * @return node to evict
+	 */
+	abstract Node<T> victim();
+
+	/**
+	 * Removes all nodes from the policy.
+	 */
+	abstract void onClear();
+
+	private boolean isExpired(Node<T> node, long now){
+		return (this.expireAfterWrite>0 && now - node.written>=this.expireAfterWrite)
+				|| (this.expireAfterAccess>0 && now - node.accessed>=this.expireAfterAccess);
+	}
+
+	private boolean expires(){
+		return this.expireAfterWrite>0 || this.expireAfterAccess>0;
+	}
+
+	private long now(){
+		return this.expires()?this.ticker.getAsLong():0;
+	}
+
+	private void removeNode(Node<T> node){
+		this.data.remove(node.key);
+		this.onRemove(node);
+	}
+
+	@Override
+	public int maximumSize(){
+		return this.maximumSize;
+	}
+
+	@Override
+	public CacheStats stats(){
+		return new CacheStats(this.hits, this.misses, this.evictions, this.expirations);
+	}
+
+	@Override
+	public void cleanUp(){
+		if(!this.expires()){
+			return;
+		}
+		long now = this.now();
+		Iterator<Node<T>> it = this.data.values().iterator();
+		while(it.hasNext()){
+			Node<T> node = it.next();
+			if(this.isExpired(node, now)){
+				it.remove();
+				this.onRemove(node);
+				this.expirations++;
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of entries, after removing expired entries.
+	 * With expiry this takes time linear in the number of entries.
+	 * @return number of entries
+	 */
+	@Override
+	public int size(){
+		this.cleanUp();
+		return this.data.size();
+	}
+
+	@Override
+	public boolean containsKey(Object key){
+		Node<T> node = this.data.get(key);
+		return node!=null && !this.isExpired(node, this.now());
+	}
+
+	@Override
+	public T get(Object key){
+		Node<T> node = this.data.get(key);
+		if(node==null){
+			this.misses++;
+			return null;
+		}
+		long now = this.now();
+		if(this.isExpired(node, now)){
+			this.removeNode(node);
+			this.expirations++;
+			this.misses++;
+			return null;
+		}
+		this.hits++;
+		node.accessed = now;
+		this.onAccess(node);
+		return node.value;
+	}
+
+	@Override
+	public T put(String key, T value){
+		if(key==null || value==null){
+			throw new NullPointerException("cache keys and values must not be null");
+		}
+		long now = this.now();
+		Node<T> node = this.data.get(key);
+		if(node!=null){
+			T ret = node.value;
+			if(this.isExpired(node, now)){
+				this.expirations++;
+				ret = null;
+			}
+			node.value = value;
+			node.written = now;
+			node.accessed = now;
+			this.onAccess(node);
+			return ret;
+		}
+		node = new Node<T>(key);
+		node.value = value;
+		node.written = now;
+		node.accessed = now;
+		this.data.put(key, node);
+		this.onInsert(node);
+		while(this.data.size()>this.maximumSize){
+			this.removeNode(this.victim());
+			this.evictions++;
+		}
+		return null;
+	}
+
+	@Override
+	public T remove(Object key){
+		Node<T> node = this.data.get(key);
+		if(node==null){
+			return null;
+		}
+		this.removeNode(node);
+		if(this.isExpired(node, this.now())){
+			this.expirations++;
+			return null;
+		}
+		return node.value;
+	}
+
+	@Override
+	public void clear(){
+		this.data.clear();
+		this.onClear();
+	}
+
+	@Override
+	public Set<Entry<String, T>> entrySet(){
+		if(this.entrySet==null){
+			this.entrySet = new AbstractSet<Entry<String, T>>(){
+				@Override
+				public Iterator<Entry<String, T>> iterator(){
+					AbstractCache.this.cleanUp();
+					Iterator<Node<T>> it = AbstractCache.this.data.values().iterator();
+					return new Iterator<Entry<String, T>>(){
+						Node<T> last;
+
+						@Override
+						public boolean hasNext(){
+							return it.hasNext();
+						}
+
+						@Override
+						public Entry<String, T> next(){
+							this.last = it.next();
+							Node<T> node = this.last;
+							return new SimpleEntry<String, T>(node.key, node.value){
+								private static final long serialVersionUID = 1L;
+
+								@Override
+								public T setValue(T value){
+									if(value==null){
+										throw new NullPointerException("cache values must not be null");
+									}
+									super.setValue(value);
+									T ret = node.value;
+									node.value = value;
+									return ret;
+								}
+							};
+						}
+
+						@Override
+						public void remove(){
+							it.remove();
+							AbstractCache.this.onRemove(this.last);
+							this.last = null;
+						}
+					};
+				}
+
+				@Override
+				public int size(){
+					return AbstractCache.this.size();
+				}
+
+				@Override
+				public void clear(){
+					AbstractCache.this.clear();
+				}
+			};
+		}
+		return this.entrySet;
+	}
+}
@@ -0,0 +1,51 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.vandermeer.skb.collections.cache;
+
+import java.util.Map;
+
+/**
+ * A map with string keys that holds at most a maximum number of entries, evicting entries following a policy once full.
+ * Entries can expire a fixed time after they have been written or last read.
+ *
+ * Only {@link #get(Object)} counts as a read for the eviction policy and the statistics, containsKey and iteration do not.
+ * Keys and values must not be null.
+ *
+ * @param <T> type of the cached values
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public interface CacheMap<T> extends Map<String, T> {
+
+	/**
+	 * Returns the maximum number of entries of the cache.
+	 * @return maximum size
+	 */
+	int maximumSize();
+
+	/**
+	 * Returns the hit, miss, eviction and expiration counts of the cache.
+	 * @return statistics, a snapshot
+	 */
+	CacheStats stats();
+
+	/**
+	 * Removes all expired entries.
+	 * Expired entries are also removed when read, this method frees their memory without waiting for a read.
+	 */
+	void cleanUp();
+}
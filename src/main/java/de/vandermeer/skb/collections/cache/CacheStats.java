@@ -0,0 +1,114 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.vandermeer.skb.collections.cache;
+
+/**
+ * Immutable snapshot of the statistics of a {@link CacheMap}.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public final class CacheStats {
+
+	/** Reads returning a value. */
+	private final long hits;
+
+	/** Reads not returning a value. */
+	private final long misses;
+
+	/** Entries removed to keep the maximum size. */
+	private final long evictions;
+
+	/** Entries removed because they expired. */
+	private final long expirations;
+
+	/**
+	 * Returns new statistics.
+	 * @param hits reads returning a value
+	 * @param misses reads not returning a value
+	 * @param evictions entries removed to keep the maximum size
+	 * @param expirations entries removed because they expired
+	 */
+	public CacheStats(long hits, long misses, long evictions, long expirations){
+		this.hits = hits;
+		this.misses = misses;
+		this.evictions = evictions;
+		this.expirations = expirations;
+	}
+
+	/**
+	 * Returns the number of reads returning a value.
+	 * @return hit count
+	 */
+	public long getHits(){
+		return this.hits;
+	}
+
+	/**
+	 * Returns the number of reads not returning a value, including reads of expired entries.
+	 * @return miss count
+	 */
+	public long getMisses(){
+		return this.misses;
+	}
+
+	/**
+	 * Returns the number of reads.
+	 * @return hits plus misses
+	 */
+	public long getRequests(){
+		return this.hits + this.misses;
+	}
+
+	/**
+	 * Returns the ratio of reads returning a value.
+	 * @return hit rate, 1 if there was no read
+	 */
+	public double getHitRate(){
+		long requests = this.getRequests();
+		return (requests==0)?1.0:(double)this.hits / requests;
+	}
+
+	/**
+	 * Returns the number of entries removed to keep the maximum size.
+	 * @return eviction count
+	 */
+	public long getEvictions(){
+		return this.evictions;
+	}
+
+	/**
+	 * Returns the number of entries removed because they expired.
+	 * @return expiration count
+	 */
+	public long getExpirations(){
+		return this.expirations;
+	}
+
+	/**
+	 * Returns the sum of these and the given statistics.
+	 * @param other other statistics
+	 * @return new statistics with the sum of all counts
+	 */
+	public CacheStats plus(CacheStats other){
+		return new CacheStats(this.hits + other.hits, this.misses + other.misses, this.evictions + other.evictions, this.expirations + other.expirations);
+	}
+
+	@Override
+	public String toString(){
+		return "CacheStats{hits=" + this.hits + ", misses=" + this.misses + ", evictions=" + this.evictions + ", expirations=" + this.expirations + "}";
+	}
+}
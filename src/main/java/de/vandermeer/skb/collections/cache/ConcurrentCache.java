@@ -0,0 +1,319 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.vandermeer.skb.collections.cache;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntFunction;
+
+/**
+ * A thread-safe cache split into segments, each a single-threaded cache guarded by its own lock.
+ *
+ * A key always maps to the same segment, so threads working on different keys rarely wait for each other.
+ * Every segment holds an equal share of the maximum size and evicts on its own, so eviction follows the policy of the segments per segment, not globally.
+ * Iterators are weakly consistent: they copy one segment at a time and never throw a {@link java.util.ConcurrentModificationException}.
+ *
+ * Keys and values must not be null.
+ *
+ * @param <T> type of the cached values
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public class ConcurrentCache<T> extends AbstractMap<String, T> implements CacheMap<T> {
+
+	/** Smallest maximum size of a segment when the number of segments is chosen automatically. */
+	private static final int MIN_SEGMENT_SIZE = 16;
+
+	/** Segments. */
+	private final CacheMap<T>[] segments;
+
+	/** Locks of the segments. */
+	private final ReentrantLock[] locks;
+
+	/** Mask for the segment index. */
+	private final int mask;
+
+	/** Maximum number of entries. */
+	private final int maximumSize;
+
+	/** Entry set view, created on demand. */
+	private Set<Entry<String, T>> entrySet;
+
+	/**
+	 * Returns a new empty cache with up to four segments per available processor, each holding at least 16 entries.
+	 * @param maximumSize maximum number of entries
+	 * @param segmentFactory factory for the segments, called with the maximum size of a segment
+	 * @throws IllegalArgumentException if the maximum size is less than 1
+	 */
+	public ConcurrentCache(int maximumSize, IntFunction<? extends CacheMap<T>> segmentFactory){
+		this(maximumSize, Math.max(1, Math.min(4 * Runtime.getRuntime().availableProcessors(), maximumSize / MIN_SEGMENT_SIZE)), segmentFactory);
+	}
+
+	/**
+	 * Returns a new empty cache.
+	 * @param maximumSize maximum number of entries
+	 * @param segments number of segments, rounded down to a power of two
+	 * @param segmentFactory factory for the segments, called with the maximum size of a segment
+	 * @throws IllegalArgumentException if the maximum size is less than 1 or the number of segments is not between 1 and the maximum size
+	 */
+	@SuppressWarnings("unchecked")
+	public ConcurrentCache(int maximumSize, int segments, IntFunction<? extends CacheMap<T>> segmentFactory){
+		if(maximumSize<1){
+			throw new IllegalArgumentException("maximum size must be at least 1: " + maximumSize);
+		}
+		if(segments<1 || segments>maximumSize || segments>(1<<16)){
+			throw new IllegalArgumentException("number of segments must be between 1 and the maximum size (at most 65536): " + segments);
+		}
+		int count = Integer.highestOneBit(segments);
+		this.segments = (CacheMap<T>[])new CacheMap<?>[count];
+		this.locks = new ReentrantLock[count];
+		this.mask = count - 1;
+		this.maximumSize = maximumSize;
+		for(int i=0; i<count; i++){
+			//spread the remainder over the first segments, so the segment sizes add up to the maximum size
+			this.segments[i] = segmentFactory.apply(maximumSize / count + ((i<maximumSize % count)?1:0));
+			this.locks[i] = new ReentrantLock();
+		}
+	}
+
+	private int segment(Object key){
+		int h = key.hashCode() * 0x9E3779B9;
+		return (h ^ (h >>> 16)) & this.mask;
+	}
+
+	@Override
+	public int maximumSize(){
+		return this.maximumSize;
+	}
+
+	@Override
+	public CacheStats stats(){
+		CacheStats ret = new CacheStats(0, 0, 0, 0);
+		for(int i=0; i<this.segments.length; i++){
+			this.locks[i].lock();
+			try{
+				ret = ret.plus(this.segments[i].stats());
+			}
+			finally{
+				this.locks[i].unlock();
+			}
+		}
+		return ret;
+	}
+
+	@Override
+	public void cleanUp(){
+		for(int i=0; i<this.segments.length; i++){
+			this.locks[i].lock();
+			try{
+				this.segments[i].cleanUp();
+			}
+			finally{
+				this.locks[i].unlock();
+			}
+		}
+	}
+
+	@Override
+	public int size(){
+		int ret = 0;
+		for(int i=0; i<this.segments.length; i++){
+			this.locks[i].lock();
+			try{
+				ret += this.segments[i].size();
+			}
+			finally{
+				this.locks[i].unlock();
+			}
+		}
+		return ret;
+	}
+
+	@Override
+	public boolean containsKey(Object key){
+		if(key==null){
+			return false;
+		}
+		int i = this.segment(key);
+		this.locks[i].lock();
+		try{
+			return this.segments[i].containsKey(key);
+		}
+		finally{
+			this.locks[i].unlock();
+		}
+	}
+
+	@Override
+	public T get(Object key){
+		if(key==null){
+			return null;
+		}
+		int i = this.segment(key);
+		this.locks[i].lock();
+		try{
+			return this.segments[i].get(key);
+		}
+		finally{
+			this.locks[i].unlock();
+		}
+	}
+
+	@Override
+	public T put(String key, T value){
+		if(key==null || value==null){
+			throw new NullPointerException("cache keys and values must not be null");
+		}
+		int i = this.segment(key);
+		this.locks[i].lock();
+		try{
+			return this.segments[i].put(key, value);
+		}
+		finally{
+			this.locks[i].unlock();
+		}
+	}
+
+	@Override
+	public T remove(Object key){
+		if(key==null){
+			return null;
+		}
+		int i = this.segment(key);
+		this.locks[i].lock();
+		try{
+			return this.segments[i].remove(key);
+		}
+		finally{
+			this.locks[i].unlock();
+		}
+	}
+
+	@Override
+	public void clear(){
+		for(int i=0; i<this.segments.length; i++){
+			this.locks[i].lock();
+			try{
+				this.segments[i].clear();
+			}
+			finally{
+				this.locks[i].unlock();
+			}
+		}
+	}
+
+	@Override
+	public Set<Entry<String, T>> entrySet(){
+		if(this.entrySet==null){
+			this.entrySet = new AbstractSet<Entry<String, T>>(){
+				@Override
+				public Iterator<Entry<String, T>> iterator(){
+					return new SegmentIterator();
+				}
+
+				@Override
+				public int size(){
+					return ConcurrentCache.this.size();
+				}
+
+				@Override
+				public void clear(){
+					ConcurrentCache.this.clear();
+				}
+			};
+		}
+		return this.entrySet;
+	}
+
+	/**
+	 * Iterator over copies of the segments, writing changes through to the cache.
+	 */
+	private class SegmentIterator implements Iterator<Entry<String, T>> {
+
+		/** Index of the next segment to copy. */
+		int segment;
+
+		/** Copy of the current segment. */
+		List<Entry<String, T>> entries = new ArrayList<Entry<String, T>>();
+
+		/** Position in the copy. */
+		int pos;
+
+		/** Key of the last returned entry, null if none. */
+		String last;
+
+		SegmentIterator(){
+			this.fill();
+		}
+
+		private void fill(){
+			while(this.pos==this.entries.size() && this.segment<ConcurrentCache.this.segments.length){
+				this.entries.clear();
+				this.pos = 0;
+				int i = this.segment++;
+				ConcurrentCache.this.locks[i].lock();
+				try{
+					for(Entry<String, T> entry : ConcurrentCache.this.segments[i].entrySet()){
+						this.entries.add(new SimpleEntry<String, T>(entry.getKey(), entry.getValue()){
+							private static final long serialVersionUID = 1L;
+
+							@Override
+							public T setValue(T value){
+								super.setValue(value);
+								return ConcurrentCache.this.put(this.getKey(), value);
+							}
+						});
+					}
+				}
+				finally{
+					ConcurrentCache.this.locks[i].unlock();
+				}
+			}
+		}
+
+		@Override
+		public boolean hasNext(){
+			return this.pos<this.entries.size();
+		}
+
+		@Override
+		public Entry<String, T> next(){
+			if(!this.hasNext()){
+				throw new NoSuchElementException();
+			}
+			Entry<String, T> ret = this.entries.get(this.pos++);
+			this.last = ret.getKey();
+			this.fill();
+			return ret;
+		}
+
+		@Override
+		public void remove(){
+			if(this.last==null){
+				throw new IllegalStateException();
+			}
+			ConcurrentCache.this.remove(this.last);
+			this.last = null;
+		}
+	}
+}
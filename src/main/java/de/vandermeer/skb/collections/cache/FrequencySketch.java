@@ -0,0 +1,121 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.vandermeer.skb.collections.cache;
+
+import java.util.Arrays;
+
+/**
+ * A count-min sketch with 4-bit counters estimating how often keys have been used, the frequency filter of {@link TinyLfuCache}.
+ *
+ * Every key maps to four counters packed sixteen to a long, its estimate is the smallest of them.
+ * After a sample of ten times the number of counted keys all counters are halved, so the sketch forgets old popularity.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+final class FrequencySketch {
+
+	/** Seeds for the four counters of a key. */
+	private static final long[] SEEDS = new long[]{0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+
+	/** Mask keeping the lower three bits of every counter, for halving. */
+	private static final long RESET_MASK = 0x7777777777777777L;
+
+	/** Counters, sixteen per long. */
+	private final long[] table;
+
+	/** Number of increments before all counters are halved. */
+	private final int sampleSize;
+
+	/** Increments since the last halving. */
+	private int additions;
+
+	/**
+	 * Returns a new sketch.
+	 * @param maximumSize number of keys to count, the maximum size of the cache
+	 */
+	FrequencySketch(int maximumSize){
+		int length = Integer.highestOneBit(Math.max(1, Math.min(maximumSize, 1 << 26) - 1)) << 1;
+		this.table = new long[Math.max(8, length)];
+		this.sampleSize = (int)Math.min(10L * maximumSize, Integer.MAX_VALUE);
+	}
+
+	private int index(int hash, int i){
+		long h = (hash + SEEDS[i]) * SEEDS[i];
+		h += h >>> 32;
+		return (int)h & (this.table.length - 1);
+	}
+
+	private static int offset(int hash, int i){
+		//a different nibble for each counter of a key, chosen by the hash
+		return ((((hash >>> 8) & 3) << 2) + i) << 2;
+	}
+
+	private static int spread(Object key){
+		int h = key.hashCode() * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * Returns the estimated number of uses of a key, at most 15.
+	 * @param key the key
+	 * @return estimated frequency
+	 */
+	int frequency(Object key){
+		int hash = spread(key);
+		int ret = 15;
+		for(int i=0; i<4; i++){
+			int count = (int)((this.table[this.index(hash, i)] >>> offset(hash, i)) & 15L);
+			ret = Math.min(ret, count);
+		}
+		return ret;
+	}
+
+	/**
+	 * Counts a use of a key.
+	 * @param key the key
+	 */
+	void increment(Object key){
+		int hash = spread(key);
+		boolean added = false;
+		for(int i=0; i<4; i++){
+			int index = this.index(hash, i);
+			int offset = offset(hash, i);
+			if(((this.table[index] >>> offset) & 15L)!=15L){
+				this.table[index] += 1L << offset;
+				added = true;
+			}
+		}
+		if(added && ++this.additions==this.sampleSize){
+			this.reset();
+		}
+	}
+
+	private void reset(){
+		for(int i=0; i<this.table.length; i++){
+			this.table[i] = (this.table[i] >>> 1) & RESET_MASK;
+		}
+		this.additions >>>= 1;
+	}
+
+	/**
+	 * Sets all counters to 0.
+	 */
+	void clear(){
+		Arrays.fill(this.table, 0L);
+		this.additions = 0;
+	}
+}
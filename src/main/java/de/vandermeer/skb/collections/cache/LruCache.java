@@ -0,0 +1,96 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.vandermeer.skb.collections.cache;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * A cache evicting the least recently used entry once full.
+ * Reads and writes move an entry to the end of a single access order list, eviction takes the entry at its head.
+ *
+ * Keys and values must not be null.
+ * The cache is not thread-safe.
+ *
+ * @param <T> type of the cached values
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public class LruCache<T> extends AbstractCache<T> {
+
+	/** Entries from the least to the most recently used. */
+	private final AccessList<T> order = new AccessList<T>();
+
+	/**
+	 * Returns a new empty cache without expiry.
+	 * @param maximumSize maximum number of entries
+	 * @throws IllegalArgumentException if the maximum size is less than 1
+	 */
+	public LruCache(int maximumSize){
+		this(maximumSize, 0, 0, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Returns a new empty cache.
+	 * @param maximumSize maximum number of entries
+	 * @param expireAfterWrite time after a write an entry expires, 0 for never
+	 * @param expireAfterAccess time after the last read or write an entry expires, 0 for never
+	 * @param unit unit of the expiry times
+	 * @throws IllegalArgumentException if the maximum size is less than 1 or an expiry time is negative
+	 */
+	public LruCache(int maximumSize, long expireAfterWrite, long expireAfterAccess, TimeUnit unit){
+		this(maximumSize, expireAfterWrite, expireAfterAccess, unit, System::nanoTime);
+	}
+
+	/**
+	 * Returns a new empty cache using the given source of time.
+	 * @param maximumSize maximum number of entries
+	 * @param expireAfterWrite time after a write an entry expires, 0 for never
+	 * @param expireAfterAccess time after the last read or write an entry expires, 0 for never
+	 * @param unit unit of the expiry times
+	 * @param ticker source of the time in nanoseconds
+	 * @throws IllegalArgumentException if the maximum size is less than 1 or an expiry time is negative
+	 */
+	public LruCache(int maximumSize, long expireAfterWrite, long expireAfterAccess, TimeUnit unit, LongSupplier ticker){
+		super(maximumSize, expireAfterWrite, expireAfterAccess, unit, ticker);
+	}
+
+	@Override
+	void onInsert(Node<T> node){
+		this.order.addLast(node);
+	}
+
+	@Override
+	void onAccess(Node<T> node){
+		this.order.moveToLast(node);
+	}
+
+	@Override
+	void onRemove(Node<T> node){
+		this.order.remove(node);
+	}
+
+	@Override
+	Node<T> victim(){
+		return this.order.first();
+	}
+
+	@Override
+	void onClear(){
+		this.order.clear();
+	}
+}
@@ -0,0 +1,180 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.vandermeer.skb.collections.cache;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * A cache using the W-TinyLFU policy, keeping frequently used entries even under scans of entries used only once.
+ *
+ * New entries go into a small LRU admission window (one percent of the maximum size).
+ * Entries leaving the window become candidates for the main region, a segmented LRU with a probation and a protected part.
+ * A candidate is only admitted if a frequency sketch estimates it has been used more often than the entry the main region would evict,
+ * otherwise the candidate itself is evicted.
+ * Entries read while on probation move to the protected part, which holds up to eighty percent of the main region.
+ *
+ * Keys and values must not be null.
+ * The cache is not thread-safe.
+ *
+ * @param <T> type of the cached values
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public class TinyLfuCache<T> extends AbstractCache<T> {
+
+	/** List of nodes in the admission window. */
+	private static final int WINDOW = 0;
+
+	/** List of nodes on probation in the main region. */
+	private static final int PROBATION = 1;
+
+	/** List of protected nodes in the main region. */
+	private static final int PROTECTED = 2;
+
+	/** Admission window. */
+	private final AccessList<T> window = new AccessList<T>();
+
+	/** Probation part of the main region. */
+	private final AccessList<T> probation = new AccessList<T>();
+
+	/** Protected part of the main region. */
+	private final AccessList<T> protect = new AccessList<T>();
+
+	/** Maximum number of nodes in the window. */
+	private final int windowSize;
+
+	/** Maximum number of nodes in the protected part. */
+	private final int protectedSize;
+
+	/** Frequency estimates of the keys. */
+	private final FrequencySketch sketch;
+
+	/**
+	 * Returns a new empty cache without expiry.
+	 * @param maximumSize maximum number of entries
+	 * @throws IllegalArgumentException if the maximum size is less than 1
+	 */
+	public TinyLfuCache(int maximumSize){
+		this(maximumSize, 0, 0, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Returns a new empty cache.
+	 * @param maximumSize maximum number of entries
+	 * @param expireAfterWrite time after a write an entry expires, 0 for never
+	 * @param expireAfterAccess time after the last read or write an entry expires, 0 for never
+	 * @param unit unit of the expiry times
+	 * @throws IllegalArgumentException if the maximum size is less than 1 or an expiry time is negative
+	 */
+	public TinyLfuCache(int maximumSize, long expireAfterWrite, long expireAfterAccess, TimeUnit unit){
+		this(maximumSize, expireAfterWrite, expireAfterAccess, unit, System::nanoTime);
+	}
+
+	/**
+	 * Returns a new empty cache using the given source of time.
+	 * @param maximumSize maximum number of entries
+	 * @param expireAfterWrite time after a write an entry expires, 0 for never
+	 * @param expireAfterAccess time after the last read or write an entry expires, 0 for never
+	 * @param unit unit of the expiry times
+	 * @param ticker source of the time in nanoseconds
+	 * @throws IllegalArgumentException if the maximum size is less than 1 or an expiry time is negative
+	 */
+	public TinyLfuCache(int maximumSize, long expireAfterWrite, long expireAfterAccess, TimeUnit unit, LongSupplier ticker){
+		super(maximumSize, expireAfterWrite, expireAfterAccess, unit, ticker);
+		this.windowSize = Math.max(1, maximumSize / 100);
+		this.protectedSize = (int)((maximumSize - this.windowSize) * 0.8);
+		this.sketch = new FrequencySketch(maximumSize);
+	}
+
+	private AccessList<T> list(Node<T> node){
+		switch(node.list){
+			case PROBATION:
+				return this.probation;
+			case PROTECTED:
+				return this.protect;
+			case WINDOW:
+			default:
+				return this.window;
+		}
+	}
+
+	@Override
+	void onInsert(Node<T> node){
+		this.sketch.increment(node.key);
+		node.list = WINDOW;
+		this.window.addLast(node);
+	}
+
+	@Override
+	void onAccess(Node<T> node){
+		this.sketch.increment(node.key);
+		switch(node.list){
+			case PROBATION:
+				this.probation.remove(node);
+				node.list = PROTECTED;
+				this.protect.addLast(node);
+				if(this.protect.size>this.protectedSize){
+					Node<T> demoted = this.protect.first();
+					this.protect.remove(demoted);
+					demoted.list = PROBATION;
+					this.probation.addLast(demoted);
+				}
+				break;
+			case PROTECTED:
+				this.protect.moveToLast(node);
+				break;
+			case WINDOW:
+			default:
+				this.window.moveToLast(node);
+				break;
+		}
+	}
+
+	@Override
+	void onRemove(Node<T> node){
+		this.list(node).remove(node);
+	}
+
+	@Override
+	Node<T> victim(){
+		//move the oldest window entry to probation, it is the candidate for admission
+		Node<T> candidate = null;
+		while(this.window.size>this.windowSize){
+			candidate = this.window.first();
+			this.window.remove(candidate);
+			candidate.list = PROBATION;
+			this.probation.addLast(candidate);
+		}
+		Node<T> victim = this.probation.first();
+		if(victim==null){
+			victim = (this.protect.size>0)?this.protect.first():this.window.first();
+		}
+		if(candidate==null || candidate==victim){
+			return victim;
+		}
+		return (this.sketch.frequency(candidate.key)>this.sketch.frequency(victim.key))?victim:candidate;
+	}
+
+	@Override
+	void onClear(){
+		this.window.clear();
+		this.probation.clear();
+		this.protect.clear();
+		this.sketch.clear();
+	}
+}
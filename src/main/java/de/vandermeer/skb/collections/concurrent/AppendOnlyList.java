@@ -0,0 +1,167 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections.concurrent;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A lock-free, append-only list for many concurrent writers.
+ *
+ * Elements are stored in chunks that double in size, so existing elements are never copied.
+ * A writer reserves a slot with a CAS on the slot counter, publishes a missing chunk with a CAS and writes the element.
+ * The size only covers elements that are written without gaps: writers advance it past all written slots,
+ * so {@link #get(int)} below {@link #size()} is wait-free and never sees an empty slot.
+ * Elements are visible in slot order, an element may become visible after a later appended one if its writer is delayed.
+ *
+ * Only appending is supported, all other modifications throw an {@link UnsupportedOperationException}.
+ * Null elements are not permitted. Iterators are weakly consistent and never throw a {@link java.util.ConcurrentModificationException}.
+ *
+ * @param <T> type of the elements
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public class AppendOnlyList<T> extends AbstractList<T> implements RandomAccess {
+
+	/** Size of the first chunk as power of two. */
+	static final int FIRST_SHIFT = 5;
+
+	/** Size of the first chunk. */
+	static final int FIRST = 1 << FIRST_SHIFT;
+
+	/** Maximum number of elements. */
+	static final int MAX_SIZE = Integer.MAX_VALUE - FIRST;
+
+	/** Chunks, chunk k holds FIRST &lt;&lt; k elements. */
+	private final AtomicReferenceArray<AtomicReferenceArray<T>> chunks = new AtomicReferenceArray<>(31 - FIRST_SHIFT);
+
+	/** Number of reserved slots. */
+	private final AtomicInteger reserved = new AtomicInteger();
+
+	/** Number of written slots without gaps, the size. */
+	private final AtomicInteger published = new AtomicInteger();
+
+	/**
+	 * Returns a new empty list.
+	 */
+	public AppendOnlyList(){
+		this(0);
+	}
+
+	/**
+	 * Returns a new empty list with chunks allocated for an expected number of elements.
+	 * @param expectedSize number of elements the list is expected to hold
+	 * @throws IllegalArgumentException if the expected size is negative
+	 */
+	public AppendOnlyList(int expectedSize){
+		if(expectedSize<0){
+			throw new IllegalArgumentException("expected size must not be negative: " + expectedSize);
+		}
+		if(expectedSize>0){
+			int last = CHUNK(Math.min(expectedSize, MAX_SIZE) - 1);
+			for(int c=0; c<=last; c++){
+				this.chunks.set(c, new AtomicReferenceArray<T>(FIRST << c));
+			}
+		}
+	}
+
+	/**
+	 * Returns a new list with the elements of a collection.
+	 * @param collection input collection
+	 * @throws NullPointerException if the collection is null or contains null
+	 */
+	public AppendOnlyList(Collection<? extends T> collection){
+		this(collection.size());
+		this.addAll(collection);
+	}
+
+	/**
+	 * Returns the chunk of an index.
+	 * @param index the index
+	 * @return chunk number
+	 */
+	static int CHUNK(int index){
+		return 31 - Integer.numberOfLeadingZeros(index + FIRST) - FIRST_SHIFT;
+	}
+
+	/**
+	 * Returns the offset of an index in its chunk.
+	 * @param index the index
+	 * @return offset in the chunk
+	 */
+	static int OFFSET(int index){
+		int pos = index + FIRST;
+		return pos - Integer.highestOneBit(pos);
+	}
+
+	private AtomicReferenceArray<T> chunk(int c){
+		AtomicReferenceArray<T> ret = this.chunks.get(c);
+		if(ret==null){
+			AtomicReferenceArray<T> created = new AtomicReferenceArray<>(FIRST << c);
+			if(this.chunks.compareAndSet(c, null, created)){
+				ret = created;
+			}
+			else{
+				ret = this.chunks.get(c);
+			}
+		}
+		return ret;
+	}
+
+	private T slot(int index){
+		AtomicReferenceArray<T> chunk = this.chunks.get(CHUNK(index));
+		return (chunk==null)?null:chunk.get(OFFSET(index));
+	}
+
+	@Override
+	public boolean add(T element){
+		if(element==null){
+			throw new NullPointerException();
+		}
+		int index;
+		do{
+			index = this.reserved.get();
+			if(index>=MAX_SIZE){
+				throw new IllegalStateException("append-only list is full");
+			}
+		}while(!this.reserved.compareAndSet(index, index + 1));
+		this.chunk(CHUNK(index)).set(OFFSET(index), element);
+
+		//advance the size past all written slots, helping delayed writers
+		int p = this.published.get();
+		while(p<this.reserved.get() && this.slot(p)!=null){
+			this.published.compareAndSet(p, p + 1);
+			p = this.published.get();
+		}
+		return true;
+	}
+
+	@Override
+	public T get(int index){
+		if(index<0 || index>=this.published.get()){
+			throw new IndexOutOfBoundsException("index: " + index + ", size: " + this.published.get());
+		}
+		return this.chunks.get(CHUNK(index)).get(OFFSET(index));
+	}
+
+	@Override
+	public int size(){
+		return this.published.get();
+	}
+}
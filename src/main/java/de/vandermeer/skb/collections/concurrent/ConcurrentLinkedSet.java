@@ -0,0 +1,175 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections.concurrent;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A thread-safe set iterating in insertion order.
+ *
+ * Elements are indexed in a concurrent hash map with their insertion sequence number and ordered in a concurrent skip list by that number.
+ * Membership tests only use the hash map, additions and removals update both without locking.
+ * An element removed and added again moves to the end.
+ * Iterators are weakly consistent and never throw a {@link java.util.ConcurrentModificationException}.
+ * Null elements are not permitted.
+ *
+ * @param <T> type of the elements
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public class ConcurrentLinkedSet<T> extends AbstractSet<T> {
+
+	/** Elements with their sequence number. */
+	private final ConcurrentHashMap<T, Long> index;
+
+	/** Elements by sequence number, may contain stale entries of removed elements until they are iterated. */
+	private final ConcurrentSkipListMap<Long, T> order = new ConcurrentSkipListMap<>();
+
+	/** Next sequence number. */
+	private final AtomicLong sequence = new AtomicLong();
+
+	/**
+	 * Returns a new empty set.
+	 */
+	public ConcurrentLinkedSet(){
+		this(16);
+	}
+
+	/**
+	 * Returns a new empty set sized for an expected number of elements.
+	 * @param expectedSize number of elements the set is expected to hold
+	 * @throws IllegalArgumentException if the expected size is negative
+	 */
+	public ConcurrentLinkedSet(int expectedSize){
+		this.index = new ConcurrentHashMap<>(expectedSize);
+	}
+
+	/**
+	 * Returns a new set with the elements of a collection, in the collection's iteration order.
+	 * @param collection input collection
+	 * @throws NullPointerException if the collection is null or contains null
+	 */
+	public ConcurrentLinkedSet(Collection<? extends T> collection){
+		this(collection.size());
+		this.addAll(collection);
+	}
+
+	@Override
+	public boolean add(T e){
+		if(e==null){
+			throw new NullPointerException();
+		}
+		Long seq = this.sequence.getAndIncrement();
+		if(this.index.putIfAbsent(e, seq)!=null){
+			return false;
+		}
+		this.order.put(seq, e);
+		return true;
+	}
+
+	@Override
+	public boolean remove(Object o){
+		if(o==null){
+			return false;
+		}
+		Long seq = this.index.remove(o);
+		if(seq==null){
+			return false;
+		}
+		this.order.remove(seq);
+		return true;
+	}
+
+	@Override
+	public boolean contains(Object o){
+		return o!=null && this.index.containsKey(o);
+	}
+
+	@Override
+	public int size(){
+		return this.index.size();
+	}
+
+	@Override
+	public void clear(){
+		for(Long seq : this.order.keySet()){
+			T e = this.order.remove(seq);
+			if(e!=null){
+				this.index.remove(e, seq);
+			}
+		}
+	}
+
+	/**
+	 * Tests if an ordered entry is current, removing it otherwise.
+	 * An entry becomes stale if its element was removed while it was added.
+	 * @param entry the entry
+	 * @return true if the element is in the set with the entry's sequence number, false otherwise
+	 */
+	private boolean current(Map.Entry<Long, T> entry){
+		if(entry.getKey().equals(this.index.get(entry.getValue()))){
+			return true;
+		}
+		this.order.remove(entry.getKey(), entry.getValue());
+		return false;
+	}
+
+	@Override
+	public Iterator<T> iterator(){
+		final Iterator<Map.Entry<Long, T>> it = this.order.entrySet().iterator();
+		return new Iterator<T>(){
+			Map.Entry<Long, T> next;
+			T last;
+
+			@Override
+			public boolean hasNext(){
+				while(this.next==null && it.hasNext()){
+					Map.Entry<Long, T> e = it.next();
+					if(ConcurrentLinkedSet.this.current(e)){
+						this.next = e;
+					}
+				}
+				return this.next!=null;
+			}
+
+			@Override
+			public T next(){
+				if(!this.hasNext()){
+					throw new NoSuchElementException();
+				}
+				this.last = this.next.getValue();
+				this.next = null;
+				return this.last;
+			}
+
+			@Override
+			public void remove(){
+				if(this.last==null){
+					throw new IllegalStateException();
+				}
+				ConcurrentLinkedSet.this.remove(this.last);
+				this.last = null;
+			}
+		};
+	}
+}
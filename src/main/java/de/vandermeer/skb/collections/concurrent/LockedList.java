@@ -0,0 +1,413 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections.concurrent;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.RandomAccess;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * A thread-safe array list guarded by a {@link ReentrantLock}, a replacement for Vector and Stack that does not pin virtual threads.
+ *
+ * Every method holds the lock for its whole operation, as Vector holds its monitor.
+ * Compound actions lock {@link #getLock()} around them, as Vector users synchronize on the vector.
+ * Iterators and sub lists lock per call and are fail-fast like those of Vector.
+ * Collections given as argument are copied before the lock is taken, so two lists working on each other cannot deadlock.
+ * Null elements are permitted.
+ *
+ * @param <T> type of the elements
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public class LockedList<T> extends AbstractList<T> implements RandomAccess {
+
+	/** The elements. */
+	private final ArrayList<T> list;
+
+	/** The lock guarding the elements. */
+	private final ReentrantLock lock = new ReentrantLock();
+
+	/**
+	 * Returns a new empty list.
+	 */
+	public LockedList(){
+		this.list = new ArrayList<T>();
+	}
+
+	/**
+	 * Returns a new empty list with an initial capacity.
+	 * @param initialCapacity the initial capacity
+	 * @throws IllegalArgumentException if the capacity is negative
+	 */
+	public LockedList(int initialCapacity){
+		this.list = new ArrayList<T>(initialCapacity);
+	}
+
+	/**
+	 * Returns a new list with the elements of a collection, in its iteration order.
+	 * @param collection input collection
+	 */
+	public LockedList(Collection<? extends T> collection){
+		this.list = new ArrayList<T>(collection);
+	}
+
+	/**
+	 * Returns the lock guarding the list, for compound actions.
+	 * @return the lock
+	 */
+	public ReentrantLock getLock(){
+		return this.lock;
+	}
+
+	/**
+	 * Makes sure the list can hold a number of elements without growing.
+	 * @param minCapacity the minimum capacity
+	 */
+	public void ensureCapacity(int minCapacity){
+		this.lock.lock();
+		try{
+			this.list.ensureCapacity(minCapacity);
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public int size(){
+		this.lock.lock();
+		try{
+			return this.list.size();
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean isEmpty(){
+		this.lock.lock();
+		try{
+			return this.list.isEmpty();
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public T get(int index){
+		this.lock.lock();
+		try{
+			return this.list.get(index);
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public T set(int index, T element){
+		this.lock.lock();
+		try{
+			return this.list.set(index, element);
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean add(T e){
+		this.lock.lock();
+		try{
+			this.list.add(e);
+			this.modCount++;
+			return true;
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public void add(int index, T element){
+		this.lock.lock();
+		try{
+			this.list.add(index, element);
+			this.modCount++;
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public T remove(int index){
+		this.lock.lock();
+		try{
+			T ret = this.list.remove(index);
+			this.modCount++;
+			return ret;
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean remove(Object o){
+		this.lock.lock();
+		try{
+			if(this.list.remove(o)){
+				this.modCount++;
+				return true;
+			}
+			return false;
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	protected void removeRange(int fromIndex, int toIndex){
+		this.lock.lock();
+		try{
+			this.list.subList(fromIndex, toIndex).clear();
+			this.modCount++;
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public void clear(){
+		this.lock.lock();
+		try{
+			this.list.clear();
+			this.modCount++;
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean contains(Object o){
+		this.lock.lock();
+		try{
+			return this.list.contains(o);
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public int indexOf(Object o){
+		this.lock.lock();
+		try{
+			return this.list.indexOf(o);
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public int lastIndexOf(Object o){
+		this.lock.lock();
+		try{
+			return this.list.lastIndexOf(o);
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean containsAll(Collection<?> c){
+		return this.containsAll(c.toArray());
+	}
+
+	private boolean containsAll(Object[] a){
+		this.lock.lock();
+		try{
+			for(Object o : a){
+				if(!this.list.contains(o)){
+					return false;
+				}
+			}
+			return true;
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean addAll(Collection<? extends T> c){
+		Object[] a = c.toArray();
+		this.lock.lock();
+		try{
+			boolean ret = this.list.addAll((Collection<? extends T>)Arrays.asList(a));
+			this.modCount++;
+			return ret;
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean addAll(int index, Collection<? extends T> c){
+		Object[] a = c.toArray();
+		this.lock.lock();
+		try{
+			boolean ret = this.list.addAll(index, (Collection<? extends T>)Arrays.asList(a));
+			this.modCount++;
+			return ret;
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> c){
+		Collection<?> copy = Arrays.asList(c.toArray());
+		return this.removeIf(e -> copy.contains(e));
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> c){
+		Collection<?> copy = Arrays.asList(c.toArray());
+		return this.removeIf(e -> !copy.contains(e));
+	}
+
+	@Override
+	public boolean removeIf(Predicate<? super T> filter){
+		this.lock.lock();
+		try{
+			if(this.list.removeIf(filter)){
+				this.modCount++;
+				return true;
+			}
+			return false;
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public void replaceAll(UnaryOperator<T> operator){
+		this.lock.lock();
+		try{
+			this.list.replaceAll(operator);
+			this.modCount++;
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public void sort(Comparator<? super T> c){
+		this.lock.lock();
+		try{
+			this.list.sort(c);
+			this.modCount++;
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public void forEach(Consumer<? super T> action){
+		this.lock.lock();
+		try{
+			this.list.forEach(action);
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public Object[] toArray(){
+		this.lock.lock();
+		try{
+			return this.list.toArray();
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public <A> A[] toArray(A[] a){
+		this.lock.lock();
+		try{
+			return this.list.toArray(a);
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean equals(Object o){
+		if(o==this){
+			return true;
+		}
+		return Arrays.asList(this.toArray()).equals(o);
+	}
+
+	@Override
+	public int hashCode(){
+		this.lock.lock();
+		try{
+			return this.list.hashCode();
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public String toString(){
+		this.lock.lock();
+		try{
+			return this.list.toString();
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+}
@@ -0,0 +1,486 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections.concurrent;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A thread-safe hash map guarded by a {@link ReentrantLock}, a replacement for Hashtable that does not pin virtual threads.
+ *
+ * Every method holds the lock for its whole operation, as Hashtable holds its monitor, including the functions given to the compute and merge methods.
+ * Compound actions lock {@link #getLock()} around them.
+ * Iterators of the views work on a snapshot taken when they are created: they never throw a {@link java.util.ConcurrentModificationException},
+ * removals and {@link java.util.Map.Entry#setValue(Object)} write through to the map.
+ * Maps given as argument are copied before the lock is taken, so two maps working on each other cannot deadlock.
+ * Null keys and values are not permitted, as in Hashtable.
+ *
+ * @param <K> type of the keys
+ * @param <V> type of the values
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public class LockedMap<K, V> extends AbstractMap<K, V> {
+
+	/** The mappings. */
+	private final HashMap<K, V> map;
+
+	/** The lock guarding the mappings. */
+	private final ReentrantLock lock = new ReentrantLock();
+
+	/** Entry set view, created on first use. */
+	private Set<Map.Entry<K, V>> entrySet;
+
+	/**
+	 * Returns a new empty map.
+	 */
+	public LockedMap(){
+		this.map = new HashMap<K, V>();
+	}
+
+	/**
+	 * Returns a new empty map with an initial capacity and load factor.
+	 * @param initialCapacity the initial capacity
+	 * @param loadFactor the load factor
+	 * @throws IllegalArgumentException if the capacity is negative or the load factor not positive
+	 */
+	public LockedMap(int initialCapacity, float loadFactor){
+		this.map = new HashMap<K, V>(initialCapacity, loadFactor);
+	}
+
+	/**
+	 * Returns a new map with the mappings of a map.
+	 * @param map input map
+	 * @throws NullPointerException if the input map contains a null key or value
+	 */
+	public LockedMap(Map<? extends K, ? extends V> map){
+		this.map = new HashMap<K, V>(Math.max(2 * map.size(), 11), 0.75f);
+		this.putAll(map);
+	}
+
+	/**
+	 * Returns the lock guarding the map, for compound actions.
+	 * @return the lock
+	 */
+	public ReentrantLock getLock(){
+		return this.lock;
+	}
+
+	@Override
+	public int size(){
+		this.lock.lock();
+		try{
+			return this.map.size();
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean isEmpty(){
+		this.lock.lock();
+		try{
+			return this.map.isEmpty();
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean containsKey(Object key){
+		Objects.requireNonNull(key);
+		this.lock.lock();
+		try{
+			return this.map.containsKey(key);
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean containsValue(Object value){
+		Objects.requireNonNull(value);
+		this.lock.lock();
+		try{
+			return this.map.containsValue(value);
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public V get(Object key){
+		Objects.requireNonNull(key);
+		this.lock.lock();
+		try{
+			return this.map.get(key);
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public V getOrDefault(Object key, V defaultValue){
+		Objects.requireNonNull(key);
+		this.lock.lock();
+		try{
+			return this.map.getOrDefault(key, defaultValue);
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public V put(K key, V value){
+		Objects.requireNonNull(key);
+		Objects.requireNonNull(value);
+		this.lock.lock();
+		try{
+			return this.map.put(key, value);
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public V putIfAbsent(K key, V value){
+		Objects.requireNonNull(key);
+		Objects.requireNonNull(value);
+		this.lock.lock();
+		try{
+			return this.map.putIfAbsent(key, value);
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public void putAll(Map<? extends K, ? extends V> m){
+		Object[] entries = m.entrySet().toArray();
+		for(Object o : entries){
+			Map.Entry<?, ?> e = (Map.Entry<?, ?>)o;
+			Objects.requireNonNull(e.getKey());
+			Objects.requireNonNull(e.getValue());
+		}
+		this.lock.lock();
+		try{
+			for(Object o : entries){
+				@SuppressWarnings("unchecked")
+				Map.Entry<K, V> e = (Map.Entry<K, V>)o;
+				this.map.put(e.getKey(), e.getValue());
+			}
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public V remove(Object key){
+		Objects.requireNonNull(key);
+		this.lock.lock();
+		try{
+			return this.map.remove(key);
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean remove(Object key, Object value){
+		Objects.requireNonNull(key);
+		this.lock.lock();
+		try{
+			return this.map.remove(key, value);
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean replace(K key, V oldValue, V newValue){
+		Objects.requireNonNull(key);
+		Objects.requireNonNull(newValue);
+		this.lock.lock();
+		try{
+			return this.map.replace(key, oldValue, newValue);
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public V replace(K key, V value){
+		Objects.requireNonNull(key);
+		Objects.requireNonNull(value);
+		this.lock.lock();
+		try{
+			return this.map.replace(key, value);
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction){
+		Objects.requireNonNull(key);
+		this.lock.lock();
+		try{
+			return this.map.computeIfAbsent(key, mappingFunction);
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction){
+		Objects.requireNonNull(key);
+		this.lock.lock();
+		try{
+			return this.map.computeIfPresent(key, remappingFunction);
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction){
+		Objects.requireNonNull(key);
+		this.lock.lock();
+		try{
+			return this.map.compute(key, remappingFunction);
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction){
+		Objects.requireNonNull(key);
+		Objects.requireNonNull(value);
+		this.lock.lock();
+		try{
+			return this.map.merge(key, value, remappingFunction);
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public void forEach(BiConsumer<? super K, ? super V> action){
+		this.lock.lock();
+		try{
+			this.map.forEach(action);
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public void replaceAll(BiFunction<? super K, ? super V, ? extends V> function){
+		Objects.requireNonNull(function);
+		this.lock.lock();
+		try{
+			this.map.replaceAll((k, v) -> Objects.requireNonNull(function.apply(k, v)));
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public void clear(){
+		this.lock.lock();
+		try{
+			this.map.clear();
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public Set<Map.Entry<K, V>> entrySet(){
+		if(this.entrySet==null){
+			this.entrySet = new EntrySet();
+		}
+		return this.entrySet;
+	}
+
+	/**
+	 * Returns a copy of the mappings.
+	 * @return copy
+	 */
+	private HashMap<K, V> copy(){
+		this.lock.lock();
+		try{
+			return new HashMap<K, V>(this.map);
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean equals(Object o){
+		if(o==this){
+			return true;
+		}
+		return this.copy().equals(o);
+	}
+
+	@Override
+	public int hashCode(){
+		this.lock.lock();
+		try{
+			return this.map.hashCode();
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public String toString(){
+		this.lock.lock();
+		try{
+			return this.map.toString();
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Entry set view, iterating over a snapshot.
+	 */
+	private final class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+
+		@Override
+		public Iterator<Map.Entry<K, V>> iterator(){
+			ArrayList<Map.Entry<K, V>> snapshot;
+			LockedMap.this.lock.lock();
+			try{
+				snapshot = new ArrayList<>(LockedMap.this.map.size());
+				for(Map.Entry<K, V> e : LockedMap.this.map.entrySet()){
+					snapshot.add(new WriteThroughEntry(e.getKey(), e.getValue()));
+				}
+			}
+			finally{
+				LockedMap.this.lock.unlock();
+			}
+			Iterator<Map.Entry<K, V>> it = snapshot.iterator();
+			return new Iterator<Map.Entry<K, V>>(){
+				private Map.Entry<K, V> last;
+
+				@Override
+				public boolean hasNext(){
+					return it.hasNext();
+				}
+
+				@Override
+				public Map.Entry<K, V> next(){
+					this.last = it.next();
+					return this.last;
+				}
+
+				@Override
+				public void remove(){
+					if(this.last==null){
+						throw new IllegalStateException();
+					}
+					LockedMap.this.remove(this.last.getKey());
+					this.last = null;
+				}
+			};
+		}
+
+		@Override
+		public int size(){
+			return LockedMap.this.size();
+		}
+
+		@Override
+		public boolean contains(Object o){
+			if(!(o instanceof Map.Entry)){
+				return false;
+			}
+			Map.Entry<?, ?> e = (Map.Entry<?, ?>)o;
+			Object value = (e.getKey()==null)?null:LockedMap.this.get(e.getKey());
+			return value!=null && value.equals(e.getValue());
+		}
+
+		@Override
+		public boolean remove(Object o){
+			if(!(o instanceof Map.Entry)){
+				return false;
+			}
+			Map.Entry<?, ?> e = (Map.Entry<?, ?>)o;
+			return e.getKey()!=null && LockedMap.this.remove(e.getKey(), e.getValue());
+		}
+
+		@Override
+		public void clear(){
+			LockedMap.this.clear();
+		}
+	}
+
+	/**
+	 * Entry of a snapshot, writing value changes through to the map.
+	 */
+	private final class WriteThroughEntry extends AbstractMap.SimpleEntry<K, V> {
+
+		private static final long serialVersionUID = 1L;
+
+		WriteThroughEntry(K key, V value){
+			super(key, value);
+		}
+
+		@Override
+		public V setValue(V value){
+			Objects.requireNonNull(value);
+			LockedMap.this.put(this.getKey(), value);
+			return super.setValue(value);
+		}
+	}
+}
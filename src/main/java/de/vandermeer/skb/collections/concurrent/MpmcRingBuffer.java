@@ -0,0 +1,195 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections.concurrent;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * A lock-free ring buffer for many producer and many consumer threads.
+ *
+ * Every slot has a sequence number telling producers and consumers whether it is free for the index they hold
+ * (the algorithm of Dmitry Vyukov's bounded MPMC queue).
+ * Producers and consumers claim a slot with a CAS on their index once its sequence matches,
+ * then write or read the element and publish the slot for the other side with an ordered write of the sequence.
+ * Threads claiming different slots do not contend on anything but the index.
+ *
+ * @param <T> type of the elements
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public class MpmcRingBuffer<T> extends RingBuffer<T> {
+
+	/** Slots, guarded by the sequences. */
+	private final Object[] buffer;
+
+	/** Sequence of every slot: the producer index it is free for, or the consumer index plus 1 it is written for. */
+	private final AtomicLongArray sequences;
+
+	/**
+	 * Returns a new ring buffer with default capacity.
+	 */
+	public MpmcRingBuffer(){
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Returns a new ring buffer.
+	 * @param capacity minimum capacity, rounded up to a power of two
+	 * @throws IllegalArgumentException if the capacity is less than 1 or larger than {@link #MAX_CAPACITY}
+	 */
+	public MpmcRingBuffer(int capacity){
+		super(capacity);
+		this.buffer = new Object[this.capacity];
+		this.sequences = new AtomicLongArray(this.capacity);
+		for(int i=0; i<this.capacity; i++){
+			this.sequences.set(i, i);
+		}
+	}
+
+	/**
+	 * Claims the next slot for a producer.
+	 * @return producer index of the claimed slot, -1 if the buffer is full
+	 */
+	private long claim(){
+		while(true){
+			long p = this.producerIndex.get();
+			long sequence = this.sequences.get((int)p & this.mask);
+			if(sequence==p){
+				if(this.producerIndex.compareAndSet(p, p + 1)){
+					return p;
+				}
+			}
+			else if(sequence<p){
+				if(p - this.capacity>=this.consumerIndex.get()){
+					//the slot still holds the element of the last round
+					return -1;
+				}
+				//taken by a consumer that has not released the slot yet, yield in case it is not running
+				Thread.yield();
+			}
+		}
+	}
+
+	/**
+	 * Writes an element into a claimed slot and publishes it to consumers.
+	 * @param p producer index of the slot
+	 * @param e element or {@link #SKIP}
+	 */
+	private void publish(long p, Object e){
+		int slot = (int)p & this.mask;
+		this.buffer[slot] = e;
+		this.sequences.lazySet(slot, p + 1);
+	}
+
+	@Override
+	public boolean offer(T e){
+		CHECK(e);
+		long p = this.claim();
+		if(p<0){
+			return false;
+		}
+		this.publish(p, e);
+		return true;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T poll(){
+		while(true){
+			long c = this.consumerIndex.get();
+			int slot = (int)c & this.mask;
+			long sequence = this.sequences.get(slot);
+			if(sequence==c + 1){
+				if(this.consumerIndex.compareAndSet(c, c + 1)){
+					Object ret = this.buffer[slot];
+					this.buffer[slot] = null;
+					this.sequences.lazySet(slot, c + this.capacity);
+					if(ret!=SKIP){
+						return (T)ret;
+					}
+				}
+			}
+			else if(sequence<c + 1){
+				if(c>=this.producerIndex.get()){
+					return null;
+				}
+				//claimed by a producer that has not written the element yet, yield in case it is not running
+				Thread.yield();
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T peek(){
+		while(true){
+			long c = this.consumerIndex.get();
+			int slot = (int)c & this.mask;
+			long sequence = this.sequences.get(slot);
+			if(sequence==c + 1){
+				Object ret = this.buffer[slot];
+				//the element is only valid if no consumer took the slot meanwhile
+				if(this.consumerIndex.get()==c){
+					if(ret!=SKIP){
+						return (T)ret;
+					}
+					//let a poll remove the skipped slot
+					if(this.consumerIndex.compareAndSet(c, c + 1)){
+						this.buffer[slot] = null;
+						this.sequences.lazySet(slot, c + this.capacity);
+					}
+				}
+			}
+			else if(sequence<c + 1){
+				if(c>=this.producerIndex.get()){
+					return null;
+				}
+				Thread.yield();
+			}
+		}
+	}
+
+	@Override
+	public int fill(Supplier<? extends T> supplier, int limit){
+		CHECK_LIMIT(limit);
+		int ret = 0;
+		while(ret<limit){
+			long p = this.claim();
+			if(p<0){
+				break;
+			}
+			T e;
+			try{
+				e = supplier.get();
+				CHECK(e);
+			}
+			catch(RuntimeException | Error ex){
+				//the claimed slot must be published, or consumers wait for it forever
+				this.publish(p, SKIP);
+				throw ex;
+			}
+			this.publish(p, e);
+			ret++;
+		}
+		return ret;
+	}
+
+	@Override
+	Object element(long index){
+		return this.buffer[(int)index & this.mask];
+	}
+}
@@ -0,0 +1,212 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections.concurrent;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A lock-free ring buffer for many producer threads and a single consumer thread.
+ *
+ * Producers claim slots with a CAS on the producer index and then write the element with an ordered write into the slot.
+ * They check the free capacity against a shared limit, and only read the consumer index once the limit is reached.
+ * The consumer reads slots in order and frees them with an ordered write of the consumer index, without an atomic instruction.
+ * A slot that is claimed but not yet written is empty, the consumer then waits for the producer to complete the write.
+ * A batch fill claims all slots of the batch with a single CAS, a drain frees all slots with a single index write.
+ *
+ * Polling from more than one thread at the same time corrupts the queue.
+ *
+ * @param <T> type of the elements
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public class MpscRingBuffer<T> extends RingBuffer<T> {
+
+	/** Slots, written by producers in any order. */
+	private final AtomicReferenceArray<Object> buffer;
+
+	/** Producer index up to which slots are known to be free. */
+	private final PaddedSequence producerLimit = new PaddedSequence();
+
+	/**
+	 * Returns a new ring buffer with default capacity.
+	 */
+	public MpscRingBuffer(){
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Returns a new ring buffer.
+	 * @param capacity minimum capacity, rounded up to a power of two
+	 * @throws IllegalArgumentException if the capacity is less than 1 or larger than {@link #MAX_CAPACITY}
+	 */
+	public MpscRingBuffer(int capacity){
+		super(capacity);
+		this.buffer = new AtomicReferenceArray<Object>(this.capacity);
+		this.producerLimit.setOrdered(this.capacity);
+	}
+
+	/**
+	 * Returns the producer index up to which slots are free.
+	 * @param p producer index
+	 * @param wanted number of slots wanted
+	 * @return limit, reading the consumer index only if the shared limit is not sufficient
+	 */
+	private long limit(long p, int wanted){
+		long ret = this.producerLimit.get();
+		if(p + wanted>ret){
+			ret = this.consumerIndex.get() + this.capacity;
+			this.producerLimit.setOrdered(ret);
+		}
+		return ret;
+	}
+
+	@Override
+	public boolean offer(T e){
+		CHECK(e);
+		long p;
+		do{
+			p = this.producerIndex.get();
+			if(p>=this.limit(p, 1)){
+				return false;
+			}
+		}
+		while(!this.producerIndex.compareAndSet(p, p + 1));
+		this.buffer.lazySet((int)p & this.mask, e);
+		return true;
+	}
+
+	/**
+	 * Returns the element of a slot for the consumer, waiting for a claimed slot to be written.
+	 * @param c consumer index
+	 * @return element or {@link #SKIP}, null if the buffer is empty
+	 */
+	private Object next(long c){
+		int slot = (int)c & this.mask;
+		Object ret = this.buffer.get(slot);
+		if(ret==null){
+			if(c>=this.producerIndex.get()){
+				return null;
+			}
+			//claimed by a producer that has not written the element yet, yield in case it is not running
+			do{
+				Thread.yield();
+				ret = this.buffer.get(slot);
+			}
+			while(ret==null);
+		}
+		return ret;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T poll(){
+		while(true){
+			long c = this.consumerIndex.value;
+			Object ret = this.next(c);
+			if(ret==null){
+				return null;
+			}
+			this.buffer.lazySet((int)c & this.mask, null);
+			this.consumerIndex.setOrdered(c + 1);
+			if(ret!=SKIP){
+				return (T)ret;
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T peek(){
+		while(true){
+			long c = this.consumerIndex.value;
+			Object ret = this.next(c);
+			if(ret!=SKIP){
+				return (T)ret;
+			}
+			//drop a skipped slot, the consumer owns the head
+			this.buffer.lazySet((int)c & this.mask, null);
+			this.consumerIndex.setOrdered(c + 1);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public int drain(Consumer<? super T> consumer, int limit){
+		CHECK_LIMIT(limit);
+		long c = this.consumerIndex.value;
+		long i = c;
+		int ret = 0;
+		try{
+			while(ret<limit){
+				Object e = this.next(i);
+				if(e==null){
+					break;
+				}
+				this.buffer.lazySet((int)i & this.mask, null);
+				i++;
+				if(e!=SKIP){
+					ret++;
+					consumer.accept((T)e);
+				}
+			}
+		}
+		finally{
+			this.consumerIndex.setOrdered(i);
+		}
+		return ret;
+	}
+
+	@Override
+	public int fill(Supplier<? extends T> supplier, int limit){
+		CHECK_LIMIT(limit);
+		if(limit==0){
+			return 0;
+		}
+		long p;
+		int count;
+		do{
+			p = this.producerIndex.get();
+			count = (int)Math.min(limit, this.limit(p, limit) - p);
+			if(count<=0){
+				return 0;
+			}
+		}
+		while(!this.producerIndex.compareAndSet(p, p + count));
+		int ret = 0;
+		try{
+			while(ret<count){
+				T e = supplier.get();
+				CHECK(e);
+				this.buffer.lazySet((int)(p + ret) & this.mask, e);
+				ret++;
+			}
+		}
+		finally{
+			//claimed slots must be written, or the consumer waits for them forever
+			for(int i=ret; i<count; i++){
+				this.buffer.lazySet((int)(p + i) & this.mask, SKIP);
+			}
+		}
+		return ret;
+	}
+
+	@Override
+	Object element(long index){
+		return this.buffer.get((int)index & this.mask);
+	}
+}
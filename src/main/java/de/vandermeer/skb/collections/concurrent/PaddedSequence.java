@@ -0,0 +1,73 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections.concurrent;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/** Padding before the value, the JVM lays out fields of super classes first. */
+abstract class PaddedSequenceLeft {
+	long p01, p02, p03, p04, p05, p06, p07;
+}
+
+/** The value, and a plain field on the same cache line for the thread owning the sequence. */
+abstract class PaddedSequenceValue extends PaddedSequenceLeft {
+	volatile long value;
+
+	/** Last read value of another sequence, cached by the single thread writing this sequence. */
+	long cache;
+}
+
+/**
+ * A sequence counter on a cache line of its own.
+ * Counters written by different threads, for instance the producer and the consumer index of a queue, would otherwise often share a cache line,
+ * so that every write by one thread invalidates the line for the other (false sharing).
+ * The counter is padded with 56 bytes on both sides, which covers cache lines of 64 bytes.
+ * A single writer can keep a cached value of another sequence next to its own, which then costs no extra cache line.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+final class PaddedSequence extends PaddedSequenceValue {
+	long p11, p12, p13, p14, p15, p16, p17;
+
+	/** Updater for CAS and ordered writes of the value. */
+	private static final AtomicLongFieldUpdater<PaddedSequenceValue> VALUE = AtomicLongFieldUpdater.newUpdater(PaddedSequenceValue.class, "value");
+
+	/**
+	 * Returns the value, with volatile semantics.
+	 * @return the value
+	 */
+	long get(){
+		return this.value;
+	}
+
+	/**
+	 * Sets the value with ordered semantics: earlier writes are visible before the value, the write may become visible to other threads later.
+	 * @param value the new value
+	 */
+	void setOrdered(long value){
+		VALUE.lazySet(this, value);
+	}
+
+	/**
+	 * Sets the value if it equals the expected value.
+	 * @param expected expected value
+	 * @param value the new value
+	 * @return true if successful, false otherwise
+	 */
+	boolean compareAndSet(long expected, long value){
+		return VALUE.compareAndSet(this, expected, value);
+	}
+}
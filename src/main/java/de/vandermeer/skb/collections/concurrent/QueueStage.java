@@ -0,0 +1,536 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections.concurrent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import de.vandermeer.skb.base.Skb_Transformer;
+
+/**
+ * A processing stage that takes elements from source queues in batches, transforms them, and adds the results to a target queue.
+ *
+ * Each worker drains up to a batch of elements from the sources, using {@link BlockingQueue#drainTo(Collection, int)} or {@link RingBuffer#drain(Consumer, int)} where available,
+ * transforms the whole batch, and publishes it with {@link RingBuffer#fill(Supplier, int)} where available.
+ * Per-element overhead (queue synchronization, wake-ups, metric updates) is thereby paid once per batch.
+ *
+ * A full target applies backpressure: workers wait until the target accepts the batch, blocking in {@link BlockingQueue#put(Object)} or backing off for other queues,
+ * so the stage never takes more than one batch per worker from the sources.
+ * With one worker the target receives elements in source order, with several workers batches are published in any order.
+ * Elements the transformer fails on or returns null for, and elements the target fails to add, are counted and dropped, the stage keeps running.
+ *
+ * Sources must permit several consumers and the target several producers if more than one worker is used.
+ *
+ * @param <T1> type of the source elements
+ * @param <T2> type of the target elements
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public class QueueStage<T1, T2> implements AutoCloseable {
+
+	/** Default number of elements taken from the sources at once. */
+	public static final int DEFAULT_BATCH_SIZE = 256;
+
+	/** Backoff rounds spent yielding before parking. */
+	private static final int YIELD_ROUNDS = 16;
+
+	/** Longest park of an idle or blocked worker, in nanoseconds. */
+	private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+	/** Source queues. */
+	private final List<Queue<? extends T1>> sources;
+
+	/** The transformer. */
+	private final Skb_Transformer<T1, T2> transformer;
+
+	/** Target queue. */
+	private final Queue<? super T2> target;
+
+	/** Number of workers. */
+	private final int workers;
+
+	/** Maximum number of elements per batch. */
+	private final int batchSize;
+
+	/** Executor running the workers, null for a new daemon thread per worker. */
+	private final Executor executor;
+
+	/** Flag for running workers, cleared to stop them. */
+	private volatile boolean running;
+
+	/** Latch counting down on worker termination, null before start. */
+	private volatile CountDownLatch terminated;
+
+	/** Start time in nanoseconds. */
+	private volatile long startNanos;
+
+	/** Stop time in nanoseconds, 0 while running. */
+	private volatile long stopNanos;
+
+	/** Published elements. */
+	private final LongAdder items = new LongAdder();
+
+	/** Processed batches. */
+	private final LongAdder batches = new LongAdder();
+
+	/** Largest batch. */
+	private final LongAccumulator maxBatchSize = new LongAccumulator(Math::max, 0);
+
+	/** Times a worker found the target full. */
+	private final LongAdder backpressure = new LongAdder();
+
+	/** Elements dropped because the transformer failed or returned null, the target failed to add them, or the worker was interrupted while publishing. */
+	private final LongAdder dropped = new LongAdder();
+
+	/** Last failure of the transformer. */
+	private volatile RuntimeException lastFailure;
+
+	/**
+	 * Returns a new stage with one worker on a daemon thread and the default batch size.
+	 * @param source source queue
+	 * @param transformer the transformer
+	 * @param target target queue
+	 * @throws IllegalArgumentException if any argument is null
+	 */
+	public QueueStage(Queue<? extends T1> source, Skb_Transformer<T1, T2> transformer, Queue<? super T2> target){
+		this(Collections.singletonList(source), transformer, target, 1, DEFAULT_BATCH_SIZE, null);
+	}
+
+	/**
+	 * Returns a new stage.
+	 * @param sources source queues, taken from in turn
+	 * @param transformer the transformer, must be safe to be used by several threads if more than one worker is used
+	 * @param target target queue
+	 * @param workers number of workers
+	 * @param batchSize maximum number of elements taken from the sources at once
+	 * @param executor executor running the workers (each worker occupies one thread until the stage is closed), null for a new daemon thread per worker
+	 * @throws IllegalArgumentException if sources, transformer or target are null, sources are empty or contain null, workers or batch size are not positive,
+	 *         or several workers are used with a single-consumer source or single-producer target
+	 */
+	public QueueStage(Collection<? extends Queue<? extends T1>> sources, Skb_Transformer<T1, T2> transformer, Queue<? super T2> target, int workers, int batchSize, Executor executor){
+		if(sources==null || sources.isEmpty()){
+			throw new IllegalArgumentException("sources must not be null or empty");
+		}
+		if(transformer==null){
+			throw new IllegalArgumentException("transformer must not be null");
+		}
+		if(target==null){
+			throw new IllegalArgumentException("target must not be null");
+		}
+		if(workers<1){
+			throw new IllegalArgumentException("workers must be positive: " + workers);
+		}
+		if(batchSize<1){
+			throw new IllegalArgumentException("batch size must be positive: " + batchSize);
+		}
+		this.sources = new ArrayList<>(sources);
+		for(Queue<? extends T1> source : this.sources){
+			if(source==null){
+				throw new IllegalArgumentException("sources must not contain null");
+			}
+			if(workers>1 && (source instanceof SpscRingBuffer || source instanceof MpscRingBuffer)){
+				throw new IllegalArgumentException("source permits a single consumer only, but " + workers + " workers requested");
+			}
+		}
+		if(workers>1 && target instanceof SpscRingBuffer){
+			throw new IllegalArgumentException("target permits a single producer only, but " + workers + " workers requested");
+		}
+		this.transformer = transformer;
+		this.target = target;
+		this.workers = workers;
+		this.batchSize = batchSize;
+		this.executor = executor;
+	}
+
+	/**
+	 * Starts the workers.
+	 * @return self to allow chaining
+	 * @throws IllegalStateException if the stage was started before
+	 */
+	public synchronized QueueStage<T1, T2> start(){
+		if(this.terminated!=null){
+			throw new IllegalStateException("stage already started");
+		}
+		this.running = true;
+		this.startNanos = System.nanoTime();
+		this.terminated = new CountDownLatch(this.workers);
+		for(int i=0; i<this.workers; i++){
+			Worker worker = new Worker(i);
+			if(this.executor==null){
+				Thread thread = new Thread(worker, "skb-queue-stage-" + i);
+				thread.setDaemon(true);
+				thread.start();
+			}
+			else{
+				this.executor.execute(worker);
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * Tells the workers to stop once their current batch is published, without waiting for them.
+	 * Elements remaining in the sources are left there.
+	 */
+	public void stop(){
+		if(this.running){
+			this.running = false;
+			this.stopNanos = System.nanoTime();
+		}
+	}
+
+	/**
+	 * Waits for all workers to stop.
+	 * @param timeout maximum time to wait
+	 * @param unit unit of the timeout
+	 * @return true if all workers stopped (or the stage was never started), false if the timeout elapsed
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+		CountDownLatch latch = this.terminated;
+		return latch==null || latch.await(timeout, unit);
+	}
+
+	/**
+	 * Stops the workers and waits until they published their current batch.
+	 * Since publishing waits for space in the target, the target must still be consumed for this method to return.
+	 * If the calling thread is interrupted, it stops waiting and keeps its interrupt status.
+	 */
+	@Override
+	public void close(){
+		this.stop();
+		CountDownLatch latch = this.terminated;
+		if(latch!=null){
+			try{
+				latch.await();
+			}
+			catch(InterruptedException ex){
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * Tests if the workers are told to run.
+	 * @return true if started and not stopped
+	 */
+	public boolean isRunning(){
+		return this.running;
+	}
+
+	/**
+	 * Returns the target queue.
+	 * @return target
+	 */
+	public Queue<? super T2> getTarget(){
+		return this.target;
+	}
+
+	/**
+	 * Returns the number of elements published to the target.
+	 * @return published elements
+	 */
+	public long getItems(){
+		return this.items.sum();
+	}
+
+	/**
+	 * Returns the number of processed batches.
+	 * @return batches
+	 */
+	public long getBatches(){
+		return this.batches.sum();
+	}
+
+	/**
+	 * Returns the average number of elements taken from the sources per batch.
+	 * @return average batch size, 0 if no batch was processed
+	 */
+	public double getAverageBatchSize(){
+		long b = this.batches.sum();
+		return (b==0)?0:(double)(this.items.sum() + this.dropped.sum()) / b;
+	}
+
+	/**
+	 * Returns the largest number of elements taken from the sources in one batch.
+	 * @return largest batch size
+	 */
+	public long getMaxBatchSize(){
+		return this.maxBatchSize.get();
+	}
+
+	/**
+	 * Returns how often a worker found the target full and had to wait.
+	 * @return backpressure waits
+	 */
+	public long getBackpressureWaits(){
+		return this.backpressure.sum();
+	}
+
+	/**
+	 * Returns the number of dropped elements, because the transformer failed on them or returned null, the target failed to add them, or a worker was interrupted while publishing them.
+	 * @return dropped elements
+	 */
+	public long getDropped(){
+		return this.dropped.sum();
+	}
+
+	/**
+	 * Returns the last exception thrown by the transformer or the target.
+	 * @return last failure, null if none
+	 */
+	public RuntimeException getLastFailure(){
+		return this.lastFailure;
+	}
+
+	/**
+	 * Returns the throughput since the start, up to the stop if stopped.
+	 * @return published elements per second, 0 if not started
+	 */
+	public double getThroughput(){
+		long start = this.startNanos;
+		if(start==0){
+			return 0;
+		}
+		long end = (this.running || this.stopNanos==0)?System.nanoTime():this.stopNanos;
+		long elapsed = Math.max(1, end - start);
+		return this.items.sum() * 1e9 / elapsed;
+	}
+
+	@Override
+	public String toString(){
+		return "QueueStage[items=" + this.getItems() + ", batches=" + this.getBatches() + ", averageBatchSize=" + this.getAverageBatchSize() + ", maxBatchSize=" + this.getMaxBatchSize()
+				+ ", backpressureWaits=" + this.getBackpressureWaits() + ", dropped=" + this.getDropped() + ", throughput=" + this.getThroughput() + "]";
+	}
+
+	/**
+	 * Backs off after a number of unsuccessful rounds, first by yielding and then by parking for growing periods.
+	 * @param round number of unsuccessful rounds so far
+	 */
+	static void BACKOFF(int round){
+		if(round<YIELD_ROUNDS){
+			Thread.yield();
+		}
+		else{
+			LockSupport.parkNanos(Math.min(MAX_PARK_NANOS, 1000L << Math.min(round - YIELD_ROUNDS, 10)));
+		}
+	}
+
+	/**
+	 * A worker with its own batch buffers, which also act as consumer for draining and supplier for filling.
+	 */
+	private final class Worker implements Runnable, Consumer<T1>, Supplier<T2> {
+
+		/** Elements taken from the sources. */
+		private final ArrayList<T1> in;
+
+		/** Transformed elements. */
+		private final Object[] out;
+
+		/** Number of transformed elements. */
+		private int size;
+
+		/** Index of the next transformed element to publish. */
+		private int next;
+
+		/** Index of the source to take from first. */
+		private int source;
+
+		Worker(int index){
+			this.in = new ArrayList<>(QueueStage.this.batchSize);
+			this.out = new Object[QueueStage.this.batchSize];
+			this.source = index % QueueStage.this.sources.size();
+		}
+
+		@Override
+		public void run(){
+			try{
+				int idle = 0;
+				while(QueueStage.this.running){
+					int taken = this.take();
+					if(taken==0){
+						BACKOFF(idle++);
+						continue;
+					}
+					idle = 0;
+					this.transform();
+					QueueStage.this.batches.increment();
+					QueueStage.this.maxBatchSize.accumulate(taken);
+					if(!this.publish()){
+						break;
+					}
+				}
+			}
+			finally{
+				QueueStage.this.terminated.countDown();
+			}
+		}
+
+		/**
+		 * Takes up to a batch of elements from the sources, starting with the next source in turn.
+		 * @return number of taken elements
+		 */
+		@SuppressWarnings("unchecked")
+		private int take(){
+			List<Queue<? extends T1>> sources = QueueStage.this.sources;
+			int limit = QueueStage.this.batchSize;
+			this.in.clear();
+			for(int i=0; i<sources.size() && this.in.size()<limit; i++){
+				Queue<? extends T1> queue = sources.get((this.source + i) % sources.size());
+				int remaining = limit - this.in.size();
+				if(queue instanceof BlockingQueue){
+					((BlockingQueue<? extends T1>)queue).drainTo(this.in, remaining);
+				}
+				else if(queue instanceof RingBuffer){
+					((RingBuffer<? extends T1>)queue).drain(this, remaining);
+				}
+				else{
+					T1 e;
+					while(remaining-->0 && (e = queue.poll())!=null){
+						this.in.add(e);
+					}
+				}
+			}
+			this.source = (this.source + 1) % sources.size();
+			return this.in.size();
+		}
+
+		/**
+		 * Transforms the taken elements, dropping those the transformer fails on or returns null for.
+		 */
+		private void transform(){
+			this.size = 0;
+			this.next = 0;
+			for(T1 e : this.in){
+				try{
+					T2 transformed = QueueStage.this.transformer.transform(e);
+					if(transformed==null){
+						//queues do not permit null elements
+						QueueStage.this.dropped.increment();
+					}
+					else{
+						this.out[this.size++] = transformed;
+					}
+				}
+				catch(RuntimeException ex){
+					this.drop(ex);
+				}
+			}
+			this.in.clear();
+		}
+
+		/**
+		 * Records a failure for an element that is dropped.
+		 * @param ex the failure
+		 */
+		private void drop(RuntimeException ex){
+			QueueStage.this.lastFailure = ex;
+			QueueStage.this.dropped.increment();
+		}
+
+		/**
+		 * Publishes the transformed elements to the target, waiting for space if the target is full.
+		 * Elements the target fails on are dropped.
+		 * @return true if all elements were published or dropped, false if interrupted
+		 */
+		@SuppressWarnings("unchecked")
+		private boolean publish(){
+			Queue<? super T2> target = QueueStage.this.target;
+			int round = 0;
+			try{
+				while(this.next<this.size){
+					if(target instanceof RingBuffer){
+						QueueStage.this.items.add(((RingBuffer<? super T2>)target).fill(this, this.size - this.next));
+					}
+					else{
+						while(this.next<this.size && this.offer(target));
+					}
+					if(this.next<this.size){
+						QueueStage.this.backpressure.increment();
+						if(target instanceof BlockingQueue){
+							T2 e = (T2)this.out[this.next];
+							try{
+								((BlockingQueue<? super T2>)target).put(e);
+								QueueStage.this.items.increment();
+							}
+							catch(RuntimeException ex){
+								this.drop(ex);
+							}
+							this.next++;
+						}
+						else{
+							BACKOFF(round++);
+						}
+					}
+				}
+				return true;
+			}
+			catch(InterruptedException ex){
+				QueueStage.this.dropped.add(this.size - this.next);
+				Thread.currentThread().interrupt();
+				return false;
+			}
+			finally{
+				for(int i=0; i<this.size; i++){
+					this.out[i] = null;
+				}
+			}
+		}
+
+		/**
+		 * Offers the next transformed element to the target, dropping it if the target fails on it.
+		 * @param target the target
+		 * @return false if the target is full, true if the element was added or dropped
+		 */
+		@SuppressWarnings("unchecked")
+		private boolean offer(Queue<? super T2> target){
+			try{
+				if(!target.offer((T2)this.out[this.next])){
+					return false;
+				}
+				QueueStage.this.items.increment();
+			}
+			catch(RuntimeException ex){
+				this.drop(ex);
+			}
+			this.next++;
+			return true;
+		}
+
+		@Override
+		public void accept(T1 e){
+			this.in.add(e);
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public T2 get(){
+			return (T2)this.out[this.next++];
+		}
+	}
+}
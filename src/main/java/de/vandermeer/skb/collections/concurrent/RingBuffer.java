@@ -0,0 +1,178 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections.concurrent;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Base of bounded, lock-free queues backed by an array used as ring buffer.
+ *
+ * The producer and the consumer index grow without wrapping, the slot of an index is the index modulo the capacity.
+ * Both indexes are padded against false sharing.
+ * Offering to a full ring buffer returns false, {@link #add(Object)} throws an {@link IllegalStateException}.
+ * Besides the methods of a queue, ring buffers can be drained to a consumer and filled from a supplier in batches,
+ * which implementations use to publish a batch of elements with a single index update.
+ *
+ * Null elements are not permitted.
+ * {@link #size()} is an estimate while producers or consumers are active.
+ * Iterators return a weakly consistent snapshot of the elements and do not support removal.
+ *
+ * @param <T> type of the elements
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public abstract class RingBuffer<T> extends AbstractQueue<T> {
+
+	/** Default capacity. */
+	public static final int DEFAULT_CAPACITY = 1024;
+
+	/** Maximum capacity. */
+	public static final int MAX_CAPACITY = 1 << 30;
+
+	/** Marker for a slot claimed by a batch fill that failed, skipped by consumers. */
+	static final Object SKIP = new Object();
+
+	/** Capacity, a power of two. */
+	final int capacity;
+
+	/** Mask of the slot of an index. */
+	final int mask;
+
+	/** Index of the next element to write. */
+	final PaddedSequence producerIndex = new PaddedSequence();
+
+	/** Index of the next element to read. */
+	final PaddedSequence consumerIndex = new PaddedSequence();
+
+	/**
+	 * Returns a new ring buffer.
+	 * @param capacity minimum capacity, rounded up to a power of two
+	 * @throws IllegalArgumentException if the capacity is less than 1 or larger than {@link #MAX_CAPACITY}
+	 */
+	RingBuffer(int capacity){
+		if(capacity<1 || capacity>MAX_CAPACITY){
+			throw new IllegalArgumentException("capacity must be in [1, " + MAX_CAPACITY + "]: " + capacity);
+		}
+		this.capacity = Math.max(2, Integer.highestOneBit(capacity - 1) << 1);
+		this.mask = this.capacity - 1;
+	}
+
+	/**
+	 * Returns the capacity of the ring buffer.
+	 * @return capacity, a power of two
+	 */
+	public int capacity(){
+		return this.capacity;
+	}
+
+	@Override
+	public int size(){
+		//read the consumer index around the producer index, so the difference is a size the queue had
+		long after = this.consumerIndex.get();
+		while(true){
+			long before = after;
+			long producer = this.producerIndex.get();
+			after = this.consumerIndex.get();
+			if(before==after){
+				return (int)Math.max(0, Math.min(producer - after, this.capacity));
+			}
+		}
+	}
+
+	@Override
+	public boolean isEmpty(){
+		return this.consumerIndex.get()>=this.producerIndex.get();
+	}
+
+	/**
+	 * Removes up to limit elements and hands them to a consumer, in queue order.
+	 * @param consumer consumer for the removed elements
+	 * @param limit maximum number of elements to remove
+	 * @return number of removed elements
+	 * @throws IllegalArgumentException if the limit is negative
+	 */
+	public int drain(Consumer<? super T> consumer, int limit){
+		CHECK_LIMIT(limit);
+		int ret = 0;
+		T e;
+		while(ret<limit && (e = this.poll())!=null){
+			consumer.accept(e);
+			ret++;
+		}
+		return ret;
+	}
+
+	/**
+	 * Adds up to limit elements taken from a supplier, stopping once the ring buffer is full.
+	 * The supplier is only asked for elements that can be added, slots are claimed before.
+	 * If the supplier fails, the elements supplied so far remain added and the claimed rest is skipped by consumers.
+	 * @param supplier supplier of elements, must not return null
+	 * @param limit maximum number of elements to add
+	 * @return number of added elements
+	 * @throws IllegalArgumentException if the limit is negative
+	 * @throws NullPointerException if the supplier returns null
+	 */
+	public abstract int fill(Supplier<? extends T> supplier, int limit);
+
+	/**
+	 * Returns the element of an index, for iteration.
+	 * @param index the index
+	 * @return element, null or {@link #SKIP} if the slot holds no element
+	 */
+	abstract Object element(long index);
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public Iterator<T> iterator(){
+		List<T> snapshot = new ArrayList<T>();
+		long producer = this.producerIndex.get();
+		for(long i=Math.max(this.consumerIndex.get(), producer - this.capacity); i<producer; i++){
+			Object e = this.element(i);
+			if(e!=null && e!=SKIP){
+				snapshot.add((T)e);
+			}
+		}
+		return Collections.unmodifiableList(snapshot).iterator();
+	}
+
+	/**
+	 * Checks an element to be added.
+	 * @param e the element
+	 * @throws NullPointerException if the element is null
+	 */
+	static void CHECK(Object e){
+		if(e==null){
+			throw new NullPointerException("ring buffers do not permit null elements");
+		}
+	}
+
+	/**
+	 * Checks the limit of a batch operation.
+	 * @param limit the limit
+	 * @throws IllegalArgumentException if the limit is negative
+	 */
+	static void CHECK_LIMIT(int limit){
+		if(limit<0){
+			throw new IllegalArgumentException("limit must not be negative: " + limit);
+		}
+	}
+}
@@ -0,0 +1,171 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections.concurrent;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A lock-free ring buffer for a single producer thread and a single consumer thread.
+ *
+ * Neither side needs an atomic instruction: the producer writes a slot and publishes it with an ordered write of the producer index,
+ * the consumer reads published slots and frees them with an ordered write of the consumer index.
+ * Each side caches the last read index of the other side and only reads it again once the cached value says the buffer is full or empty.
+ * Batch operations publish all elements of a batch with a single index write.
+ *
+ * Offering from more than one thread or polling from more than one thread at the same time corrupts the queue.
+ *
+ * @param <T> type of the elements
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public class SpscRingBuffer<T> extends RingBuffer<T> {
+
+	/** Slots, written and read in order guarded by the indexes. */
+	private final Object[] buffer;
+
+	/**
+	 * Returns a new ring buffer with default capacity.
+	 */
+	public SpscRingBuffer(){
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Returns a new ring buffer.
+	 * @param capacity minimum capacity, rounded up to a power of two
+	 * @throws IllegalArgumentException if the capacity is less than 1 or larger than {@link #MAX_CAPACITY}
+	 */
+	public SpscRingBuffer(int capacity){
+		super(capacity);
+		this.buffer = new Object[this.capacity];
+	}
+
+	/**
+	 * Returns the number of free slots for the producer, reading the consumer index only if the cached one is not sufficient.
+	 * @param p producer index
+	 * @param wanted number of slots wanted
+	 * @return number of free slots, at most wanted if the cached index was sufficient
+	 */
+	private long free(long p, int wanted){
+		PaddedSequence producer = this.producerIndex;
+		long ret = producer.cache + this.capacity - p;
+		if(ret<wanted){
+			producer.cache = this.consumerIndex.get();
+			ret = producer.cache + this.capacity - p;
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns the number of published elements for the consumer, reading the producer index only if the cached one is not sufficient.
+	 * @param c consumer index
+	 * @param wanted number of elements wanted
+	 * @return number of published elements
+	 */
+	private long available(long c, int wanted){
+		PaddedSequence consumer = this.consumerIndex;
+		long ret = consumer.cache - c;
+		if(ret<wanted){
+			consumer.cache = this.producerIndex.get();
+			ret = consumer.cache - c;
+		}
+		return ret;
+	}
+
+	@Override
+	public boolean offer(T e){
+		CHECK(e);
+		long p = this.producerIndex.value;
+		if(this.free(p, 1)<1){
+			return false;
+		}
+		this.buffer[(int)p & this.mask] = e;
+		this.producerIndex.setOrdered(p + 1);
+		return true;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T poll(){
+		long c = this.consumerIndex.value;
+		if(this.available(c, 1)<1){
+			return null;
+		}
+		int slot = (int)c & this.mask;
+		T ret = (T)this.buffer[slot];
+		this.buffer[slot] = null;
+		this.consumerIndex.setOrdered(c + 1);
+		return ret;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T peek(){
+		long c = this.consumerIndex.value;
+		if(this.available(c, 1)<1){
+			return null;
+		}
+		return (T)this.buffer[(int)c & this.mask];
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public int drain(Consumer<? super T> consumer, int limit){
+		CHECK_LIMIT(limit);
+		long c = this.consumerIndex.value;
+		int count = (int)Math.min(limit, this.available(c, limit));
+		int ret = 0;
+		try{
+			while(ret<count){
+				int slot = (int)(c + ret) & this.mask;
+				T e = (T)this.buffer[slot];
+				this.buffer[slot] = null;
+				ret++;
+				consumer.accept(e);
+			}
+		}
+		finally{
+			this.consumerIndex.setOrdered(c + ret);
+		}
+		return ret;
+	}
+
+	@Override
+	public int fill(Supplier<? extends T> supplier, int limit){
+		CHECK_LIMIT(limit);
+		long p = this.producerIndex.value;
+		int count = (int)Math.min(limit, this.free(p, limit));
+		int ret = 0;
+		try{
+			while(ret<count){
+				T e = supplier.get();
+				CHECK(e);
+				this.buffer[(int)(p + ret) & this.mask] = e;
+				ret++;
+			}
+		}
+		finally{
+			this.producerIndex.setOrdered(p + ret);
+		}
+		return ret;
+	}
+
+	@Override
+	Object element(long index){
+		return this.buffer[(int)index & this.mask];
+	}
+}
@@ -0,0 +1,227 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections.concurrent;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import de.vandermeer.skb.collections.CollectionTools;
+
+/**
+ * A thread-safe hash set split into stripes, each a hash set guarded by its own lock.
+ *
+ * Operations on elements only lock the stripe of the element, so threads working on different elements rarely wait for each other.
+ * The size is kept in a striped counter and read without locking.
+ * Iterators are weakly consistent: they copy one stripe at a time and never throw a {@link java.util.ConcurrentModificationException}.
+ * Null elements are permitted.
+ *
+ * @param <T> type of the elements
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public class StripedSet<T> extends AbstractSet<T> {
+
+	/** Stripes. */
+	private final HashSet<T>[] stripes;
+
+	/** Locks of the stripes. */
+	private final ReentrantLock[] locks;
+
+	/** Mask for the stripe index. */
+	private final int mask;
+
+	/** Number of elements. */
+	private final LongAdder size = new LongAdder();
+
+	/**
+	 * Returns a new empty set with four stripes per available processor.
+	 */
+	public StripedSet(){
+		this(0);
+	}
+
+	/**
+	 * Returns a new empty set with four stripes per available processor, sized for an expected number of elements.
+	 * @param expectedSize number of elements the set is expected to hold
+	 * @throws IllegalArgumentException if the expected size is negative
+	 */
+	public StripedSet(int expectedSize){
+		this(expectedSize, 4 * Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Returns a new empty set, sized for an expected number of elements.
+	 * @param expectedSize number of elements the set is expected to hold
+	 * @param stripes number of stripes, rounded up to a power of two
+	 * @throws IllegalArgumentException if the expected size is negative or the number of stripes is not positive
+	 */
+	@SuppressWarnings("unchecked")
+	public StripedSet(int expectedSize, int stripes){
+		if(stripes<1 || stripes>(1<<16)){
+			throw new IllegalArgumentException("number of stripes must be between 1 and 65536: " + stripes);
+		}
+		int n = (stripes==1)?1:Integer.highestOneBit(stripes - 1) << 1;
+		int capacity = CollectionTools.HASH_CAPACITY((expectedSize + n - 1) / n, CollectionTools.DEFAULT_LOAD_FACTOR);
+		this.stripes = (HashSet<T>[])new HashSet<?>[n];
+		this.locks = new ReentrantLock[n];
+		for(int i=0; i<n; i++){
+			this.stripes[i] = new HashSet<T>(capacity);
+			this.locks[i] = new ReentrantLock();
+		}
+		this.mask = n - 1;
+	}
+
+	/**
+	 * Returns a new set with the elements of a collection.
+	 * @param collection input collection
+	 */
+	public StripedSet(Collection<? extends T> collection){
+		this(collection.size());
+		this.addAll(collection);
+	}
+
+	private int stripe(Object o){
+		int h = (o==null)?0:o.hashCode();
+		//use high bits, the stripes' hash sets use the low bits
+		h ^= (h >>> 16);
+		h *= 0x9E3779B9;
+		return (h >>> 16) & this.mask;
+	}
+
+	@Override
+	public boolean add(T e){
+		int s = this.stripe(e);
+		boolean ret;
+		this.locks[s].lock();
+		try{
+			ret = this.stripes[s].add(e);
+		}
+		finally{
+			this.locks[s].unlock();
+		}
+		if(ret){
+			this.size.increment();
+		}
+		return ret;
+	}
+
+	@Override
+	public boolean remove(Object o){
+		int s = this.stripe(o);
+		boolean ret;
+		this.locks[s].lock();
+		try{
+			ret = this.stripes[s].remove(o);
+		}
+		finally{
+			this.locks[s].unlock();
+		}
+		if(ret){
+			this.size.decrement();
+		}
+		return ret;
+	}
+
+	@Override
+	public boolean contains(Object o){
+		int s = this.stripe(o);
+		this.locks[s].lock();
+		try{
+			return this.stripes[s].contains(o);
+		}
+		finally{
+			this.locks[s].unlock();
+		}
+	}
+
+	@Override
+	public int size(){
+		long ret = this.size.sum();
+		return (ret<0)?0:(int)Math.min(ret, Integer.MAX_VALUE);
+	}
+
+	@Override
+	public void clear(){
+		for(int s=0; s<this.stripes.length; s++){
+			this.locks[s].lock();
+			try{
+				this.size.add(-this.stripes[s].size());
+				this.stripes[s].clear();
+			}
+			finally{
+				this.locks[s].unlock();
+			}
+		}
+	}
+
+	private Object[] snapshot(int s){
+		this.locks[s].lock();
+		try{
+			return this.stripes[s].toArray();
+		}
+		finally{
+			this.locks[s].unlock();
+		}
+	}
+
+	@Override
+	public Iterator<T> iterator(){
+		return new Iterator<T>(){
+			int stripe = -1;
+			Object[] current = new Object[0];
+			int index;
+			Object last;
+			boolean canRemove;
+
+			@Override
+			public boolean hasNext(){
+				while(this.index>=this.current.length){
+					if(this.stripe + 1>=StripedSet.this.stripes.length){
+						return false;
+					}
+					this.current = StripedSet.this.snapshot(++this.stripe);
+					this.index = 0;
+				}
+				return true;
+			}
+
+			@Override
+			@SuppressWarnings("unchecked")
+			public T next(){
+				if(!this.hasNext()){
+					throw new NoSuchElementException();
+				}
+				this.last = this.current[this.index++];
+				this.canRemove = true;
+				return (T)this.last;
+			}
+
+			@Override
+			public void remove(){
+				if(!this.canRemove){
+					throw new IllegalStateException();
+				}
+				this.canRemove = false;
+				StripedSet.this.remove(this.last);
+			}
+		};
+	}
+}
@@ -0,0 +1,110 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.vandermeer.skb.collections.immutable;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+/**
+ * An immutable list backed by an array of exactly its size.
+ * All mutating methods throw an {@link UnsupportedOperationException}.
+ * Null elements are permitted.
+ *
+ * @param <T> type of the elements
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public final class ImmutableArrayList<T> extends AbstractList<T> implements RandomAccess {
+
+	/** Empty element array, shared by all empty lists. */
+	private static final Object[] EMPTY = new Object[0];
+
+	/** The elements. */
+	private final Object[] elements;
+
+	/**
+	 * Returns a new empty list.
+	 */
+	public ImmutableArrayList(){
+		this.elements = EMPTY;
+	}
+
+	/**
+	 * Returns a new list with the elements of the given collection, in its iteration order.
+	 * @param collection input collection
+	 * @throws NullPointerException if the collection is null
+	 */
+	public ImmutableArrayList(Collection<? extends T> collection){
+		Object[] array = collection.toArray();
+		this.elements = (array.length==0)?EMPTY:Arrays.copyOf(array, array.length, Object[].class);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T get(int index){
+		if(index<0 || index>=this.elements.length){
+			throw new IndexOutOfBoundsException("index: " + index + ", size: " + this.elements.length);
+		}
+		return (T)this.elements[index];
+	}
+
+	@Override
+	public int size(){
+		return this.elements.length;
+	}
+
+	@Override
+	public int indexOf(Object o){
+		for(int i=0; i<this.elements.length; i++){
+			if(o==null?this.elements[i]==null:o.equals(this.elements[i])){
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public int lastIndexOf(Object o){
+		for(int i=this.elements.length-1; i>=0; i--){
+			if(o==null?this.elements[i]==null:o.equals(this.elements[i])){
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public boolean contains(Object o){
+		return this.indexOf(o)>=0;
+	}
+
+	@Override
+	public Object[] toArray(){
+		return this.elements.clone();
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public void forEach(Consumer<? super T> action){
+		for(Object element : this.elements){
+			action.accept((T)element);
+		}
+	}
+}
@@ -0,0 +1,151 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.vandermeer.skb.collections.immutable;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * An immutable set backed by a single open addressing hash table with linear probing.
+ * The table holds the elements directly and is filled to at most three quarters, so the set needs no entry objects.
+ * All mutating methods throw an {@link UnsupportedOperationException}.
+ * Null elements are not permitted, the iteration order is not defined.
+ *
+ * @param <T> type of the elements
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public final class ImmutableHashSet<T> extends AbstractSet<T> {
+
+	/** Empty table, shared by all empty sets. */
+	private static final Object[] EMPTY = new Object[1];
+
+	/** The hash table, null for an empty slot. */
+	private final Object[] table;
+
+	/** Number of elements. */
+	private final int size;
+
+	/**
+	 * Returns a new empty set.
+	 */
+	public ImmutableHashSet(){
+		this.table = EMPTY;
+		this.size = 0;
+	}
+
+	/**
+	 * Returns a new set with the elements of the given collection, duplicates are ignored.
+	 * @param collection input collection
+	 * @throws NullPointerException if the collection is null or contains null
+	 */
+	public ImmutableHashSet(Collection<? extends T> collection){
+		int capacity = 1;
+		while(capacity * 3L<collection.size() * 4L + 1){
+			capacity <<= 1;
+		}
+		Object[] table = new Object[capacity];
+		int mask = capacity - 1;
+		int size = 0;
+		for(T element : collection){
+			if(element==null){
+				throw new NullPointerException("immutable sets do not permit null elements");
+			}
+			int slot = mix(element) & mask;
+			while(table[slot]!=null && !table[slot].equals(element)){
+				slot = (slot + 1) & mask;
+			}
+			if(table[slot]==null){
+				table[slot] = element;
+				size++;
+			}
+		}
+		this.table = (size==0)?EMPTY:table;
+		this.size = size;
+	}
+
+	private static int mix(Object element){
+		int h = element.hashCode() * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	@Override
+	public int size(){
+		return this.size;
+	}
+
+	@Override
+	public boolean contains(Object o){
+		if(o==null){
+			return false;
+		}
+		int mask = this.table.length - 1;
+		int slot = mix(o) & mask;
+		Object element;
+		while((element = this.table[slot])!=null){
+			if(element.equals(o)){
+				return true;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return false;
+	}
+
+	@Override
+	public Iterator<T> iterator(){
+		return new Iterator<T>(){
+			int slot = this.advance(0);
+
+			private int advance(int from){
+				int ret = from;
+				while(ret<ImmutableHashSet.this.table.length && ImmutableHashSet.this.table[ret]==null){
+					ret++;
+				}
+				return ret;
+			}
+
+			@Override
+			public boolean hasNext(){
+				return this.slot<ImmutableHashSet.this.table.length;
+			}
+
+			@SuppressWarnings("unchecked")
+			@Override
+			public T next(){
+				if(!this.hasNext()){
+					throw new NoSuchElementException();
+				}
+				T ret = (T)ImmutableHashSet.this.table[this.slot];
+				this.slot = this.advance(this.slot + 1);
+				return ret;
+			}
+		};
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public void forEach(Consumer<? super T> action){
+		for(Object element : this.table){
+			if(element!=null){
+				action.accept((T)element);
+			}
+		}
+	}
+}
@@ -0,0 +1,216 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.vandermeer.skb.collections.immutable;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.SortedSet;
+
+/**
+ * An immutable sorted set backed by a sorted array, searched with a binary search.
+ * Sub sets share the array of the set they were created from.
+ * All mutating methods throw an {@link UnsupportedOperationException}.
+ * Null elements are not permitted (unless the comparator supports them).
+ *
+ * @param <T> type of the elements
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public final class ImmutableSortedSet<T> extends AbstractSet<T> implements SortedSet<T> {
+
+	/** Sorted elements without duplicates. */
+	private final Object[] elements;
+
+	/** First index of this set in the array. */
+	private final int from;
+
+	/** Index after the last element of this set in the array. */
+	private final int to;
+
+	/** Comparator of the elements, null for natural ordering. */
+	private final Comparator<? super T> comparator;
+
+	/**
+	 * Returns a new empty set.
+	 * @param comparator comparator of the elements, null for natural ordering
+	 */
+	public ImmutableSortedSet(Comparator<? super T> comparator){
+		this(new Object[0], 0, 0, comparator);
+	}
+
+	/**
+	 * Returns a new set with the elements of the given collection, elements comparing as equal are kept once.
+	 * @param collection input collection
+	 * @param comparator comparator of the elements, null for natural ordering
+	 * @throws NullPointerException if the collection is null or contains null and the comparator does not support null
+	 * @throws ClassCastException if elements cannot be compared with each other
+	 */
+	@SuppressWarnings("unchecked")
+	public ImmutableSortedSet(Collection<? extends T> collection, Comparator<? super T> comparator){
+		Object[] array = collection.toArray();
+		array = Arrays.copyOf(array, array.length, Object[].class);
+		Arrays.sort(array, (Comparator<Object>)comparator);
+		int size = 0;
+		for(int i=0; i<array.length; i++){
+			if(size==0 || compare(comparator, array[size - 1], array[i])!=0){
+				array[size++] = array[i];
+			}
+		}
+		this.elements = (size==array.length)?array:Arrays.copyOf(array, size);
+		this.from = 0;
+		this.to = size;
+		this.comparator = comparator;
+		if(size==1 && comparator==null){
+			//sorting a single element does not check it is comparable
+			((Comparable<Object>)array[0]).compareTo(array[0]);
+		}
+	}
+
+	private ImmutableSortedSet(Object[] elements, int from, int to, Comparator<? super T> comparator){
+		this.elements = elements;
+		this.from = from;
+		this.to = to;
+		this.comparator = comparator;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> int compare(Comparator<? super T> comparator, Object a, Object b){
+		return (comparator==null)?((Comparable<Object>)a).compareTo(b):comparator.compare((T)a, (T)b);
+	}
+
+	/**
+	 * Returns the index of the first element not smaller than the given one, in the range of this set.
+	 * @param element the element
+	 * @return index in the array
+	 */
+	private int lowerBound(Object element){
+		int lo = this.from;
+		int hi = this.to;
+		while(lo<hi){
+			int mid = (lo + hi) >>> 1;
+			if(compare(this.comparator, this.elements[mid], element)<0){
+				lo = mid + 1;
+			}
+			else{
+				hi = mid;
+			}
+		}
+		return lo;
+	}
+
+	@Override
+	public int size(){
+		return this.to - this.from;
+	}
+
+	@Override
+	public boolean contains(Object o){
+		if(o==null && this.comparator==null){
+			return false;
+		}
+		try{
+			int index = this.lowerBound(o);
+			return index<this.to && compare(this.comparator, this.elements[index], o)==0;
+		}
+		catch(ClassCastException ex){
+			return false;
+		}
+	}
+
+	@Override
+	public Iterator<T> iterator(){
+		return new Iterator<T>(){
+			int next = ImmutableSortedSet.this.from;
+
+			@Override
+			public boolean hasNext(){
+				return this.next<ImmutableSortedSet.this.to;
+			}
+
+			@SuppressWarnings("unchecked")
+			@Override
+			public T next(){
+				if(!this.hasNext()){
+					throw new NoSuchElementException();
+				}
+				return (T)ImmutableSortedSet.this.elements[this.next++];
+			}
+		};
+	}
+
+	@Override
+	public Object[] toArray(){
+		return Arrays.copyOfRange(this.elements, this.from, this.to);
+	}
+
+	@Override
+	public Comparator<? super T> comparator(){
+		return this.comparator;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * Bounds outside the range of this set are clipped to the range.
+	 */
+	@Override
+	public SortedSet<T> subSet(T fromElement, T toElement){
+		if(compare(this.comparator, fromElement, toElement)>0){
+			throw new IllegalArgumentException("fromElement is larger than toElement");
+		}
+		return new ImmutableSortedSet<T>(this.elements, this.lowerBound(fromElement), this.lowerBound(toElement), this.comparator);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * Bounds outside the range of this set are clipped to the range.
+	 */
+	@Override
+	public SortedSet<T> headSet(T toElement){
+		return new ImmutableSortedSet<T>(this.elements, this.from, this.lowerBound(toElement), this.comparator);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * Bounds outside the range of this set are clipped to the range.
+	 */
+	@Override
+	public SortedSet<T> tailSet(T fromElement){
+		return new ImmutableSortedSet<T>(this.elements, this.lowerBound(fromElement), this.to, this.comparator);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T first(){
+		if(this.from==this.to){
+			throw new NoSuchElementException();
+		}
+		return (T)this.elements[this.from];
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T last(){
+		if(this.from==this.to){
+			throw new NoSuchElementException();
+		}
+		return (T)this.elements[this.to - 1];
+	}
+}
@@ -0,0 +1,411 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.vandermeer.skb.collections.immutable;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * An immutable map with string keys using a minimal perfect hash function.
+ *
+ * Keys and values are stored in two arrays of exactly the size of the map.
+ * The hash function maps every key to its own slot, built with the hash and displace (CHD) algorithm:
+ * keys are grouped into buckets by a first hash, and for every bucket a displacement is searched that moves all its keys into free slots.
+ * A lookup computes the bucket, reads its displacement, computes the slot and compares a single key, there is no probing.
+ * The hash function uses the cached hash code of the string.
+ * The few keys sharing their hash code with another key are kept in a second perfect hash map, which hashes the characters of the keys,
+ * and is only searched if the first map does not hold the key.
+ *
+ * All mutating methods throw an {@link UnsupportedOperationException}.
+ * Keys must not be null, values can be null.
+ *
+ * @param <T> type of the map values
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public final class ImmutableStringMap<T> extends AbstractMap<String, T> {
+
+	/** Maximum number of displacements tried for a bucket before the build is restarted with another salt. */
+	private static final int MAX_DISPLACEMENTS = 1 << 16;
+
+	/** Maximum number of salts tried before the build fails. */
+	private static final int MAX_SALTS = 16;
+
+	/** Keys by slot. */
+	private final String[] keys;
+
+	/** Values by slot. */
+	private final Object[] values;
+
+	/** Displacement per bucket, for buckets of a single key (-slot - 1). */
+	private final int[] displacements;
+
+	/** Salt of the hash function. */
+	private final long salt;
+
+	/** Flag for hashing the characters of keys, used for keys sharing their hash code with another key. */
+	private final boolean hashChars;
+
+	/** Map of the keys sharing their hash code with another key, null if there are none. */
+	private final ImmutableStringMap<T> overflow;
+
+	/** Number of entries, including the overflow. */
+	private final int size;
+
+	/** Entry set view, created on demand. */
+	private Set<Entry<String, T>> entrySet;
+
+	/**
+	 * Returns a new empty map.
+	 */
+	public ImmutableStringMap(){
+		this.keys = new String[0];
+		this.values = new Object[0];
+		this.displacements = new int[0];
+		this.salt = 0;
+		this.hashChars = false;
+		this.overflow = null;
+		this.size = 0;
+	}
+
+	/**
+	 * Returns a new map with the entries of the given map.
+	 * @param map input map
+	 * @throws NullPointerException if the map is null or contains a null key
+	 * @throws IllegalStateException if no perfect hash function could be found, which is practically impossible
+	 */
+	public ImmutableStringMap(Map<String, ? extends T> map){
+		int size = map.size();
+		String[] inKeys = new String[size];
+		Object[] inValues = new Object[size];
+		long[] sorted = new long[size];
+		int n = 0;
+		for(Entry<String, ? extends T> entry : map.entrySet()){
+			if(entry.getKey()==null){
+				throw new NullPointerException("immutable maps do not permit null keys");
+			}
+			inKeys[n] = entry.getKey();
+			inValues[n] = entry.getValue();
+			//hash code in the upper, position in the lower bits
+			sorted[n] = ((long)inKeys[n].hashCode() << 32) | n;
+			n++;
+		}
+
+		//keys sharing a hash code go into an overflow map hashing their characters
+		Arrays.sort(sorted);
+		boolean[] shared = new boolean[size];
+		int sharedCount = 0;
+		for(int i=1; i<size; i++){
+			if((sorted[i] >> 32)==(sorted[i - 1] >> 32)){
+				if(!shared[(int)sorted[i - 1]]){
+					shared[(int)sorted[i - 1]] = true;
+					sharedCount++;
+				}
+				shared[(int)sorted[i]] = true;
+				sharedCount++;
+			}
+		}
+		String[] uniqueKeys = inKeys;
+		Object[] uniqueValues = inValues;
+		if(sharedCount>0){
+			uniqueKeys = new String[size - sharedCount];
+			uniqueValues = new Object[size - sharedCount];
+			String[] sharedKeys = new String[sharedCount];
+			Object[] sharedValues = new Object[sharedCount];
+			int u = 0;
+			int c = 0;
+			for(int i=0; i<size; i++){
+				if(shared[i]){
+					sharedKeys[c] = inKeys[i];
+					sharedValues[c++] = inValues[i];
+				}
+				else{
+					uniqueKeys[u] = inKeys[i];
+					uniqueValues[u++] = inValues[i];
+				}
+			}
+			this.overflow = new ImmutableStringMap<T>(sharedKeys, sharedValues, true);
+		}
+		else{
+			this.overflow = null;
+		}
+		this.hashChars = false;
+		this.keys = new String[uniqueKeys.length];
+		this.values = new Object[uniqueKeys.length];
+		this.displacements = new int[uniqueKeys.length];
+		this.salt = this.build(uniqueKeys, uniqueValues);
+		this.size = size;
+	}
+
+	/**
+	 * Returns a new map without overflow.
+	 * @param inKeys keys
+	 * @param inValues values in the order of the keys
+	 * @param hashChars true to hash the characters of keys, false to use their hash code
+	 */
+	private ImmutableStringMap(String[] inKeys, Object[] inValues, boolean hashChars){
+		this.hashChars = hashChars;
+		this.keys = new String[inKeys.length];
+		this.values = new Object[inKeys.length];
+		this.displacements = new int[inKeys.length];
+		this.overflow = null;
+		this.salt = this.build(inKeys, inValues);
+		this.size = inKeys.length;
+	}
+
+	/**
+	 * Builds the hash function, trying salts until all buckets could be placed.
+	 * @param inKeys keys
+	 * @param inValues values in the order of the keys
+	 * @return the salt of the hash function
+	 * @throws IllegalStateException if no salt worked
+	 */
+	private long build(String[] inKeys, Object[] inValues){
+		for(int s=0; s<MAX_SALTS; s++){
+			long salt = s * 0x9E3779B97F4A7C15L;
+			if(this.build(inKeys, inValues, salt)){
+				return salt;
+			}
+		}
+		throw new IllegalStateException("no perfect hash function found for " + inKeys.length + " keys");
+	}
+
+	/**
+	 * Tries to build the hash function for a salt.
+	 * @param inKeys keys
+	 * @param inValues values in the order of the keys
+	 * @param salt salt of the hash function
+	 * @return true on success, false if a bucket could not be placed
+	 */
+	private boolean build(String[] inKeys, Object[] inValues, long salt){
+		int size = inKeys.length;
+		Arrays.fill(this.keys, null);
+
+		//group the keys by bucket: start of every bucket in members, then the members
+		long[] hashes = new long[size];
+		int[] start = new int[size + 1];
+		int[] bucketOf = new int[size];
+		for(int i=0; i<size; i++){
+			hashes[i] = this.hash(inKeys[i], salt);
+			bucketOf[i] = bucket(hashes[i], size);
+			start[bucketOf[i] + 1]++;
+		}
+		int maxBucket = 0;
+		for(int b=0; b<size; b++){
+			maxBucket = Math.max(maxBucket, start[b + 1]);
+			start[b + 1] += start[b];
+		}
+		int[] members = new int[size];
+		int[] fill = Arrays.copyOf(start, size);
+		for(int i=0; i<size; i++){
+			members[fill[bucketOf[i]]++] = i;
+		}
+
+		//place large buckets first, while most slots are still free
+		int[] bySize = new int[maxBucket + 2];
+		for(int b=0; b<size; b++){
+			bySize[maxBucket - (start[b + 1] - start[b]) + 1]++;
+		}
+		for(int i=0; i<=maxBucket; i++){
+			bySize[i + 1] += bySize[i];
+		}
+		int[] order = new int[size];
+		for(int b=0; b<size; b++){
+			order[bySize[maxBucket - (start[b + 1] - start[b])]++] = b;
+		}
+
+		boolean[] taken = new boolean[size];
+		int[] slots = new int[maxBucket];
+		int free = 0;
+		for(int b : order){
+			int from = start[b];
+			int length = start[b + 1] - from;
+			if(length==0){
+				break;
+			}
+			if(length==1){
+				//a single key goes to any free slot directly
+				while(taken[free]){
+					free++;
+				}
+				taken[free] = true;
+				this.keys[free] = inKeys[members[from]];
+				this.values[free] = inValues[members[from]];
+				this.displacements[b] = -free - 1;
+				continue;
+			}
+			boolean placed = false;
+			for(int d=0; d<MAX_DISPLACEMENTS && !placed; d++){
+				placed = true;
+				for(int k=0; k<length && placed; k++){
+					int slot = slot(hashes[members[from + k]], d, size);
+					placed = !taken[slot];
+					for(int j=0; j<k && placed; j++){
+						placed = slots[j]!=slot;
+					}
+					slots[k] = slot;
+				}
+				if(placed){
+					for(int k=0; k<length; k++){
+						taken[slots[k]] = true;
+						this.keys[slots[k]] = inKeys[members[from + k]];
+						this.values[slots[k]] = inValues[members[from + k]];
+					}
+					this.displacements[b] = d;
+				}
+			}
+			if(!placed){
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private long hash(String key, long salt){
+		long h;
+		if(this.hashChars){
+			h = salt ^ 0xcbf29ce484222325L;
+			for(int i=0; i<key.length(); i++){
+				h = (h ^ key.charAt(i)) * 0x100000001b3L;
+			}
+		}
+		else{
+			h = key.hashCode() ^ salt;
+		}
+		//finalizer of MurmurHash3, spreading all bits
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53L;
+		h ^= h >>> 33;
+		return h;
+	}
+
+	private static int bucket(long hash, int size){
+		return (int)(((hash >>> 32) * size) >>> 32);
+	}
+
+	private static int slot(long hash, int displacement, int size){
+		long h = (hash + displacement * 0x9E3779B97F4A7C15L) * 0xbf58476d1ce4e5b9L;
+		h ^= h >>> 31;
+		return (int)(((h >>> 32) * size) >>> 32);
+	}
+
+	/**
+	 * Returns the slot of a key in this map, not looking into the overflow.
+	 * @param key the key
+	 * @return slot of the key, -1 if the slot holds another key
+	 */
+	private int find(String key){
+		int size = this.keys.length;
+		if(size==0){
+			return -1;
+		}
+		long hash = this.hash(key, this.salt);
+		int d = this.displacements[bucket(hash, size)];
+		int slot = (d<0)?-d - 1:slot(hash, d, size);
+		return key.equals(this.keys[slot])?slot:-1;
+	}
+
+	@Override
+	public int size(){
+		return this.size;
+	}
+
+	@Override
+	public boolean containsKey(Object key){
+		if(!(key instanceof String)){
+			return false;
+		}
+		return this.find((String)key)>=0 || (this.overflow!=null && this.overflow.find((String)key)>=0);
+	}
+
+	@Override
+	public T get(Object key){
+		return this.getOrDefault(key, null);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T getOrDefault(Object key, T defaultValue){
+		if(!(key instanceof String)){
+			return defaultValue;
+		}
+		int slot = this.find((String)key);
+		if(slot>=0){
+			return (T)this.values[slot];
+		}
+		return (this.overflow==null)?defaultValue:this.overflow.getOrDefault(key, defaultValue);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public void forEach(BiConsumer<? super String, ? super T> action){
+		for(int i=0; i<this.keys.length; i++){
+			action.accept(this.keys[i], (T)this.values[i]);
+		}
+		if(this.overflow!=null){
+			this.overflow.forEach(action);
+		}
+	}
+
+	@Override
+	public Set<Entry<String, T>> entrySet(){
+		if(this.entrySet==null){
+			this.entrySet = new AbstractSet<Entry<String, T>>(){
+				@Override
+				public Iterator<Entry<String, T>> iterator(){
+					return new Iterator<Entry<String, T>>(){
+						int next;
+
+						Iterator<Entry<String, T>> overflow = (ImmutableStringMap.this.overflow==null)?null:ImmutableStringMap.this.overflow.entrySet().iterator();
+
+						@Override
+						public boolean hasNext(){
+							return this.next<ImmutableStringMap.this.keys.length || (this.overflow!=null && this.overflow.hasNext());
+						}
+
+						@SuppressWarnings("unchecked")
+						@Override
+						public Entry<String, T> next(){
+							if(this.next<ImmutableStringMap.this.keys.length){
+								int slot = this.next++;
+								return new SimpleImmutableEntry<String, T>(ImmutableStringMap.this.keys[slot], (T)ImmutableStringMap.this.values[slot]);
+							}
+							if(this.overflow==null){
+								throw new NoSuchElementException();
+							}
+							return this.overflow.next();
+						}
+					};
+				}
+
+				@Override
+				public int size(){
+					return ImmutableStringMap.this.size;
+				}
+			};
+		}
+		return this.entrySet;
+	}
+}
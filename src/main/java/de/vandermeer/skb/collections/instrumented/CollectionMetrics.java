@@ -0,0 +1,226 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections.instrumented;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Metrics of an instrumented collection or map: operation counts by type, size and peak size, estimated resize events and iteration lengths.
+ *
+ * All counters are striped ({@link LongAdder}, {@link LongAccumulator}), so updates from many threads do not contend on a single memory location.
+ * A metrics object should be used for one collection (with its views), otherwise size, peak size and resize events mix several collections.
+ * Resize events are estimated from the growth policy of the decorated implementation (array lists, vectors and hash tables), they are not observed.
+ * Iterations are recorded when they visit all elements, iterations stopped early only count as an {@link Operation#ITERATE} operation.
+ *
+ * The metrics can be registered as MXBean with the platform MBean server, see {@link #register()}.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public class CollectionMetrics implements CollectionMetricsMXBean {
+
+	/** Domain used for the object names of registered metrics. */
+	public static final String JMX_DOMAIN = "de.vandermeer.skb.collections";
+
+	/** Name of the metrics. */
+	private final String name;
+
+	/** Operation counters, indexed by operation ordinal. */
+	private final LongAdder[] operations;
+
+	/** Peak size. */
+	private final LongAccumulator peakSize = new LongAccumulator(Math::max, 0);
+
+	/** Last size. */
+	private volatile long size;
+
+	/** Resize events. */
+	private final LongAdder resizes = new LongAdder();
+
+	/** Completed iterations. */
+	private final LongAdder iterations = new LongAdder();
+
+	/** Elements visited by completed iterations. */
+	private final LongAdder iteratedElements = new LongAdder();
+
+	/** Longest completed iteration. */
+	private final LongAccumulator maxIterationLength = new LongAccumulator(Math::max, 0);
+
+	/** Object name if registered. */
+	private volatile ObjectName objectName;
+
+	/**
+	 * Returns new metrics.
+	 * @param name name of the metrics, used for instance in the JMX object name
+	 * @throws IllegalArgumentException if the name is null or empty
+	 */
+	public CollectionMetrics(String name){
+		if(name==null || name.isEmpty()){
+			throw new IllegalArgumentException("metrics name must not be null or empty");
+		}
+		this.name = name;
+		this.operations = new LongAdder[Operation.values().length];
+		for(int i=0; i<this.operations.length; i++){
+			this.operations[i] = new LongAdder();
+		}
+	}
+
+	void operation(Operation operation){
+		this.operations[operation.ordinal()].increment();
+	}
+
+	void size(int size){
+		this.size = size;
+		this.peakSize.accumulate(size);
+	}
+
+	void resize(){
+		this.resizes.increment();
+	}
+
+	void iteration(long length){
+		this.iterations.increment();
+		this.iteratedElements.add(length);
+		this.maxIterationLength.accumulate(length);
+	}
+
+	@Override
+	public String getName(){
+		return this.name;
+	}
+
+	/**
+	 * Returns the count of an operation.
+	 * @param operation the operation
+	 * @return number of calls of that operation
+	 */
+	public long getCount(Operation operation){
+		return this.operations[operation.ordinal()].sum();
+	}
+
+	@Override
+	public Map<String, Long> getOperations(){
+		Map<String, Long> ret = new LinkedHashMap<>();
+		for(Operation op : Operation.values()){
+			ret.put(op.name(), this.getCount(op));
+		}
+		return ret;
+	}
+
+	@Override
+	public long getTotalOperations(){
+		long ret = 0;
+		for(LongAdder adder : this.operations){
+			ret += adder.sum();
+		}
+		return ret;
+	}
+
+	@Override
+	public long getSize(){
+		return this.size;
+	}
+
+	@Override
+	public long getPeakSize(){
+		return this.peakSize.get();
+	}
+
+	@Override
+	public long getResizes(){
+		return this.resizes.sum();
+	}
+
+	@Override
+	public long getIterations(){
+		return this.iterations.sum();
+	}
+
+	@Override
+	public long getIteratedElements(){
+		return this.iteratedElements.sum();
+	}
+
+	@Override
+	public long getMaxIterationLength(){
+		return this.maxIterationLength.get();
+	}
+
+	@Override
+	public void reset(){
+		for(LongAdder adder : this.operations){
+			adder.reset();
+		}
+		this.size = 0;
+		this.peakSize.reset();
+		this.resizes.reset();
+		this.iterations.reset();
+		this.iteratedElements.reset();
+		this.maxIterationLength.reset();
+	}
+
+	/**
+	 * Returns a snapshot of the metrics.
+	 * The snapshot is not atomic: updates running concurrently may be partially included.
+	 * @return snapshot
+	 */
+	public MetricsSnapshot snapshot(){
+		long[] counts = new long[this.operations.length];
+		for(int i=0; i<counts.length; i++){
+			counts[i] = this.operations[i].sum();
+		}
+		return new MetricsSnapshot(this.name, counts, this.getSize(), this.getPeakSize(), this.getResizes(), this.getIterations(), this.getIteratedElements(), this.getMaxIterationLength());
+	}
+
+	/**
+	 * Registers the metrics as MXBean with the platform MBean server, using the object name {@code de.vandermeer.skb.collections:type=CollectionMetrics,name=<name>}.
+	 * @return the object name used for registration
+	 * @throws JMException if the registration failed, for instance because metrics with the same name are registered already
+	 */
+	public ObjectName register() throws JMException {
+		ObjectName on = new ObjectName(JMX_DOMAIN + ":type=CollectionMetrics,name=" + ObjectName.quote(this.name));
+		ManagementFactory.getPlatformMBeanServer().registerMBean(this, on);
+		this.objectName = on;
+		return on;
+	}
+
+	/**
+	 * Unregisters the metrics from the platform MBean server if registered.
+	 * @throws JMException if unregistering failed
+	 */
+	public void unregister() throws JMException {
+		ObjectName on = this.objectName;
+		if(on!=null){
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			if(server.isRegistered(on)){
+				server.unregisterMBean(on);
+			}
+			this.objectName = null;
+		}
+	}
+
+	@Override
+	public String toString(){
+		return this.snapshot().toString();
+	}
+}
@@ -0,0 +1,85 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections.instrumented;
+
+import java.util.Map;
+
+/**
+ * Management interface of {@link CollectionMetrics}.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public interface CollectionMetricsMXBean {
+
+	/**
+	 * Returns the name of the metrics.
+	 * @return name
+	 */
+	String getName();
+
+	/**
+	 * Returns the operation counts by operation name.
+	 * @return operation counts
+	 */
+	Map<String, Long> getOperations();
+
+	/**
+	 * Returns the number of all operations.
+	 * @return number of operations
+	 */
+	long getTotalOperations();
+
+	/**
+	 * Returns the size of the collection after the last update.
+	 * @return last size
+	 */
+	long getSize();
+
+	/**
+	 * Returns the largest size of the collection seen.
+	 * @return peak size
+	 */
+	long getPeakSize();
+
+	/**
+	 * Returns the estimated number of resize or rehash events of the collection.
+	 * @return number of resize events
+	 */
+	long getResizes();
+
+	/**
+	 * Returns the number of completed iterations.
+	 * @return number of iterations
+	 */
+	long getIterations();
+
+	/**
+	 * Returns the number of elements visited by completed iterations.
+	 * @return number of iterated elements
+	 */
+	long getIteratedElements();
+
+	/**
+	 * Returns the largest number of elements visited by a single completed iteration.
+	 * @return longest iteration
+	 */
+	long getMaxIterationLength();
+
+	/**
+	 * Resets all counters, size and peak size.
+	 */
+	void reset();
+}
@@ -0,0 +1,124 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections.instrumented;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Hashtable;
+import java.util.Vector;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import de.vandermeer.skb.collections.concurrent.LockedList;
+import de.vandermeer.skb.collections.concurrent.LockedMap;
+
+/**
+ * Growth policies of the decorated implementations, used to estimate resize events.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+enum Growth {
+	/** No capacity or unknown implementation. */
+	NONE,
+
+	/** ArrayList and LockedList, grow by half of their capacity. */
+	ARRAY,
+
+	/** Vector and Stack, double their capacity. */
+	VECTOR,
+
+	/** Hash tables, double their table size when the size exceeds 0.75 of it. */
+	HASH,
+	;
+
+	/**
+	 * Returns the growth policy for a collection or map.
+	 * @param o the collection or map
+	 * @return growth policy
+	 */
+	static Growth of(Object o){
+		if(o instanceof ArrayList || o instanceof LockedList){
+			return ARRAY;
+		}
+		if(o instanceof Vector){
+			return VECTOR;
+		}
+		if(o instanceof HashSet || o instanceof HashMap || o instanceof Hashtable || o instanceof LockedMap || o instanceof WeakHashMap || o instanceof ConcurrentHashMap){
+			return HASH;
+		}
+		return NONE;
+	}
+
+	/**
+	 * Returns the estimated capacity of an implementation created for the given size.
+	 * @param size the size
+	 * @return capacity
+	 */
+	long capacity(long size){
+		switch(this){
+			case ARRAY:
+			case VECTOR:
+				return Math.max(10, size);
+			case HASH:
+				long ret = 16;
+				while(ret*0.75<size){
+					ret <<= 1;
+				}
+				return ret;
+			case NONE:
+			default:
+				return Long.MAX_VALUE;
+		}
+	}
+
+	/**
+	 * Tests if a size exceeds the capacity, which means that the implementation grows.
+	 * @param size the size
+	 * @param capacity current capacity
+	 * @return true if the implementation grows, false otherwise
+	 */
+	boolean exceeds(long size, long capacity){
+		switch(this){
+			case ARRAY:
+			case VECTOR:
+				return size>capacity;
+			case HASH:
+				return size>capacity*0.75;
+			case NONE:
+			default:
+				return false;
+		}
+	}
+
+	/**
+	 * Returns the capacity after growing.
+	 * @param capacity current capacity
+	 * @return new capacity
+	 */
+	long grow(long capacity){
+		switch(this){
+			case ARRAY:
+				return capacity + Math.max(1, capacity>>1);
+			case VECTOR:
+			case HASH:
+				return capacity<<1;
+			case NONE:
+			default:
+				return capacity;
+		}
+	}
+}
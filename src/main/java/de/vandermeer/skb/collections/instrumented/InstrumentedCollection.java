@@ -0,0 +1,173 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections.instrumented;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Collection decorator recording operations in {@link CollectionMetrics}.
+ *
+ * @param <T> type of the elements
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+class InstrumentedCollection<T> implements Collection<T> {
+
+	/** Decorated collection. */
+	final Collection<T> backing;
+
+	/** Tracker to record in, shared with views. */
+	final Tracker tracker;
+
+	/**
+	 * Returns a new decorator.
+	 * @param backing decorated collection
+	 * @param metrics metrics to record in
+	 */
+	InstrumentedCollection(Collection<T> backing, CollectionMetrics metrics){
+		this.backing = backing;
+		this.tracker = new Tracker(metrics, backing, backing::size);
+	}
+
+	/**
+	 * Returns a new decorator for a view, recording with the tracker of its collection or map.
+	 * @param view decorated view
+	 * @param tracker tracker of the collection or map
+	 */
+	InstrumentedCollection(Collection<T> view, Tracker tracker){
+		this.backing = view;
+		this.tracker = tracker;
+	}
+
+	@Override
+	public int size(){
+		return this.backing.size();
+	}
+
+	@Override
+	public boolean isEmpty(){
+		return this.backing.isEmpty();
+	}
+
+	@Override
+	public boolean contains(Object o){
+		this.tracker.operation(Operation.CONTAINS);
+		return this.backing.contains(o);
+	}
+
+	@Override
+	public boolean containsAll(Collection<?> c){
+		this.tracker.operation(Operation.CONTAINS);
+		return this.backing.containsAll(c);
+	}
+
+	@Override
+	public Iterator<T> iterator(){
+		return new InstrumentedIterator<T>(this.backing.iterator(), this.tracker);
+	}
+
+	@Override
+	public void forEach(Consumer<? super T> action){
+		this.tracker.operation(Operation.ITERATE);
+		this.backing.forEach(action);
+		this.tracker.metrics.iteration(this.backing.size());
+	}
+
+	@Override
+	public Object[] toArray(){
+		this.tracker.operation(Operation.ITERATE);
+		return this.backing.toArray();
+	}
+
+	@Override
+	public <E> E[] toArray(E[] a){
+		this.tracker.operation(Operation.ITERATE);
+		return this.backing.toArray(a);
+	}
+
+	@Override
+	public boolean add(T e){
+		this.tracker.operation(Operation.ADD);
+		boolean ret = this.backing.add(e);
+		this.tracker.updated();
+		return ret;
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends T> c){
+		this.tracker.operation(Operation.ADD);
+		boolean ret = this.backing.addAll(c);
+		this.tracker.updated();
+		return ret;
+	}
+
+	@Override
+	public boolean remove(Object o){
+		this.tracker.operation(Operation.REMOVE);
+		boolean ret = this.backing.remove(o);
+		this.tracker.updated();
+		return ret;
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> c){
+		this.tracker.operation(Operation.REMOVE);
+		boolean ret = this.backing.removeAll(c);
+		this.tracker.updated();
+		return ret;
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> c){
+		this.tracker.operation(Operation.REMOVE);
+		boolean ret = this.backing.retainAll(c);
+		this.tracker.updated();
+		return ret;
+	}
+
+	@Override
+	public boolean removeIf(Predicate<? super T> filter){
+		this.tracker.operation(Operation.REMOVE);
+		boolean ret = this.backing.removeIf(filter);
+		this.tracker.updated();
+		return ret;
+	}
+
+	@Override
+	public void clear(){
+		this.tracker.operation(Operation.CLEAR);
+		this.backing.clear();
+		this.tracker.updated();
+	}
+
+	@Override
+	public boolean equals(Object o){
+		return o==this || this.backing.equals(o);
+	}
+
+	@Override
+	public int hashCode(){
+		return this.backing.hashCode();
+	}
+
+	@Override
+	public String toString(){
+		return this.backing.toString();
+	}
+}
@@ -0,0 +1,70 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections.instrumented;
+
+import java.util.Iterator;
+
+/**
+ * Iterator recording the iteration length and removals.
+ *
+ * @param <T> type of the elements
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+class InstrumentedIterator<T> implements Iterator<T> {
+
+	/** Decorated iterator. */
+	final Iterator<T> it;
+
+	/** Tracker to record in. */
+	final Tracker tracker;
+
+	/** Elements visited so far. */
+	private long length;
+
+	/** Flag for a recorded iteration. */
+	private boolean done;
+
+	InstrumentedIterator(Iterator<T> it, Tracker tracker){
+		tracker.operation(Operation.ITERATE);
+		this.it = it;
+		this.tracker = tracker;
+	}
+
+	@Override
+	public boolean hasNext(){
+		boolean ret = this.it.hasNext();
+		if(!ret && !this.done){
+			this.done = true;
+			this.tracker.metrics.iteration(this.length);
+		}
+		return ret;
+	}
+
+	@Override
+	public T next(){
+		T ret = this.it.next();
+		this.length++;
+		return ret;
+	}
+
+	@Override
+	public void remove(){
+		this.tracker.operation(Operation.REMOVE);
+		this.it.remove();
+		this.tracker.updated();
+	}
+}
@@ -0,0 +1,147 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections.instrumented;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.RandomAccess;
+import java.util.function.UnaryOperator;
+
+/**
+ * List decorator recording operations in {@link CollectionMetrics}.
+ *
+ * @param <T> type of the elements
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+class InstrumentedList<T> extends InstrumentedCollection<T> implements List<T> {
+
+	InstrumentedList(List<T> backing, CollectionMetrics metrics){
+		super(backing, metrics);
+	}
+
+	InstrumentedList(List<T> view, Tracker tracker){
+		super(view, tracker);
+	}
+
+	/**
+	 * Returns a new decorator, implementing {@link RandomAccess} if the decorated list does.
+	 * @param <T> type of the elements
+	 * @param list decorated list
+	 * @param metrics metrics to record in
+	 * @return new decorator
+	 */
+	static <T> InstrumentedList<T> create(List<T> list, CollectionMetrics metrics){
+		return (list instanceof RandomAccess)?new RandomAccessList<T>(list, metrics):new InstrumentedList<T>(list, metrics);
+	}
+
+	private List<T> list(){
+		return (List<T>)this.backing;
+	}
+
+	@Override
+	public T get(int index){
+		this.tracker.operation(Operation.GET);
+		return this.list().get(index);
+	}
+
+	@Override
+	public T set(int index, T element){
+		this.tracker.operation(Operation.SET);
+		return this.list().set(index, element);
+	}
+
+	@Override
+	public void add(int index, T element){
+		this.tracker.operation(Operation.ADD);
+		this.list().add(index, element);
+		this.tracker.updated();
+	}
+
+	@Override
+	public boolean addAll(int index, Collection<? extends T> c){
+		this.tracker.operation(Operation.ADD);
+		boolean ret = this.list().addAll(index, c);
+		this.tracker.updated();
+		return ret;
+	}
+
+	@Override
+	public T remove(int index){
+		this.tracker.operation(Operation.REMOVE);
+		T ret = this.list().remove(index);
+		this.tracker.updated();
+		return ret;
+	}
+
+	@Override
+	public int indexOf(Object o){
+		this.tracker.operation(Operation.SEARCH);
+		return this.list().indexOf(o);
+	}
+
+	@Override
+	public int lastIndexOf(Object o){
+		this.tracker.operation(Operation.SEARCH);
+		return this.list().lastIndexOf(o);
+	}
+
+	@Override
+	public void replaceAll(UnaryOperator<T> operator){
+		this.tracker.operation(Operation.SET);
+		this.list().replaceAll(operator);
+	}
+
+	@Override
+	public void sort(Comparator<? super T> c){
+		this.tracker.operation(Operation.SET);
+		this.list().sort(c);
+	}
+
+	@Override
+	public ListIterator<T> listIterator(){
+		return new InstrumentedListIterator<T>(this.list().listIterator(), this.tracker);
+	}
+
+	@Override
+	public ListIterator<T> listIterator(int index){
+		return new InstrumentedListIterator<T>(this.list().listIterator(index), this.tracker);
+	}
+
+	@Override
+	public List<T> subList(int fromIndex, int toIndex){
+		List<T> view = this.list().subList(fromIndex, toIndex);
+		return (view instanceof RandomAccess)?new RandomAccessList<T>(view, this.tracker):new InstrumentedList<T>(view, this.tracker);
+	}
+
+	/**
+	 * Decorator for lists with random access.
+	 *
+	 * @param <T> type of the elements
+	 */
+	static class RandomAccessList<T> extends InstrumentedList<T> implements RandomAccess {
+
+		RandomAccessList(List<T> backing, CollectionMetrics metrics){
+			super(backing, metrics);
+		}
+
+		RandomAccessList(List<T> view, Tracker tracker){
+			super(view, tracker);
+		}
+	}
+}
@@ -0,0 +1,69 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections.instrumented;
+
+import java.util.ListIterator;
+
+/**
+ * List iterator recording the iteration length and changes.
+ *
+ * @param <T> type of the elements
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+class InstrumentedListIterator<T> extends InstrumentedIterator<T> implements ListIterator<T> {
+
+	InstrumentedListIterator(ListIterator<T> it, Tracker tracker){
+		super(it, tracker);
+	}
+
+	private ListIterator<T> listIterator(){
+		return (ListIterator<T>)this.it;
+	}
+
+	@Override
+	public boolean hasPrevious(){
+		return this.listIterator().hasPrevious();
+	}
+
+	@Override
+	public T previous(){
+		return this.listIterator().previous();
+	}
+
+	@Override
+	public int nextIndex(){
+		return this.listIterator().nextIndex();
+	}
+
+	@Override
+	public int previousIndex(){
+		return this.listIterator().previousIndex();
+	}
+
+	@Override
+	public void set(T e){
+		this.tracker.operation(Operation.SET);
+		this.listIterator().set(e);
+	}
+
+	@Override
+	public void add(T e){
+		this.tracker.operation(Operation.ADD);
+		this.listIterator().add(e);
+		this.tracker.updated();
+	}
+}
@@ -0,0 +1,213 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections.instrumented;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Map decorator recording operations in {@link CollectionMetrics}.
+ * Key, value and entry views record in the same metrics.
+ *
+ * @param <K> type of the keys
+ * @param <V> type of the values
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+class InstrumentedMap<K, V> implements Map<K, V> {
+
+	/** Decorated map. */
+	final Map<K, V> backing;
+
+	/** Tracker to record in, shared with views. */
+	final Tracker tracker;
+
+	InstrumentedMap(Map<K, V> backing, CollectionMetrics metrics){
+		this.backing = backing;
+		this.tracker = new Tracker(metrics, backing, backing::size);
+	}
+
+	@Override
+	public int size(){
+		return this.backing.size();
+	}
+
+	@Override
+	public boolean isEmpty(){
+		return this.backing.isEmpty();
+	}
+
+	@Override
+	public boolean containsKey(Object key){
+		this.tracker.operation(Operation.CONTAINS);
+		return this.backing.containsKey(key);
+	}
+
+	@Override
+	public boolean containsValue(Object value){
+		this.tracker.operation(Operation.SEARCH);
+		return this.backing.containsValue(value);
+	}
+
+	@Override
+	public V get(Object key){
+		this.tracker.operation(Operation.GET);
+		return this.backing.get(key);
+	}
+
+	@Override
+	public V getOrDefault(Object key, V defaultValue){
+		this.tracker.operation(Operation.GET);
+		return this.backing.getOrDefault(key, defaultValue);
+	}
+
+	@Override
+	public V put(K key, V value){
+		this.tracker.operation(Operation.PUT);
+		V ret = this.backing.put(key, value);
+		this.tracker.updated();
+		return ret;
+	}
+
+	@Override
+	public void putAll(Map<? extends K, ? extends V> m){
+		this.tracker.operation(Operation.PUT);
+		this.backing.putAll(m);
+		this.tracker.updated();
+	}
+
+	@Override
+	public V putIfAbsent(K key, V value){
+		this.tracker.operation(Operation.PUT);
+		V ret = this.backing.putIfAbsent(key, value);
+		this.tracker.updated();
+		return ret;
+	}
+
+	@Override
+	public boolean replace(K key, V oldValue, V newValue){
+		this.tracker.operation(Operation.PUT);
+		return this.backing.replace(key, oldValue, newValue);
+	}
+
+	@Override
+	public V replace(K key, V value){
+		this.tracker.operation(Operation.PUT);
+		return this.backing.replace(key, value);
+	}
+
+	@Override
+	public void replaceAll(BiFunction<? super K, ? super V, ? extends V> function){
+		this.tracker.operation(Operation.PUT);
+		this.backing.replaceAll(function);
+	}
+
+	@Override
+	public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction){
+		this.tracker.operation(Operation.PUT);
+		V ret = this.backing.computeIfAbsent(key, mappingFunction);
+		this.tracker.updated();
+		return ret;
+	}
+
+	@Override
+	public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction){
+		this.tracker.operation(Operation.PUT);
+		V ret = this.backing.computeIfPresent(key, remappingFunction);
+		this.tracker.updated();
+		return ret;
+	}
+
+	@Override
+	public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction){
+		this.tracker.operation(Operation.PUT);
+		V ret = this.backing.compute(key, remappingFunction);
+		this.tracker.updated();
+		return ret;
+	}
+
+	@Override
+	public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction){
+		this.tracker.operation(Operation.PUT);
+		V ret = this.backing.merge(key, value, remappingFunction);
+		this.tracker.updated();
+		return ret;
+	}
+
+	@Override
+	public V remove(Object key){
+		this.tracker.operation(Operation.REMOVE);
+		V ret = this.backing.remove(key);
+		this.tracker.updated();
+		return ret;
+	}
+
+	@Override
+	public boolean remove(Object key, Object value){
+		this.tracker.operation(Operation.REMOVE);
+		boolean ret = this.backing.remove(key, value);
+		this.tracker.updated();
+		return ret;
+	}
+
+	@Override
+	public void clear(){
+		this.tracker.operation(Operation.CLEAR);
+		this.backing.clear();
+		this.tracker.updated();
+	}
+
+	@Override
+	public void forEach(BiConsumer<? super K, ? super V> action){
+		this.tracker.operation(Operation.ITERATE);
+		this.backing.forEach(action);
+		this.tracker.metrics.iteration(this.backing.size());
+	}
+
+	@Override
+	public Set<K> keySet(){
+		return new InstrumentedSet<K>(this.backing.keySet(), this.tracker);
+	}
+
+	@Override
+	public Collection<V> values(){
+		return new InstrumentedCollection<V>(this.backing.values(), this.tracker);
+	}
+
+	@Override
+	public Set<Entry<K, V>> entrySet(){
+		return new InstrumentedSet<Entry<K, V>>(this.backing.entrySet(), this.tracker);
+	}
+
+	@Override
+	public boolean equals(Object o){
+		return o==this || this.backing.equals(o);
+	}
+
+	@Override
+	public int hashCode(){
+		return this.backing.hashCode();
+	}
+
+	@Override
+	public String toString(){
+		return this.backing.toString();
+	}
+}
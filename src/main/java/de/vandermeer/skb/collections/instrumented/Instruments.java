@@ -0,0 +1,99 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections.instrumented;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Methods to decorate collections and maps with instrumentation recording in {@link CollectionMetrics}.
+ *
+ * The decorators add a few striped counter updates per operation and are as thread-safe as the decorated collection or map.
+ * Lists implementing {@link java.util.RandomAccess} result in decorators implementing it as well.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public abstract class Instruments {
+
+	/**
+	 * Returns an instrumented collection.
+	 * @param <T> type of the elements
+	 * @param collection the collection to decorate
+	 * @param metrics metrics to record in
+	 * @return instrumented collection
+	 * @throws IllegalArgumentException if collection or metrics are null
+	 */
+	public static final <T> Collection<T> COLLECTION(Collection<T> collection, CollectionMetrics metrics){
+		if(collection instanceof List){
+			return LIST((List<T>)collection, metrics);
+		}
+		if(collection instanceof Set){
+			return SET((Set<T>)collection, metrics);
+		}
+		if(collection==null){
+			throw new IllegalArgumentException("collection must not be null");
+		}
+		return new InstrumentedCollection<T>(collection, metrics);
+	}
+
+	/**
+	 * Returns an instrumented list.
+	 * @param <T> type of the elements
+	 * @param list the list to decorate
+	 * @param metrics metrics to record in
+	 * @return instrumented list
+	 * @throws IllegalArgumentException if list or metrics are null
+	 */
+	public static final <T> List<T> LIST(List<T> list, CollectionMetrics metrics){
+		if(list==null){
+			throw new IllegalArgumentException("list must not be null");
+		}
+		return InstrumentedList.create(list, metrics);
+	}
+
+	/**
+	 * Returns an instrumented set.
+	 * @param <T> type of the elements
+	 * @param set the set to decorate
+	 * @param metrics metrics to record in
+	 * @return instrumented set
+	 * @throws IllegalArgumentException if set or metrics are null
+	 */
+	public static final <T> Set<T> SET(Set<T> set, CollectionMetrics metrics){
+		if(set==null){
+			throw new IllegalArgumentException("set must not be null");
+		}
+		return new InstrumentedSet<T>(set, metrics);
+	}
+
+	/**
+	 * Returns an instrumented map.
+	 * @param <K> type of the keys
+	 * @param <V> type of the values
+	 * @param map the map to decorate
+	 * @param metrics metrics to record in
+	 * @return instrumented map
+	 * @throws IllegalArgumentException if map or metrics are null
+	 */
+	public static final <K, V> Map<K, V> MAP(Map<K, V> map, CollectionMetrics metrics){
+		if(map==null){
+			throw new IllegalArgumentException("map must not be null");
+		}
+		return new InstrumentedMap<K, V>(map, metrics);
+	}
+}
@@ -0,0 +1,159 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections.instrumented;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of {@link CollectionMetrics}.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public final class MetricsSnapshot {
+
+	/** Name of the metrics. */
+	private final String name;
+
+	/** Operation counts, indexed by operation ordinal. */
+	private final long[] counts;
+
+	/** Last size. */
+	private final long size;
+
+	/** Peak size. */
+	private final long peakSize;
+
+	/** Estimated resize events. */
+	private final long resizes;
+
+	/** Completed iterations. */
+	private final long iterations;
+
+	/** Elements visited by completed iterations. */
+	private final long iteratedElements;
+
+	/** Longest completed iteration. */
+	private final long maxIterationLength;
+
+	MetricsSnapshot(String name, long[] counts, long size, long peakSize, long resizes, long iterations, long iteratedElements, long maxIterationLength){
+		this.name = name;
+		this.counts = counts;
+		this.size = size;
+		this.peakSize = peakSize;
+		this.resizes = resizes;
+		this.iterations = iterations;
+		this.iteratedElements = iteratedElements;
+		this.maxIterationLength = maxIterationLength;
+	}
+
+	/**
+	 * Returns the name of the metrics.
+	 * @return name
+	 */
+	public String getName(){
+		return this.name;
+	}
+
+	/**
+	 * Returns the count of an operation.
+	 * @param operation the operation
+	 * @return number of calls of that operation
+	 */
+	public long getCount(Operation operation){
+		return this.counts[operation.ordinal()];
+	}
+
+	/**
+	 * Returns the number of all operations.
+	 * @return number of operations
+	 */
+	public long getTotalOperations(){
+		long ret = 0;
+		for(long c : this.counts){
+			ret += c;
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns the size of the collection after the last update.
+	 * @return last size
+	 */
+	public long getSize(){
+		return this.size;
+	}
+
+	/**
+	 * Returns the largest size of the collection seen.
+	 * @return peak size
+	 */
+	public long getPeakSize(){
+		return this.peakSize;
+	}
+
+	/**
+	 * Returns the estimated number of resize or rehash events.
+	 * @return number of resize events
+	 */
+	public long getResizes(){
+		return this.resizes;
+	}
+
+	/**
+	 * Returns the number of completed iterations.
+	 * @return number of iterations
+	 */
+	public long getIterations(){
+		return this.iterations;
+	}
+
+	/**
+	 * Returns the number of elements visited by completed iterations.
+	 * @return number of iterated elements
+	 */
+	public long getIteratedElements(){
+		return this.iteratedElements;
+	}
+
+	/**
+	 * Returns the largest number of elements visited by a single completed iteration.
+	 * @return longest iteration
+	 */
+	public long getMaxIterationLength(){
+		return this.maxIterationLength;
+	}
+
+	/**
+	 * Returns the average number of elements visited by completed iterations.
+	 * @return average iteration length, 0 if there was no completed iteration
+	 */
+	public double getAverageIterationLength(){
+		return (this.iterations==0)?0:(double)this.iteratedElements / this.iterations;
+	}
+
+	@Override
+	public String toString(){
+		Map<String, Long> ops = new LinkedHashMap<>();
+		for(Operation op : Operation.values()){
+			if(this.counts[op.ordinal()]>0){
+				ops.put(op.name(), this.counts[op.ordinal()]);
+			}
+		}
+		return this.name + "{operations=" + ops + ", size=" + this.size + ", peakSize=" + this.peakSize + ", resizes=" + this.resizes
+				+ ", iterations=" + this.iterations + ", iteratedElements=" + this.iteratedElements + ", maxIterationLength=" + this.maxIterationLength + "}";
+	}
+}
@@ -0,0 +1,51 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections.instrumented;
+
+/**
+ * Types of operations counted by {@link CollectionMetrics}.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public enum Operation {
+	/** Adding an element to a collection, including bulk additions, counted once per call. */
+	ADD,
+
+	/** Removing elements from a collection or map, including bulk removals, counted once per call. */
+	REMOVE,
+
+	/** Testing for an element in a collection or a key in a map. */
+	CONTAINS,
+
+	/** Searching for an element by linear scan: indexOf and lastIndexOf of a list, containsValue of a map. */
+	SEARCH,
+
+	/** Reading an element by index from a list or a value by key from a map. */
+	GET,
+
+	/** Replacing an element by index in a list. */
+	SET,
+
+	/** Putting or computing a value in a map, including bulk puts, counted once per call. */
+	PUT,
+
+	/** Clearing a collection or map. */
+	CLEAR,
+
+	/** Starting an iteration, with an iterator, forEach or a bulk operation visiting all elements. */
+	ITERATE,
+	;
+}
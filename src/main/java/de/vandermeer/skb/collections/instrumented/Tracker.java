@@ -0,0 +1,80 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections.instrumented;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+/**
+ * Tracks size and estimated capacity of an instrumented collection or map, shared with its views.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+final class Tracker {
+
+	/** Metrics to record in. */
+	final CollectionMetrics metrics;
+
+	/** Size of the decorated collection or map (not of a view). */
+	private final IntSupplier size;
+
+	/** Growth policy of the decorated implementation. */
+	private final Growth growth;
+
+	/** Estimated capacity. */
+	private final AtomicLong capacity;
+
+	/**
+	 * Returns a new tracker.
+	 * @param metrics metrics to record in
+	 * @param decorated the decorated collection or map, used to determine the growth policy
+	 * @param size size of the decorated collection or map
+	 */
+	Tracker(CollectionMetrics metrics, Object decorated, IntSupplier size){
+		if(metrics==null){
+			throw new IllegalArgumentException("metrics must not be null");
+		}
+		this.metrics = metrics;
+		this.size = size;
+		this.growth = Growth.of(decorated);
+		int current = size.getAsInt();
+		this.capacity = new AtomicLong(this.growth.capacity(current));
+		this.metrics.size(current);
+	}
+
+	/**
+	 * Records an operation.
+	 * @param operation the operation
+	 */
+	void operation(Operation operation){
+		this.metrics.operation(operation);
+	}
+
+	/**
+	 * Records the size after an update and resize events it caused.
+	 */
+	void updated(){
+		int current = this.size.getAsInt();
+		this.metrics.size(current);
+		long cap = this.capacity.get();
+		while(this.growth.exceeds(current, cap)){
+			if(this.capacity.compareAndSet(cap, this.growth.grow(cap))){
+				this.metrics.resize();
+			}
+			cap = this.capacity.get();
+		}
+	}
+}
@@ -0,0 +1,86 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections.offheap;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+
+/**
+ * Helpers for direct and memory mapped byte buffers.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public abstract class DirectBuffers {
+
+	/** Object used to free buffers, null if not available. */
+	private static final Object FREE_TARGET;
+
+	/** Method used to free buffers, null if not available. */
+	private static final Method FREE_METHOD;
+
+	static {
+		Object target = null;
+		Method method = null;
+		try{
+			//Java 9 and later: sun.misc.Unsafe.invokeCleaner(ByteBuffer)
+			Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+			method = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+			Field field = unsafeClass.getDeclaredField("theUnsafe");
+			field.setAccessible(true);
+			target = field.get(null);
+		}
+		catch(Exception | LinkageError ex){
+			target = null;
+			method = null;
+		}
+		FREE_TARGET = target;
+		FREE_METHOD = method;
+	}
+
+	/**
+	 * Releases the native memory of a direct or mapped buffer immediately, instead of waiting for the garbage collector.
+	 * The buffer, and all buffers derived from it, must not be used afterwards.
+	 * Non-direct buffers and platforms without support are silently ignored, the memory is then released once the buffer becomes unreachable.
+	 * @param buffer buffer to release, can be null
+	 * @return true if the memory was released, false otherwise
+	 */
+	public static boolean FREE(ByteBuffer buffer){
+		if(buffer==null || !buffer.isDirect()){
+			return false;
+		}
+		try{
+			if(FREE_METHOD!=null){
+				FREE_METHOD.invoke(FREE_TARGET, buffer);
+				return true;
+			}
+			//Java 8: ((sun.nio.ch.DirectBuffer)buffer).cleaner().clean()
+			Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+			cleanerMethod.setAccessible(true);
+			Object cleaner = cleanerMethod.invoke(buffer);
+			if(cleaner!=null){
+				Method cleanMethod = cleaner.getClass().getMethod("clean");
+				cleanMethod.setAccessible(true);
+				cleanMethod.invoke(cleaner);
+				return true;
+			}
+		}
+		catch(Exception | LinkageError ex){
+			//derived buffers (slices, duplicates) cannot be freed, memory is released by the garbage collector
+		}
+		return false;
+	}
+}
@@ -0,0 +1,588 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections.offheap;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.ReentrantLock;
+
+import de.vandermeer.skb.collections.ValueCodec;
+
+/**
+ * A persistent queue storing encoded elements in memory mapped segment files, surviving a restart of the process.
+ *
+ * Elements are appended as records (length, encoded bytes) to the last segment file of a directory.
+ * Once a segment is full, it is closed with an end marker and the next segment is created.
+ * Consumed segments are deleted as soon as the head of the queue moves past them.
+ * The head position is kept in a small mapped file in the same directory, so consumed elements are not returned again after a restart.
+ *
+ * Writes go to the page cache through the mapping and survive a crash of the process.
+ * To survive a crash of the operating system or a power loss, the written pages must be forced to disk:
+ * full segments are forced when the queue rolls to the next segment and on close,
+ * a sync interval forces the current segment after the given number of offers, and {@link #sync()} forces it on request.
+ *
+ * Elements are decoded directly from the mapped segment, without copying them to the heap first.
+ * The buffer handed to the codec must therefore not be kept after decoding.
+ * Elements must not be null.
+ * The queue is thread-safe, guarded by a single lock.
+ * Iterators return the elements queued when the iterator was created and fail if elements are polled meanwhile, they do not support removal.
+ * A directory can only be used by one open queue at a time, the queue holds an exclusive lock on the head file until it is closed.
+ * The queue should be closed once not needed anymore, which forces all data to disk, releases the mappings and the lock.
+ *
+ * @param <T> type of the queue elements
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public class MappedQueue<T> extends AbstractQueue<T> implements Closeable {
+
+	/** Default size of a segment file in bytes. */
+	public static final int DEFAULT_SEGMENT_SIZE = 1 << 26;
+
+	/** Minimum size of a segment file in bytes. */
+	public static final int MIN_SEGMENT_SIZE = 64;
+
+	/** File extension of segment files, the name is the number of the segment. */
+	static final String SEGMENT_EXTENSION = ".segment";
+
+	/** Name of the file with the head position. */
+	static final String HEAD_FILE = "head";
+
+	/** Size of a record header in bytes: encoded length plus one, 0 marks the end of the written records. */
+	private static final int RECORD_HEADER = 4;
+
+	/** Header marking the end of a segment. */
+	private static final int END_OF_SEGMENT = -1;
+
+	/** Codec for elements. */
+	private final ValueCodec<T> codec;
+
+	/** Directory with the segment files. */
+	private final Path directory;
+
+	/** Size of new segment files in bytes. */
+	private final int segmentSize;
+
+	/** Number of offers after which the current segment is forced to disk, 0 to force only full segments. */
+	private final int syncInterval;
+
+	/** Lock guarding all state. */
+	private final ReentrantLock lock = new ReentrantLock();
+
+	/** Channel of the head file, kept open for the directory lock. */
+	private FileChannel headChannel;
+
+	/** Exclusive lock on the head file, held while the queue is open. */
+	private FileLock directoryLock;
+
+	/** Mapped file with the head position, segment number in the upper and offset in the lower 32 bit. */
+	private MappedByteBuffer headPosition;
+
+	/** Segment, offset and mapping of the head. */
+	private long headSegment;
+	private int headOffset;
+	private MappedByteBuffer headBuffer;
+
+	/** Segment, offset and mapping of the tail, the mapping is shared with the head if both are in the same segment. */
+	private long tailSegment;
+	private int tailOffset;
+	private MappedByteBuffer tailBuffer;
+
+	/** Number of elements. */
+	private long size;
+
+	/** Number of polls, for fail-fast iteration. */
+	private long polls;
+
+	/** Number of offers since the last sync. */
+	private int unsynced;
+
+	/** Flag for a closed queue. */
+	private boolean closed;
+
+	/**
+	 * Returns a new queue in the given directory with default segment size, forcing only full segments to disk.
+	 * @param directory directory for the segment files, created if it does not exist, elements of an existing queue in it are kept
+	 * @param codec codec for elements
+	 * @throws IOException if the directory or its files cannot be accessed, or another open queue uses the directory
+	 * @throws NullPointerException if an argument is null
+	 */
+	public MappedQueue(Path directory, ValueCodec<T> codec) throws IOException{
+		this(directory, codec, DEFAULT_SEGMENT_SIZE, 0);
+	}
+
+	/**
+	 * Returns a new queue in the given directory.
+	 * @param directory directory for the segment files, created if it does not exist, elements of an existing queue in it are kept
+	 * @param codec codec for elements
+	 * @param segmentSize size of new segment files in bytes, an encoded element plus 8 bytes must fit into a segment
+	 * @param syncInterval number of offers after which the current segment is forced to disk, 1 to force every offer, 0 to force only full segments
+	 * @throws IOException if the directory or its files cannot be accessed, or another open queue uses the directory
+	 * @throws IllegalArgumentException if the segment size is less than {@link #MIN_SEGMENT_SIZE} or the sync interval is negative
+	 * @throws NullPointerException if the directory or the codec is null
+	 */
+	public MappedQueue(Path directory, ValueCodec<T> codec, int segmentSize, int syncInterval) throws IOException{
+		if(directory==null){
+			throw new NullPointerException("directory must not be null");
+		}
+		if(codec==null){
+			throw new NullPointerException("codec must not be null");
+		}
+		if(segmentSize<MIN_SEGMENT_SIZE){
+			throw new IllegalArgumentException("segment size must be at least " + MIN_SEGMENT_SIZE + ": " + segmentSize);
+		}
+		if(syncInterval<0){
+			throw new IllegalArgumentException("sync interval must not be negative: " + syncInterval);
+		}
+		this.directory = directory;
+		this.codec = codec;
+		this.segmentSize = segmentSize;
+		this.syncInterval = syncInterval;
+		this.lockDirectory();
+		try{
+			this.open();
+		}
+		catch(IOException | RuntimeException ex){
+			this.unlockDirectory();
+			throw ex;
+		}
+	}
+
+	/**
+	 * Opens the head file and takes an exclusive lock on it, held until the queue is closed.
+	 * @throws IOException if the head file cannot be opened, or another open queue holds the lock
+	 */
+	private void lockDirectory() throws IOException{
+		Files.createDirectories(this.directory);
+		Path file = this.directory.resolve(HEAD_FILE);
+		this.headChannel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try{
+			this.directoryLock = this.headChannel.tryLock();
+		}
+		catch(OverlappingFileLockException ex){
+			//lock held by another queue of this process
+			this.directoryLock = null;
+		}
+		catch(IOException ex){
+			this.headChannel.close();
+			throw ex;
+		}
+		if(this.directoryLock==null){
+			this.headChannel.close();
+			throw new IOException("queue directory is used by another open queue: " + this.directory);
+		}
+	}
+
+	/**
+	 * Releases the lock on the head file and closes it.
+	 */
+	private void unlockDirectory(){
+		try{
+			this.headChannel.close();
+		}
+		catch(IOException ex){
+			//closing the channel releases the lock, nothing left to do
+		}
+	}
+
+	/**
+	 * Opens the queue, recovering head, tail and size from the files in the directory.
+	 * @throws IOException if the directory or its files cannot be accessed
+	 */
+	private void open() throws IOException{
+		this.headPosition = this.headChannel.map(MapMode.READ_WRITE, 0, 8);
+		long position = this.headPosition.getLong(0);
+		long segment = position >>> 32;
+		int offset = (int)position;
+
+		List<Long> segments = this.segments();
+		if(segments.isEmpty() || segment>segments.get(segments.size() - 1)){
+			//new queue, or all segments consumed
+			offset = 0;
+		}
+		else if(segment<segments.get(0)){
+			segment = segments.get(0);
+			offset = 0;
+		}
+		//segments consumed before the last shutdown, but not deleted
+		for(Long consumed : segments){
+			if(consumed<segment){
+				Files.deleteIfExists(this.segmentFile(consumed));
+			}
+		}
+		this.headBuffer = this.map(this.segmentFile(segment));
+		this.headSegment = segment;
+		this.headOffset = offset;
+		this.tailSegment = (segments.isEmpty())?segment:Math.max(segment, segments.get(segments.size() - 1));
+
+		//count the records from head to tail, the tail is the first record not written yet
+		MappedByteBuffer buffer = this.headBuffer;
+		for(long s=segment; ; s++){
+			if(s>segment){
+				buffer = this.map(this.segmentFile(s));
+			}
+			int header;
+			while(offset + RECORD_HEADER<=buffer.capacity() && (header = buffer.getInt(offset))>0){
+				offset += RECORD_HEADER + header - 1;
+				this.size++;
+			}
+			if(s==this.tailSegment){
+				this.tailBuffer = buffer;
+				this.tailOffset = offset;
+				break;
+			}
+			if(buffer!=this.headBuffer){
+				DirectBuffers.FREE(buffer);
+			}
+			offset = 0;
+		}
+		this.storeHead();
+	}
+
+	/**
+	 * Returns the numbers of all segment files in the directory, in ascending order.
+	 * @return segment numbers
+	 * @throws IOException if the directory cannot be read
+	 */
+	private List<Long> segments() throws IOException{
+		List<Long> ret = new ArrayList<Long>();
+		try(DirectoryStream<Path> files = Files.newDirectoryStream(this.directory, "*" + SEGMENT_EXTENSION)){
+			for(Path file : files){
+				String name = file.getFileName().toString();
+				try{
+					ret.add(Long.parseLong(name.substring(0, name.length() - SEGMENT_EXTENSION.length())));
+				}
+				catch(NumberFormatException ex){
+					//not a segment of this queue
+				}
+			}
+		}
+		Collections.sort(ret);
+		return ret;
+	}
+
+	/**
+	 * Returns the file of a segment.
+	 * @param segment segment number
+	 * @return segment file
+	 */
+	Path segmentFile(long segment){
+		return this.directory.resolve(String.format("%019d", segment) + SEGMENT_EXTENSION);
+	}
+
+	/**
+	 * Maps a segment file, creating it with the segment size if it does not exist or is empty.
+	 * @param file the file
+	 * @return mapped buffer
+	 * @throws IOException if the file cannot be mapped
+	 */
+	private MappedByteBuffer map(Path file) throws IOException{
+		try(FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)){
+			return channel.map(MapMode.READ_WRITE, 0, (channel.size()==0)?this.segmentSize:channel.size());
+		}
+	}
+
+	private void storeHead(){
+		this.headPosition.putLong(0, (this.headSegment << 32) | this.headOffset);
+	}
+
+	private void ensureOpen(){
+		if(this.closed){
+			throw new IllegalStateException("queue is closed");
+		}
+	}
+
+	@Override
+	public boolean offer(T e){
+		if(e==null){
+			throw new NullPointerException("queue does not permit null elements");
+		}
+		byte[] bytes = this.codec.encode(e);
+		int record = RECORD_HEADER + bytes.length;
+		this.lock.lock();
+		try{
+			this.ensureOpen();
+			//room for the record and an end marker after it
+			if(record + RECORD_HEADER>this.segmentSize){
+				throw new IllegalArgumentException("encoded element of " + bytes.length + " bytes does not fit into a segment of " + this.segmentSize + " bytes");
+			}
+			if(this.tailOffset + record + RECORD_HEADER>this.tailBuffer.capacity()){
+				this.roll();
+			}
+			//the header is written last, so a partly written record is never read
+			((Buffer)this.tailBuffer).position(this.tailOffset + RECORD_HEADER);
+			this.tailBuffer.put(bytes);
+			this.tailBuffer.putInt(this.tailOffset, bytes.length + 1);
+			this.tailOffset += record;
+			this.size++;
+			if(this.syncInterval>0 && ++this.unsynced>=this.syncInterval){
+				this.force();
+			}
+			return true;
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Closes the tail segment and continues in a new one.
+	 */
+	private void roll(){
+		MappedByteBuffer next;
+		try{
+			next = this.map(this.segmentFile(this.tailSegment + 1));
+		}
+		catch(IOException ex){
+			throw new UncheckedIOException(ex);
+		}
+		this.tailBuffer.putInt(this.tailOffset, END_OF_SEGMENT);
+		this.tailBuffer.force();
+		if(this.tailBuffer!=this.headBuffer){
+			DirectBuffers.FREE(this.tailBuffer);
+		}
+		this.tailBuffer = next;
+		this.tailSegment++;
+		this.tailOffset = 0;
+	}
+
+	/**
+	 * Returns the encoded length of the head element, moving the head to the next segment if the current one is consumed.
+	 * Must only be called if the queue is not empty.
+	 * @return length of the encoded head element
+	 */
+	private int head(){
+		int header = this.headBuffer.getInt(this.headOffset);
+		if(header==END_OF_SEGMENT){
+			MappedByteBuffer consumed = this.headBuffer;
+			long segment = this.headSegment;
+			try{
+				this.headBuffer = (segment + 1==this.tailSegment)?this.tailBuffer:this.map(this.segmentFile(segment + 1));
+				this.headSegment++;
+				this.headOffset = 0;
+				this.storeHead();
+				DirectBuffers.FREE(consumed);
+				Files.deleteIfExists(this.segmentFile(segment));
+			}
+			catch(IOException ex){
+				throw new UncheckedIOException(ex);
+			}
+			header = this.headBuffer.getInt(0);
+		}
+		return header - 1;
+	}
+
+	/**
+	 * Decodes an element from a mapped segment.
+	 * @param buffer the segment
+	 * @param offset offset of the encoded element
+	 * @param length length of the encoded element
+	 * @return decoded element
+	 */
+	private T decode(ByteBuffer buffer, int offset, int length){
+		ByteBuffer view = buffer.duplicate();
+		//called as Buffer methods, the ByteBuffer overrides do not exist on Java 8
+		((Buffer)view).limit(offset + length);
+		((Buffer)view).position(offset);
+		return this.codec.decode(view);
+	}
+
+	@Override
+	public T poll(){
+		this.lock.lock();
+		try{
+			this.ensureOpen();
+			if(this.size==0){
+				return null;
+			}
+			int length = this.head();
+			T ret = this.decode(this.headBuffer, this.headOffset + RECORD_HEADER, length);
+			this.headOffset += RECORD_HEADER + length;
+			this.storeHead();
+			this.size--;
+			this.polls++;
+			return ret;
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public T peek(){
+		this.lock.lock();
+		try{
+			this.ensureOpen();
+			if(this.size==0){
+				return null;
+			}
+			int length = this.head();
+			return this.decode(this.headBuffer, this.headOffset + RECORD_HEADER, length);
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public int size(){
+		this.lock.lock();
+		try{
+			return (int)Math.min(this.size, Integer.MAX_VALUE);
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Forces all written elements and the head position to disk.
+	 * @throws IllegalStateException if the queue is closed
+	 */
+	public void sync(){
+		this.lock.lock();
+		try{
+			this.ensureOpen();
+			this.force();
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	private void force(){
+		this.tailBuffer.force();
+		this.headPosition.force();
+		this.unsynced = 0;
+	}
+
+	/**
+	 * Forces all data to disk and releases the mappings and the directory lock, the files remain for the next queue opened in the directory.
+	 * Closing a closed queue has no effect.
+	 */
+	@Override
+	public void close(){
+		this.lock.lock();
+		try{
+			if(this.closed){
+				return;
+			}
+			this.force();
+			this.closed = true;
+			if(this.headBuffer!=this.tailBuffer){
+				DirectBuffers.FREE(this.headBuffer);
+			}
+			DirectBuffers.FREE(this.tailBuffer);
+			DirectBuffers.FREE(this.headPosition);
+			this.headBuffer = null;
+			this.tailBuffer = null;
+			this.headPosition = null;
+			this.unlockDirectory();
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public Iterator<T> iterator(){
+		this.lock.lock();
+		try{
+			this.ensureOpen();
+			return new Iterator<T>(){
+				long segment = MappedQueue.this.headSegment;
+				int offset = MappedQueue.this.headOffset;
+				long remaining = MappedQueue.this.size;
+				long expectedPolls = MappedQueue.this.polls;
+
+				/** Read only mapping of the current segment, owned by the iterator. */
+				MappedByteBuffer buffer;
+
+				@Override
+				public boolean hasNext(){
+					return this.remaining>0;
+				}
+
+				@Override
+				public T next(){
+					if(this.remaining==0){
+						throw new NoSuchElementException();
+					}
+					MappedQueue<T> queue = MappedQueue.this;
+					queue.lock.lock();
+					try{
+						queue.ensureOpen();
+						if(queue.polls!=this.expectedPolls){
+							throw new ConcurrentModificationException();
+						}
+						if(this.buffer==null){
+							this.buffer = this.map(this.segment);
+						}
+						int header = this.buffer.getInt(this.offset);
+						if(header==END_OF_SEGMENT){
+							DirectBuffers.FREE(this.buffer);
+							this.buffer = null;
+							this.segment++;
+							this.offset = 0;
+							this.buffer = this.map(this.segment);
+							header = this.buffer.getInt(0);
+						}
+						T ret = queue.decode(this.buffer, this.offset + RECORD_HEADER, header - 1);
+						this.offset += RECORD_HEADER + header - 1;
+						if(--this.remaining==0){
+							DirectBuffers.FREE(this.buffer);
+							this.buffer = null;
+						}
+						return ret;
+					}
+					finally{
+						queue.lock.unlock();
+					}
+				}
+
+				private MappedByteBuffer map(long segment){
+					try(FileChannel channel = FileChannel.open(MappedQueue.this.segmentFile(segment), StandardOpenOption.READ)){
+						return channel.map(MapMode.READ_ONLY, 0, channel.size());
+					}
+					catch(IOException ex){
+						throw new UncheckedIOException(ex);
+					}
+				}
+			};
+		}
+		finally{
+			this.lock.unlock();
+		}
+	}
+}
@@ -0,0 +1,581 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections.offheap;
+
+import java.io.Closeable;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import de.vandermeer.skb.collections.CollectionTools;
+import de.vandermeer.skb.collections.ValueCodec;
+
+/**
+ * A map with string keys that stores keys and encoded values in direct byte buffers, outside the Java heap.
+ *
+ * Records (key length, value length, UTF-8 key bytes, encoded value bytes) are appended to direct pages.
+ * An open addressing index, also kept in a direct buffer, maps key hashes to record addresses.
+ * Replaced and removed records are reclaimed by compacting the pages once they hold more garbage than live data.
+ * The heap footprint is therefore a handful of objects, independent of the number of entries.
+ *
+ * Keys and values must not be null.
+ * Values are decoded on every read, so the map returns copies and changes to a returned value are not stored.
+ * The map is not thread-safe.
+ * It should be closed once not needed anymore, which releases the native memory immediately.
+ *
+ * @param <T> type of the map values
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public class OffHeapMap<T> extends AbstractMap<String, T> implements Closeable {
+
+	/** Default size of a data page in bytes. */
+	public static final int DEFAULT_PAGE_SIZE = 1 << 20;
+
+	/** Largest load factor the map strategies use, the open addressing index needs free slots to end probe sequences. */
+	public static final float MAX_LOAD_FACTOR = 0.9f;
+
+	/** Size of an index slot in bytes: record address (long) and key hash (int). */
+	private static final int SLOT_SIZE = 12;
+
+	/** Size of a record header in bytes: key length (int) and value length (int). */
+	private static final int RECORD_HEADER = 8;
+
+	/** Address of an empty slot. */
+	private static final long EMPTY = 0L;
+
+	/** Address of a slot with a removed entry. */
+	private static final long DELETED = -1L;
+
+	/** Minimum number of index slots. */
+	private static final int MIN_CAPACITY = 16;
+
+	/** Maximum number of index slots, limited by the maximum size of a buffer. */
+	private static final int MAX_CAPACITY = 1 << 27;
+
+	/** Codec for values. */
+	private final ValueCodec<T> codec;
+
+	/** Size of a data page in bytes. */
+	private final int pageSize;
+
+	/** Load factor of the index. */
+	private final float loadFactor;
+
+	/** Data pages, a record address is the page number (starting at 1) in the upper and the offset in the lower 32 bit. */
+	private List<ByteBuffer> pages = new ArrayList<ByteBuffer>();
+
+	/** Index with slots of address and hash. */
+	private ByteBuffer index;
+
+	/** Number of index slots, a power of two. */
+	private int capacity;
+
+	/** Number of entries. */
+	private int size;
+
+	/** Number of used slots, entries plus deleted slots. */
+	private int used;
+
+	/** Maximum number of used slots before the index is rebuilt. */
+	private int threshold;
+
+	/** Bytes in pages used by replaced or removed records. */
+	private long garbage;
+
+	/** Bytes in pages used by live records. */
+	private long live;
+
+	/** Number of structural modifications, for fail-fast iteration. */
+	private int modCount;
+
+	/** Flag for a closed map. */
+	private boolean closed;
+
+	/** Entry set view, created on demand. */
+	private Set<Entry<String, T>> entrySet;
+
+	/**
+	 * Returns a new off heap map with default sizing.
+	 * @param codec codec for values
+	 */
+	public OffHeapMap(ValueCodec<T> codec){
+		this(codec, 0, CollectionTools.DEFAULT_LOAD_FACTOR, DEFAULT_PAGE_SIZE);
+	}
+
+	/**
+	 * Returns a new off heap map.
+	 * @param codec codec for values
+	 * @param expectedSize number of entries the map is expected to hold
+	 * @param loadFactor load factor of the index, must be larger than 0 and smaller than 1
+	 * @param pageSize size of a data page in bytes, records larger than a page get their own page
+	 * @throws IllegalArgumentException if any sizing argument is out of range
+	 * @throws NullPointerException if the codec is null
+	 */
+	public OffHeapMap(ValueCodec<T> codec, int expectedSize, float loadFactor, int pageSize){
+		if(codec==null){
+			throw new NullPointerException("codec must not be null");
+		}
+		if(expectedSize<0){
+			throw new IllegalArgumentException("expected size must not be negative: " + expectedSize);
+		}
+		if(!(loadFactor>0 && loadFactor<1)){
+			throw new IllegalArgumentException("load factor must be in (0, 1): " + loadFactor);
+		}
+		if(pageSize<RECORD_HEADER){
+			throw new IllegalArgumentException("page size too small: " + pageSize);
+		}
+		this.codec = codec;
+		this.loadFactor = loadFactor;
+		this.pageSize = pageSize;
+		this.allocateIndex(this.capacityFor(expectedSize));
+	}
+
+	private int capacityFor(int expectedSize){
+		double needed = Math.ceil(expectedSize / (double)this.loadFactor);
+		if(needed>=MAX_CAPACITY){
+			return MAX_CAPACITY;
+		}
+		int ret = MIN_CAPACITY;
+		while(ret<needed){
+			ret <<= 1;
+		}
+		return ret;
+	}
+
+	private void allocateIndex(int capacity){
+		this.index = ByteBuffer.allocateDirect(capacity * SLOT_SIZE);
+		this.capacity = capacity;
+		this.used = this.size;
+		this.threshold = Math.min(capacity - 1, (int)(capacity * this.loadFactor));
+	}
+
+	private void ensureOpen(){
+		if(this.closed){
+			throw new IllegalStateException("map is closed");
+		}
+	}
+
+	private static int mix(int hash){
+		int h = hash * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	private long address(int slot){
+		return this.index.getLong(slot * SLOT_SIZE);
+	}
+
+	private int hash(int slot){
+		return this.index.getInt(slot * SLOT_SIZE + 8);
+	}
+
+	private void setSlot(int slot, long address, int hash){
+		this.index.putLong(slot * SLOT_SIZE, address);
+		this.index.putInt(slot * SLOT_SIZE + 8, hash);
+	}
+
+	private ByteBuffer page(long address){
+		return this.pages.get((int)(address >>> 32) - 1);
+	}
+
+	private static int offset(long address){
+		return (int)address;
+	}
+
+	private int recordLength(long address){
+		ByteBuffer page = this.page(address);
+		int offset = offset(address);
+		return RECORD_HEADER + page.getInt(offset) + page.getInt(offset + 4);
+	}
+
+	private boolean keyEquals(long address, byte[] key){
+		ByteBuffer page = this.page(address);
+		int offset = offset(address);
+		if(page.getInt(offset)!=key.length){
+			return false;
+		}
+		offset += RECORD_HEADER;
+		for(int i=0; i<key.length; i++){
+			if(page.get(offset + i)!=key[i]){
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private String readKey(long address){
+		ByteBuffer page = this.page(address);
+		int offset = offset(address);
+		byte[] key = new byte[page.getInt(offset)];
+		ByteBuffer source = page.duplicate();
+		//called as Buffer methods, the ByteBuffer overrides do not exist on Java 8
+		((Buffer)source).position(offset + RECORD_HEADER);
+		source.get(key);
+		return new String(key, StandardCharsets.UTF_8);
+	}
+
+	private T readValue(long address){
+		ByteBuffer page = this.page(address);
+		int offset = offset(address);
+		int start = offset + RECORD_HEADER + page.getInt(offset);
+		ByteBuffer value = page.duplicate();
+		((Buffer)value).limit(start + page.getInt(offset + 4));
+		((Buffer)value).position(start);
+		return this.codec.decode(value.slice());
+	}
+
+	private long append(byte[] key, byte[] value){
+		int length = RECORD_HEADER + key.length + value.length;
+		if(length<0){
+			throw new IllegalArgumentException("record too large");
+		}
+		ByteBuffer page = this.pages.isEmpty()?null:this.pages.get(this.pages.size() - 1);
+		if(page==null || page.remaining()<length){
+			page = ByteBuffer.allocateDirect(Math.max(this.pageSize, length));
+			this.pages.add(page);
+		}
+		long ret = ((long)this.pages.size() << 32) | page.position();
+		page.putInt(key.length).putInt(value.length).put(key).put(value);
+		this.live += length;
+		return ret;
+	}
+
+	/**
+	 * Returns the slot of a key.
+	 * @param key key bytes
+	 * @param hash key hash
+	 * @return slot of the key if found, otherwise (-1 - slot) with the slot to insert the key into
+	 */
+	private int find(byte[] key, int hash){
+		int mask = this.capacity - 1;
+		int slot = mix(hash) & mask;
+		int insert = -1;
+		while(true){
+			long address = this.address(slot);
+			if(address==EMPTY){
+				return -1 - ((insert>=0)?insert:slot);
+			}
+			if(address==DELETED){
+				if(insert<0){
+					insert = slot;
+				}
+			}
+			else if(this.hash(slot)==hash && this.keyEquals(address, key)){
+				return slot;
+			}
+			slot = (slot + 1) & mask;
+		}
+	}
+
+	private int find(Object key){
+		if(!(key instanceof String)){
+			return -1;
+		}
+		String s = (String)key;
+		int ret = this.find(s.getBytes(StandardCharsets.UTF_8), s.hashCode());
+		return (ret>=0)?ret:-1;
+	}
+
+	private void rebuildIndex(int capacity){
+		if(capacity>MAX_CAPACITY){
+			throw new IllegalStateException("map too big, maximum capacity reached");
+		}
+		ByteBuffer old = this.index;
+		int oldCapacity = this.capacity;
+		this.allocateIndex(capacity);
+		int mask = capacity - 1;
+		for(int i=0; i<oldCapacity; i++){
+			long address = old.getLong(i * SLOT_SIZE);
+			if(address!=EMPTY && address!=DELETED){
+				int hash = old.getInt(i * SLOT_SIZE + 8);
+				int slot = mix(hash) & mask;
+				while(this.address(slot)!=EMPTY){
+					slot = (slot + 1) & mask;
+				}
+				this.setSlot(slot, address, hash);
+			}
+		}
+		DirectBuffers.FREE(old);
+	}
+
+	private void compactIfNeeded(){
+		if(this.garbage<=this.live || this.garbage<this.pageSize){
+			return;
+		}
+		List<ByteBuffer> old = this.pages;
+		this.pages = new ArrayList<ByteBuffer>();
+		this.live = 0;
+		this.garbage = 0;
+		for(int i=0; i<this.capacity; i++){
+			long address = this.address(i);
+			if(address!=EMPTY && address!=DELETED){
+				ByteBuffer page = old.get((int)(address >>> 32) - 1);
+				int offset = offset(address);
+				int length = RECORD_HEADER + page.getInt(offset) + page.getInt(offset + 4);
+				ByteBuffer record = page.duplicate();
+				((Buffer)record).limit(offset + length);
+				((Buffer)record).position(offset);
+				ByteBuffer target = this.pages.isEmpty()?null:this.pages.get(this.pages.size() - 1);
+				if(target==null || target.remaining()<length){
+					target = ByteBuffer.allocateDirect(Math.max(this.pageSize, length));
+					this.pages.add(target);
+				}
+				long newAddress = ((long)this.pages.size() << 32) | target.position();
+				target.put(record);
+				this.live += length;
+				this.index.putLong(i * SLOT_SIZE, newAddress);
+			}
+		}
+		for(ByteBuffer page : old){
+			DirectBuffers.FREE(page);
+		}
+	}
+
+	private void removeSlot(int slot){
+		long address = this.address(slot);
+		int length = this.recordLength(address);
+		this.live -= length;
+		this.garbage += length;
+		this.index.putLong(slot * SLOT_SIZE, DELETED);
+		this.size--;
+		this.modCount++;
+		this.compactIfNeeded();
+	}
+
+	@Override
+	public int size(){
+		this.ensureOpen();
+		return this.size;
+	}
+
+	@Override
+	public boolean containsKey(Object key){
+		this.ensureOpen();
+		return this.find(key)>=0;
+	}
+
+	@Override
+	public T get(Object key){
+		this.ensureOpen();
+		int slot = this.find(key);
+		return (slot>=0)?this.readValue(this.address(slot)):null;
+	}
+
+	@Override
+	public T put(String key, T value){
+		this.ensureOpen();
+		if(key==null || value==null){
+			throw new NullPointerException("off heap map does not support null keys or values");
+		}
+		byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+		byte[] valueBytes = this.codec.encode(value);
+		int hash = key.hashCode();
+		int slot = this.find(keyBytes, hash);
+
+		if(slot>=0){
+			long address = this.address(slot);
+			T ret = this.readValue(address);
+			ByteBuffer page = this.page(address);
+			int offset = offset(address);
+			if(page.getInt(offset + 4)==valueBytes.length){
+				ByteBuffer target = page.duplicate();
+				((Buffer)target).position(offset + RECORD_HEADER + keyBytes.length);
+				target.put(valueBytes);
+			}
+			else{
+				int length = this.recordLength(address);
+				this.live -= length;
+				this.garbage += length;
+				this.index.putLong(slot * SLOT_SIZE, this.append(keyBytes, valueBytes));
+				this.compactIfNeeded();
+			}
+			return ret;
+		}
+
+		slot = -1 - slot;
+		boolean reusesDeleted = (this.address(slot)==DELETED);
+		if(!reusesDeleted && this.used>=this.threshold){
+			//grow if mostly live entries, otherwise rebuild in place to drop deleted slots
+			this.rebuildIndex((this.size>=this.threshold/2)?this.capacity<<1:this.capacity);
+			slot = -1 - this.find(keyBytes, hash);
+		}
+		this.setSlot(slot, this.append(keyBytes, valueBytes), hash);
+		if(!reusesDeleted){
+			this.used++;
+		}
+		this.size++;
+		this.modCount++;
+		return null;
+	}
+
+	@Override
+	public T remove(Object key){
+		this.ensureOpen();
+		int slot = this.find(key);
+		if(slot<0){
+			return null;
+		}
+		T ret = this.readValue(this.address(slot));
+		this.removeSlot(slot);
+		return ret;
+	}
+
+	@Override
+	public void clear(){
+		this.ensureOpen();
+		this.freePages();
+		this.size = 0;
+		DirectBuffers.FREE(this.index);
+		this.allocateIndex(MIN_CAPACITY);
+		this.modCount++;
+	}
+
+	private void freePages(){
+		for(ByteBuffer page : this.pages){
+			DirectBuffers.FREE(page);
+		}
+		this.pages = new ArrayList<ByteBuffer>();
+		this.live = 0;
+		this.garbage = 0;
+	}
+
+	/**
+	 * Returns the number of bytes of native memory currently allocated by the map, for data pages and index.
+	 * @return allocated native memory in bytes
+	 */
+	public long allocatedBytes(){
+		this.ensureOpen();
+		long ret = this.index.capacity();
+		for(ByteBuffer page : this.pages){
+			ret += page.capacity();
+		}
+		return ret;
+	}
+
+	/**
+	 * Releases all native memory of the map, any further use of the map results in an {@link IllegalStateException}.
+	 * Closing a closed map has no effect.
+	 */
+	@Override
+	public void close(){
+		if(this.closed){
+			return;
+		}
+		this.closed = true;
+		this.freePages();
+		DirectBuffers.FREE(this.index);
+		this.index = null;
+		this.size = 0;
+	}
+
+	@Override
+	public Set<Entry<String, T>> entrySet(){
+		this.ensureOpen();
+		if(this.entrySet==null){
+			this.entrySet = new AbstractSet<Entry<String, T>>(){
+				@Override
+				public Iterator<Entry<String, T>> iterator(){
+					return new EntryIterator();
+				}
+
+				@Override
+				public int size(){
+					return OffHeapMap.this.size();
+				}
+
+				@Override
+				public void clear(){
+					OffHeapMap.this.clear();
+				}
+			};
+		}
+		return this.entrySet;
+	}
+
+	/**
+	 * Iterator over the index slots, returning decoded entries.
+	 */
+	private class EntryIterator implements Iterator<Entry<String, T>> {
+
+		/** Next slot to look at. */
+		int next = 0;
+
+		/** Slot of the last returned entry, -1 if none. */
+		int last = -1;
+
+		/** Expected modification count. */
+		int expectedModCount = OffHeapMap.this.modCount;
+
+		private void advance(){
+			while(this.next<OffHeapMap.this.capacity){
+				long address = OffHeapMap.this.address(this.next);
+				if(address!=EMPTY && address!=DELETED){
+					return;
+				}
+				this.next++;
+			}
+		}
+
+		@Override
+		public boolean hasNext(){
+			OffHeapMap.this.ensureOpen();
+			this.advance();
+			return this.next<OffHeapMap.this.capacity;
+		}
+
+		@Override
+		public Entry<String, T> next(){
+			if(OffHeapMap.this.modCount!=this.expectedModCount){
+				throw new ConcurrentModificationException();
+			}
+			if(!this.hasNext()){
+				throw new NoSuchElementException();
+			}
+			this.last = this.next++;
+			long address = OffHeapMap.this.address(this.last);
+			return new SimpleEntry<String, T>(OffHeapMap.this.readKey(address), OffHeapMap.this.readValue(address)){
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				public T setValue(T value){
+					super.setValue(value);
+					return OffHeapMap.this.put(this.getKey(), value);
+				}
+			};
+		}
+
+		@Override
+		public void remove(){
+			if(this.last<0){
+				throw new IllegalStateException();
+			}
+			if(OffHeapMap.this.modCount!=this.expectedModCount){
+				throw new ConcurrentModificationException();
+			}
+			OffHeapMap.this.removeSlot(this.last);
+			this.last = -1;
+			this.expectedModCount = OffHeapMap.this.modCount;
+		}
+	}
+}
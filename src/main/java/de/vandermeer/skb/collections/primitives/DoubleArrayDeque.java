@@ -0,0 +1,236 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.vandermeer.skb.collections.primitives;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.DoubleConsumer;
+
+/**
+ * A deque of primitive double values backed by a circular array with a power of two length.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public class DoubleArrayDeque implements DoubleDeque {
+
+	/** Minimum capacity of the deque. */
+	private static final int MIN_CAPACITY = 8;
+
+	/** Maximum capacity of the deque, largest power of two for an array. */
+	private static final int MAX_CAPACITY = 1 << 30;
+
+	/** The deque values, the array length is always a power of two. */
+	private double[] data;
+
+	/** Index of the head value. */
+	private int head;
+
+	/** Number of values in the deque. */
+	private int size;
+
+	/**
+	 * Returns a new empty deque.
+	 */
+	public DoubleArrayDeque(){
+		this.data = new double[MIN_CAPACITY];
+	}
+
+	/**
+	 * Returns a new empty deque sized for an expected number of values.
+	 * @param expectedSize number of values the deque is expected to hold
+	 * @throws IllegalArgumentException if the expected size is negative
+	 */
+	public DoubleArrayDeque(int expectedSize){
+		if(expectedSize<0){
+			throw new IllegalArgumentException("expected size must not be negative: " + expectedSize);
+		}
+		this.data = new double[capacityFor(expectedSize)];
+	}
+
+	/**
+	 * Returns a new deque with a copy of the given values, the first array value becomes the head.
+	 * @param values input values, must not be null
+	 */
+	public DoubleArrayDeque(double[] values){
+		this(values.length);
+		this.addAll(values, 0, values.length);
+	}
+
+	private static int capacityFor(int expectedSize){
+		if(expectedSize>=MAX_CAPACITY){
+			return MAX_CAPACITY;
+		}
+		int ret = MIN_CAPACITY;
+		while(ret<expectedSize){
+			ret <<= 1;
+		}
+		return ret;
+	}
+
+	private void ensureCapacity(int minCapacity){
+		if(minCapacity<=this.data.length){
+			return;
+		}
+		if(minCapacity<0 || minCapacity>MAX_CAPACITY){
+			throw new IllegalStateException("deque too big");
+		}
+		double[] newData = new double[capacityFor(minCapacity)];
+		int headPart = Math.min(this.size, this.data.length - this.head);
+		System.arraycopy(this.data, this.head, newData, 0, headPart);
+		System.arraycopy(this.data, 0, newData, headPart, this.size - headPart);
+		this.data = newData;
+		this.head = 0;
+	}
+
+	@Override
+	public int size(){
+		return this.size;
+	}
+
+	@Override
+	public void clear(){
+		this.head = 0;
+		this.size = 0;
+	}
+
+	@Override
+	public void addFirst(double value){
+		this.ensureCapacity(this.size + 1);
+		this.head = (this.head - 1) & (this.data.length - 1);
+		this.data[this.head] = value;
+		this.size++;
+	}
+
+	@Override
+	public void addLast(double value){
+		this.ensureCapacity(this.size + 1);
+		this.data[(this.head + this.size) & (this.data.length - 1)] = value;
+		this.size++;
+	}
+
+	@Override
+	public boolean addAll(double[] values, int offset, int length){
+		if(offset<0 || length<0 || offset>values.length-length){
+			throw new IndexOutOfBoundsException("offset: " + offset + ", length: " + length + ", array length: " + values.length);
+		}
+		this.ensureCapacity(this.size + length);
+		int tail = (this.head + this.size) & (this.data.length - 1);
+		int first = Math.min(length, this.data.length - tail);
+		System.arraycopy(values, offset, this.data, tail, first);
+		System.arraycopy(values, offset + first, this.data, 0, length - first);
+		this.size += length;
+		return length>0;
+	}
+
+	@Override
+	public double removeFirst(){
+		if(this.size==0){
+			throw new NoSuchElementException();
+		}
+		double ret = this.data[this.head];
+		this.head = (this.head + 1) & (this.data.length - 1);
+		this.size--;
+		return ret;
+	}
+
+	@Override
+	public double removeLast(){
+		if(this.size==0){
+			throw new NoSuchElementException();
+		}
+		this.size--;
+		return this.data[(this.head + this.size) & (this.data.length - 1)];
+	}
+
+	@Override
+	public double getFirst(){
+		if(this.size==0){
+			throw new NoSuchElementException();
+		}
+		return this.data[this.head];
+	}
+
+	@Override
+	public double getLast(){
+		if(this.size==0){
+			throw new NoSuchElementException();
+		}
+		return this.data[(this.head + this.size - 1) & (this.data.length - 1)];
+	}
+
+	@Override
+	public boolean contains(double value){
+		int mask = this.data.length - 1;
+		for(int i=0; i<this.size; i++){
+			if(Double.doubleToLongBits(this.data[(this.head + i) & mask])==Double.doubleToLongBits(value)){
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public double[] toArray(){
+		double[] ret = new double[this.size];
+		int headPart = Math.min(this.size, this.data.length - this.head);
+		System.arraycopy(this.data, this.head, ret, 0, headPart);
+		System.arraycopy(this.data, 0, ret, headPart, this.size - headPart);
+		return ret;
+	}
+
+	@Override
+	public PrimitiveIterator.OfDouble iterator(){
+		return new PrimitiveIterator.OfDouble(){
+			int cursor = 0;
+
+			@Override
+			public boolean hasNext(){
+				return this.cursor<DoubleArrayDeque.this.size;
+			}
+
+			@Override
+			public double nextDouble(){
+				if(this.cursor>=DoubleArrayDeque.this.size){
+					throw new NoSuchElementException();
+				}
+				double[] data = DoubleArrayDeque.this.data;
+				return data[(DoubleArrayDeque.this.head + this.cursor++) & (data.length - 1)];
+			}
+		};
+	}
+
+	@Override
+	public void forEach(DoubleConsumer action){
+		int mask = this.data.length - 1;
+		for(int i=0; i<this.size; i++){
+			action.accept(this.data[(this.head + i) & mask]);
+		}
+	}
+
+	@Override
+	public String toString(){
+		StringBuilder ret = new StringBuilder(this.size * 4 + 2).append('[');
+		int mask = this.data.length - 1;
+		for(int i=0; i<this.size; i++){
+			if(i>0){
+				ret.append(", ");
+			}
+			ret.append(this.data[(this.head + i) & mask]);
+		}
+		return ret.append(']').toString();
+	}
+}
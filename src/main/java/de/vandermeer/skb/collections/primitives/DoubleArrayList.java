@@ -0,0 +1,284 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.vandermeer.skb.collections.primitives;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.DoubleConsumer;
+
+/**
+ * A list of primitive double values backed by a growable array.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public class DoubleArrayList implements DoubleList {
+
+	/** Shared empty array for lists created without capacity. */
+	private static final double[] EMPTY = {};
+
+	/** Capacity used on first growth of an empty list. */
+	private static final int DEFAULT_CAPACITY = 10;
+
+	/** Maximum array size, some VMs reserve header words in an array. */
+	private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+	/** The list values, only the first size elements are valid. */
+	private double[] data;
+
+	/** Number of values in the list. */
+	private int size;
+
+	/**
+	 * Returns a new empty list.
+	 */
+	public DoubleArrayList(){
+		this.data = EMPTY;
+	}
+
+	/**
+	 * Returns a new empty list sized for an expected number of values.
+	 * @param expectedSize number of values the list is expected to hold
+	 * @throws IllegalArgumentException if the expected size is negative
+	 */
+	public DoubleArrayList(int expectedSize){
+		if(expectedSize<0){
+			throw new IllegalArgumentException("expected size must not be negative: " + expectedSize);
+		}
+		this.data = (expectedSize==0)?EMPTY:new double[expectedSize];
+	}
+
+	/**
+	 * Returns a new list with a copy of the given values.
+	 * @param values input values, must not be null
+	 */
+	public DoubleArrayList(double[] values){
+		this.data = Arrays.copyOf(values, values.length);
+		this.size = values.length;
+	}
+
+	/**
+	 * Makes sure the list can hold the given number of values without growing.
+	 * @param minCapacity required capacity
+	 */
+	public void ensureCapacity(int minCapacity){
+		if(minCapacity>this.data.length){
+			this.grow(minCapacity);
+		}
+	}
+
+	/**
+	 * Reduces the capacity of the list to its size.
+	 */
+	public void trimToSize(){
+		if(this.size<this.data.length){
+			this.data = (this.size==0)?EMPTY:Arrays.copyOf(this.data, this.size);
+		}
+	}
+
+	private void grow(int minCapacity){
+		if(minCapacity<0 || minCapacity>MAX_ARRAY_SIZE){
+			throw new OutOfMemoryError("required capacity exceeds maximum array size");
+		}
+		int capacity = this.data.length + (this.data.length >> 1);
+		if(capacity<minCapacity || capacity<0){
+			capacity = minCapacity;
+		}
+		if(capacity<DEFAULT_CAPACITY){
+			capacity = DEFAULT_CAPACITY;
+		}
+		if(capacity>MAX_ARRAY_SIZE){
+			capacity = MAX_ARRAY_SIZE;
+		}
+		this.data = Arrays.copyOf(this.data, capacity);
+	}
+
+	private void checkIndex(int index){
+		if(index<0 || index>=this.size){
+			throw new IndexOutOfBoundsException("index: " + index + ", size: " + this.size);
+		}
+	}
+
+	@Override
+	public int size(){
+		return this.size;
+	}
+
+	@Override
+	public void clear(){
+		this.size = 0;
+	}
+
+	@Override
+	public boolean add(double value){
+		if(this.size==this.data.length){
+			this.grow(this.size + 1);
+		}
+		this.data[this.size++] = value;
+		return true;
+	}
+
+	@Override
+	public void add(int index, double value){
+		if(index<0 || index>this.size){
+			throw new IndexOutOfBoundsException("index: " + index + ", size: " + this.size);
+		}
+		if(this.size==this.data.length){
+			this.grow(this.size + 1);
+		}
+		System.arraycopy(this.data, index, this.data, index + 1, this.size - index);
+		this.data[index] = value;
+		this.size++;
+	}
+
+	@Override
+	public boolean addAll(double[] values, int offset, int length){
+		if(offset<0 || length<0 || offset>values.length-length){
+			throw new IndexOutOfBoundsException("offset: " + offset + ", length: " + length + ", array length: " + values.length);
+		}
+		this.ensureCapacity(this.size + length);
+		System.arraycopy(values, offset, this.data, this.size, length);
+		this.size += length;
+		return length>0;
+	}
+
+	@Override
+	public boolean addAll(DoubleCollection values){
+		if(values instanceof DoubleArrayList){
+			DoubleArrayList list = (DoubleArrayList)values;
+			return this.addAll(list.data, 0, list.size);
+		}
+		this.ensureCapacity(this.size + values.size());
+		return DoubleList.super.addAll(values);
+	}
+
+	@Override
+	public double get(int index){
+		this.checkIndex(index);
+		return this.data[index];
+	}
+
+	@Override
+	public double set(int index, double value){
+		this.checkIndex(index);
+		double ret = this.data[index];
+		this.data[index] = value;
+		return ret;
+	}
+
+	@Override
+	public double removeAt(int index){
+		this.checkIndex(index);
+		double ret = this.data[index];
+		System.arraycopy(this.data, index + 1, this.data, index, this.size - index - 1);
+		this.size--;
+		return ret;
+	}
+
+	@Override
+	public int indexOf(double value){
+		for(int i=0; i<this.size; i++){
+			if(Double.doubleToLongBits(this.data[i])==Double.doubleToLongBits(value)){
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public int lastIndexOf(double value){
+		for(int i=this.size-1; i>=0; i--){
+			if(Double.doubleToLongBits(this.data[i])==Double.doubleToLongBits(value)){
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public double[] toArray(){
+		return Arrays.copyOf(this.data, this.size);
+	}
+
+	@Override
+	public PrimitiveIterator.OfDouble iterator(){
+		return new PrimitiveIterator.OfDouble(){
+			int cursor = 0;
+
+			@Override
+			public boolean hasNext(){
+				return this.cursor<DoubleArrayList.this.size;
+			}
+
+			@Override
+			public double nextDouble(){
+				if(this.cursor>=DoubleArrayList.this.size){
+					throw new NoSuchElementException();
+				}
+				return DoubleArrayList.this.data[this.cursor++];
+			}
+		};
+	}
+
+	@Override
+	public void forEach(DoubleConsumer action){
+		for(int i=0; i<this.size; i++){
+			action.accept(this.data[i]);
+		}
+	}
+
+	@Override
+	public boolean equals(Object obj){
+		if(obj==this){
+			return true;
+		}
+		if(!(obj instanceof DoubleList)){
+			return false;
+		}
+		DoubleList other = (DoubleList)obj;
+		if(other.size()!=this.size){
+			return false;
+		}
+		for(int i=0; i<this.size; i++){
+			if(Double.doubleToLongBits(this.data[i])!=Double.doubleToLongBits(other.get(i))){
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode(){
+		int ret = 1;
+		for(int i=0; i<this.size; i++){
+			ret = 31 * ret + Double.hashCode(this.data[i]);
+		}
+		return ret;
+	}
+
+	@Override
+	public String toString(){
+		StringBuilder ret = new StringBuilder(this.size * 4 + 2).append('[');
+		for(int i=0; i<this.size; i++){
+			if(i>0){
+				ret.append(", ");
+			}
+			ret.append(this.data[i]);
+		}
+		return ret.append(']').toString();
+	}
+}
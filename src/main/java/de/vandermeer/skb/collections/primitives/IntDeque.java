@@ -0,0 +1,72 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.vandermeer.skb.collections.primitives;
+
+/**
+ * A collection of primitive int values supporting insertion and removal at both ends.
+ * The add method inserts at the tail, iteration runs from head to tail.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public interface IntDeque extends IntCollection {
+
+	/**
+	 * Inserts a value at the head of the deque.
+	 * @param value value to insert
+	 */
+	void addFirst(int value);
+
+	/**
+	 * Inserts a value at the tail of the deque.
+	 * @param value value to insert
+	 */
+	void addLast(int value);
+
+	/**
+	 * Removes and returns the value at the head of the deque.
+	 * @return head value
+	 * @throws java.util.NoSuchElementException if the deque is empty
+	 */
+	int removeFirst();
+
+	/**
+	 * Removes and returns the value at the tail of the deque.
+	 * @return tail value
+	 * @throws java.util.NoSuchElementException if the deque is empty
+	 */
+	int removeLast();
+
+	/**
+	 * Returns the value at the head of the deque without removing it.
+	 * @return head value
+	 * @throws java.util.NoSuchElementException if the deque is empty
+	 */
+	int getFirst();
+
+	/**
+	 * Returns the value at the tail of the deque without removing it.
+	 * @return tail value
+	 * @throws java.util.NoSuchElementException if the deque is empty
+	 */
+	int getLast();
+
+	@Override
+	default boolean add(int value){
+		this.addLast(value);
+		return true;
+	}
+}
@@ -0,0 +1,77 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.vandermeer.skb.collections.primitives;
+
+/**
+ * An ordered collection of primitive int values with access by index.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public interface IntList extends IntCollection {
+
+	/**
+	 * Returns the value at the given position.
+	 * @param index position of the value
+	 * @return value at the position
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	int get(int index);
+
+	/**
+	 * Replaces the value at the given position.
+	 * @param index position of the value
+	 * @param value new value
+	 * @return value previously at the position
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	int set(int index, int value);
+
+	/**
+	 * Inserts a value at the given position, shifting subsequent values to the right.
+	 * @param index position for the value
+	 * @param value value to insert
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	void add(int index, int value);
+
+	/**
+	 * Removes the value at the given position, shifting subsequent values to the left.
+	 * @param index position of the value
+	 * @return removed value
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	int removeAt(int index);
+
+	/**
+	 * Returns the position of the first occurrence of a value.
+	 * @param value value to search for
+	 * @return position of the value, -1 if not contained
+	 */
+	int indexOf(int value);
+
+	/**
+	 * Returns the position of the last occurrence of a value.
+	 * @param value value to search for
+	 * @return position of the value, -1 if not contained
+	 */
+	int lastIndexOf(int value);
+
+	@Override
+	default boolean contains(int value){
+		return this.indexOf(value)>=0;
+	}
+}
@@ -0,0 +1,118 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.vandermeer.skb.collections.primitives;
+
+import java.util.PrimitiveIterator;
+import java.util.function.LongConsumer;
+
+/**
+ * Root interface for collections of primitive long values, storing elements without boxing.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public interface LongCollection {
+
+	/**
+	 * Returns the number of elements in the collection.
+	 * @return number of elements
+	 */
+	int size();
+
+	/**
+	 * Test if the collection contains no elements.
+	 * @return true if empty, false otherwise
+	 */
+	default boolean isEmpty(){
+		return this.size()==0;
+	}
+
+	/**
+	 * Removes all elements from the collection.
+	 */
+	void clear();
+
+	/**
+	 * Adds a value to the collection.
+	 * @param value value to add
+	 * @return true if the collection changed, false otherwise
+	 */
+	boolean add(long value);
+
+	/**
+	 * Test if the collection contains a value.
+	 * @param value value to test for
+	 * @return true if contained, false otherwise
+	 */
+	boolean contains(long value);
+
+	/**
+	 * Adds all values of an array to the collection.
+	 * @param values input array, must not be null
+	 * @return true if the collection changed, false otherwise
+	 */
+	default boolean addAll(long[] values){
+		return this.addAll(values, 0, values.length);
+	}
+
+	/**
+	 * Adds a range of values of an array to the collection.
+	 * @param values input array, must not be null
+	 * @param offset index of the first value to add
+	 * @param length number of values to add
+	 * @return true if the collection changed, false otherwise
+	 * @throws IndexOutOfBoundsException if offset and length do not describe a range in the array
+	 */
+	boolean addAll(long[] values, int offset, int length);
+
+	/**
+	 * Adds all values of another collection to the collection.
+	 * @param values input collection, must not be null
+	 * @return true if the collection changed, false otherwise
+	 */
+	default boolean addAll(LongCollection values){
+		boolean ret = false;
+		PrimitiveIterator.OfLong it = values.iterator();
+		while(it.hasNext()){
+			ret |= this.add(it.nextLong());
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns a new array with all values of the collection, in iteration order.
+	 * @return new array, empty if the collection is empty
+	 */
+	long[] toArray();
+
+	/**
+	 * Returns an iterator over the values of the collection.
+	 * The iterator does not support removal.
+	 * @return new iterator
+	 */
+	PrimitiveIterator.OfLong iterator();
+
+	/**
+	 * Performs an action for each value of the collection, in iteration order.
+	 * @param action action to perform
+	 */
+	default void forEach(LongConsumer action){
+		PrimitiveIterator.OfLong it = this.iterator();
+		while(it.hasNext()){
+			action.accept(it.nextLong());
+		}
+	}
+}
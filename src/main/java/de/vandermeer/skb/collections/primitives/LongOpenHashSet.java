@@ -0,0 +1,362 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.vandermeer.skb.collections.primitives;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.LongConsumer;
+
+/**
+ * A set of primitive long values backed by an open addressing hash table with linear probing.
+ * Keys are stored inline in a single array, removal uses backward shift deletion so the table never contains tombstones.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public class LongOpenHashSet implements LongSet {
+
+	/** Default load factor of the set. */
+	public static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+	/** Minimum capacity of the table. */
+	private static final int MIN_CAPACITY = 4;
+
+	/** Maximum capacity of the table, largest power of two for an array. */
+	private static final int MAX_CAPACITY = 1 << 30;
+
+	/** The hash table, a slot holding the free key is empty. */
+	private long[] keys;
+
+	/** Flag for the free key, which is kept outside the table. */
+	private boolean containsFree;
+
+	/** Number of keys in the table, not counting the free key. */
+	private int assigned;
+
+	/** Maximum number of keys in the table before it is resized. */
+	private int threshold;
+
+	/** Load factor of the table. */
+	private final float loadFactor;
+
+	/**
+	 * Returns a new empty set.
+	 */
+	public LongOpenHashSet(){
+		this(0, DEFAULT_LOAD_FACTOR);
+	}
+
+	/**
+	 * Returns a new empty set sized for an expected number of values.
+	 * @param expectedSize number of values the set is expected to hold
+	 * @throws IllegalArgumentException if the expected size is negative
+	 */
+	public LongOpenHashSet(int expectedSize){
+		this(expectedSize, DEFAULT_LOAD_FACTOR);
+	}
+
+	/**
+	 * Returns a new empty set sized for an expected number of values.
+	 * @param expectedSize number of values the set is expected to hold
+	 * @param loadFactor load factor of the table, must be larger than 0 and smaller than 1
+	 * @throws IllegalArgumentException if the expected size is negative or the load factor is out of range
+	 */
+	public LongOpenHashSet(int expectedSize, float loadFactor){
+		if(expectedSize<0){
+			throw new IllegalArgumentException("expected size must not be negative: " + expectedSize);
+		}
+		if(!(loadFactor>0 && loadFactor<1)){
+			throw new IllegalArgumentException("load factor must be in (0, 1): " + loadFactor);
+		}
+		this.loadFactor = loadFactor;
+		this.allocate(this.capacityFor(expectedSize));
+	}
+
+	/**
+	 * Returns a new set with the given values.
+	 * @param values input values, must not be null
+	 */
+	public LongOpenHashSet(long[] values){
+		this(values.length, DEFAULT_LOAD_FACTOR);
+		this.addAll(values, 0, values.length);
+	}
+
+	private int capacityFor(int expectedSize){
+		double needed = Math.ceil(expectedSize / (double)this.loadFactor);
+		if(needed>=MAX_CAPACITY){
+			return MAX_CAPACITY;
+		}
+		int ret = MIN_CAPACITY;
+		while(ret<needed){
+			ret <<= 1;
+		}
+		return ret;
+	}
+
+	private void allocate(int capacity){
+		this.keys = new long[capacity];
+		this.threshold = Math.max(1, Math.min(capacity - 1, (int)(capacity * this.loadFactor)));
+	}
+
+	private static int mix(long key){
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int)(h ^ (h >>> 32));
+	}
+
+	private void rehash(int capacity){
+		if(capacity>MAX_CAPACITY || capacity<=0){
+			throw new IllegalStateException("set too big, maximum capacity reached");
+		}
+		long[] old = this.keys;
+		this.allocate(capacity);
+		int mask = capacity - 1;
+		for(int i=0; i<old.length; i++){
+			long key = old[i];
+			if(key!=0){
+				int slot = mix(key) & mask;
+				while(this.keys[slot]!=0){
+					slot = (slot + 1) & mask;
+				}
+				this.keys[slot] = key;
+			}
+		}
+	}
+
+	/**
+	 * Makes sure the set can hold the given number of values without resizing.
+	 * @param expectedSize number of values the set is expected to hold
+	 */
+	public void ensureCapacity(int expectedSize){
+		int capacity = this.capacityFor(expectedSize);
+		if(capacity>this.keys.length){
+			this.rehash(capacity);
+		}
+	}
+
+	@Override
+	public int size(){
+		return this.assigned + (this.containsFree?1:0);
+	}
+
+	@Override
+	public void clear(){
+		Arrays.fill(this.keys, (long)0);
+		this.assigned = 0;
+		this.containsFree = false;
+	}
+
+	@Override
+	public boolean add(long value){
+		long key = value;
+		if(key==0){
+			if(this.containsFree){
+				return false;
+			}
+			this.containsFree = true;
+			return true;
+		}
+		int mask = this.keys.length - 1;
+		int slot = mix(key) & mask;
+		while(this.keys[slot]!=0){
+			if(this.keys[slot]==key){
+				return false;
+			}
+			slot = (slot + 1) & mask;
+		}
+		if(this.assigned>=this.threshold){
+			this.rehash(this.keys.length << 1);
+			mask = this.keys.length - 1;
+			slot = mix(key) & mask;
+			while(this.keys[slot]!=0){
+				slot = (slot + 1) & mask;
+			}
+		}
+		this.keys[slot] = key;
+		this.assigned++;
+		return true;
+	}
+
+	@Override
+	public boolean addAll(long[] values, int offset, int length){
+		if(offset<0 || length<0 || offset>values.length-length){
+			throw new IndexOutOfBoundsException("offset: " + offset + ", length: " + length + ", array length: " + values.length);
+		}
+		this.ensureCapacity(this.size() + length);
+		boolean ret = false;
+		for(int i=offset; i<offset+length; i++){
+			ret |= this.add(values[i]);
+		}
+		return ret;
+	}
+
+	@Override
+	public boolean contains(long value){
+		long key = value;
+		if(key==0){
+			return this.containsFree;
+		}
+		int mask = this.keys.length - 1;
+		int slot = mix(key) & mask;
+		while(this.keys[slot]!=0){
+			if(this.keys[slot]==key){
+				return true;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return false;
+	}
+
+	@Override
+	public boolean remove(long value){
+		long key = value;
+		if(key==0){
+			boolean ret = this.containsFree;
+			this.containsFree = false;
+			return ret;
+		}
+		int mask = this.keys.length - 1;
+		int slot = mix(key) & mask;
+		while(this.keys[slot]!=key){
+			if(this.keys[slot]==0){
+				return false;
+			}
+			slot = (slot + 1) & mask;
+		}
+
+		//backward shift: move later keys of the probe sequence into the gap, if their home slot allows it
+		int gap = slot;
+		int next = (gap + 1) & mask;
+		while(this.keys[next]!=0){
+			int home = mix(this.keys[next]) & mask;
+			if(((next - home) & mask) >= ((next - gap) & mask)){
+				this.keys[gap] = this.keys[next];
+				gap = next;
+			}
+			next = (next + 1) & mask;
+		}
+		this.keys[gap] = 0;
+		this.assigned--;
+		return true;
+	}
+
+	@Override
+	public long[] toArray(){
+		long[] ret = new long[this.size()];
+		int pos = 0;
+		if(this.containsFree){
+			ret[pos++] = 0;
+		}
+		for(int i=0; i<this.keys.length; i++){
+			if(this.keys[i]!=0){
+				ret[pos++] = this.keys[i];
+			}
+		}
+		return ret;
+	}
+
+	@Override
+	public PrimitiveIterator.OfLong iterator(){
+		return new PrimitiveIterator.OfLong(){
+			boolean free = LongOpenHashSet.this.containsFree;
+			int slot = this.advance(0);
+
+			private int advance(int from){
+				long[] keys = LongOpenHashSet.this.keys;
+				int ret = from;
+				while(ret<keys.length && keys[ret]==0){
+					ret++;
+				}
+				return ret;
+			}
+
+			@Override
+			public boolean hasNext(){
+				return this.free || this.slot<LongOpenHashSet.this.keys.length;
+			}
+
+			@Override
+			public long nextLong(){
+				if(this.free){
+					this.free = false;
+					return 0;
+				}
+				if(this.slot>=LongOpenHashSet.this.keys.length){
+					throw new NoSuchElementException();
+				}
+				long ret = LongOpenHashSet.this.keys[this.slot];
+				this.slot = this.advance(this.slot + 1);
+				return ret;
+			}
+		};
+	}
+
+	@Override
+	public void forEach(LongConsumer action){
+		if(this.containsFree){
+			action.accept(0);
+		}
+		for(int i=0; i<this.keys.length; i++){
+			if(this.keys[i]!=0){
+				action.accept(this.keys[i]);
+			}
+		}
+	}
+
+	@Override
+	public boolean equals(Object obj){
+		if(obj==this){
+			return true;
+		}
+		if(!(obj instanceof LongSet)){
+			return false;
+		}
+		LongSet other = (LongSet)obj;
+		if(other.size()!=this.size()){
+			return false;
+		}
+		PrimitiveIterator.OfLong it = this.iterator();
+		while(it.hasNext()){
+			if(!other.contains(it.nextLong())){
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode(){
+		int ret = 0;
+		PrimitiveIterator.OfLong it = this.iterator();
+		while(it.hasNext()){
+			ret += Long.hashCode(it.nextLong());
+		}
+		return ret;
+	}
+
+	@Override
+	public String toString(){
+		StringBuilder ret = new StringBuilder(this.size() * 4 + 2).append('[');
+		PrimitiveIterator.OfLong it = this.iterator();
+		while(it.hasNext()){
+			ret.append(it.nextLong());
+			if(it.hasNext()){
+				ret.append(", ");
+			}
+		}
+		return ret.append(']').toString();
+	}
+}
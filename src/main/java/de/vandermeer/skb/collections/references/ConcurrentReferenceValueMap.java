@@ -0,0 +1,227 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections.references;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import de.vandermeer.skb.collections.references.Strength.ValueReference;
+
+/**
+ * A thread-safe map with string keys holding its values through soft or weak references, backed by a concurrent hash map.
+ *
+ * Reads and writes drain the reference queue and remove the entries of reclaimed values, see {@link ReferenceValueMap} for details.
+ * The {@link ConcurrentMap} operations are atomic and treat an entry whose value has been reclaimed as absent,
+ * for instance {@link #computeIfAbsent(String, Function)} computes a new value for it, which makes the map usable for concurrent memoization.
+ * As for the backing map, the functions given to the compute and merge methods must be short and must not update this map.
+ * Iterators are weakly consistent and never throw a {@link java.util.ConcurrentModificationException}.
+ * Keys and values must not be null.
+ *
+ * @param <T> type of the map values
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public class ConcurrentReferenceValueMap<T> extends ReferenceValueMap<T> implements ConcurrentMap<String, T> {
+
+	/** Entries, the backing map of the super class. */
+	private final ConcurrentHashMap<String, ValueReference<T>> map;
+
+	/**
+	 * Returns a new empty map.
+	 * @param strength strength of the value references
+	 * @throws NullPointerException if strength is null
+	 */
+	public ConcurrentReferenceValueMap(Strength strength){
+		this(strength, 16);
+	}
+
+	/**
+	 * Returns a new empty map sized for an expected number of entries.
+	 * @param strength strength of the value references
+	 * @param expectedSize number of entries the map is expected to hold
+	 * @throws IllegalArgumentException if the expected size is negative
+	 * @throws NullPointerException if strength is null
+	 */
+	public ConcurrentReferenceValueMap(Strength strength, int expectedSize){
+		this(strength, new ConcurrentHashMap<String, ValueReference<T>>(expectedSize));
+	}
+
+	private ConcurrentReferenceValueMap(Strength strength, ConcurrentHashMap<String, ValueReference<T>> map){
+		super(strength, map, true);
+		this.map = map;
+	}
+
+	private static void CHECK(Object key, Object value){
+		if(key==null || value==null){
+			throw new NullPointerException("keys and values must not be null");
+		}
+	}
+
+	@Override
+	public T putIfAbsent(String key, T value){
+		CHECK(key, value);
+		this.purge();
+		ValueReference<T> ref = this.reference(key, value);
+		while(true){
+			ValueReference<T> old = this.map.putIfAbsent(key, ref);
+			if(old==null){
+				return null;
+			}
+			T current = old.get();
+			if(current!=null){
+				return current;
+			}
+			//reclaimed value, take its place unless another thread did
+			if(this.map.replace(key, old, ref)){
+				return null;
+			}
+		}
+	}
+
+	@Override
+	public boolean remove(Object key, Object value){
+		if(key==null || value==null){
+			return false;
+		}
+		this.purge();
+		while(true){
+			ValueReference<T> old = this.map.get(key);
+			T current = value(old);
+			if(current==null || !current.equals(value)){
+				return false;
+			}
+			if(this.map.remove(key, old)){
+				return true;
+			}
+		}
+	}
+
+	@Override
+	public boolean replace(String key, T oldValue, T newValue){
+		CHECK(key, newValue);
+		if(oldValue==null){
+			throw new NullPointerException("values must not be null");
+		}
+		this.purge();
+		ValueReference<T> ref = this.reference(key, newValue);
+		while(true){
+			ValueReference<T> old = this.map.get(key);
+			T current = value(old);
+			if(current==null || !current.equals(oldValue)){
+				return false;
+			}
+			if(this.map.replace(key, old, ref)){
+				return true;
+			}
+		}
+	}
+
+	@Override
+	public T replace(String key, T value){
+		CHECK(key, value);
+		this.purge();
+		ValueReference<T> ref = this.reference(key, value);
+		while(true){
+			ValueReference<T> old = this.map.get(key);
+			T current = value(old);
+			if(current==null){
+				return null;
+			}
+			if(this.map.replace(key, old, ref)){
+				return current;
+			}
+		}
+	}
+
+	@Override
+	public T computeIfAbsent(String key, Function<? super String, ? extends T> mappingFunction){
+		if(key==null || mappingFunction==null){
+			throw new NullPointerException("key and function must not be null");
+		}
+		this.purge();
+		//strong reference to the result, the new reference alone would not keep it alive
+		Object[] ret = new Object[1];
+		this.map.compute(key, (k, old) -> {
+			T current = value(old);
+			if(current==null){
+				current = mappingFunction.apply(k);
+				ret[0] = current;
+				return (current==null)?null:this.reference(k, current);
+			}
+			ret[0] = current;
+			return old;
+		});
+		return this.result(ret);
+	}
+
+	@Override
+	public T computeIfPresent(String key, BiFunction<? super String, ? super T, ? extends T> remappingFunction){
+		if(key==null || remappingFunction==null){
+			throw new NullPointerException("key and function must not be null");
+		}
+		this.purge();
+		Object[] ret = new Object[1];
+		this.map.computeIfPresent(key, (k, old) -> {
+			T current = value(old);
+			if(current==null){
+				return null;
+			}
+			current = remappingFunction.apply(k, current);
+			ret[0] = current;
+			return (current==null)?null:this.reference(k, current);
+		});
+		return this.result(ret);
+	}
+
+	@Override
+	public T compute(String key, BiFunction<? super String, ? super T, ? extends T> remappingFunction){
+		if(key==null || remappingFunction==null){
+			throw new NullPointerException("key and function must not be null");
+		}
+		this.purge();
+		Object[] ret = new Object[1];
+		this.map.compute(key, (k, old) -> {
+			T current = remappingFunction.apply(k, value(old));
+			ret[0] = current;
+			return (current==null)?null:this.reference(k, current);
+		});
+		return this.result(ret);
+	}
+
+	@Override
+	public T merge(String key, T value, BiFunction<? super T, ? super T, ? extends T> remappingFunction){
+		CHECK(key, value);
+		if(remappingFunction==null){
+			throw new NullPointerException("function must not be null");
+		}
+		this.purge();
+		Object[] ret = new Object[1];
+		this.map.compute(key, (k, old) -> {
+			T current = value(old);
+			current = (current==null)?value:remappingFunction.apply(current, value);
+			ret[0] = current;
+			return (current==null)?null:this.reference(k, current);
+		});
+		return this.result(ret);
+	}
+
+	@SuppressWarnings("unchecked")
+	private T result(Object[] ret){
+		return (T)ret[0];
+	}
+}
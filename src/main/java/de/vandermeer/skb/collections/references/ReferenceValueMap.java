@@ -0,0 +1,288 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.vandermeer.skb.collections.references;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import de.vandermeer.skb.collections.CollectionTools;
+import de.vandermeer.skb.collections.references.Strength.ValueReference;
+
+/**
+ * A map with string keys holding its values through soft or weak references, so the garbage collector can reclaim values under memory pressure.
+ *
+ * References of reclaimed values are enqueued in a reference queue.
+ * Write operations (and, for the concurrent map, reads as well) drain the queue and remove the entries of reclaimed values,
+ * so the map shrinks with the values it loses instead of keeping stale entries.
+ * A reclaimed value reads like a missing entry even before its entry has been removed.
+ * The size can include entries whose values have been reclaimed but not yet enqueued.
+ *
+ * Keys and values must not be null.
+ * The map is not thread-safe, see {@link ConcurrentReferenceValueMap} for a thread-safe variant.
+ *
+ * @param <T> type of the map values
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public class ReferenceValueMap<T> extends AbstractMap<String, T> {
+
+	/** Entries, mapping keys to references of values. */
+	private final Map<String, ValueReference<T>> backing;
+
+	/** Queue of references to reclaimed values. */
+	private final ReferenceQueue<T> queue = new ReferenceQueue<T>();
+
+	/** Strength of the value references. */
+	private final Strength strength;
+
+	/** Flag for draining the queue on reads, only safe if iterators of the backing map tolerate concurrent changes. */
+	private final boolean purgeOnRead;
+
+	/** Entry set view, created on demand. */
+	private Set<Entry<String, T>> entrySet;
+
+	/**
+	 * Returns a new empty map.
+	 * @param strength strength of the value references
+	 * @throws NullPointerException if strength is null
+	 */
+	public ReferenceValueMap(Strength strength){
+		this(strength, 0);
+	}
+
+	/**
+	 * Returns a new empty map sized for an expected number of entries.
+	 * @param strength strength of the value references
+	 * @param expectedSize number of entries the map is expected to hold
+	 * @throws IllegalArgumentException if the expected size is negative
+	 * @throws NullPointerException if strength is null
+	 */
+	public ReferenceValueMap(Strength strength, int expectedSize){
+		this(strength, new HashMap<String, ValueReference<T>>(CollectionTools.HASH_CAPACITY(expectedSize, CollectionTools.DEFAULT_LOAD_FACTOR)), false);
+	}
+
+	/**
+	 * Returns a new map using the given backing map.
+	 * @param strength strength of the value references
+	 * @param backing empty backing map
+	 * @param purgeOnRead true to drain the queue on reads as well
+	 */
+	ReferenceValueMap(Strength strength, Map<String, ValueReference<T>> backing, boolean purgeOnRead){
+		if(strength==null){
+			throw new NullPointerException("strength must not be null");
+		}
+		this.strength = strength;
+		this.backing = backing;
+		this.purgeOnRead = purgeOnRead;
+	}
+
+	/**
+	 * Returns the strength of the value references.
+	 * @return strength
+	 */
+	public Strength getStrength(){
+		return this.strength;
+	}
+
+	/**
+	 * Removes the entries of all values reclaimed so far.
+	 * Write operations call this method, calling it directly frees entries without waiting for the next write.
+	 */
+	@SuppressWarnings("unchecked")
+	public void purge(){
+		Reference<? extends T> ref;
+		while((ref = this.queue.poll())!=null){
+			ValueReference<T> value = (ValueReference<T>)ref;
+			//only remove the entry if it has not been replaced since
+			this.backing.remove(value.key(), value);
+		}
+	}
+
+	private void purgeOnRead(){
+		if(this.purgeOnRead){
+			this.purge();
+		}
+	}
+
+	/**
+	 * Returns a new reference to a value, registered with the queue of this map.
+	 * @param key the key of the entry
+	 * @param value the value
+	 * @return new reference
+	 */
+	ValueReference<T> reference(String key, T value){
+		return this.strength.reference(key, value, this.queue);
+	}
+
+	static <T> T value(ValueReference<T> ref){
+		return (ref==null)?null:ref.get();
+	}
+
+	/**
+	 * Returns the number of entries after removing the entries of reclaimed values enqueued so far.
+	 * @return number of entries
+	 */
+	@Override
+	public int size(){
+		this.purge();
+		return this.backing.size();
+	}
+
+	@Override
+	public boolean containsKey(Object key){
+		this.purgeOnRead();
+		return key!=null && value(this.backing.get(key))!=null;
+	}
+
+	@Override
+	public T get(Object key){
+		this.purgeOnRead();
+		return (key==null)?null:value(this.backing.get(key));
+	}
+
+	@Override
+	public T put(String key, T value){
+		if(key==null || value==null){
+			throw new NullPointerException("keys and values must not be null");
+		}
+		this.purge();
+		return value(this.backing.put(key, this.strength.reference(key, value, this.queue)));
+	}
+
+	@Override
+	public T remove(Object key){
+		if(key==null){
+			return null;
+		}
+		this.purge();
+		return value(this.backing.remove(key));
+	}
+
+	@Override
+	public void clear(){
+		this.backing.clear();
+		this.purge();
+	}
+
+	@Override
+	public Set<Entry<String, T>> entrySet(){
+		if(this.entrySet==null){
+			this.entrySet = new AbstractSet<Entry<String, T>>(){
+				@Override
+				public Iterator<Entry<String, T>> iterator(){
+					ReferenceValueMap.this.purge();
+					return new EntryIterator();
+				}
+
+				@Override
+				public int size(){
+					return ReferenceValueMap.this.size();
+				}
+
+				@Override
+				public void clear(){
+					ReferenceValueMap.this.clear();
+				}
+			};
+		}
+		return this.entrySet;
+	}
+
+	/**
+	 * Iterator over the entries with values not reclaimed, holding the value of the next entry strongly.
+	 */
+	private class EntryIterator implements Iterator<Entry<String, T>> {
+
+		/** Iterator of the backing map. */
+		final Iterator<Entry<String, ValueReference<T>>> it = ReferenceValueMap.this.backing.entrySet().iterator();
+
+		/** Next entry, with a strong reference to its value, null if none. */
+		Entry<String, T> next;
+
+		/** Value reference of the next entry. */
+		ValueReference<T> nextRef;
+
+		/** Value reference of the last returned entry, null if none. */
+		ValueReference<T> last;
+
+		EntryIterator(){
+			this.advance();
+		}
+
+		private void advance(){
+			this.next = null;
+			while(this.next==null && this.it.hasNext()){
+				Entry<String, ValueReference<T>> entry = this.it.next();
+				T value = entry.getValue().get();
+				if(value!=null){
+					this.nextRef = entry.getValue();
+					this.next = new SimpleEntry<String, T>(entry.getKey(), value){
+						private static final long serialVersionUID = 1L;
+
+						@Override
+						public T setValue(T value){
+							if(value==null){
+								throw new NullPointerException("values must not be null");
+							}
+							super.setValue(value);
+							//no purge, it would change the backing map under the iterator
+							return value(ReferenceValueMap.this.backing.put(this.getKey(), ReferenceValueMap.this.strength.reference(this.getKey(), value, ReferenceValueMap.this.queue)));
+						}
+					};
+				}
+			}
+		}
+
+		@Override
+		public boolean hasNext(){
+			return this.next!=null;
+		}
+
+		@Override
+		public Entry<String, T> next(){
+			if(this.next==null){
+				throw new NoSuchElementException();
+			}
+			Entry<String, T> ret = this.next;
+			this.last = this.nextRef;
+			this.advance();
+			return ret;
+		}
+
+		/**
+		 * Removes the last returned entry by clearing and enqueueing its value reference.
+		 * The iterator has already moved on in the backing map, so the entry itself is removed by the next purge.
+		 */
+		@Override
+		public void remove(){
+			if(this.last==null){
+				throw new IllegalStateException();
+			}
+			Reference<?> ref = (Reference<?>)this.last;
+			ref.clear();
+			ref.enqueue();
+			this.last = null;
+		}
+	}
+}
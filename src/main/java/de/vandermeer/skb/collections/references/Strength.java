@@ -0,0 +1,113 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.vandermeer.skb.collections.references;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+
+/**
+ * Strength of the references a {@link ReferenceValueMap} holds its values with.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public enum Strength {
+
+	/** Soft references, values are reclaimed when the heap runs low, least recently used first. */
+	SOFT,
+
+	/** Weak references, values are reclaimed as soon as nothing else refers to them. */
+	WEAK,
+	;
+
+	/**
+	 * Returns a new reference to a value of a map entry.
+	 * @param <T> type of the value
+	 * @param key key of the entry
+	 * @param value the value
+	 * @param queue queue the reference is enqueued in once the value has been reclaimed
+	 * @return new reference
+	 */
+	<T> ValueReference<T> reference(String key, T value, ReferenceQueue<T> queue){
+		switch(this){
+			case WEAK:
+				return new WeakValue<T>(key, value, queue);
+			case SOFT:
+			default:
+				return new SoftValue<T>(key, value, queue);
+		}
+	}
+
+	/**
+	 * A reference to the value of a map entry, knowing the key of the entry.
+	 * @param <T> type of the value
+	 */
+	interface ValueReference<T> {
+
+		/**
+		 * Returns the key of the entry.
+		 * @return key
+		 */
+		String key();
+
+		/**
+		 * Returns the value.
+		 * @return value, null if it has been reclaimed
+		 */
+		T get();
+	}
+
+	/**
+	 * Soft reference to a value.
+	 * @param <T> type of the value
+	 */
+	static final class SoftValue<T> extends SoftReference<T> implements ValueReference<T> {
+
+		/** Key of the entry. */
+		private final String key;
+
+		SoftValue(String key, T value, ReferenceQueue<T> queue){
+			super(value, queue);
+			this.key = key;
+		}
+
+		@Override
+		public String key(){
+			return this.key;
+		}
+	}
+
+	/**
+	 * Weak reference to a value.
+	 * @param <T> type of the value
+	 */
+	static final class WeakValue<T> extends WeakReference<T> implements ValueReference<T> {
+
+		/** Key of the entry. */
+		private final String key;
+
+		WeakValue(String key, T value, ReferenceQueue<T> queue){
+			super(value, queue);
+			this.key = key;
+		}
+
+		@Override
+		public String key(){
+			return this.key;
+		}
+	}
+}
@@ -0,0 +1,1310 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections.sorted;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.SortedMap;
+
+/**
+ * A navigable map backed by a B+ tree.
+ *
+ * Entries are kept in leaf nodes holding up to {@link #NODE_SIZE} keys and values in arrays, linked to their neighbours for iteration.
+ * Inner nodes hold only keys to route a search and the child nodes.
+ * Compared to a tree map, a lookup follows a few references to wide nodes and then searches a small array, instead of following one reference per comparison,
+ * which keeps lookups, range queries and iteration within few cache lines.
+ *
+ * Keys are ordered by their natural ordering or by a comparator.
+ * Null keys are not permitted with the natural ordering, null values are permitted.
+ * The map is not thread-safe, iterators are fail-fast.
+ * Entries returned by navigation methods are snapshots that do not support setting a value, entries returned by iterators write through to the map.
+ *
+ * @param <K> type of the map keys
+ * @param <V> type of the map values
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public class BTreeMap<K, V> extends AbstractMap<K, V> implements NavigableMap<K, V> {
+
+	/** Maximum number of entries of a leaf and of children of an inner node. */
+	public static final int NODE_SIZE = 64;
+
+	/** Minimum number of entries or children of a node other than the root. */
+	static final int MIN_SIZE = NODE_SIZE / 2;
+
+	/** Comparator for the keys, null for the natural ordering. */
+	private final Comparator<? super K> comparator;
+
+	/** Root node, a leaf if the tree has no inner nodes. */
+	private Node root;
+
+	/** First and last leaf. */
+	private Leaf head, tail;
+
+	/** Number of inner node levels. */
+	private int height;
+
+	/** Number of entries. */
+	private int size;
+
+	/** Number of structural modifications, for fail-fast iterators. */
+	private int modCount;
+
+	/** Inner nodes and child positions of the last search, reused by put and remove. */
+	private Branch[] path = new Branch[4];
+	private int[] pathIndex = new int[4];
+
+	/** View on all entries, used for the navigation methods. */
+	private final View all = new View(true, null, false, true, null, false, false);
+
+	/**
+	 * Returns a new empty map using the natural ordering of its keys.
+	 */
+	public BTreeMap(){
+		this((Comparator<? super K>)null);
+	}
+
+	/**
+	 * Returns a new empty map ordered by the given comparator.
+	 * @param comparator comparator for the keys, null for the natural ordering
+	 */
+	public BTreeMap(Comparator<? super K> comparator){
+		this.comparator = comparator;
+		this.clear();
+	}
+
+	/**
+	 * Returns a new map with the entries of the given map using the natural ordering of its keys.
+	 * @param map input map
+	 * @throws NullPointerException if the map is null or contains a null key
+	 * @throws ClassCastException if the keys are not comparable
+	 */
+	public BTreeMap(Map<? extends K, ? extends V> map){
+		this((Comparator<? super K>)null);
+		this.putAll(map);
+	}
+
+	/**
+	 * Returns a new map with the entries of the given sorted map, using the same ordering.
+	 * @param map input map
+	 * @throws NullPointerException if the map is null
+	 */
+	public BTreeMap(SortedMap<K, ? extends V> map){
+		this(map.comparator());
+		this.putAll(map);
+	}
+
+	/** A node of the tree, with keys in ascending order. */
+	abstract static class Node {
+		final Object[] keys = new Object[NODE_SIZE + 1];
+		int size;
+	}
+
+	/** A leaf node holding entries. */
+	static final class Leaf extends Node {
+		final Object[] values = new Object[NODE_SIZE + 1];
+		Leaf prev, next;
+
+		void insert(int index, Object key, Object value){
+			System.arraycopy(this.keys, index, this.keys, index + 1, this.size - index);
+			System.arraycopy(this.values, index, this.values, index + 1, this.size - index);
+			this.keys[index] = key;
+			this.values[index] = value;
+			this.size++;
+		}
+
+		void remove(int index){
+			this.size--;
+			System.arraycopy(this.keys, index + 1, this.keys, index, this.size - index);
+			System.arraycopy(this.values, index + 1, this.values, index, this.size - index);
+			this.keys[this.size] = null;
+			this.values[this.size] = null;
+		}
+	}
+
+	/** An inner node with size children, separated by size-1 keys; keys[i] is the smallest key of children[i+1]. */
+	static final class Branch extends Node {
+		final Node[] children = new Node[NODE_SIZE + 1];
+
+		void insert(int index, Object key, Node child){
+			System.arraycopy(this.keys, index - 1, this.keys, index, this.size - index);
+			System.arraycopy(this.children, index, this.children, index + 1, this.size - index);
+			this.keys[index - 1] = key;
+			this.children[index] = child;
+			this.size++;
+		}
+
+		void remove(int index){
+			this.size--;
+			System.arraycopy(this.keys, index, this.keys, index - 1, this.size - index);
+			System.arraycopy(this.children, index + 1, this.children, index, this.size - index);
+			this.keys[this.size - 1] = null;
+			this.children[this.size] = null;
+		}
+	}
+
+	/** Position of an entry in a leaf. */
+	static final class Position {
+		final Leaf leaf;
+		final int index;
+
+		Position(Leaf leaf, int index){
+			this.leaf = leaf;
+			this.index = index;
+		}
+
+		Object key(){
+			return this.leaf.keys[this.index];
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	final int compare(Object k1, Object k2){
+		return (this.comparator==null)?((Comparable<Object>)k1).compareTo(k2):this.comparator.compare((K)k1, (K)k2);
+	}
+
+	/**
+	 * Searches the keys of a node.
+	 * @param node the node
+	 * @param key the key
+	 * @return index of the key, or -(insertion point)-1 if the node does not contain the key
+	 */
+	private int search(Node node, Object key){
+		int lo = 0;
+		int hi = node.size - 1;
+		if(node instanceof Branch){
+			hi--;
+		}
+		while(lo<=hi){
+			int mid = (lo + hi) >>> 1;
+			int c = this.compare(node.keys[mid], key);
+			if(c<0){
+				lo = mid + 1;
+			}
+			else if(c>0){
+				hi = mid - 1;
+			}
+			else{
+				return mid;
+			}
+		}
+		return -(lo + 1);
+	}
+
+	/**
+	 * Returns the child of an inner node to search a key in.
+	 * @param branch the inner node
+	 * @param key the key
+	 * @return index of the child
+	 */
+	private int child(Branch branch, Object key){
+		int i = this.search(branch, key);
+		return (i>=0)?i + 1:-i - 1;
+	}
+
+	/**
+	 * Returns the leaf that holds a key if the map contains it, recording the path to it.
+	 * @param key the key
+	 * @return leaf for the key
+	 */
+	private Leaf descend(Object key){
+		Node node = this.root;
+		for(int d=0; d<this.height; d++){
+			Branch branch = (Branch)node;
+			int c = this.child(branch, key);
+			this.path[d] = branch;
+			this.pathIndex[d] = c;
+			node = branch.children[c];
+		}
+		return (Leaf)node;
+	}
+
+	/**
+	 * Returns the leaf that holds a key if the map contains it.
+	 * @param key the key
+	 * @return leaf for the key
+	 */
+	private Leaf leaf(Object key){
+		Node node = this.root;
+		for(int d=0; d<this.height; d++){
+			node = ((Branch)node).children[this.child((Branch)node, key)];
+		}
+		return (Leaf)node;
+	}
+
+	@Override
+	public int size(){
+		return this.size;
+	}
+
+	@Override
+	public boolean isEmpty(){
+		return this.size==0;
+	}
+
+	@Override
+	public void clear(){
+		this.head = this.tail = new Leaf();
+		this.root = this.head;
+		this.height = 0;
+		this.size = 0;
+		this.modCount++;
+	}
+
+	@Override
+	public boolean containsKey(Object key){
+		Leaf leaf = this.leaf(key);
+		return this.search(leaf, key)>=0;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public V get(Object key){
+		Leaf leaf = this.leaf(key);
+		int i = this.search(leaf, key);
+		return (i>=0)?(V)leaf.values[i]:null;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public V put(K key, V value){
+		if(this.size==0){
+			//type and null check, as the tree has no key to compare with
+			this.compare(key, key);
+		}
+		Leaf leaf = this.descend(key);
+		int i = this.search(leaf, key);
+		if(i>=0){
+			V ret = (V)leaf.values[i];
+			leaf.values[i] = value;
+			return ret;
+		}
+		leaf.insert(-i - 1, key, value);
+		this.size++;
+		this.modCount++;
+		if(leaf.size<=NODE_SIZE){
+			return null;
+		}
+
+		//split full nodes bottom up, adding the new right node to the parent
+		Node right = this.split(leaf);
+		Object separator = right.keys[0];
+		for(int d=this.height-1; d>=0; d--){
+			Branch parent = this.path[d];
+			parent.insert(this.pathIndex[d] + 1, separator, right);
+			if(parent.size<=NODE_SIZE){
+				return null;
+			}
+			Branch branch = new Branch();
+			int keep = parent.size / 2;
+			separator = parent.keys[keep - 1];
+			branch.size = parent.size - keep;
+			System.arraycopy(parent.keys, keep, branch.keys, 0, branch.size - 1);
+			System.arraycopy(parent.children, keep, branch.children, 0, branch.size);
+			for(int k=keep - 1; k<parent.size - 1; k++){
+				parent.keys[k] = null;
+			}
+			for(int k=keep; k<parent.size; k++){
+				parent.children[k] = null;
+			}
+			parent.size = keep;
+			right = branch;
+		}
+
+		//the root was split, the tree grows by one level
+		Branch root = new Branch();
+		root.children[0] = this.root;
+		root.children[1] = right;
+		root.keys[0] = separator;
+		root.size = 2;
+		this.root = root;
+		this.height++;
+		if(this.path.length<this.height){
+			this.path = new Branch[this.height * 2];
+			this.pathIndex = new int[this.height * 2];
+		}
+		return null;
+	}
+
+	/**
+	 * Splits a full leaf, moving the upper half of its entries into a new leaf.
+	 * @param leaf the leaf
+	 * @return new leaf
+	 */
+	private Leaf split(Leaf leaf){
+		Leaf ret = new Leaf();
+		int keep = leaf.size / 2;
+		ret.size = leaf.size - keep;
+		System.arraycopy(leaf.keys, keep, ret.keys, 0, ret.size);
+		System.arraycopy(leaf.values, keep, ret.values, 0, ret.size);
+		for(int k=keep; k<leaf.size; k++){
+			leaf.keys[k] = null;
+			leaf.values[k] = null;
+		}
+		leaf.size = keep;
+
+		ret.prev = leaf;
+		ret.next = leaf.next;
+		if(leaf.next==null){
+			this.tail = ret;
+		}
+		else{
+			leaf.next.prev = ret;
+		}
+		leaf.next = ret;
+		return ret;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public V remove(Object key){
+		Leaf leaf = this.descend(key);
+		int i = this.search(leaf, key);
+		if(i<0){
+			return null;
+		}
+		V ret = (V)leaf.values[i];
+		leaf.remove(i);
+		this.size--;
+		this.modCount++;
+
+		//rebalance nodes that fell below the minimum size bottom up
+		Node node = leaf;
+		for(int d=this.height-1; d>=0 && node.size<MIN_SIZE; d--){
+			this.rebalance(this.path[d], this.pathIndex[d]);
+			node = this.path[d];
+		}
+		while(this.height>0 && this.root.size==1){
+			this.root = ((Branch)this.root).children[0];
+			this.height--;
+		}
+		return ret;
+	}
+
+	/**
+	 * Rebalances a child that fell below the minimum size, by moving one entry from a sibling or by merging with a sibling.
+	 * @param parent parent of the child
+	 * @param index index of the child in the parent
+	 */
+	private void rebalance(Branch parent, int index){
+		//left and right are neighbours, separated by keys[k] of the parent
+		int k = (index>0)?index - 1:index;
+		Node left = parent.children[k];
+		Node right = parent.children[k + 1];
+
+		if(left.size + right.size<=NODE_SIZE){
+			if(left instanceof Leaf){
+				Leaf l = (Leaf)left;
+				Leaf r = (Leaf)right;
+				System.arraycopy(r.keys, 0, l.keys, l.size, r.size);
+				System.arraycopy(r.values, 0, l.values, l.size, r.size);
+				l.size += r.size;
+				l.next = r.next;
+				if(r.next==null){
+					this.tail = l;
+				}
+				else{
+					r.next.prev = l;
+				}
+			}
+			else{
+				Branch l = (Branch)left;
+				Branch r = (Branch)right;
+				l.keys[l.size - 1] = parent.keys[k];
+				System.arraycopy(r.keys, 0, l.keys, l.size, r.size - 1);
+				System.arraycopy(r.children, 0, l.children, l.size, r.size);
+				l.size += r.size;
+			}
+			parent.remove(k + 1);
+			return;
+		}
+
+		if(left instanceof Leaf){
+			Leaf l = (Leaf)left;
+			Leaf r = (Leaf)right;
+			if(l.size<r.size){
+				l.insert(l.size, r.keys[0], r.values[0]);
+				r.remove(0);
+			}
+			else{
+				r.insert(0, l.keys[l.size - 1], l.values[l.size - 1]);
+				l.remove(l.size - 1);
+			}
+			parent.keys[k] = r.keys[0];
+		}
+		else{
+			Branch l = (Branch)left;
+			Branch r = (Branch)right;
+			if(l.size<r.size){
+				l.keys[l.size - 1] = parent.keys[k];
+				l.children[l.size] = r.children[0];
+				l.size++;
+				parent.keys[k] = r.keys[0];
+				System.arraycopy(r.keys, 1, r.keys, 0, r.size - 2);
+				System.arraycopy(r.children, 1, r.children, 0, r.size - 1);
+				r.size--;
+				r.keys[r.size - 1] = null;
+				r.children[r.size] = null;
+			}
+			else{
+				System.arraycopy(r.keys, 0, r.keys, 1, r.size - 1);
+				System.arraycopy(r.children, 0, r.children, 1, r.size);
+				r.keys[0] = parent.keys[k];
+				r.children[0] = l.children[l.size - 1];
+				r.size++;
+				parent.keys[k] = l.keys[l.size - 2];
+				l.size--;
+				l.keys[l.size - 1] = null;
+				l.children[l.size] = null;
+			}
+		}
+	}
+
+	/**
+	 * Returns the position of the first entry.
+	 * @return position, null if the map is empty
+	 */
+	final Position first(){
+		return (this.size==0)?null:new Position(this.head, 0);
+	}
+
+	/**
+	 * Returns the position of the last entry.
+	 * @return position, null if the map is empty
+	 */
+	final Position last(){
+		return (this.size==0)?null:new Position(this.tail, this.tail.size - 1);
+	}
+
+	/**
+	 * Returns the position of the least key greater than (or equal to) the given key.
+	 * @param key the key
+	 * @param inclusive true to include the given key
+	 * @return position, null if there is no such key
+	 */
+	final Position ceiling(Object key, boolean inclusive){
+		Leaf leaf = this.leaf(key);
+		int i = this.search(leaf, key);
+		if(i<0){
+			i = -i - 1;
+		}
+		else if(!inclusive){
+			i++;
+		}
+		if(i<leaf.size){
+			return new Position(leaf, i);
+		}
+		return (leaf.next==null)?null:new Position(leaf.next, 0);
+	}
+
+	/**
+	 * Returns the position of the greatest key less than (or equal to) the given key.
+	 * @param key the key
+	 * @param inclusive true to include the given key
+	 * @return position, null if there is no such key
+	 */
+	final Position floor(Object key, boolean inclusive){
+		Leaf leaf = this.leaf(key);
+		int i = this.search(leaf, key);
+		if(i<0){
+			i = -i - 2;
+		}
+		else if(!inclusive){
+			i--;
+		}
+		if(i>=0){
+			return new Position(leaf, i);
+		}
+		return (leaf.prev==null)?null:new Position(leaf.prev, leaf.prev.size - 1);
+	}
+
+	@SuppressWarnings("unchecked")
+	static <K, V> Entry<K, V> entry(Position position){
+		return (position==null)?null:new SimpleImmutableEntry<K, V>((K)position.key(), (V)position.leaf.values[position.index]);
+	}
+
+	@SuppressWarnings("unchecked")
+	static <K> K key(Position position){
+		return (position==null)?null:(K)position.key();
+	}
+
+	static <K> K keyOrThrow(Position position){
+		if(position==null){
+			throw new NoSuchElementException();
+		}
+		return key(position);
+	}
+
+	@Override
+	public Set<Entry<K, V>> entrySet(){
+		return this.all.entrySet();
+	}
+
+	@Override
+	public Set<K> keySet(){
+		return this.navigableKeySet();
+	}
+
+	@Override
+	public Comparator<? super K> comparator(){
+		return this.comparator;
+	}
+
+	@Override
+	public K firstKey(){
+		return keyOrThrow(this.first());
+	}
+
+	@Override
+	public K lastKey(){
+		return keyOrThrow(this.last());
+	}
+
+	@Override
+	public Entry<K, V> firstEntry(){
+		return entry(this.first());
+	}
+
+	@Override
+	public Entry<K, V> lastEntry(){
+		return entry(this.last());
+	}
+
+	@Override
+	public Entry<K, V> pollFirstEntry(){
+		return this.all.pollFirstEntry();
+	}
+
+	@Override
+	public Entry<K, V> pollLastEntry(){
+		return this.all.pollLastEntry();
+	}
+
+	@Override
+	public Entry<K, V> lowerEntry(K key){
+		return entry(this.floor(key, false));
+	}
+
+	@Override
+	public K lowerKey(K key){
+		return key(this.floor(key, false));
+	}
+
+	@Override
+	public Entry<K, V> floorEntry(K key){
+		return entry(this.floor(key, true));
+	}
+
+	@Override
+	public K floorKey(K key){
+		return key(this.floor(key, true));
+	}
+
+	@Override
+	public Entry<K, V> ceilingEntry(K key){
+		return entry(this.ceiling(key, true));
+	}
+
+	@Override
+	public K ceilingKey(K key){
+		return key(this.ceiling(key, true));
+	}
+
+	@Override
+	public Entry<K, V> higherEntry(K key){
+		return entry(this.ceiling(key, false));
+	}
+
+	@Override
+	public K higherKey(K key){
+		return key(this.ceiling(key, false));
+	}
+
+	@Override
+	public NavigableMap<K, V> descendingMap(){
+		return this.all.descendingMap();
+	}
+
+	@Override
+	public NavigableSet<K> navigableKeySet(){
+		return this.all.navigableKeySet();
+	}
+
+	@Override
+	public NavigableSet<K> descendingKeySet(){
+		return this.all.descendingKeySet();
+	}
+
+	@Override
+	public NavigableMap<K, V> subMap(K fromKey, boolean fromInclusive, K toKey, boolean toInclusive){
+		return this.all.subMap(fromKey, fromInclusive, toKey, toInclusive);
+	}
+
+	@Override
+	public NavigableMap<K, V> headMap(K toKey, boolean inclusive){
+		return this.all.headMap(toKey, inclusive);
+	}
+
+	@Override
+	public NavigableMap<K, V> tailMap(K fromKey, boolean inclusive){
+		return this.all.tailMap(fromKey, inclusive);
+	}
+
+	@Override
+	public SortedMap<K, V> subMap(K fromKey, K toKey){
+		return this.subMap(fromKey, true, toKey, false);
+	}
+
+	@Override
+	public SortedMap<K, V> headMap(K toKey){
+		return this.headMap(toKey, false);
+	}
+
+	@Override
+	public SortedMap<K, V> tailMap(K fromKey){
+		return this.tailMap(fromKey, true);
+	}
+
+	/**
+	 * A view on the entries of the map with keys in a range, in ascending or descending order.
+	 * The view on all entries is used by the map itself.
+	 */
+	final class View extends AbstractMap<K, V> implements NavigableMap<K, V> {
+		/** Lower bound, ignored if fromStart is set. */
+		final boolean fromStart;
+		final Object lo;
+		final boolean loInclusive;
+
+		/** Upper bound, ignored if toEnd is set. */
+		final boolean toEnd;
+		final Object hi;
+		final boolean hiInclusive;
+
+		/** Flag for a view in descending order. */
+		final boolean descending;
+
+		/** Entry set view, created on demand. */
+		private Set<Entry<K, V>> entrySet;
+
+		View(boolean fromStart, Object lo, boolean loInclusive, boolean toEnd, Object hi, boolean hiInclusive, boolean descending){
+			if(!fromStart && !toEnd){
+				if(BTreeMap.this.compare(lo, hi)>0){
+					throw new IllegalArgumentException("fromKey > toKey");
+				}
+			}
+			else{
+				//type and null check of the bounds
+				if(!fromStart){
+					BTreeMap.this.compare(lo, lo);
+				}
+				if(!toEnd){
+					BTreeMap.this.compare(hi, hi);
+				}
+			}
+			this.fromStart = fromStart;
+			this.lo = lo;
+			this.loInclusive = loInclusive;
+			this.toEnd = toEnd;
+			this.hi = hi;
+			this.hiInclusive = hiInclusive;
+			this.descending = descending;
+		}
+
+		boolean tooLow(Object key){
+			if(!this.fromStart){
+				int c = BTreeMap.this.compare(key, this.lo);
+				return c<0 || (c==0 && !this.loInclusive);
+			}
+			return false;
+		}
+
+		boolean tooHigh(Object key){
+			if(!this.toEnd){
+				int c = BTreeMap.this.compare(key, this.hi);
+				return c>0 || (c==0 && !this.hiInclusive);
+			}
+			return false;
+		}
+
+		boolean inRange(Object key){
+			return !this.tooLow(key) && !this.tooHigh(key);
+		}
+
+		/** Tests if a key can be used as a bound of a view in this view. */
+		boolean inRange(Object key, boolean inclusive){
+			if(inclusive){
+				return this.inRange(key);
+			}
+			return (this.fromStart || BTreeMap.this.compare(key, this.lo)>=0) && (this.toEnd || BTreeMap.this.compare(key, this.hi)<=0);
+		}
+
+		Position lowest(){
+			Position ret = (this.fromStart)?BTreeMap.this.first():BTreeMap.this.ceiling(this.lo, this.loInclusive);
+			return (ret==null || this.tooHigh(ret.key()))?null:ret;
+		}
+
+		Position highest(){
+			Position ret = (this.toEnd)?BTreeMap.this.last():BTreeMap.this.floor(this.hi, this.hiInclusive);
+			return (ret==null || this.tooLow(ret.key()))?null:ret;
+		}
+
+		Position ceiling(Object key, boolean inclusive){
+			if(this.tooLow(key)){
+				return this.lowest();
+			}
+			Position ret = BTreeMap.this.ceiling(key, inclusive);
+			return (ret==null || this.tooHigh(ret.key()))?null:ret;
+		}
+
+		Position floor(Object key, boolean inclusive){
+			if(this.tooHigh(key)){
+				return this.highest();
+			}
+			Position ret = BTreeMap.this.floor(key, inclusive);
+			return (ret==null || this.tooLow(ret.key()))?null:ret;
+		}
+
+		/** Returns the position of the first entry in the order of this view. */
+		Position first(){
+			return (this.descending)?this.highest():this.lowest();
+		}
+
+		Position last(){
+			return (this.descending)?this.lowest():this.highest();
+		}
+
+		Position higher(Object key, boolean inclusive){
+			return (this.descending)?this.floor(key, inclusive):this.ceiling(key, inclusive);
+		}
+
+		Position lower(Object key, boolean inclusive){
+			return (this.descending)?this.ceiling(key, inclusive):this.floor(key, inclusive);
+		}
+
+		@Override
+		public int size(){
+			if(this.fromStart && this.toEnd){
+				return BTreeMap.this.size;
+			}
+			int ret = 0;
+			for(Iterator<Entry<K, V>> it = this.entrySet().iterator(); it.hasNext(); it.next()){
+				ret++;
+			}
+			return ret;
+		}
+
+		@Override
+		public boolean isEmpty(){
+			return this.lowest()==null;
+		}
+
+		@Override
+		public boolean containsKey(Object key){
+			return this.inRange(key) && BTreeMap.this.containsKey(key);
+		}
+
+		@Override
+		public V get(Object key){
+			return (this.inRange(key))?BTreeMap.this.get(key):null;
+		}
+
+		@Override
+		public V put(K key, V value){
+			if(!this.inRange(key)){
+				throw new IllegalArgumentException("key out of range");
+			}
+			return BTreeMap.this.put(key, value);
+		}
+
+		@Override
+		public V remove(Object key){
+			return (this.inRange(key))?BTreeMap.this.remove(key):null;
+		}
+
+		@Override
+		public void clear(){
+			if(this.fromStart && this.toEnd){
+				BTreeMap.this.clear();
+			}
+			else{
+				super.clear();
+			}
+		}
+
+		@Override
+		public Set<Entry<K, V>> entrySet(){
+			if(this.entrySet==null){
+				this.entrySet = new AbstractSet<Entry<K, V>>(){
+					@Override
+					public Iterator<Entry<K, V>> iterator(){
+						return new EntryIterator(View.this);
+					}
+
+					@Override
+					public int size(){
+						return View.this.size();
+					}
+
+					@Override
+					public boolean isEmpty(){
+						return View.this.isEmpty();
+					}
+
+					@Override
+					public boolean contains(Object o){
+						if(!(o instanceof Entry)){
+							return false;
+						}
+						Entry<?, ?> entry = (Entry<?, ?>)o;
+						Object key = entry.getKey();
+						if(!View.this.containsKey(key)){
+							return false;
+						}
+						V value = View.this.get(key);
+						return (value==null)?entry.getValue()==null:value.equals(entry.getValue());
+					}
+
+					@Override
+					public boolean remove(Object o){
+						if(!this.contains(o)){
+							return false;
+						}
+						View.this.remove(((Entry<?, ?>)o).getKey());
+						return true;
+					}
+				};
+			}
+			return this.entrySet;
+		}
+
+		@Override
+		public Set<K> keySet(){
+			return this.navigableKeySet();
+		}
+
+		@Override
+		public NavigableSet<K> navigableKeySet(){
+			return new KeySet<K>(this);
+		}
+
+		@Override
+		public NavigableSet<K> descendingKeySet(){
+			return this.descendingMap().navigableKeySet();
+		}
+
+		@Override
+		public Comparator<? super K> comparator(){
+			if(this.descending){
+				return Collections.reverseOrder(BTreeMap.this.comparator);
+			}
+			return BTreeMap.this.comparator;
+		}
+
+		@Override
+		public K firstKey(){
+			return keyOrThrow(this.first());
+		}
+
+		@Override
+		public K lastKey(){
+			return keyOrThrow(this.last());
+		}
+
+		@Override
+		public Entry<K, V> firstEntry(){
+			return entry(this.first());
+		}
+
+		@Override
+		public Entry<K, V> lastEntry(){
+			return entry(this.last());
+		}
+
+		@Override
+		public Entry<K, V> pollFirstEntry(){
+			Entry<K, V> ret = entry(this.first());
+			if(ret!=null){
+				BTreeMap.this.remove(ret.getKey());
+			}
+			return ret;
+		}
+
+		@Override
+		public Entry<K, V> pollLastEntry(){
+			Entry<K, V> ret = entry(this.last());
+			if(ret!=null){
+				BTreeMap.this.remove(ret.getKey());
+			}
+			return ret;
+		}
+
+		@Override
+		public Entry<K, V> lowerEntry(K key){
+			return entry(this.lower(key, false));
+		}
+
+		@Override
+		public K lowerKey(K key){
+			return key(this.lower(key, false));
+		}
+
+		@Override
+		public Entry<K, V> floorEntry(K key){
+			return entry(this.lower(key, true));
+		}
+
+		@Override
+		public K floorKey(K key){
+			return key(this.lower(key, true));
+		}
+
+		@Override
+		public Entry<K, V> ceilingEntry(K key){
+			return entry(this.higher(key, true));
+		}
+
+		@Override
+		public K ceilingKey(K key){
+			return key(this.higher(key, true));
+		}
+
+		@Override
+		public Entry<K, V> higherEntry(K key){
+			return entry(this.higher(key, false));
+		}
+
+		@Override
+		public K higherKey(K key){
+			return key(this.higher(key, false));
+		}
+
+		@Override
+		public NavigableMap<K, V> descendingMap(){
+			return new View(this.fromStart, this.lo, this.loInclusive, this.toEnd, this.hi, this.hiInclusive, !this.descending);
+		}
+
+		@Override
+		public NavigableMap<K, V> subMap(K fromKey, boolean fromInclusive, K toKey, boolean toInclusive){
+			if(!this.inRange(fromKey, fromInclusive)){
+				throw new IllegalArgumentException("fromKey out of range");
+			}
+			if(!this.inRange(toKey, toInclusive)){
+				throw new IllegalArgumentException("toKey out of range");
+			}
+			if(this.descending){
+				return new View(false, toKey, toInclusive, false, fromKey, fromInclusive, true);
+			}
+			return new View(false, fromKey, fromInclusive, false, toKey, toInclusive, false);
+		}
+
+		@Override
+		public NavigableMap<K, V> headMap(K toKey, boolean inclusive){
+			if(!this.inRange(toKey, inclusive)){
+				throw new IllegalArgumentException("toKey out of range");
+			}
+			if(this.descending){
+				return new View(false, toKey, inclusive, this.toEnd, this.hi, this.hiInclusive, true);
+			}
+			return new View(this.fromStart, this.lo, this.loInclusive, false, toKey, inclusive, false);
+		}
+
+		@Override
+		public NavigableMap<K, V> tailMap(K fromKey, boolean inclusive){
+			if(!this.inRange(fromKey, inclusive)){
+				throw new IllegalArgumentException("fromKey out of range");
+			}
+			if(this.descending){
+				return new View(this.fromStart, this.lo, this.loInclusive, false, fromKey, inclusive, true);
+			}
+			return new View(false, fromKey, inclusive, this.toEnd, this.hi, this.hiInclusive, false);
+		}
+
+		@Override
+		public SortedMap<K, V> subMap(K fromKey, K toKey){
+			return this.subMap(fromKey, true, toKey, false);
+		}
+
+		@Override
+		public SortedMap<K, V> headMap(K toKey){
+			return this.headMap(toKey, false);
+		}
+
+		@Override
+		public SortedMap<K, V> tailMap(K fromKey){
+			return this.tailMap(fromKey, true);
+		}
+	}
+
+	/** Iterator over the entries of a view, walking the linked leaves. */
+	final class EntryIterator implements Iterator<Entry<K, V>> {
+		final View view;
+
+		/** Next position, leaf is null at the end. */
+		Leaf leaf;
+		int index;
+
+		/** Key of the last returned entry, for remove. */
+		Object last;
+		boolean hasLast;
+
+		int expectedModCount = BTreeMap.this.modCount;
+
+		EntryIterator(View view){
+			this.view = view;
+			this.moveTo(view.first());
+		}
+
+		private void moveTo(Position position){
+			if(position==null){
+				this.leaf = null;
+			}
+			else{
+				this.leaf = position.leaf;
+				this.index = position.index;
+			}
+		}
+
+		@Override
+		public boolean hasNext(){
+			return this.leaf!=null;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public Entry<K, V> next(){
+			if(BTreeMap.this.modCount!=this.expectedModCount){
+				throw new ConcurrentModificationException();
+			}
+			if(this.leaf==null){
+				throw new NoSuchElementException();
+			}
+			Entry<K, V> ret = new MapEntry((K)this.leaf.keys[this.index], (V)this.leaf.values[this.index]);
+			this.last = ret.getKey();
+			this.hasLast = true;
+
+			if(this.view.descending){
+				if(--this.index<0){
+					this.leaf = this.leaf.prev;
+					this.index = (this.leaf==null)?0:this.leaf.size - 1;
+				}
+				if(this.leaf!=null && this.view.tooLow(this.leaf.keys[this.index])){
+					this.leaf = null;
+				}
+			}
+			else{
+				if(++this.index==this.leaf.size){
+					this.leaf = this.leaf.next;
+					this.index = 0;
+				}
+				if(this.leaf!=null && this.view.tooHigh(this.leaf.keys[this.index])){
+					this.leaf = null;
+				}
+			}
+			return ret;
+		}
+
+		@Override
+		public void remove(){
+			if(!this.hasLast){
+				throw new IllegalStateException();
+			}
+			if(BTreeMap.this.modCount!=this.expectedModCount){
+				throw new ConcurrentModificationException();
+			}
+			//removal can move entries between leaves, find the next entry again by its key
+			Object next = (this.leaf==null)?null:this.leaf.keys[this.index];
+			BTreeMap.this.remove(this.last);
+			if(this.leaf!=null){
+				this.moveTo(BTreeMap.this.ceiling(next, true));
+			}
+			this.hasLast = false;
+			this.expectedModCount = BTreeMap.this.modCount;
+		}
+	}
+
+	/** Entry returned by iterators, setting a value writes through to the map. */
+	final class MapEntry extends SimpleEntry<K, V> {
+		private static final long serialVersionUID = 1L;
+
+		MapEntry(K key, V value){
+			super(key, value);
+		}
+
+		@Override
+		public V setValue(V value){
+			BTreeMap.this.put(this.getKey(), value);
+			return super.setValue(value);
+		}
+	}
+
+	/**
+	 * Navigable key set of a navigable map.
+	 * @param <K> type of the keys
+	 */
+	static final class KeySet<K> extends AbstractSet<K> implements NavigableSet<K> {
+		final NavigableMap<K, ?> map;
+
+		KeySet(NavigableMap<K, ?> map){
+			this.map = map;
+		}
+
+		@Override
+		public Iterator<K> iterator(){
+			Iterator<? extends Entry<K, ?>> it = this.map.entrySet().iterator();
+			return new Iterator<K>(){
+				@Override
+				public boolean hasNext(){
+					return it.hasNext();
+				}
+
+				@Override
+				public K next(){
+					return it.next().getKey();
+				}
+
+				@Override
+				public void remove(){
+					it.remove();
+				}
+			};
+		}
+
+		@Override
+		public Iterator<K> descendingIterator(){
+			return this.descendingSet().iterator();
+		}
+
+		@Override
+		public int size(){
+			return this.map.size();
+		}
+
+		@Override
+		public boolean isEmpty(){
+			return this.map.isEmpty();
+		}
+
+		@Override
+		public boolean contains(Object o){
+			return this.map.containsKey(o);
+		}
+
+		@Override
+		public boolean remove(Object o){
+			if(!this.map.containsKey(o)){
+				return false;
+			}
+			this.map.remove(o);
+			return true;
+		}
+
+		@Override
+		public void clear(){
+			this.map.clear();
+		}
+
+		@Override
+		public Comparator<? super K> comparator(){
+			return this.map.comparator();
+		}
+
+		@Override
+		public K first(){
+			return this.map.firstKey();
+		}
+
+		@Override
+		public K last(){
+			return this.map.lastKey();
+		}
+
+		@Override
+		public K lower(K key){
+			return this.map.lowerKey(key);
+		}
+
+		@Override
+		public K floor(K key){
+			return this.map.floorKey(key);
+		}
+
+		@Override
+		public K ceiling(K key){
+			return this.map.ceilingKey(key);
+		}
+
+		@Override
+		public K higher(K key){
+			return this.map.higherKey(key);
+		}
+
+		@Override
+		public K pollFirst(){
+			Entry<K, ?> ret = this.map.pollFirstEntry();
+			return (ret==null)?null:ret.getKey();
+		}
+
+		@Override
+		public K pollLast(){
+			Entry<K, ?> ret = this.map.pollLastEntry();
+			return (ret==null)?null:ret.getKey();
+		}
+
+		@Override
+		public NavigableSet<K> descendingSet(){
+			return new KeySet<K>(this.map.descendingMap());
+		}
+
+		@Override
+		public NavigableSet<K> subSet(K fromElement, boolean fromInclusive, K toElement, boolean toInclusive){
+			return new KeySet<K>(this.map.subMap(fromElement, fromInclusive, toElement, toInclusive));
+		}
+
+		@Override
+		public NavigableSet<K> headSet(K toElement, boolean inclusive){
+			return new KeySet<K>(this.map.headMap(toElement, inclusive));
+		}
+
+		@Override
+		public NavigableSet<K> tailSet(K fromElement, boolean inclusive){
+			return new KeySet<K>(this.map.tailMap(fromElement, inclusive));
+		}
+
+		@Override
+		public NavigableSet<K> subSet(K fromElement, K toElement){
+			return this.subSet(fromElement, true, toElement, false);
+		}
+
+		@Override
+		public NavigableSet<K> headSet(K toElement){
+			return this.headSet(toElement, false);
+		}
+
+		@Override
+		public NavigableSet<K> tailSet(K fromElement){
+			return this.tailSet(fromElement, true);
+		}
+	}
+}
@@ -0,0 +1,732 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.vandermeer.skb.collections.strings;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A map with string keys backed by an adaptive radix tree (a path compressed trie).
+ *
+ * Keys sharing a prefix share the nodes for that prefix, and chains of nodes with a single child are collapsed into one node holding the common characters.
+ * The children of a node are kept in arrays sorted by their first character, which grow and shrink with the number of children.
+ * Small nodes are searched linearly, larger nodes with a binary search.
+ * A lookup therefore compares every character of the key at most once, instead of comparing full strings as a tree map does.
+ *
+ * Iteration returns entries in the natural order of the keys, the same order as a tree map.
+ * Keys are not stored as strings, iteration creates them from the path in the tree.
+ * {@link #prefixMap(String)} returns a view on all entries with keys starting with a given prefix.
+ *
+ * Keys must not be null, values can be null.
+ * The map is not thread-safe.
+ *
+ * @param <T> type of the map values
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public class RadixTreeMap<T> extends AbstractMap<String, T> {
+
+	/** Number of children up to which a node is searched linearly. */
+	private static final int LINEAR_SEARCH = 8;
+
+	/** Empty character array for nodes without compressed characters. */
+	private static final char[] NO_CHARS = new char[0];
+
+	/** Root node, matching the empty key. */
+	private final Node root = new Node(NO_CHARS);
+
+	/** Number of entries. */
+	private int size;
+
+	/** Number of structural modifications, for fail-fast iteration. */
+	private int modCount;
+
+	/** Entry set view, created on demand. */
+	private Set<Entry<String, T>> entrySet;
+
+	/**
+	 * Returns a new empty map.
+	 */
+	public RadixTreeMap(){
+	}
+
+	/**
+	 * Returns a new map with the entries of the given map.
+	 * @param map input map, must not contain null keys
+	 * @throws NullPointerException if the map contains a null key
+	 */
+	public RadixTreeMap(Map<String, ? extends T> map){
+		this.putAll(map);
+	}
+
+	/**
+	 * A node of the tree.
+	 * The key of a node is the key of its parent, followed by the label of the node in the parent and the compressed characters of the node.
+	 */
+	private static final class Node {
+
+		/** Compressed characters following the label of the node. */
+		char[] chars;
+
+		/** Flag for a node holding an entry. */
+		boolean hasValue;
+
+		/** Value of the entry. */
+		Object value;
+
+		/** First characters of the children, sorted, null for a leaf. */
+		char[] labels;
+
+		/** Children in the order of their labels, null for a leaf. */
+		Node[] children;
+
+		/** Number of children. */
+		int count;
+
+		Node(char[] chars){
+			this.chars = chars;
+		}
+
+		/**
+		 * Returns the index of a child label or, if not found, (-(insertion point) - 1).
+		 * @param label the label
+		 * @return index of the label
+		 */
+		int indexOf(char label){
+			if(this.count<=LINEAR_SEARCH){
+				for(int i=0; i<this.count; i++){
+					if(this.labels[i]>=label){
+						return (this.labels[i]==label)?i:-(i + 1);
+					}
+				}
+				return -(this.count + 1);
+			}
+			return Arrays.binarySearch(this.labels, 0, this.count, label);
+		}
+
+		Node child(char label){
+			int index = this.indexOf(label);
+			return (index<0)?null:this.children[index];
+		}
+
+		void insert(int index, char label, Node child){
+			if(this.labels==null){
+				this.labels = new char[1];
+				this.children = new Node[1];
+			}
+			else if(this.count==this.labels.length){
+				int capacity = (this.count<4)?4:this.count + (this.count >> 1);
+				this.labels = Arrays.copyOf(this.labels, capacity);
+				this.children = Arrays.copyOf(this.children, capacity);
+			}
+			System.arraycopy(this.labels, index, this.labels, index + 1, this.count - index);
+			System.arraycopy(this.children, index, this.children, index + 1, this.count - index);
+			this.labels[index] = label;
+			this.children[index] = child;
+			this.count++;
+		}
+
+		void delete(int index){
+			this.count--;
+			System.arraycopy(this.labels, index + 1, this.labels, index, this.count - index);
+			System.arraycopy(this.children, index + 1, this.children, index, this.count - index);
+			this.children[this.count] = null;
+			if(this.count==0){
+				this.labels = null;
+				this.children = null;
+			}
+			else if(this.count<(this.labels.length >> 2)){
+				this.labels = Arrays.copyOf(this.labels, this.count << 1);
+				this.children = Arrays.copyOf(this.children, this.count << 1);
+			}
+		}
+
+		/**
+		 * Moves value and children of this node into a new child, keeping the first characters in this node.
+		 * @param keep number of compressed characters staying in this node
+		 */
+		void split(int keep){
+			Node rest = new Node(Arrays.copyOfRange(this.chars, keep + 1, this.chars.length));
+			rest.hasValue = this.hasValue;
+			rest.value = this.value;
+			rest.labels = this.labels;
+			rest.children = this.children;
+			rest.count = this.count;
+			char label = this.chars[keep];
+			this.chars = Arrays.copyOf(this.chars, keep);
+			this.hasValue = false;
+			this.value = null;
+			this.labels = null;
+			this.children = null;
+			this.count = 0;
+			this.insert(0, label, rest);
+		}
+
+		/**
+		 * Merges the only child into this node, which must not hold an entry.
+		 */
+		void merge(){
+			Node child = this.children[0];
+			char[] merged = new char[this.chars.length + 1 + child.chars.length];
+			System.arraycopy(this.chars, 0, merged, 0, this.chars.length);
+			merged[this.chars.length] = this.labels[0];
+			System.arraycopy(child.chars, 0, merged, this.chars.length + 1, child.chars.length);
+			this.chars = merged;
+			this.hasValue = child.hasValue;
+			this.value = child.value;
+			this.labels = child.labels;
+			this.children = child.children;
+			this.count = child.count;
+		}
+	}
+
+	/**
+	 * Returns the node for a key.
+	 * @param key the key
+	 * @return node of the key, null if the tree has no such node (the node might not hold an entry)
+	 */
+	private Node find(String key){
+		Node node = this.root;
+		int pos = 0;
+		int length = key.length();
+		while(true){
+			char[] chars = node.chars;
+			if(length - pos<chars.length){
+				return null;
+			}
+			for(int i=0; i<chars.length; i++){
+				if(chars[i]!=key.charAt(pos++)){
+					return null;
+				}
+			}
+			if(pos==length){
+				return node;
+			}
+			node = node.child(key.charAt(pos++));
+			if(node==null){
+				return null;
+			}
+		}
+	}
+
+	@Override
+	public int size(){
+		return this.size;
+	}
+
+	@Override
+	public boolean containsKey(Object key){
+		if(!(key instanceof String)){
+			return false;
+		}
+		Node node = this.find((String)key);
+		return node!=null && node.hasValue;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T get(Object key){
+		if(!(key instanceof String)){
+			return null;
+		}
+		Node node = this.find((String)key);
+		return (node!=null && node.hasValue)?(T)node.value:null;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T put(String key, T value){
+		if(key==null){
+			throw new NullPointerException("key must not be null");
+		}
+		Node node = this.root;
+		int pos = 0;
+		int length = key.length();
+		while(true){
+			char[] chars = node.chars;
+			int match = 0;
+			while(match<chars.length && pos<length && chars[match]==key.charAt(pos)){
+				match++;
+				pos++;
+			}
+			if(match<chars.length){
+				node.split(match);
+			}
+			if(pos==length){
+				T ret = (T)node.value;
+				node.value = value;
+				if(!node.hasValue){
+					node.hasValue = true;
+					this.size++;
+					this.modCount++;
+				}
+				return ret;
+			}
+			char label = key.charAt(pos++);
+			int index = node.indexOf(label);
+			if(index<0){
+				Node leaf = new Node((pos==length)?NO_CHARS:key.substring(pos).toCharArray());
+				leaf.hasValue = true;
+				leaf.value = value;
+				node.insert(-(index + 1), label, leaf);
+				this.size++;
+				this.modCount++;
+				return null;
+			}
+			node = node.children[index];
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T remove(Object key){
+		if(!(key instanceof String)){
+			return null;
+		}
+		String k = (String)key;
+		Node parent = null;
+		int index = -1;
+		Node node = this.root;
+		int pos = 0;
+		int length = k.length();
+		while(true){
+			char[] chars = node.chars;
+			if(length - pos<chars.length){
+				return null;
+			}
+			for(int i=0; i<chars.length; i++){
+				if(chars[i]!=k.charAt(pos++)){
+					return null;
+				}
+			}
+			if(pos==length){
+				break;
+			}
+			int next = node.indexOf(k.charAt(pos++));
+			if(next<0){
+				return null;
+			}
+			parent = node;
+			index = next;
+			node = node.children[next];
+		}
+		if(!node.hasValue){
+			return null;
+		}
+		T ret = (T)node.value;
+		node.hasValue = false;
+		node.value = null;
+		this.size--;
+		this.modCount++;
+
+		//keep the tree compressed: drop empty leaves and merge nodes with a single child
+		if(parent!=null){
+			if(node.count==0){
+				parent.delete(index);
+				if(parent!=this.root && !parent.hasValue && parent.count==1){
+					parent.merge();
+				}
+			}
+			else if(node.count==1){
+				node.merge();
+			}
+		}
+		return ret;
+	}
+
+	@Override
+	public void clear(){
+		if(this.size>0 || this.root.count>0){
+			this.root.hasValue = false;
+			this.root.value = null;
+			this.root.labels = null;
+			this.root.children = null;
+			this.root.count = 0;
+			this.size = 0;
+			this.modCount++;
+		}
+	}
+
+	@Override
+	public Set<Entry<String, T>> entrySet(){
+		if(this.entrySet==null){
+			this.entrySet = new EntrySet("");
+		}
+		return this.entrySet;
+	}
+
+	/**
+	 * Returns a view on all entries with keys starting with the given prefix, in the natural order of the keys.
+	 * The view is backed by this map, changes to the map are visible in the view and vice versa.
+	 * Putting a key not starting with the prefix into the view is not allowed.
+	 * The size of the view is computed by iterating over its entries.
+	 * @param prefix prefix of the keys, the empty string for all entries
+	 * @return view on all entries with the prefix
+	 * @throws NullPointerException if the prefix is null
+	 */
+	public Map<String, T> prefixMap(String prefix){
+		if(prefix==null){
+			throw new NullPointerException("prefix must not be null");
+		}
+		if(prefix.isEmpty()){
+			return this;
+		}
+		return new PrefixMap(prefix);
+	}
+
+	/**
+	 * View on the entries with keys starting with a prefix.
+	 */
+	private class PrefixMap extends AbstractMap<String, T> {
+
+		/** The prefix. */
+		final String prefix;
+
+		/** Entry set view. */
+		final Set<Entry<String, T>> entries;
+
+		PrefixMap(String prefix){
+			this.prefix = prefix;
+			this.entries = new EntrySet(prefix);
+		}
+
+		boolean inRange(Object key){
+			return key instanceof String && ((String)key).startsWith(this.prefix);
+		}
+
+		@Override
+		public boolean containsKey(Object key){
+			return this.inRange(key) && RadixTreeMap.this.containsKey(key);
+		}
+
+		@Override
+		public T get(Object key){
+			return this.inRange(key)?RadixTreeMap.this.get(key):null;
+		}
+
+		@Override
+		public T put(String key, T value){
+			if(!this.inRange(key)){
+				throw new IllegalArgumentException("key <" + key + "> does not start with prefix <" + this.prefix + ">");
+			}
+			return RadixTreeMap.this.put(key, value);
+		}
+
+		@Override
+		public T remove(Object key){
+			return this.inRange(key)?RadixTreeMap.this.remove(key):null;
+		}
+
+		@Override
+		public Set<Entry<String, T>> entrySet(){
+			return this.entries;
+		}
+	}
+
+	/**
+	 * Entry set of the map or of a prefix view.
+	 */
+	private class EntrySet extends AbstractSet<Entry<String, T>> {
+
+		/** Prefix of the keys, empty for the whole map. */
+		final String prefix;
+
+		EntrySet(String prefix){
+			this.prefix = prefix;
+		}
+
+		@Override
+		public Iterator<Entry<String, T>> iterator(){
+			return new EntryIterator(this.prefix);
+		}
+
+		@Override
+		public int size(){
+			if(this.prefix.isEmpty()){
+				return RadixTreeMap.this.size;
+			}
+			int ret = 0;
+			for(Iterator<Entry<String, T>> it=this.iterator(); it.hasNext(); it.next()){
+				ret++;
+			}
+			return ret;
+		}
+
+		@Override
+		public void clear(){
+			if(this.prefix.isEmpty()){
+				RadixTreeMap.this.clear();
+			}
+			else{
+				super.clear();
+			}
+		}
+	}
+
+	/**
+	 * A position of the iteration in a node.
+	 */
+	private static final class Frame {
+
+		/** The node. */
+		final Node node;
+
+		/** Length of the key of the node. */
+		final int length;
+
+		/** Flag for a node whose own entry has been visited or skipped. */
+		boolean self;
+
+		/** Index of the next child to visit. */
+		int index;
+
+		Frame(Node node, int length){
+			this.node = node;
+			this.length = length;
+		}
+	}
+
+	/**
+	 * Depth first iterator in key order, stopping at the first key without the prefix.
+	 * A removal changes the tree, so the iterator positions itself again after the removed key.
+	 */
+	private class EntryIterator implements Iterator<Entry<String, T>> {
+
+		/** Prefix of the keys. */
+		final String prefix;
+
+		/** Path of nodes to the current position. */
+		final List<Frame> stack = new ArrayList<Frame>();
+
+		/** Key of the current position. */
+		final StringBuilder path = new StringBuilder();
+
+		/** Node of the next entry, null if none. */
+		Node next;
+
+		/** Key of the next entry. */
+		String nextKey;
+
+		/** Key of the last returned entry, null if none. */
+		String last;
+
+		/** Expected modification count. */
+		int expectedModCount = RadixTreeMap.this.modCount;
+
+		EntryIterator(String prefix){
+			this.prefix = prefix;
+			this.seek(prefix, true);
+			this.advance();
+		}
+
+		/**
+		 * Builds the path to the first key larger than (or equal to) the given key.
+		 * @param key the key
+		 * @param inclusive true to include the key itself
+		 */
+		private void seek(String key, boolean inclusive){
+			this.stack.clear();
+			this.path.setLength(0);
+			Node node = RadixTreeMap.this.root;
+			Frame frame = new Frame(node, 0);
+			this.stack.add(frame);
+			int pos = 0;
+			int length = key.length();
+			while(true){
+				if(pos==length){
+					frame.self = !inclusive;
+					return;
+				}
+				frame.self = true;
+				char label = key.charAt(pos);
+				int index = node.indexOf(label);
+				if(index<0){
+					frame.index = -(index + 1);
+					return;
+				}
+				frame.index = index + 1;
+				Node child = node.children[index];
+				int cmp = 0;
+				int matched = 0;
+				while(matched<child.chars.length){
+					if(pos + 1 + matched==length){
+						//key ends inside the compressed characters, all keys of the child are larger
+						cmp = 1;
+						break;
+					}
+					cmp = child.chars[matched] - key.charAt(pos + 1 + matched);
+					if(cmp!=0){
+						break;
+					}
+					matched++;
+				}
+				if(cmp<0){
+					return;
+				}
+				this.path.append(label).append(child.chars);
+				frame = new Frame(child, this.path.length());
+				this.stack.add(frame);
+				if(cmp>0){
+					return;
+				}
+				node = child;
+				pos += 1 + child.chars.length;
+			}
+		}
+
+		/**
+		 * Moves to the next node holding an entry.
+		 */
+		private void advance(){
+			this.next = null;
+			while(!this.stack.isEmpty()){
+				Frame frame = this.stack.get(this.stack.size() - 1);
+				if(!frame.self){
+					frame.self = true;
+					if(frame.node.hasValue){
+						this.path.setLength(frame.length);
+						String key = this.path.toString();
+						if(key.startsWith(this.prefix)){
+							this.next = frame.node;
+							this.nextKey = key;
+						}
+						else{
+							this.stack.clear();
+						}
+						return;
+					}
+				}
+				if(frame.index<frame.node.count){
+					Node child = frame.node.children[frame.index];
+					this.path.setLength(frame.length);
+					this.path.append(frame.node.labels[frame.index]).append(child.chars);
+					frame.index++;
+					this.stack.add(new Frame(child, this.path.length()));
+				}
+				else{
+					this.stack.remove(this.stack.size() - 1);
+				}
+			}
+		}
+
+		@Override
+		public boolean hasNext(){
+			return this.next!=null;
+		}
+
+		@Override
+		public Entry<String, T> next(){
+			if(this.expectedModCount!=RadixTreeMap.this.modCount){
+				throw new ConcurrentModificationException();
+			}
+			if(this.next==null){
+				throw new NoSuchElementException();
+			}
+			Entry<String, T> ret = new NodeEntry(this.nextKey, this.next);
+			this.last = this.nextKey;
+			this.advance();
+			return ret;
+		}
+
+		@Override
+		public void remove(){
+			if(this.last==null){
+				throw new IllegalStateException();
+			}
+			if(this.expectedModCount!=RadixTreeMap.this.modCount){
+				throw new ConcurrentModificationException();
+			}
+			RadixTreeMap.this.remove(this.last);
+			this.expectedModCount = RadixTreeMap.this.modCount;
+			this.seek(this.last, false);
+			this.advance();
+			this.last = null;
+		}
+	}
+
+	/**
+	 * Entry reading from and writing to a node.
+	 */
+	private class NodeEntry implements Entry<String, T> {
+
+		/** Key of the entry. */
+		final String key;
+
+		/** Node of the entry at creation, might be changed by later removals. */
+		final Node node;
+
+		/** Modification count at creation. */
+		final int modCount = RadixTreeMap.this.modCount;
+
+		NodeEntry(String key, Node node){
+			this.key = key;
+			this.node = node;
+		}
+
+		@Override
+		public String getKey(){
+			return this.key;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public T getValue(){
+			return (this.modCount==RadixTreeMap.this.modCount)?(T)this.node.value:RadixTreeMap.this.get(this.key);
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public T setValue(T value){
+			Node node = (this.modCount==RadixTreeMap.this.modCount)?this.node:RadixTreeMap.this.find(this.key);
+			if(node==null || !node.hasValue){
+				throw new IllegalStateException("entry has been removed");
+			}
+			T ret = (T)node.value;
+			node.value = value;
+			return ret;
+		}
+
+		@Override
+		public boolean equals(Object obj){
+			if(!(obj instanceof Entry)){
+				return false;
+			}
+			Entry<?, ?> other = (Entry<?, ?>)obj;
+			T value = this.getValue();
+			return this.key.equals(other.getKey()) && (value==null?other.getValue()==null:value.equals(other.getValue()));
+		}
+
+		@Override
+		public int hashCode(){
+			T value = this.getValue();
+			return this.key.hashCode() ^ (value==null?0:value.hashCode());
+		}
+
+		@Override
+		public String toString(){
+			return this.key + "=" + this.getValue();
+		}
+	}
+}
@@ -0,0 +1,534 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.vandermeer.skb.collections.strings;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import de.vandermeer.skb.collections.CollectionTools;
+
+/**
+ * A map with string keys backed by an open addressing hash table using Robin Hood hashing.
+ *
+ * Keys, values and the (mixed) key hashes are stored in three parallel arrays, so the map does not create a node object per entry.
+ * A lookup compares the cached hash of a slot first and only touches the key string if the hashes match.
+ * Robin Hood insertion lets an entry take the slot of an entry closer to its home slot, which keeps probe sequences short and allows unsuccessful lookups to stop early.
+ * Removal uses backward shift deletion so the table never contains tombstones.
+ *
+ * Keys must not be null, values can be null.
+ * The map is not thread-safe.
+ *
+ * @param <T> type of the map values
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public class RobinHoodMap<T> extends AbstractMap<String, T> {
+
+	/** Largest load factor the map strategies use, Robin Hood hashing keeps probe sequences short up to about this load. */
+	public static final float MAX_LOAD_FACTOR = 0.9f;
+
+	/** Minimum capacity of the table. */
+	private static final int MIN_CAPACITY = 4;
+
+	/** Maximum capacity of the table, largest power of two for an array. */
+	private static final int MAX_CAPACITY = 1 << 30;
+
+	/** Hash of an empty slot, hashes of keys always have the highest bit set. */
+	private static final int EMPTY = 0;
+
+	/** Mixed key hashes per slot. */
+	private int[] hashes;
+
+	/** Keys per slot. */
+	private String[] keys;
+
+	/** Values per slot. */
+	private Object[] values;
+
+	/** Number of entries. */
+	private int size;
+
+	/** Maximum number of entries before the table is resized. */
+	private int threshold;
+
+	/** Load factor of the table. */
+	private final float loadFactor;
+
+	/** Number of structural modifications, for fail-fast iteration. */
+	private int modCount;
+
+	/** Entry set view, created on demand. */
+	private Set<Entry<String, T>> entrySet;
+
+	/**
+	 * Returns a new empty map.
+	 */
+	public RobinHoodMap(){
+		this(0, CollectionTools.DEFAULT_LOAD_FACTOR);
+	}
+
+	/**
+	 * Returns a new empty map sized for an expected number of entries.
+	 * @param expectedSize number of entries the map is expected to hold
+	 * @throws IllegalArgumentException if the expected size is negative
+	 */
+	public RobinHoodMap(int expectedSize){
+		this(expectedSize, CollectionTools.DEFAULT_LOAD_FACTOR);
+	}
+
+	/**
+	 * Returns a new empty map sized for an expected number of entries.
+	 * @param expectedSize number of entries the map is expected to hold
+	 * @param loadFactor load factor of the table, must be larger than 0 and smaller than 1
+	 * @throws IllegalArgumentException if the expected size is negative or the load factor is out of range
+	 */
+	public RobinHoodMap(int expectedSize, float loadFactor){
+		if(expectedSize<0){
+			throw new IllegalArgumentException("expected size must not be negative: " + expectedSize);
+		}
+		if(!(loadFactor>0 && loadFactor<1)){
+			throw new IllegalArgumentException("load factor must be in (0, 1): " + loadFactor);
+		}
+		this.loadFactor = loadFactor;
+		this.allocate(this.capacityFor(expectedSize));
+	}
+
+	/**
+	 * Returns a new map with the entries of the given map.
+	 * @param map input map, must not contain null keys
+	 * @throws NullPointerException if the map contains a null key
+	 */
+	public RobinHoodMap(Map<String, ? extends T> map){
+		this(map.size(), CollectionTools.DEFAULT_LOAD_FACTOR);
+		this.putAll(map);
+	}
+
+	private int capacityFor(int expectedSize){
+		double needed = Math.ceil(expectedSize / (double)this.loadFactor);
+		if(needed>=MAX_CAPACITY){
+			return MAX_CAPACITY;
+		}
+		int ret = MIN_CAPACITY;
+		while(ret<needed){
+			ret <<= 1;
+		}
+		return ret;
+	}
+
+	private void allocate(int capacity){
+		this.hashes = new int[capacity];
+		this.keys = new String[capacity];
+		this.values = new Object[capacity];
+		this.threshold = Math.max(1, Math.min(capacity - 1, (int)(capacity * this.loadFactor)));
+	}
+
+	/**
+	 * Returns the mixed hash of a key, with the highest bit set so it never equals the empty hash.
+	 * @param key the key
+	 * @return mixed hash
+	 */
+	private static int hash(Object key){
+		int h = key.hashCode() * 0x9E3779B9;
+		return (h ^ (h >>> 16)) | 0x80000000;
+	}
+
+	/**
+	 * Returns the probe distance of a slot, the number of slots between the home slot of its hash and the slot.
+	 * @param hash hash in the slot
+	 * @param slot the slot
+	 * @param mask table mask
+	 * @return probe distance
+	 */
+	private static int distance(int hash, int slot, int mask){
+		return (slot - hash) & mask;
+	}
+
+	/**
+	 * Returns the slot of a key.
+	 * @param key the key, must not be null
+	 * @return slot of the key, -1 if the map does not contain the key
+	 */
+	private int find(Object key){
+		int hash = hash(key);
+		int mask = this.hashes.length - 1;
+		int slot = hash & mask;
+		for(int dist=0; ; dist++){
+			int h = this.hashes[slot];
+			if(h==EMPTY || distance(h, slot, mask)<dist){
+				//an entry with a shorter probe distance would have been displaced by the key
+				return -1;
+			}
+			if(h==hash && key.equals(this.keys[slot])){
+				return slot;
+			}
+			slot = (slot + 1) & mask;
+		}
+	}
+
+	/**
+	 * Inserts an entry for a key not in the table, displacing entries closer to their home slot.
+	 * @param hash mixed hash of the key
+	 * @param key the key
+	 * @param value the value
+	 */
+	private void insert(int hash, String key, Object value){
+		int mask = this.hashes.length - 1;
+		int slot = hash & mask;
+		int dist = 0;
+		while(true){
+			int h = this.hashes[slot];
+			if(h==EMPTY){
+				this.hashes[slot] = hash;
+				this.keys[slot] = key;
+				this.values[slot] = value;
+				return;
+			}
+			int existing = distance(h, slot, mask);
+			if(existing<dist){
+				String k = this.keys[slot];
+				Object v = this.values[slot];
+				this.hashes[slot] = hash;
+				this.keys[slot] = key;
+				this.values[slot] = value;
+				hash = h;
+				key = k;
+				value = v;
+				dist = existing;
+			}
+			slot = (slot + 1) & mask;
+			dist++;
+		}
+	}
+
+	private void rehash(int capacity){
+		if(capacity>MAX_CAPACITY || capacity<=0){
+			throw new IllegalStateException("map too big, maximum capacity reached");
+		}
+		int[] oldHashes = this.hashes;
+		String[] oldKeys = this.keys;
+		Object[] oldValues = this.values;
+		this.allocate(capacity);
+		for(int i=0; i<oldHashes.length; i++){
+			if(oldHashes[i]!=EMPTY){
+				this.insert(oldHashes[i], oldKeys[i], oldValues[i]);
+			}
+		}
+	}
+
+	/**
+	 * Removes the entry in a slot and shifts following entries of the probe sequence back by one slot.
+	 * @param slot the slot
+	 */
+	private void removeSlot(int slot){
+		int mask = this.hashes.length - 1;
+		int gap = slot;
+		int next = (gap + 1) & mask;
+		while(this.hashes[next]!=EMPTY && distance(this.hashes[next], next, mask)>0){
+			this.hashes[gap] = this.hashes[next];
+			this.keys[gap] = this.keys[next];
+			this.values[gap] = this.values[next];
+			gap = next;
+			next = (next + 1) & mask;
+		}
+		this.hashes[gap] = EMPTY;
+		this.keys[gap] = null;
+		this.values[gap] = null;
+		this.size--;
+		this.modCount++;
+	}
+
+	/**
+	 * Makes sure the map can hold the given number of entries without resizing.
+	 * @param expectedSize number of entries the map is expected to hold
+	 */
+	public void ensureCapacity(int expectedSize){
+		int capacity = this.capacityFor(expectedSize);
+		if(capacity>this.hashes.length){
+			this.rehash(capacity);
+		}
+	}
+
+	@Override
+	public int size(){
+		return this.size;
+	}
+
+	@Override
+	public boolean containsKey(Object key){
+		return key!=null && this.find(key)>=0;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T get(Object key){
+		if(key==null){
+			return null;
+		}
+		int slot = this.find(key);
+		return (slot<0)?null:(T)this.values[slot];
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T getOrDefault(Object key, T defaultValue){
+		if(key==null){
+			return defaultValue;
+		}
+		int slot = this.find(key);
+		return (slot<0)?defaultValue:(T)this.values[slot];
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T put(String key, T value){
+		if(key==null){
+			throw new NullPointerException("key must not be null");
+		}
+		int slot = this.find(key);
+		if(slot>=0){
+			T ret = (T)this.values[slot];
+			this.values[slot] = value;
+			return ret;
+		}
+		if(this.size>=this.threshold){
+			this.rehash(this.hashes.length << 1);
+		}
+		this.insert(hash(key), key, value);
+		this.size++;
+		this.modCount++;
+		return null;
+	}
+
+	@Override
+	public void putAll(Map<? extends String, ? extends T> map){
+		this.ensureCapacity(this.size + map.size());
+		super.putAll(map);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T remove(Object key){
+		if(key==null){
+			return null;
+		}
+		int slot = this.find(key);
+		if(slot<0){
+			return null;
+		}
+		T ret = (T)this.values[slot];
+		this.removeSlot(slot);
+		return ret;
+	}
+
+	@Override
+	public void clear(){
+		if(this.size>0){
+			Arrays.fill(this.hashes, EMPTY);
+			Arrays.fill(this.keys, null);
+			Arrays.fill(this.values, null);
+			this.size = 0;
+			this.modCount++;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public void forEach(BiConsumer<? super String, ? super T> action){
+		int mod = this.modCount;
+		for(int i=0; i<this.hashes.length; i++){
+			if(this.hashes[i]!=EMPTY){
+				action.accept(this.keys[i], (T)this.values[i]);
+			}
+		}
+		if(mod!=this.modCount){
+			throw new ConcurrentModificationException();
+		}
+	}
+
+	@Override
+	public Set<Entry<String, T>> entrySet(){
+		if(this.entrySet==null){
+			this.entrySet = new AbstractSet<Entry<String, T>>(){
+				@Override
+				public Iterator<Entry<String, T>> iterator(){
+					return new EntryIterator();
+				}
+
+				@Override
+				public int size(){
+					return RobinHoodMap.this.size;
+				}
+
+				@Override
+				public void clear(){
+					RobinHoodMap.this.clear();
+				}
+			};
+		}
+		return this.entrySet;
+	}
+
+	/**
+	 * Iterator over the table slots.
+	 * Iteration starts after an empty slot and wraps around the table, so the backward shift of a removal only moves entries that have not been visited into visited slots.
+	 */
+	private class EntryIterator implements Iterator<Entry<String, T>> {
+
+		/** Table at creation, a resize is a structural modification. */
+		final int[] hashes = RobinHoodMap.this.hashes;
+
+		/** Slot to start from, the one after an empty slot. */
+		final int start;
+
+		/** Number of slots visited so far. */
+		int visited;
+
+		/** Slot of the last returned entry, -1 if none. */
+		int last = -1;
+
+		/** Expected modification count. */
+		int expectedModCount = RobinHoodMap.this.modCount;
+
+		EntryIterator(){
+			int mask = this.hashes.length - 1;
+			int empty = 0;
+			while(this.hashes[empty]!=EMPTY){
+				empty++;
+			}
+			this.start = (empty + 1) & mask;
+			this.advance();
+		}
+
+		private int slot(){
+			return (this.start + this.visited) & (this.hashes.length - 1);
+		}
+
+		private void advance(){
+			while(this.visited<this.hashes.length && this.hashes[this.slot()]==EMPTY){
+				this.visited++;
+			}
+		}
+
+		@Override
+		public boolean hasNext(){
+			return this.visited<this.hashes.length;
+		}
+
+		@Override
+		public Entry<String, T> next(){
+			if(this.expectedModCount!=RobinHoodMap.this.modCount){
+				throw new ConcurrentModificationException();
+			}
+			if(!this.hasNext()){
+				throw new NoSuchElementException();
+			}
+			int slot = this.slot();
+			this.last = slot;
+			this.visited++;
+			this.advance();
+			return new SlotEntry(slot);
+		}
+
+		@Override
+		public void remove(){
+			if(this.last<0){
+				throw new IllegalStateException();
+			}
+			if(this.expectedModCount!=RobinHoodMap.this.modCount){
+				throw new ConcurrentModificationException();
+			}
+			RobinHoodMap.this.removeSlot(this.last);
+			this.expectedModCount = RobinHoodMap.this.modCount;
+			//the backward shift may have moved the next entry into the removed slot
+			if(this.hashes[this.last]!=EMPTY){
+				this.visited--;
+			}
+			else{
+				this.advance();
+			}
+			this.last = -1;
+		}
+	}
+
+	/**
+	 * Entry reading from and writing to a table slot.
+	 */
+	private class SlotEntry implements Entry<String, T> {
+
+		/** Key of the entry, to detect a moved entry. */
+		final String key;
+
+		/** Slot of the entry. */
+		final int slot;
+
+		SlotEntry(int slot){
+			this.key = RobinHoodMap.this.keys[slot];
+			this.slot = slot;
+		}
+
+		@Override
+		public String getKey(){
+			return this.key;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public T getValue(){
+			return (RobinHoodMap.this.keys[this.slot]==this.key)?(T)RobinHoodMap.this.values[this.slot]:RobinHoodMap.this.get(this.key);
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public T setValue(T value){
+			int slot = (RobinHoodMap.this.keys[this.slot]==this.key)?this.slot:RobinHoodMap.this.find(this.key);
+			if(slot<0){
+				throw new IllegalStateException("entry has been removed");
+			}
+			T ret = (T)RobinHoodMap.this.values[slot];
+			RobinHoodMap.this.values[slot] = value;
+			return ret;
+		}
+
+		@Override
+		public boolean equals(Object obj){
+			if(!(obj instanceof Entry)){
+				return false;
+			}
+			Entry<?, ?> other = (Entry<?, ?>)obj;
+			T value = this.getValue();
+			return this.key.equals(other.getKey()) && (value==null?other.getValue()==null:value.equals(other.getValue()));
+		}
+
+		@Override
+		public int hashCode(){
+			T value = this.getValue();
+			return this.key.hashCode() ^ (value==null?0:value.hashCode());
+		}
+
+		@Override
+		public String toString(){
+			return this.key + "=" + this.getValue();
+		}
+	}
+}
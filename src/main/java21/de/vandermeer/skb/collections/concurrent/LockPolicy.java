@@ -0,0 +1,61 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections.concurrent;
+
+/**
+ * Tells strategies whether to return implementations guarded by a {@link java.util.concurrent.locks.ReentrantLock} instead of the monitor based ones of java-util.
+ *
+ * Java 21 variant of the multi-release jar.
+ * A virtual thread blocking while it holds a monitor pins its carrier thread on Java 21 to 23, from Java 24 on monitors no longer pin carrier threads (JEP 491).
+ * Lock based implementations are opt-in, since synchronizing on them does not guard compound actions, their lock must be used instead.
+ * The system property {@value #PROPERTY} selects the policy: "false" (default) keeps monitors, "true" prefers locks,
+ * and {@value #AUTO} prefers locks only on Java 21 to 23.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 21
+ */
+public final class LockPolicy {
+
+	/** System property overriding the policy. */
+	public static final String PROPERTY = "de.vandermeer.skb.collections.preferLocks";
+
+	/** Property value preferring locks only where monitors pin virtual threads. */
+	public static final String AUTO = "auto";
+
+	/** The policy, read once. */
+	private static final boolean PREFER_LOCKS = PREFER_LOCKS(System.getProperty(PROPERTY, "false"));
+
+	private LockPolicy(){}
+
+	/**
+	 * Tests if strategies return lock based implementations ({@link LockedList}, {@link LockedMap}) instead of monitor based ones (Vector, Stack, Hashtable).
+	 * @return true if locks are preferred, false if monitors are kept
+	 */
+	public static boolean PREFER_LOCKS(){
+		return PREFER_LOCKS;
+	}
+
+	/**
+	 * Evaluates a value of the policy property.
+	 * @param value the value
+	 * @return true if locks are preferred, false if monitors are kept
+	 */
+	private static boolean PREFER_LOCKS(String value){
+		if(AUTO.equalsIgnoreCase(value)){
+			return Runtime.version().feature()<24;
+		}
+		return Boolean.parseBoolean(value);
+	}
+}
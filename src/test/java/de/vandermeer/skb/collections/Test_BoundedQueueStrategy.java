@@ -0,0 +1,91 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.junit.Test;
+
+/**
+ * Tests for bounded queue and deque strategies.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public class Test_BoundedQueueStrategy {
+
+	@Test public void test(){
+		for(BoundedQueueStrategy bqs:BoundedQueueStrategy.values()){
+			this.testOp(bqs);
+		}
+		for(BoundedDequeStrategy bds:BoundedDequeStrategy.values()){
+			BlockingDeque<String> deque=bds.get(String.class, 2);
+			assertTrue(deque instanceof LinkedBlockingDeque);
+			assertTrue(deque.offerFirst("one"));
+			assertTrue(deque.offerLast("two"));
+			assertFalse(deque.offerFirst("three"));
+		}
+	}
+
+	@Test(expected=IllegalArgumentException.class) public void testCapacityTooSmall(){
+		BoundedQueueStrategy.ARRAY_BLOCKING_QUEUE.get(Arrays.asList(new String[]{"one", "two", "three"}), 2);
+	}
+
+	private void testOp(BoundedQueueStrategy strategy){
+		List<String> stringsIn=Arrays.asList(new String[]{"one", "two", "three"});
+
+		BlockingQueue<String> strSimple=strategy.get(String.class, 2, true);
+		BlockingQueue<String> strMore=strategy.get(stringsIn, 5);
+
+		assertNotNull(strSimple);
+		assertEquals(2, strSimple.remainingCapacity());
+		assertTrue(strSimple.offer("one"));
+		assertTrue(strSimple.offer("two"));
+		assertFalse(strSimple.offer("three"));
+
+		assertNotNull(strMore);
+		assertEquals(3, strMore.size());
+		assertEquals(2, strMore.remainingCapacity());
+
+		switch(strategy){
+			case DEFAULT:
+			case ARRAY_BLOCKING_QUEUE:
+				assertTrue(strSimple instanceof ArrayBlockingQueue);
+				assertTrue(strMore instanceof ArrayBlockingQueue);
+				break;
+			case LINKED_BLOCKING_QUEUE:
+				assertTrue(strSimple instanceof LinkedBlockingQueue);
+				assertTrue(strMore instanceof LinkedBlockingQueue);
+				break;
+			case LINKED_BLOCKING_DEQUE:
+				assertTrue(strSimple instanceof LinkedBlockingDeque);
+				assertTrue(strMore instanceof LinkedBlockingDeque);
+				break;
+			default:
+				assertTrue("test does not (yet) support this queue type <"+strategy+">", false);
+		}
+	}
+}
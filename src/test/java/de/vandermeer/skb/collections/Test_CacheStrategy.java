@@ -0,0 +1,201 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.vandermeer.skb.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import de.vandermeer.skb.collections.cache.CacheMap;
+import de.vandermeer.skb.collections.cache.CacheStats;
+import de.vandermeer.skb.collections.cache.ConcurrentCache;
+import de.vandermeer.skb.collections.cache.LruCache;
+import de.vandermeer.skb.collections.cache.TinyLfuCache;
+
+/**
+ * Tests for cache strategies.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public class Test_CacheStrategy {
+
+	@Test public void test(){
+		for(CacheStrategy cs:CacheStrategy.values()){
+			this.testOp(cs);
+		}
+	}
+
+	@Test public void testLru(){
+		CacheMap<Integer> cache=CacheStrategy.LRU.get(Integer.class, 3);
+		cache.put("a", 1);
+		cache.put("b", 2);
+		cache.put("c", 3);
+		assertEquals(Integer.valueOf(1), cache.get("a"));
+		cache.put("d", 4);
+		assertFalse(cache.containsKey("b"));
+		assertTrue(cache.containsKey("a"));
+		assertNull(cache.get("b"));
+
+		CacheStats stats=cache.stats();
+		assertEquals(1, stats.getHits());
+		assertEquals(1, stats.getMisses());
+		assertEquals(1, stats.getEvictions());
+		assertEquals(0.5, stats.getHitRate(), 0.0);
+	}
+
+	@Test public void testTinyLfu(){
+		//a scan of keys used once, mixed with reads of a few frequently used keys, loading missing keys on a miss
+		assertTrue(this.hotHits(CacheStrategy.TINY_LFU)>1900);
+		assertTrue(this.hotHits(CacheStrategy.LRU)<100);
+		assertTrue(this.hotHits(CacheStrategy.CONCURRENT_TINY_LFU)>1900);
+	}
+
+	private int hotHits(CacheStrategy strategy){
+		CacheMap<Integer> cache=strategy.get(Integer.class, 100);
+		int ret=0;
+		for(int i=0; i<10000; i++){
+			cache.put("scan/" + i, i);
+			if(i % 4==0){
+				String key="hot/" + ((i / 4) % 50);
+				if(cache.get(key)==null){
+					cache.put(key, i);
+				}
+				else{
+					ret++;
+				}
+			}
+		}
+		assertEquals(100, cache.size());
+		return ret;
+	}
+
+	@Test public void testExpiry(){
+		AtomicLong time=new AtomicLong();
+		List<CacheMap<Integer>> caches=new ArrayList<CacheMap<Integer>>();
+		caches.add(new LruCache<Integer>(10, 10, 0, TimeUnit.NANOSECONDS, time::get));
+		caches.add(new TinyLfuCache<Integer>(10, 10, 0, TimeUnit.NANOSECONDS, time::get));
+		caches.add(new ConcurrentCache<Integer>(10, 2, size -> new LruCache<Integer>(size, 10, 0, TimeUnit.NANOSECONDS, time::get)));
+		for(CacheMap<Integer> cache:caches){
+			time.set(0);
+			cache.put("a", 1);
+			cache.put("b", 2);
+			time.set(5);
+			cache.put("b", 3);
+			assertEquals(Integer.valueOf(1), cache.get("a"));
+			time.set(10);
+			assertNull(cache.get("a"));
+			assertEquals(Integer.valueOf(3), cache.get("b"));
+			assertEquals(1, cache.size());
+			time.set(15);
+			cache.cleanUp();
+			assertTrue(cache.isEmpty());
+			assertEquals(2, cache.stats().getExpirations());
+		}
+
+		LruCache<Integer> access=new LruCache<Integer>(10, 0, 10, TimeUnit.NANOSECONDS, time::get);
+		time.set(0);
+		access.put("a", 1);
+		time.set(8);
+		assertEquals(Integer.valueOf(1), access.get("a"));
+		time.set(16);
+		assertEquals(Integer.valueOf(1), access.get("a"));
+		time.set(26);
+		assertNull(access.get("a"));
+	}
+
+	@Test public void testConcurrent() throws InterruptedException{
+		for(CacheStrategy cs:new CacheStrategy[]{CacheStrategy.CONCURRENT_LRU, CacheStrategy.CONCURRENT_TINY_LFU}){
+			CacheMap<Integer> cache=cs.get(Integer.class, 1000);
+			Thread[] threads=new Thread[4];
+			for(int t=0; t<threads.length; t++){
+				int offset=t;
+				threads[t]=new Thread(){
+					@Override
+					public void run(){
+						for(int i=0; i<20000; i++){
+							String key="key/" + ((i * 7 + offset) % 3000);
+							if(cache.get(key)==null){
+								cache.put(key, i);
+							}
+						}
+					}
+				};
+				threads[t].start();
+			}
+			for(Thread thread:threads){
+				thread.join();
+			}
+			assertTrue(cache.size()<=1000);
+			assertEquals(80000, cache.stats().getRequests());
+			Map<String, Integer> copy=new HashMap<String, Integer>(cache);
+			assertEquals(copy, cache);
+		}
+	}
+
+	@Test(expected=IllegalArgumentException.class) public void testMaximumSize(){
+		CacheStrategy.DEFAULT.get(Integer.class, 0);
+	}
+
+	@Test(expected=NullPointerException.class) public void testNullValue(){
+		CacheStrategy.TINY_LFU.get(Integer.class, 10).put("a", null);
+	}
+
+	private void testOp(CacheStrategy strategy){
+		Map<String, Integer> in=new HashMap<String, Integer>();
+		for(int i=0; i<20; i++){
+			in.put("key/" + i, i);
+		}
+		CacheMap<Integer> cache=strategy.get(in, 100);
+		assertEquals(in, cache);
+		assertEquals(100, cache.maximumSize());
+		assertEquals(Integer.valueOf(3), cache.remove("key/3"));
+		assertEquals(19, cache.size());
+		cache.entrySet().removeIf(e -> e.getValue() % 2==0);
+		assertEquals(9, cache.size());
+		cache.clear();
+		assertTrue(cache.isEmpty());
+
+		switch(strategy){
+			case LRU:
+			case DEFAULT:
+				assertTrue(cache instanceof LruCache);
+				assertFalse(strategy.isConcurrent());
+				break;
+			case TINY_LFU:
+				assertTrue(cache instanceof TinyLfuCache);
+				assertFalse(strategy.isConcurrent());
+				break;
+			case CONCURRENT_LRU:
+			case CONCURRENT_TINY_LFU:
+				assertTrue(cache instanceof ConcurrentCache);
+				assertTrue(strategy.isConcurrent());
+				break;
+			default:
+				assertTrue("test does not (yet) support this cache type", false);
+		}
+	}
+}
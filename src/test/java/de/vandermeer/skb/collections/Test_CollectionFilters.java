@@ -0,0 +1,98 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.junit.Test;
+
+import de.vandermeer.skb.base.Skb_Transformer;
+
+/**
+ * Tests for collection filters.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public class Test_CollectionFilters {
+
+	private final CollectionFilters<Integer> filters=new CollectionFilters<Integer>(){};
+
+	private final Predicate<Integer> even=i -> (i & 1)==0;
+
+	@Test public void testVarargs(){
+		List<Integer> one=Arrays.asList(1, 2, 3, 4);
+		List<Integer> two=Arrays.asList(5, 6);
+		List<Integer> three=Arrays.asList(7, 8, 10);
+
+		//all sources are filtered, not only the first two
+		Collection<Integer> result=this.filters.filter(this.even, one, two, three);
+		assertEquals(Arrays.asList(2, 4, 6, 8, 10), result);
+
+		Collection<Integer> arrays=this.filters.filter(this.even, new Integer[]{1, 2}, new Integer[]{3, 4}, new Integer[]{6});
+		assertEquals(Arrays.asList(2, 4, 6), arrays);
+
+		assertEquals(0, this.filters.filter(this.even, new Collection[0]).size());
+		assertEquals(5, this.filters.count(this.even, one, two, three));
+		assertEquals(Integer.valueOf(6), this.filters.first(i -> i>5, two, three));
+		assertNull(this.filters.first(i -> i>100, one));
+	}
+
+	@Test public void testStrategy(){
+		List<Integer> input=Arrays.asList(1, 2, 3, 4, 5, 6);
+		List<Integer> list=this.filters.filter(this.even, input, ListStrategy.LINKED_LIST);
+		assertTrue(list instanceof LinkedList);
+		assertEquals(Arrays.asList(2, 4, 6), list);
+
+		Set<Integer> set=this.filters.filter(this.even, input, SetStrategy.LINKED_HASH_SET);
+		assertEquals(3, set.size());
+
+		//immutable strategies are filled through a temporary list
+		assertEquals(Arrays.asList(2, 4, 6), this.filters.filter(this.even, input, ListStrategy.IMMUTABLE));
+		assertEquals(new HashSet<>(Arrays.asList(2, 4, 6)), this.filters.filter(this.even, input, SetStrategy.IMMUTABLE));
+	}
+
+	@Test public void testFused(){
+		List<Integer> one=Arrays.asList(1, 2, 3, 4, 5, 6);
+		List<Integer> two=Arrays.asList(7, 8);
+		FusedFilter<Integer, String> fused=FusedFilter.<Integer>of(this.even)
+				.filter(i -> i>2)
+				.transform(new Skb_Transformer<Integer, String>(){
+					@Override
+					public String transform(Integer i){
+						return "v" + i;
+					}
+				})
+				.filter(s -> !s.equals("v6"));
+
+		assertEquals(Arrays.asList("v4", "v8"), fused.toList(ListStrategy.ARRAY_LIST, one, two));
+		assertEquals(2, fused.toSet(SetStrategy.HASH_SET, one, two).size());
+		assertEquals(Arrays.asList("v4", "v8"), fused.toList(ListStrategy.IMMUTABLE, one, two));
+		assertEquals(new HashSet<>(Arrays.asList("v4", "v8")), fused.toSet(SetStrategy.IMMUTABLE, one, two));
+		assertEquals(2, fused.count(one, two));
+		assertEquals("v4", fused.first(one, two));
+		assertNull(fused.first(two.subList(0, 1)));
+	}
+}
@@ -0,0 +1,209 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+import de.vandermeer.skb.base.Skb_Transformer;
+import de.vandermeer.skb.collections.immutable.ImmutableArrayList;
+
+/**
+ * Tests for collection tools.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public class Test_CollectionTools {
+
+	private static final Skb_Transformer<Integer, String> TO_STRING=new Skb_Transformer<Integer, String>(){
+		@Override
+		public String transform(Integer i){
+			return "v" + i;
+		}
+	};
+
+	private static List<Integer> input(int size){
+		List<Integer> ret=new ArrayList<>(size);
+		for(int i=0; i<size; i++){
+			ret.add(i);
+		}
+		return ret;
+	}
+
+	@Test public void testParallelTransform(){
+		List<Integer> input=input(100000);
+		ForkJoinPool pool=new ForkJoinPool(4);
+		try{
+			List<String> list=CollectionTools.TRANSFORM(input, TO_STRING, String.class, ListStrategy.ARRAY_LIST, pool, 0);
+			assertEquals(CollectionTools.TRANSFORM(input, TO_STRING, String.class, ListStrategy.ARRAY_LIST), list);
+
+			Deque<String> deque=CollectionTools.TRANSFORM(input, TO_STRING, String.class, DequeStrategy.ARRAY_DEQUE, null, 1000);
+			assertEquals(list, new ArrayList<>(deque));
+
+			Set<String> set=CollectionTools.TRANSFORM(input, TO_STRING, String.class, SetStrategy.HASH_SET, pool, 1000);
+			assertEquals(100000, set.size());
+			assertTrue(set.contains("v99999"));
+
+			SortedSet<String> sorted=CollectionTools.TRANSFORM(input, TO_STRING, String.class, SortedSetStrategy.TREE_SET, pool, 0);
+			assertEquals("v0", sorted.first());
+			assertEquals(100000, sorted.size());
+		}
+		finally{
+			pool.shutdown();
+		}
+
+		//small and null inputs take the sequential path
+		assertEquals(3, CollectionTools.TRANSFORM(input(3), TO_STRING, String.class, ListStrategy.LINKED_LIST, null, 10).size());
+		assertEquals(0, CollectionTools.TRANSFORM(null, TO_STRING, String.class, ListStrategy.ARRAY_LIST, null, 0).size());
+	}
+
+	@Test public void testTransformImmutable(){
+		List<Integer> input=Arrays.asList(3, 1, 3, 2);
+		List<String> list=CollectionTools.TRANSFORM(input, TO_STRING, String.class, ListStrategy.IMMUTABLE);
+		assertEquals(Arrays.asList("v3", "v1", "v3", "v2"), list);
+		assertTrue(list instanceof ImmutableArrayList);
+
+		Set<String> set=CollectionTools.TRANSFORM(input, TO_STRING, String.class, SetStrategy.IMMUTABLE);
+		assertEquals(new HashSet<>(Arrays.asList("v1", "v2", "v3")), set);
+
+		SortedSet<String> sorted=CollectionTools.TRANSFORM(input, TO_STRING, String.class, SortedSetStrategy.IMMUTABLE);
+		assertEquals(Arrays.asList("v1", "v2", "v3"), new ArrayList<>(sorted));
+		SortedSet<String> reversed=CollectionTools.TRANSFORM(input, TO_STRING, String.class, SortedSetStrategy.IMMUTABLE, Comparator.<String>reverseOrder());
+		assertEquals(Arrays.asList("v3", "v2", "v1"), new ArrayList<>(reversed));
+
+		assertTrue(CollectionTools.TRANSFORM(null, TO_STRING, String.class, ListStrategy.IMMUTABLE).isEmpty());
+
+		List<Integer> big=input(10000);
+		ForkJoinPool pool=new ForkJoinPool(2);
+		try{
+			assertEquals(CollectionTools.TRANSFORM(big, TO_STRING, String.class, ListStrategy.ARRAY_LIST), CollectionTools.TRANSFORM(big, TO_STRING, String.class, ListStrategy.IMMUTABLE, pool, 100));
+			assertEquals(10000, CollectionTools.TRANSFORM(big, TO_STRING, String.class, SetStrategy.IMMUTABLE, pool, 100).size());
+			assertEquals("v0", CollectionTools.TRANSFORM(big, TO_STRING, String.class, SortedSetStrategy.IMMUTABLE, pool, 100).first());
+			assertEquals("v9999", CollectionTools.TRANSFORM(big, TO_STRING, String.class, SortedSetStrategy.IMMUTABLE, Comparator.<String>naturalOrder(), pool, 100).last());
+		}
+		finally{
+			pool.shutdown();
+		}
+	}
+
+	@Test public void testTransformView(){
+		final int[] calls=new int[1];
+		Skb_Transformer<Integer, String> counting=new Skb_Transformer<Integer, String>(){
+			@Override
+			public String transform(Integer i){
+				calls[0]++;
+				return "v" + i;
+			}
+		};
+		List<Integer> input=input(1000);
+
+		List<String> view=CollectionTools.TRANSFORM_VIEW(input, counting);
+		assertTrue(view instanceof RandomAccess);
+		assertEquals(1000, view.size());
+		assertEquals("v500", view.get(500));
+		assertEquals("v500", view.get(500));
+		assertEquals(2, calls[0]);
+
+		calls[0]=0;
+		List<String> memo=CollectionTools.TRANSFORM_VIEW(new LinkedList<>(input), counting, true);
+		assertFalse(memo instanceof RandomAccess);
+		assertEquals("v10", memo.get(10));
+		assertEquals("v10", memo.get(10));
+		assertEquals(1, calls[0]);
+		int count=0;
+		for(String s : memo){
+			assertEquals("v" + count++, s);
+		}
+		assertEquals(1000, calls[0]);
+
+		calls[0]=0;
+		Set<Integer> set=new HashSet<>(input);
+		for(String s : CollectionTools.TRANSFORM_ITERABLE(set, counting)){
+			if(s.equals("v3")){
+				break;
+			}
+		}
+		assertEquals(4, calls[0]);
+
+		calls[0]=0;
+		assertEquals("v0", CollectionTools.TRANSFORM_STREAM(input, counting).findFirst().get());
+		assertEquals(1, calls[0]);
+
+		assertEquals(0, CollectionTools.TRANSFORM_VIEW(null, counting).size());
+	}
+
+	@Test public void testAccessors(){
+		List<Integer> array=Arrays.asList(null, 2, 3, 4);
+		List<Integer> linked=new LinkedList<>(array);
+		Deque<Integer> deque=new ArrayDeque<>(Arrays.asList(5, 6, 7));
+		SortedSet<Integer> sorted=new TreeSet<>(Arrays.asList(9, 8, 10));
+		Queue<Integer> queue=new PriorityQueue<>(Arrays.asList(12, 11));
+		Set<Integer> set=new LinkedHashSet<>(Arrays.asList(13, 14, 15));
+
+		assertNull(CollectionTools.FIRST(array));
+		assertEquals(Integer.valueOf(5), CollectionTools.FIRST(deque));
+		assertEquals(Integer.valueOf(8), CollectionTools.FIRST(sorted));
+		assertEquals(Integer.valueOf(11), CollectionTools.FIRST(queue));
+		assertEquals(Integer.valueOf(13), CollectionTools.FIRST(set));
+		assertNull(CollectionTools.FIRST(new ArrayList<Integer>()));
+		assertNull(CollectionTools.FIRST(null));
+
+		assertEquals(Integer.valueOf(4), CollectionTools.LAST(array));
+		assertEquals(Integer.valueOf(4), CollectionTools.LAST(linked));
+		assertEquals(Integer.valueOf(7), CollectionTools.LAST(deque));
+		assertEquals(Integer.valueOf(10), CollectionTools.LAST(sorted));
+		assertEquals(Integer.valueOf(15), CollectionTools.LAST(set));
+
+		assertEquals(Integer.valueOf(3), CollectionTools.NTH(linked, 2));
+		assertEquals(Integer.valueOf(14), CollectionTools.NTH(set, 1));
+		assertEquals(Integer.valueOf(6), CollectionTools.NTH(deque, 1));
+		assertNull(CollectionTools.NTH(set, 3));
+
+		assertEquals(Integer.valueOf(2), CollectionTools.FIRST_NON_NULL(array));
+		assertEquals(Integer.valueOf(2), CollectionTools.FIRST_NON_NULL(linked));
+		assertEquals(Integer.valueOf(5), CollectionTools.FIRST_NON_NULL(deque));
+		assertEquals(Integer.valueOf(2), CollectionTools.GET_FIRST_ELEMENT(array));
+
+		assertEquals(Integer.valueOf(3), CollectionTools.FIRST_MATCHING(array, i -> i!=null && i>2));
+		assertEquals(Integer.valueOf(14), CollectionTools.FIRST_MATCHING(set, i -> i>13));
+		assertNull(CollectionTools.FIRST_MATCHING(set, i -> i>20));
+	}
+
+	@Test(expected=IllegalArgumentException.class) public void testParallelTransformNegativeThreshold(){
+		CollectionTools.TRANSFORM(input(10), TO_STRING, String.class, ListStrategy.ARRAY_LIST, null, -1);
+	}
+}
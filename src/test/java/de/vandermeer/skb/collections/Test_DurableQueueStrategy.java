@@ -0,0 +1,202 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+
+import de.vandermeer.skb.collections.offheap.MappedQueue;
+
+/**
+ * Tests for durable queue strategies.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public class Test_DurableQueueStrategy {
+
+	@Test public void test() throws IOException{
+		for(DurableQueueStrategy dqs:DurableQueueStrategy.values()){
+			Path directory=Files.createTempDirectory("queue");
+			try{
+				this.testOp(dqs, directory);
+			}
+			finally{
+				this.delete(directory);
+			}
+		}
+	}
+
+	@Test public void testRestart() throws IOException{
+		Path directory=Files.createTempDirectory("queue");
+		try{
+			MappedQueue<String> queue=DurableQueueStrategy.MAPPED_FILE.get(directory, ValueCodecs.STRING, 256, 1);
+			for(int i=0; i<100; i++){
+				queue.offer("item-" + i);
+			}
+			for(int i=0; i<40; i++){
+				assertEquals("item-" + i, queue.poll());
+			}
+			queue.close();
+
+			//consumed elements are not returned again, consumed segments are deleted
+			queue=DurableQueueStrategy.MAPPED_FILE.get(directory, ValueCodecs.STRING, 256, 1);
+			assertEquals(60, queue.size());
+			assertEquals("item-40", queue.peek());
+			queue.offer("item-100");
+			int segments=this.segments(directory);
+			for(int i=40; i<=100; i++){
+				assertEquals("item-" + i, queue.poll());
+			}
+			assertNull(queue.poll());
+			assertTrue(this.segments(directory)<segments);
+			assertEquals(1, this.segments(directory));
+			queue.close();
+
+			queue=DurableQueueStrategy.MAPPED_FILE.get(directory, ValueCodecs.STRING, 256, 1);
+			assertTrue(queue.isEmpty());
+			queue.offer("again");
+			assertEquals("again", queue.poll());
+			queue.close();
+		}
+		finally{
+			this.delete(directory);
+		}
+	}
+
+	@Test public void testIterator() throws IOException{
+		Path directory=Files.createTempDirectory("queue");
+		try{
+			MappedQueue<Integer> queue=DurableQueueStrategy.MAPPED_FILE.get(directory, ValueCodecs.INTEGER, 64, 0);
+			for(int i=0; i<50; i++){
+				queue.offer(i);
+			}
+			queue.poll();
+			List<Integer> actual=new ArrayList<>();
+			for(Integer i : queue){
+				actual.add(i);
+			}
+			assertEquals(49, actual.size());
+			assertEquals(Integer.valueOf(1), actual.get(0));
+			assertEquals(Integer.valueOf(49), actual.get(48));
+			queue.close();
+		}
+		finally{
+			this.delete(directory);
+		}
+	}
+
+	@Test(expected=ConcurrentModificationException.class)
+	public void testIteratorAfterPoll() throws IOException{
+		Path directory=Files.createTempDirectory("queue");
+		try(MappedQueue<Integer> queue=DurableQueueStrategy.MAPPED_FILE.get(directory, ValueCodecs.INTEGER, 64, 0)){
+			queue.offer(1);
+			queue.offer(2);
+			Iterator<Integer> it=queue.iterator();
+			it.next();
+			queue.poll();
+			it.next();
+		}
+		finally{
+			this.delete(directory);
+		}
+	}
+
+	@Test public void testExclusive() throws IOException{
+		Path directory=Files.createTempDirectory("queue");
+		try{
+			MappedQueue<String> queue=DurableQueueStrategy.MAPPED_FILE.get(directory, ValueCodecs.STRING, 256, 0);
+			queue.offer("first");
+			try{
+				DurableQueueStrategy.MAPPED_FILE.get(directory, ValueCodecs.STRING, 256, 0);
+				fail("directory used by an open queue must not be opened again");
+			}
+			catch(UncheckedIOException ex){
+				//expected, the first queue is not affected
+			}
+			assertEquals("first", queue.peek());
+			queue.close();
+
+			//the lock is released on close
+			queue=DurableQueueStrategy.MAPPED_FILE.get(directory, ValueCodecs.STRING, 256, 0);
+			assertEquals("first", queue.poll());
+			queue.close();
+		}
+		finally{
+			this.delete(directory);
+		}
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testTooLarge() throws IOException{
+		Path directory=Files.createTempDirectory("queue");
+		try(MappedQueue<byte[]> queue=DurableQueueStrategy.MAPPED_FILE.get(directory, ValueCodecs.BYTE_ARRAY, 64, 0)){
+			queue.offer(new byte[57]);
+		}
+		finally{
+			this.delete(directory);
+		}
+	}
+
+	private void testOp(DurableQueueStrategy dqs, Path directory){
+		MappedQueue<Long> queue=dqs.get(directory, ValueCodecs.LONG);
+		assertTrue(queue.isEmpty());
+		assertNull(queue.peek());
+		for(long i=0; i<10000; i++){
+			assertTrue(queue.offer(i));
+		}
+		assertEquals(10000, queue.size());
+		for(long i=0; i<10000; i++){
+			assertEquals(Long.valueOf(i), queue.poll());
+		}
+		assertNull(queue.poll());
+		assertFalse(queue.iterator().hasNext());
+		queue.close();
+	}
+
+	private int segments(Path directory) throws IOException{
+		int ret=0;
+		try(DirectoryStream<Path> files=Files.newDirectoryStream(directory, "*.segment")){
+			for(@SuppressWarnings("unused") Path file : files){
+				ret++;
+			}
+		}
+		return ret;
+	}
+
+	private void delete(Path directory) throws IOException{
+		try(DirectoryStream<Path> files=Files.newDirectoryStream(directory)){
+			for(Path file : files){
+				Files.delete(file);
+			}
+		}
+		Files.delete(directory);
+	}
+}
@@ -0,0 +1,140 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+
+import javax.management.ObjectName;
+
+import org.junit.Test;
+
+import de.vandermeer.skb.collections.instrumented.CollectionMetrics;
+import de.vandermeer.skb.collections.instrumented.MetricsSnapshot;
+import de.vandermeer.skb.collections.instrumented.Operation;
+
+/**
+ * Tests for instrumented collections and maps.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public class Test_Instruments {
+
+	@Test public void testList(){
+		CollectionMetrics metrics=new CollectionMetrics("list");
+		List<Integer> list=ListStrategy.ARRAY_LIST.instrumented(Integer.class, metrics);
+		assertTrue(list instanceof RandomAccess);
+		assertFalse(ListStrategy.LINKED_LIST.instrumented(Integer.class, new CollectionMetrics("linked")) instanceof RandomAccess);
+
+		for(int i=0; i<100; i++){
+			list.add(i);
+		}
+		list.get(50);
+		list.set(1, 1);
+		list.remove(Integer.valueOf(99));
+		assertTrue(list.contains(42));
+
+		int count=0;
+		for(Iterator<Integer> it=list.iterator(); it.hasNext(); it.next()){
+			count++;
+		}
+		assertEquals(99, count);
+		list.subList(0, 10).clear();
+
+		MetricsSnapshot snapshot=metrics.snapshot();
+		assertEquals(100, snapshot.getCount(Operation.ADD));
+		assertEquals(1, snapshot.getCount(Operation.GET));
+		assertEquals(1, snapshot.getCount(Operation.SET));
+		assertEquals(1, snapshot.getCount(Operation.REMOVE));
+		assertEquals(1, snapshot.getCount(Operation.CONTAINS));
+		assertEquals(1, snapshot.getCount(Operation.ITERATE));
+		assertEquals(1, snapshot.getCount(Operation.CLEAR));
+		assertEquals(106, snapshot.getTotalOperations());
+		assertEquals(100, snapshot.getPeakSize());
+		assertEquals(89, snapshot.getSize());
+		//ArrayList capacity 10, 15, 22, 33, 49, 73, 109
+		assertEquals(6, snapshot.getResizes());
+		assertEquals(1, snapshot.getIterations());
+		assertEquals(99, snapshot.getMaxIterationLength());
+
+		metrics.reset();
+		assertEquals(0, metrics.getTotalOperations());
+		assertEquals(0, metrics.getPeakSize());
+	}
+
+	@Test public void testSet(){
+		CollectionMetrics metrics=new CollectionMetrics("set");
+		Set<String> set=SetStrategy.HASH_SET.instrumented(String.class, metrics);
+		for(int i=0; i<13; i++){
+			set.add("e"+i);
+		}
+		//hash table 16 grows with the 13th element
+		assertEquals(1, metrics.getResizes());
+		set.forEach(s -> s.length());
+		assertEquals(13, metrics.getIteratedElements());
+		assertEquals(13, metrics.getCount(Operation.ADD));
+	}
+
+	@Test public void testMap(){
+		CollectionMetrics metrics=new CollectionMetrics("map");
+		Map<String, Integer> map=MapStrategy.HASH_MAP.instrumented(Integer.class, metrics);
+		map.put("one", 1);
+		map.put("two", 2);
+		map.putIfAbsent("three", 3);
+		map.get("one");
+		map.containsKey("two");
+		map.keySet().remove("two");
+		for(Map.Entry<String, Integer> e : map.entrySet()){
+			e.getKey();
+		}
+
+		assertEquals(3, metrics.getCount(Operation.PUT));
+		assertEquals(1, metrics.getCount(Operation.GET));
+		assertEquals(1, metrics.getCount(Operation.CONTAINS));
+		assertEquals(1, metrics.getCount(Operation.REMOVE));
+		assertEquals(1, metrics.getCount(Operation.ITERATE));
+		assertEquals(2, metrics.getIteratedElements());
+		assertEquals(3, metrics.getPeakSize());
+		assertEquals(2, metrics.getSize());
+		assertEquals(Long.valueOf(3), metrics.getOperations().get("PUT"));
+	}
+
+	@Test public void testJmx() throws Exception {
+		CollectionMetrics metrics=new CollectionMetrics("jmx test");
+		MapStrategy.DEFAULT.instrumented(String.class, metrics).put("a", "b");
+		ObjectName on=metrics.register();
+		try{
+			assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(on));
+			assertEquals(1L, ManagementFactory.getPlatformMBeanServer().getAttribute(on, "PeakSize"));
+		}
+		finally{
+			metrics.unregister();
+		}
+		assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(on));
+	}
+
+	@Test(expected=IllegalArgumentException.class) public void testNullMetrics(){
+		ListStrategy.DEFAULT.instrumented(Integer.class, null);
+	}
+}
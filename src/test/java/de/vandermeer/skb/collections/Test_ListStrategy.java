@@ -16,19 +16,29 @@
 package de.vandermeer.skb.collections;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.RandomAccess;
 import java.util.Stack;
 import java.util.Vector;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
 
 import de.vandermeer.skb.collections.ListStrategy;
+import de.vandermeer.skb.collections.adaptive.AdaptiveList;
+import de.vandermeer.skb.collections.concurrent.AppendOnlyList;
+import de.vandermeer.skb.collections.concurrent.LockPolicy;
+import de.vandermeer.skb.collections.concurrent.LockedList;
+import de.vandermeer.skb.collections.immutable.ImmutableArrayList;
 
 /**
  * Tests for list strategy.
@@ -44,6 +54,188 @@ public class Test_ListStrategy {
 		}
 	}
 
+	@Test public void testExpectedSize(){
+		for(ListStrategy ls:ListStrategy.values()){
+			List<Integer> sized=ls.get(Integer.class, 100);
+			assertNotNull(sized);
+			assertEquals(0, sized.size());
+			if(ls==ListStrategy.IMMUTABLE){
+				//nothing can be added
+				continue;
+			}
+			for(int i=0; i<100; i++){
+				sized.add(i);
+			}
+			assertEquals(100, sized.size());
+			assertEquals(ls.get(Integer.class).getClass(), sized.getClass());
+		}
+	}
+
+	@Test public void testExpectedSizeDefault(){
+		//an implementation written before sizing was added
+		IsListStrategy external=new IsListStrategy(){
+			@Override public boolean isList(){return true;}
+			@Override public boolean isSet(){return false;}
+			@Override public boolean isQueue(){return false;}
+			@Override public <T> List<T> get(Collection<T> collection){return new LinkedList<T>(collection);}
+			@Override public <T> List<T> get(Class<T> T){return new LinkedList<T>();}
+		};
+		List<Integer> list=external.get(Integer.class, 100);
+		assertTrue(list instanceof LinkedList);
+		assertTrue(list.isEmpty());
+	}
+
+	@Test(expected=IllegalArgumentException.class) public void testExpectedSizeDefaultNegative(){
+		IsListStrategy external=new IsListStrategy(){
+			@Override public boolean isList(){return true;}
+			@Override public boolean isSet(){return false;}
+			@Override public boolean isQueue(){return false;}
+			@Override public <T> List<T> get(Collection<T> collection){return new LinkedList<T>(collection);}
+			@Override public <T> List<T> get(Class<T> T){return new LinkedList<T>();}
+		};
+		external.get(Integer.class, -1);
+	}
+
+	@Test public void testAuto(){
+		AdaptiveList<Integer> list=(AdaptiveList<Integer>)ListStrategy.AUTO.get(Integer.class, 10000);
+		for(int i=0; i<10000; i++){
+			list.add(i);
+		}
+		assertEquals(ListStrategy.ARRAY_LIST, list.getStrategy());
+
+		//inserting and removing at the head favours a linked list
+		for(int i=0; i<20000; i++){
+			list.add(0, -1);
+			list.remove(0);
+		}
+		assertEquals(ListStrategy.LINKED_LIST, list.getStrategy());
+		assertEquals(10000, list.size());
+		assertEquals(Integer.valueOf(0), list.get(0));
+
+		//random positional access favours an array list again
+		long sum=0;
+		for(int i=0; i<20000; i++){
+			sum+=list.get((i*7919)%10000);
+		}
+		assertEquals(ListStrategy.ARRAY_LIST, list.getStrategy());
+		assertEquals(2, list.getMigrations());
+		assertTrue(sum>0);
+		for(int i=0; i<10000; i++){
+			assertEquals(Integer.valueOf(i), list.get(i));
+		}
+	}
+
+	@Test public void testAppendOnly() throws InterruptedException {
+		final List<Integer> list=ListStrategy.APPEND_ONLY_LIST.get(Integer.class);
+		final AtomicInteger empty=new AtomicInteger();
+		Thread[] writers=new Thread[4];
+		for(int t=0; t<writers.length; t++){
+			final int base=t * 100000;
+			writers[t]=new Thread(){
+				@Override
+				public void run(){
+					for(int i=0; i<100000; i++){
+						list.add(base + i);
+						//a reader sees only written elements
+						if(list.get(list.size() - 1)==null){
+							empty.incrementAndGet();
+						}
+					}
+				}
+			};
+			writers[t].start();
+		}
+		for(Thread writer : writers){
+			writer.join();
+		}
+		assertEquals(0, empty.get());
+		assertEquals(400000, list.size());
+		boolean[] seen=new boolean[400000];
+		for(Integer i : list){
+			seen[i]=true;
+		}
+		for(boolean b : seen){
+			assertTrue(b);
+		}
+	}
+
+	@Test public void testImmutable(){
+		List<Integer> in=Arrays.asList(3, null, 1, 3);
+		List<Integer> list=ListStrategy.IMMUTABLE.get(in);
+		assertEquals(in, list);
+		assertEquals(in.hashCode(), list.hashCode());
+		assertEquals(0, list.indexOf(3));
+		assertEquals(3, list.lastIndexOf(3));
+		assertEquals(1, list.indexOf(null));
+		assertEquals(Arrays.asList(null, 1), list.subList(1, 3));
+		assertTrue(list instanceof RandomAccess);
+	}
+
+	@Test public void testMonitorsByDefault(){
+		if(System.getProperty(LockPolicy.PROPERTY)==null){
+			//locks are opt-in, callers synchronizing on the list keep working
+			assertFalse(LockPolicy.PREFER_LOCKS());
+			assertTrue(ListStrategy.STACK.get(Integer.class) instanceof Stack);
+			assertTrue(ListStrategy.VECTOR.get(Integer.class, 10) instanceof Vector);
+		}
+	}
+
+	@Test public void testLocked() throws InterruptedException {
+		final LockedList<Integer> list=new LockedList<>(Arrays.asList(5, 3, null, 3));
+		assertEquals(Arrays.asList(5, 3, null, 3), list);
+		assertEquals(list, new ArrayList<>(Arrays.asList(5, 3, null, 3)));
+		assertEquals(Arrays.asList(5, 3, null, 3).hashCode(), list.hashCode());
+		assertEquals(3, list.lastIndexOf(3));
+		assertTrue(list.containsAll(Arrays.asList(null, 5)));
+		list.removeAll(Arrays.asList(3, (Integer)null));
+		assertEquals(Arrays.asList(5), list);
+		list.addAll(list);
+		assertEquals(Arrays.asList(5, 5), list);
+		list.subList(0, 1).clear();
+		assertEquals("[5]", list.toString());
+		list.clear();
+
+		Thread[] writers=new Thread[4];
+		for(int t=0; t<writers.length; t++){
+			final int base=t * 10000;
+			writers[t]=new Thread(){
+				@Override
+				public void run(){
+					for(int i=0; i<10000; i++){
+						//compound action under the list's lock
+						list.getLock().lock();
+						try{
+							list.add(base + i);
+							if(list.get(list.size() - 1)%2==0){
+								list.remove(list.size() - 1);
+							}
+						}
+						finally{
+							list.getLock().unlock();
+						}
+					}
+				}
+			};
+			writers[t].start();
+		}
+		for(Thread writer : writers){
+			writer.join();
+		}
+		assertEquals(20000, list.size());
+		list.sort(null);
+		for(int i=0; i<20000; i++){
+			assertEquals(2 * i + 1, (int)list.get(i));
+		}
+	}
+
+	@Test(expected=UnsupportedOperationException.class) public void testImmutableAdd(){
+		ListStrategy.IMMUTABLE.get(Arrays.asList(1, 2)).add(3);
+	}
+
+	@Test(expected=UnsupportedOperationException.class) public void testAppendOnlyRemove(){
+		ListStrategy.APPEND_ONLY_LIST.get(Arrays.asList(1, 2)).remove(0);
+	}
+
 	private void testOp(ListStrategy strategy){
 		List<String> stringsIn=Arrays.asList(new String[]{"one", "two", "three"});
 		List<Integer> intsIn=Arrays.asList(new Integer[]{1, 2, 3});
@@ -75,16 +267,40 @@ public class Test_ListStrategy {
 				assertTrue(intMore instanceof LinkedList);
 				break;
 			case STACK:
-				assertTrue(strSimple instanceof Stack);
-				assertTrue(strMore instanceof Stack);
-				assertTrue(intSimple instanceof Stack);
-				assertTrue(intMore instanceof Stack);
+				assertTrue((LockPolicy.PREFER_LOCKS()?LockedList.class:Stack.class).isInstance(strSimple));
+				assertTrue((LockPolicy.PREFER_LOCKS()?LockedList.class:Stack.class).isInstance(strMore));
+				assertTrue((LockPolicy.PREFER_LOCKS()?LockedList.class:Stack.class).isInstance(intSimple));
+				assertTrue((LockPolicy.PREFER_LOCKS()?LockedList.class:Stack.class).isInstance(intMore));
 				break;
 			case VECTOR:
-				assertTrue(strSimple instanceof Vector);
-				assertTrue(strMore instanceof Vector);
-				assertTrue(intSimple instanceof Vector);
-				assertTrue(intMore instanceof Vector);
+				assertTrue((LockPolicy.PREFER_LOCKS()?LockedList.class:Vector.class).isInstance(strSimple));
+				assertTrue((LockPolicy.PREFER_LOCKS()?LockedList.class:Vector.class).isInstance(strMore));
+				assertTrue((LockPolicy.PREFER_LOCKS()?LockedList.class:Vector.class).isInstance(intSimple));
+				assertTrue((LockPolicy.PREFER_LOCKS()?LockedList.class:Vector.class).isInstance(intMore));
+				break;
+			case AUTO:
+				assertTrue(strSimple instanceof AdaptiveList);
+				assertTrue(strMore instanceof AdaptiveList);
+				assertTrue(intSimple instanceof AdaptiveList);
+				assertTrue(intMore instanceof AdaptiveList);
+				break;
+			case COPY_ON_WRITE_ARRAY_LIST:
+				assertTrue(strSimple instanceof CopyOnWriteArrayList);
+				assertTrue(strMore instanceof CopyOnWriteArrayList);
+				assertTrue(intSimple instanceof CopyOnWriteArrayList);
+				assertTrue(intMore instanceof CopyOnWriteArrayList);
+				break;
+			case APPEND_ONLY_LIST:
+				assertTrue(strSimple instanceof AppendOnlyList);
+				assertTrue(strMore instanceof AppendOnlyList);
+				assertTrue(intSimple instanceof AppendOnlyList);
+				assertTrue(intMore instanceof AppendOnlyList);
+				break;
+			case IMMUTABLE:
+				assertTrue(strSimple instanceof ImmutableArrayList);
+				assertTrue(strMore instanceof ImmutableArrayList);
+				assertTrue(intSimple instanceof ImmutableArrayList);
+				assertTrue(intMore instanceof ImmutableArrayList);
 				break;
 			default:
 				assertTrue("test does not (yet) support this list type <"+strategy+">", false);
@@ -15,16 +15,35 @@
 
 package de.vandermeer.skb.collections;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 import org.junit.Test;
 
 import de.vandermeer.skb.collections.MapStrategy;
+import de.vandermeer.skb.collections.adaptive.AdaptiveMap;
+import de.vandermeer.skb.collections.concurrent.LockPolicy;
+import de.vandermeer.skb.collections.concurrent.LockedMap;
+import de.vandermeer.skb.collections.immutable.ImmutableStringMap;
+import de.vandermeer.skb.collections.offheap.OffHeapMap;
+import de.vandermeer.skb.collections.references.ConcurrentReferenceValueMap;
+import de.vandermeer.skb.collections.references.ReferenceValueMap;
+import de.vandermeer.skb.collections.references.Strength;
+import de.vandermeer.skb.collections.strings.RadixTreeMap;
+import de.vandermeer.skb.collections.strings.RobinHoodMap;
 
 /**
  * Tests for map strategy.
@@ -38,9 +57,307 @@ public class Test_MapStrategy {
 		this.testOp(MapStrategy.HASH_MAP);
 		this.testOp(MapStrategy.LINKED_HASH_MAP);
 		this.testOp(MapStrategy.TREE_MAP);
+		this.testOp(MapStrategy.AUTO);
+		this.testOp(MapStrategy.ROBIN_HOOD_HASH_MAP);
+		this.testOp(MapStrategy.RADIX_TREE_MAP);
+		this.testOp(MapStrategy.SOFT_VALUE);
+		this.testOp(MapStrategy.WEAK_VALUE);
+		this.testOp(MapStrategy.CONCURRENT_SOFT_VALUE);
+		this.testOp(MapStrategy.CONCURRENT_WEAK_VALUE);
+		this.testOp(MapStrategy.IMMUTABLE);
 
 	}
 
+	@Test public void testExpectedSize(){
+		for(MapStrategy ms:MapStrategy.values()){
+			Map<String, Integer> sized=ms.get(Integer.class, 100);
+			assertEquals(ms.get(Integer.class).getClass(), sized.getClass());
+			assertEquals(ms.get(Integer.class).getClass(), ms.get(Integer.class, 100, 0.5f).getClass());
+			//load factors of 1 and above are clamped by open addressing maps, not rejected
+			assertEquals(ms.get(Integer.class).getClass(), ms.get(Integer.class, 100, 1.5f).getClass());
+		}
+		assertEquals(134, CollectionTools.HASH_CAPACITY(100, 0.75f));
+		assertEquals(0, CollectionTools.HASH_CAPACITY(0, 0.75f));
+	}
+
+	@Test(expected=IllegalArgumentException.class) public void testNegativeExpectedSize(){
+		MapStrategy.HASH_MAP.get(Integer.class, -1);
+	}
+
+	@Test public void testOffHeap(){
+		Map<String, Integer> ints=MapStrategy.OFF_HEAP.get(Integer.class, 10);
+		assertTrue(ints instanceof OffHeapMap);
+		Map<String, Integer> expected=new HashMap<String, Integer>();
+		this.assertSameAsReference(ints, expected, i -> "key/" + (i % 7000));
+		assertEquals(expected, new HashMap<String, Integer>(ints));
+		((OffHeapMap<Integer>)ints).close();
+
+		Map<String, Object> objects=new HashMap<String, Object>();
+		objects.put("string", "value");
+		objects.put("list", new ArrayList<String>(Arrays.asList("one", "two")));
+		OffHeapMap<Object> copy=(OffHeapMap<Object>)MapStrategy.OFF_HEAP.get(objects);
+		assertEquals(objects, copy);
+		copy.close();
+	}
+
+	@Test public void testRobinHood(){
+		Map<String, Integer> ints=MapStrategy.ROBIN_HOOD_HASH_MAP.get(Integer.class);
+		Map<String, Integer> expected=new HashMap<String, Integer>();
+		this.assertSameAsReference(ints, expected, i -> "key/" + (i % 7000));
+		assertEquals(expected, new HashMap<String, Integer>(ints));
+		assertNull(ints.get("missing"));
+		assertFalse(ints.containsKey(null));
+
+		ints.put("null", null);
+		assertTrue(ints.containsKey("null"));
+		assertNull(ints.remove("null"));
+		assertFalse(ints.containsKey("null"));
+
+		//removal while iterating must neither skip nor repeat entries
+		Map<String, Integer> seen=new HashMap<String, Integer>();
+		Iterator<Map.Entry<String, Integer>> it=ints.entrySet().iterator();
+		while(it.hasNext()){
+			Map.Entry<String, Integer> entry=it.next();
+			assertNull(seen.put(entry.getKey(), entry.getValue()));
+			if(entry.getValue() % 2==0){
+				it.remove();
+			}
+			else{
+				entry.setValue(-entry.getValue());
+			}
+		}
+		assertEquals(expected, seen);
+		for(Map.Entry<String, Integer> entry:expected.entrySet()){
+			assertEquals((entry.getValue() % 2==0)?null:-entry.getValue(), ints.get(entry.getKey()));
+		}
+
+		Map<String, Integer> copy=MapStrategy.ROBIN_HOOD_HASH_MAP.get(ints);
+		assertEquals(ints, copy);
+		copy.clear();
+		assertTrue(copy.isEmpty());
+		assertEquals(RobinHoodMap.class, MapStrategy.ROBIN_HOOD_HASH_MAP.get(Integer.class, 100, 2f).getClass());
+	}
+
+	@Test(expected=NullPointerException.class) public void testRobinHoodNullKey(){
+		MapStrategy.ROBIN_HOOD_HASH_MAP.get(Integer.class).put(null, 1);
+	}
+
+	@Test public void testRadixTree(){
+		Map<String, Integer> ints=MapStrategy.RADIX_TREE_MAP.get(Integer.class);
+		TreeMap<String, Integer> expected=new TreeMap<String, Integer>();
+		this.assertSameAsReference(ints, expected, i -> "a/" + (i % 13) + "/b/" + (i % 7000));
+		assertEquals(new ArrayList<String>(expected.keySet()), new ArrayList<String>(ints.keySet()));
+
+		ints.put("", 1);
+		ints.put("a", 2);
+		ints.put("a/", null);
+		assertEquals(Integer.valueOf(1), ints.get(""));
+		assertTrue(ints.containsKey("a/"));
+		assertNull(ints.get("a/1"));
+		assertEquals(Integer.valueOf(1), ints.remove(""));
+		assertEquals(Integer.valueOf(2), ints.remove("a"));
+		assertNull(ints.remove("a/"));
+		assertEquals(expected, ints);
+
+		Map<String, Integer> prefixed=((RadixTreeMap<Integer>)ints).prefixMap("a/12/");
+		assertEquals(expected.subMap("a/12/", "a/12/\uffff"), prefixed);
+		assertEquals(new ArrayList<String>(expected.subMap("a/12/", "a/12/\uffff").keySet()), new ArrayList<String>(prefixed.keySet()));
+		assertTrue(((RadixTreeMap<Integer>)ints).prefixMap("x").isEmpty());
+
+		//removal while iterating a prefix view
+		Iterator<Map.Entry<String, Integer>> it=prefixed.entrySet().iterator();
+		while(it.hasNext()){
+			Map.Entry<String, Integer> entry=it.next();
+			if(entry.getValue() % 2==0){
+				it.remove();
+				expected.remove(entry.getKey());
+			}
+			else{
+				expected.put(entry.getKey(), -entry.getValue());
+				entry.setValue(-entry.getValue());
+			}
+		}
+		assertEquals(expected, ints);
+		assertEquals(expected, MapStrategy.RADIX_TREE_MAP.get(ints));
+		prefixed.clear();
+		assertTrue(prefixed.isEmpty());
+		assertEquals(expected.size() - expected.subMap("a/12/", "a/12/\uffff").size(), ints.size());
+	}
+
+	@Test(expected=IllegalArgumentException.class) public void testRadixTreePrefixPut(){
+		((RadixTreeMap<Integer>)MapStrategy.RADIX_TREE_MAP.<Integer>get(Integer.class)).prefixMap("a/").put("b/", 1);
+	}
+
+	@Test public void testReferenceValues(){
+		for(MapStrategy m:new MapStrategy[]{MapStrategy.SOFT_VALUE, MapStrategy.WEAK_VALUE, MapStrategy.CONCURRENT_SOFT_VALUE, MapStrategy.CONCURRENT_WEAK_VALUE}){
+			Map<String, Integer> ints=m.get(Integer.class, 10);
+			Map<String, Integer> expected=new HashMap<String, Integer>();
+			for(int i=0; i<5000; i++){
+				String key="key/" + (i % 700);
+				if(i % 3==0){
+					assertEquals(expected.remove(key), ints.remove(key));
+				}
+				else{
+					assertEquals(expected.put(key, i), ints.put(key, i));
+				}
+			}
+			//the values are held strongly by the expected map, so none can be reclaimed
+			assertEquals(expected, ints);
+			assertEquals(expected, m.get(expected));
+
+			Iterator<Map.Entry<String, Integer>> it=ints.entrySet().iterator();
+			while(it.hasNext()){
+				Map.Entry<String, Integer> entry=it.next();
+				if(entry.getValue() % 2==0){
+					it.remove();
+					expected.remove(entry.getKey());
+				}
+				else{
+					entry.setValue(entry.getValue() + 1);
+					expected.put(entry.getKey(), entry.getValue());
+				}
+			}
+			assertEquals(expected, ints);
+			assertEquals(expected.size(), ints.size());
+		}
+	}
+
+	@Test public void testWeakValuesReclaimed() throws InterruptedException{
+		for(MapStrategy m:new MapStrategy[]{MapStrategy.WEAK_VALUE, MapStrategy.CONCURRENT_WEAK_VALUE}){
+			Map<String, Object> objects=m.get(Object.class);
+			Object kept=new Object();
+			objects.put("kept", kept);
+			for(int i=0; i<1000; i++){
+				objects.put("key/" + i, new Object());
+			}
+			for(int i=0; i<50 && objects.size()>1; i++){
+				System.gc();
+				Thread.sleep(10);
+			}
+			assertEquals(1, objects.size());
+			assertTrue(kept==objects.get("kept"));
+			assertNull(objects.get("key/0"));
+		}
+	}
+
+	@Test public void testConcurrentReferenceAtomic() throws InterruptedException{
+		final ConcurrentReferenceValueMap<Integer> memo=new ConcurrentReferenceValueMap<Integer>(Strength.SOFT);
+		final AtomicInteger computed=new AtomicInteger();
+		//values held strongly by the test, so none is reclaimed
+		final Integer[] values=new Integer[100];
+		for(int i=0; i<values.length; i++){
+			values[i]=Integer.valueOf(i);
+		}
+		Thread[] threads=new Thread[4];
+		for(int t=0; t<threads.length; t++){
+			threads[t]=new Thread(){
+				@Override
+				public void run(){
+					for(int round=0; round<100; round++){
+						for(int i=0; i<values.length; i++){
+							final int v=i;
+							memo.computeIfAbsent("k" + i, k -> {
+								computed.incrementAndGet();
+								return values[v];
+							});
+							memo.merge("sum", 1, Integer::sum);
+							Thread.yield();
+						}
+					}
+				}
+			};
+			threads[t].start();
+		}
+		for(Thread t : threads){
+			t.join();
+		}
+		assertEquals(values.length, computed.get());
+		assertEquals(Integer.valueOf(4 * 100 * values.length), memo.get("sum"));
+
+		assertEquals(values[1], memo.putIfAbsent("k1", 5));
+		assertFalse(memo.replace("k1", 5, 6));
+		assertTrue(memo.replace("k1", values[1], 6));
+		assertEquals(Integer.valueOf(6), memo.replace("k1", 7));
+		assertFalse(memo.remove("k1", 6));
+		assertTrue(memo.remove("k1", 7));
+		assertNull(memo.replace("k1", 8));
+		assertNull(memo.computeIfPresent("k1", (k, v) -> v + 1));
+		assertEquals(Integer.valueOf(3), memo.computeIfPresent("k2", (k, v) -> v + 1));
+		assertNull(memo.compute("k2", (k, v) -> null));
+		assertFalse(memo.containsKey("k2"));
+	}
+
+	@Test public void testConcurrentReferenceReclaimedAbsent() throws InterruptedException{
+		ConcurrentReferenceValueMap<Object> map=new ConcurrentReferenceValueMap<Object>(Strength.WEAK);
+		for(int i=0; i<100; i++){
+			map.put("key/" + i, new Object());
+		}
+		for(int i=0; i<50 && map.get("key/0")!=null; i++){
+			System.gc();
+			Thread.sleep(10);
+		}
+		assertNull(map.get("key/0"));
+		Object kept=new Object();
+		assertNull(map.putIfAbsent("key/0", kept));
+		assertTrue(kept==map.get("key/0"));
+		assertTrue(kept==map.computeIfAbsent("key/0", k -> new Object()));
+		Object computed=map.computeIfAbsent("key/1", k -> new Object());
+		assertTrue(computed==map.get("key/1"));
+	}
+
+	@Test(expected=NullPointerException.class) public void testReferenceNullValue(){
+		MapStrategy.SOFT_VALUE.get(Integer.class).put("a", null);
+	}
+
+	@Test public void testImmutable(){
+		Map<String, Integer> in=new HashMap<String, Integer>();
+		for(int i=0; i<20000; i++){
+			in.put("key/" + i, i);
+		}
+		//keys with equal hash codes switch the map to hashing characters
+		Map<String, Integer> colliding=new HashMap<String, Integer>(in);
+		colliding.put("Aa", -1);
+		colliding.put("BB", -2);
+		assertEquals("Aa".hashCode(), "BB".hashCode());
+		colliding.put("nullValue", null);
+
+		for(Map<String, Integer> expected:Arrays.asList(in, colliding)){
+			Map<String, Integer> map=MapStrategy.IMMUTABLE.get(expected);
+			assertTrue(map instanceof ImmutableStringMap);
+			assertEquals(expected, map);
+			assertEquals(expected.hashCode(), map.hashCode());
+			for(int i=0; i<40000; i++){
+				assertEquals(expected.get("key/" + i), map.get("key/" + i));
+				assertEquals(expected.containsKey("key/" + i), map.containsKey("key/" + i));
+			}
+			assertNull(map.get(1));
+			try{
+				map.put("a", 1);
+				assertTrue("immutable map accepted an entry", false);
+			}
+			catch(UnsupportedOperationException ignore){}
+		}
+		Map<String, Integer> single=new HashMap<String, Integer>();
+		single.put("one", 1);
+		assertEquals(single, MapStrategy.IMMUTABLE.get(single));
+		assertNull(MapStrategy.IMMUTABLE.get(single).get("two"));
+	}
+
+	private void assertSameAsReference(Map<String, Integer> actual, Map<String, Integer> expected, Function<Integer, String> key){
+		//same mix of puts and removes on both maps, comparing every result
+		for(int i=0; i<50000; i++){
+			String k=key.apply(i);
+			if(i % 3==0){
+				assertEquals(expected.remove(k), actual.remove(k));
+			}
+			else{
+				assertEquals(expected.put(k, i), actual.put(k, i));
+			}
+		}
+		assertEquals(expected.size(), actual.size());
+		assertEquals(expected, actual);
+	}
+
 	private void testOp(MapStrategy m){
 		Map<String, String> strings=m.get(String.class);
 		Map<String, Integer> ints=m.get(Integer.class);
@@ -58,8 +375,96 @@ public class Test_MapStrategy {
 				assertTrue(strings instanceof TreeMap);
 				assertTrue(ints instanceof TreeMap);
 				break;
+			case AUTO:
+				assertTrue(strings instanceof AdaptiveMap);
+				assertTrue(ints instanceof AdaptiveMap);
+				break;
+			case ROBIN_HOOD_HASH_MAP:
+				assertTrue(strings instanceof RobinHoodMap);
+				assertTrue(ints instanceof RobinHoodMap);
+				break;
+			case RADIX_TREE_MAP:
+				assertTrue(strings instanceof RadixTreeMap);
+				assertTrue(ints instanceof RadixTreeMap);
+				break;
+			case SOFT_VALUE:
+			case WEAK_VALUE:
+				assertEquals(ReferenceValueMap.class, strings.getClass());
+				assertEquals(ReferenceValueMap.class, ints.getClass());
+				assertEquals((m==MapStrategy.SOFT_VALUE)?Strength.SOFT:Strength.WEAK, ((ReferenceValueMap<String>)strings).getStrength());
+				break;
+			case IMMUTABLE:
+				assertTrue(strings instanceof ImmutableStringMap);
+				assertTrue(ints instanceof ImmutableStringMap);
+				assertTrue(ints.isEmpty());
+				assertNull(ints.get("a"));
+				break;
+			case CONCURRENT_SOFT_VALUE:
+			case CONCURRENT_WEAK_VALUE:
+				assertTrue(strings instanceof ConcurrentReferenceValueMap);
+				assertTrue(ints instanceof ConcurrentReferenceValueMap);
+				assertEquals((m==MapStrategy.CONCURRENT_SOFT_VALUE)?Strength.SOFT:Strength.WEAK, ((ReferenceValueMap<String>)strings).getStrength());
+				break;
 			default:
 				assertTrue("test does not (yet) support this map type", false);
 		}
 	}
+
+	@Test public void testMonitorsByDefault(){
+		if(System.getProperty(LockPolicy.PROPERTY)==null){
+			//locks are opt-in, callers synchronizing on the map keep working
+			assertTrue(MapStrategy.HASH_TABLE.get(Integer.class) instanceof Hashtable);
+			assertTrue(MapStrategy.HASH_TABLE.get(Integer.class, 10) instanceof Hashtable);
+		}
+	}
+
+	@Test public void testLocked(){
+		LockedMap<String, Integer> map=new LockedMap<>();
+		for(int i=0; i<100; i++){
+			assertNull(map.put("k" + i, i));
+		}
+		assertEquals(100, map.size());
+		assertEquals(Integer.valueOf(7), map.get("k7"));
+		assertTrue(map.containsValue(99));
+		assertEquals(Integer.valueOf(8), map.merge("k7", 1, Integer::sum));
+		assertEquals(Integer.valueOf(1), map.computeIfAbsent("new", k -> 1));
+
+		HashMap<String, Integer> expected=new HashMap<>(map);
+		assertEquals(expected, map);
+		assertEquals(map, expected);
+		assertEquals(expected.hashCode(), map.hashCode());
+
+		//iterators work on a snapshot, removal and setValue write through
+		Iterator<Map.Entry<String, Integer>> it=map.entrySet().iterator();
+		while(it.hasNext()){
+			Map.Entry<String, Integer> e=it.next();
+			map.put("other", 0);
+			if(e.getValue()%2==0){
+				it.remove();
+			}
+			else{
+				e.setValue(e.getValue() + 1);
+			}
+		}
+		map.remove("other");
+		for(Map.Entry<String, Integer> e : expected.entrySet()){
+			if(e.getValue()%2==0){
+				assertFalse(map.containsKey(e.getKey()));
+			}
+			else{
+				assertEquals(Integer.valueOf(e.getValue() + 1), map.get(e.getKey()));
+			}
+		}
+		map.keySet().retainAll(Arrays.asList("k1", "k3"));
+		assertEquals(2, map.size());
+		assertTrue(map.values().contains(4));
+
+		LockedMap<String, Integer> copy=new LockedMap<>(map);
+		assertEquals(map, copy);
+		assertTrue(MapStrategy.HASH_TABLE.get(map).equals(copy));
+	}
+
+	@Test(expected=NullPointerException.class) public void testLockedNullValue(){
+		new LockedMap<String, Integer>().put("a", null);
+	}
 }
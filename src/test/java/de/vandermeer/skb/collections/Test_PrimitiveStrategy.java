@@ -0,0 +1,130 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import de.vandermeer.skb.collections.primitives.DoubleSet;
+import de.vandermeer.skb.collections.primitives.IntArrayDeque;
+import de.vandermeer.skb.collections.primitives.IntArrayList;
+import de.vandermeer.skb.collections.primitives.IntDeque;
+import de.vandermeer.skb.collections.primitives.IntList;
+import de.vandermeer.skb.collections.primitives.IntOpenHashSet;
+import de.vandermeer.skb.collections.primitives.LongSet;
+
+/**
+ * Tests for primitive list, set and deque strategies.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public class Test_PrimitiveStrategy {
+
+	@Test public void testList(){
+		for(PrimitiveListStrategy pls:PrimitiveListStrategy.values()){
+			IntList list=pls.getInt(new int[]{1, 2, 3});
+			assertTrue(list instanceof IntArrayList);
+			assertEquals(3, list.size());
+			list.add(0, 0);
+			list.add(4);
+			assertArrayEquals(new int[]{0, 1, 2, 3, 4}, list.toArray());
+			assertEquals(2, list.removeAt(2));
+			assertEquals(-1, list.indexOf(2));
+			assertEquals(3, list.indexOf(4));
+			assertEquals(list, pls.getInt(list));
+			assertEquals(0, pls.getInt((int[])null).size());
+		}
+	}
+
+	@Test public void testSet(){
+		for(PrimitiveSetStrategy pss:PrimitiveSetStrategy.values()){
+			Random random=new Random(42);
+			IntOpenHashSet set=(IntOpenHashSet)pss.getInt(0);
+			Set<Integer> expected=new HashSet<Integer>();
+			for(int i=0; i<20000; i++){
+				int value=random.nextInt(2000) - 1000;
+				if(random.nextBoolean()){
+					assertEquals(expected.add(value), set.add(value));
+				}
+				else{
+					assertEquals(expected.remove(value), set.remove(value));
+				}
+				assertEquals(expected.size(), set.size());
+			}
+			for(int i=-1000; i<1000; i++){
+				assertEquals(expected.contains(i), set.contains(i));
+			}
+			assertEquals(expected.hashCode(), set.hashCode());
+			assertEquals(set, pss.getInt(set.toArray()));
+
+			LongSet longs=pss.getLong(new long[]{0L, Long.MIN_VALUE, Long.MAX_VALUE, 0L});
+			assertEquals(3, longs.size());
+			assertTrue(longs.contains(0L));
+
+			DoubleSet doubles=pss.getDouble(new double[]{0.0, -0.0, Double.NaN, Double.NaN});
+			assertEquals(3, doubles.size());
+			assertTrue(doubles.contains(Double.NaN));
+			assertTrue(doubles.remove(-0.0));
+			assertFalse(doubles.contains(-0.0));
+			assertTrue(doubles.contains(0.0));
+		}
+	}
+
+	@Test public void testDeque(){
+		for(PrimitiveDequeStrategy pds:PrimitiveDequeStrategy.values()){
+			IntDeque deque=pds.getInt(0);
+			assertTrue(deque instanceof IntArrayDeque);
+			ArrayDeque<Integer> expected=new ArrayDeque<Integer>();
+			Random random=new Random(7);
+			for(int i=0; i<5000; i++){
+				int op=random.nextInt(4);
+				if(op==0){
+					deque.addFirst(i);
+					expected.addFirst(i);
+				}
+				else if(op==1){
+					deque.addLast(i);
+					expected.addLast(i);
+				}
+				else if(!expected.isEmpty()){
+					if(op==2){
+						assertEquals((int)expected.removeFirst(), deque.removeFirst());
+					}
+					else{
+						assertEquals((int)expected.removeLast(), deque.removeLast());
+					}
+				}
+				assertEquals(expected.size(), deque.size());
+			}
+			int[] array=new int[expected.size()];
+			int pos=0;
+			for(Integer value:expected){
+				array[pos++]=value;
+			}
+			assertArrayEquals(array, deque.toArray());
+			assertArrayEquals(array, pds.getInt(array).toArray());
+		}
+	}
+}
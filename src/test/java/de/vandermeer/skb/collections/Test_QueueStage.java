@@ -0,0 +1,221 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import de.vandermeer.skb.base.Skb_Transformer;
+import de.vandermeer.skb.collections.concurrent.MpmcRingBuffer;
+import de.vandermeer.skb.collections.concurrent.QueueStage;
+import de.vandermeer.skb.collections.concurrent.SpscRingBuffer;
+
+/**
+ * Tests for queue processing stages.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public class Test_QueueStage {
+
+	private static final Skb_Transformer<Integer, String> TO_STRING=new Skb_Transformer<Integer, String>(){
+		@Override public String transform(Integer i){
+			return Integer.toString(i);
+		}
+	};
+
+	@Test public void testSingleWorker(){
+		Queue<Integer> source=new SpscRingBuffer<>(64);
+		QueueStage<Integer, String> stage=CollectionTools.TRANSFORM_STAGE(source, TO_STRING, String.class, RingBufferStrategy.SPSC_RING_BUFFER, 16, 1, 8);
+		@SuppressWarnings("unchecked")
+		Queue<String> target=(Queue<String>)stage.getTarget();
+		int count=10000;
+		int next=0;
+		List<String> received=new ArrayList<>();
+		while(received.size()<count){
+			if(next<count && source.offer(next)){
+				next++;
+			}
+			String s=target.poll();
+			if(s!=null){
+				received.add(s);
+			}
+			else{
+				Thread.yield();
+			}
+		}
+		stage.close();
+		assertFalse(stage.isRunning());
+		for(int i=0; i<count; i++){
+			assertEquals(Integer.toString(i), received.get(i));
+		}
+		assertEquals(count, stage.getItems());
+		assertTrue(stage.getBatches()>0 && stage.getBatches()<=count);
+		assertTrue(stage.getMaxBatchSize()<=8);
+		assertTrue(stage.getAverageBatchSize()>=1);
+		assertTrue(stage.getThroughput()>0);
+		assertEquals(0, stage.getDropped());
+	}
+
+	@Test public void testWorkers() throws InterruptedException{
+		int count=20000;
+		List<Queue<Integer>> sources=new ArrayList<>();
+		sources.add(new LinkedBlockingQueue<Integer>());
+		sources.add(new ConcurrentLinkedQueue<Integer>());
+		sources.add(new MpmcRingBuffer<Integer>(count));
+		for(int i=0; i<count; i++){
+			sources.get(i%3).offer(i);
+		}
+		//small bounded target so that workers wait for the consumer
+		LinkedBlockingQueue<String> target=new LinkedBlockingQueue<>(32);
+		QueueStage<Integer, String> stage=new QueueStage<Integer, String>(sources, TO_STRING, target, 3, 16, null).start();
+		Set<String> received=new HashSet<>();
+		while(received.size()<count){
+			String s=target.poll(10, TimeUnit.SECONDS);
+			assertTrue(s!=null);
+			assertTrue(received.add(s));
+		}
+		stage.close();
+		assertTrue(stage.awaitTermination(1, TimeUnit.SECONDS));
+		for(int i=0; i<count; i++){
+			assertTrue(received.contains(Integer.toString(i)));
+		}
+		assertEquals(count, stage.getItems());
+		assertTrue(stage.getBackpressureWaits()>0);
+	}
+
+	@Test public void testRingBufferBackpressure(){
+		Queue<Integer> source=new ArrayDeque<>(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9));
+		Queue<String> target=new MpmcRingBuffer<>(4);
+		QueueStage<Integer, String> stage=new QueueStage<Integer, String>(Collections.singletonList(source), TO_STRING, target, 1, 10, null).start();
+		List<String> received=new ArrayList<>();
+		while(received.size()<10){
+			if(target.size()==4 || stage.getItems()==10){
+				received.add(target.poll());
+			}
+			else{
+				Thread.yield();
+			}
+		}
+		stage.close();
+		assertEquals(Arrays.asList("0", "1", "2", "3", "4", "5", "6", "7", "8", "9"), received);
+		assertEquals(1, stage.getBatches());
+		assertEquals(10, stage.getMaxBatchSize());
+		assertTrue(stage.getBackpressureWaits()>0);
+	}
+
+	@Test public void testFailure(){
+		Skb_Transformer<Integer, String> odd=new Skb_Transformer<Integer, String>(){
+			@Override public String transform(Integer i){
+				if(i%2==0){
+					throw new IllegalStateException("even: " + i);
+				}
+				return Integer.toString(i);
+			}
+		};
+		Queue<Integer> source=new ConcurrentLinkedQueue<>(Arrays.asList(1, 2, 3, 4, 5));
+		Queue<String> target=new ConcurrentLinkedQueue<>();
+		QueueStage<Integer, String> stage=new QueueStage<Integer, String>(source, odd, target);
+		assertNull(stage.getLastFailure());
+		assertEquals(0, stage.getThroughput(), 0);
+		stage.start();
+		while(stage.getItems() + stage.getDropped()<5){
+			Thread.yield();
+		}
+		stage.close();
+		assertEquals(Arrays.asList("1", "3", "5"), new ArrayList<>(target));
+		assertEquals(2, stage.getDropped());
+		assertTrue(stage.getLastFailure() instanceof IllegalStateException);
+	}
+
+	@Test public void testNullAndTargetFailure(){
+		Skb_Transformer<Integer, String> nonNull=new Skb_Transformer<Integer, String>(){
+			@Override public String transform(Integer i){
+				return (i%3==0)?null:Integer.toString(i);
+			}
+		};
+		Queue<Integer> source=new ConcurrentLinkedQueue<>(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8));
+		Queue<String> target=new LinkedBlockingQueue<String>(){
+			private static final long serialVersionUID=1L;
+			@Override public boolean offer(String s){
+				if("4".equals(s)){
+					throw new IllegalArgumentException("rejected: " + s);
+				}
+				return super.offer(s);
+			}
+		};
+		QueueStage<Integer, String> stage=new QueueStage<Integer, String>(source, nonNull, target).start();
+		while(stage.getItems() + stage.getDropped()<8){
+			Thread.yield();
+		}
+		//the worker survives the failed offer
+		assertTrue(stage.isRunning());
+		source.offer(10);
+		while(stage.getItems()<6){
+			Thread.yield();
+		}
+		stage.close();
+		assertEquals(Arrays.asList("1", "2", "5", "7", "8", "10"), new ArrayList<>(target));
+		assertEquals(3, stage.getDropped());
+		assertTrue(stage.getLastFailure() instanceof IllegalArgumentException);
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testStrategyNotConcurrent(){
+		CollectionTools.TRANSFORM_STAGE(new ConcurrentLinkedQueue<Integer>(), TO_STRING, String.class, QueueStrategy.ARRAY_DEQUE, 0, 1, 16);
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testStrategySingleProducer(){
+		CollectionTools.TRANSFORM_STAGE(new ConcurrentLinkedQueue<Integer>(), TO_STRING, String.class, RingBufferStrategy.SPSC_RING_BUFFER, 16, 2, 16);
+	}
+
+	@Test(expected=IllegalStateException.class)
+	public void testStartTwice(){
+		QueueStage<Integer, String> stage=new QueueStage<Integer, String>(new ArrayDeque<Integer>(), TO_STRING, new ArrayDeque<String>());
+		try{
+			stage.start().start();
+		}
+		finally{
+			stage.close();
+		}
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testSingleConsumerSource(){
+		new QueueStage<Integer, String>(Collections.singletonList(new SpscRingBuffer<Integer>(16)), TO_STRING, new ConcurrentLinkedQueue<String>(), 2, 16, null);
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testBatchSize(){
+		new QueueStage<Integer, String>(Collections.singletonList(new ArrayDeque<Integer>()), TO_STRING, new ArrayDeque<String>(), 1, 0, null);
+	}
+}
@@ -0,0 +1,99 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.SynchronousQueue;
+
+import org.junit.Test;
+
+
+/**
+ * Tests for queue strategies.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public class Test_QueueStrategy {
+
+	@Test public void test(){
+		for(QueueStrategy qs:QueueStrategy.values()){
+			this.testOp(qs);
+		}
+	}
+
+	@Test public void testIsConcurrent(){
+		for(QueueStrategy qs:QueueStrategy.values()){
+			Queue<Integer> queue=qs.get(Integer.class);
+			assertEquals(qs.toString(), queue.getClass().getPackage().getName().equals("java.util.concurrent"), qs.isConcurrent());
+		}
+	}
+
+	@Test public void testIsConcurrentDefault(){
+		//an implementation written before isConcurrent was added
+		IsQueueStrategy external=new IsQueueStrategy(){
+			@Override public boolean isList(){return false;}
+			@Override public boolean isSet(){return false;}
+			@Override public boolean isQueue(){return true;}
+			@Override public <T> Queue<T> get(Collection<T> collection){return new LinkedList<T>(collection);}
+			@Override public <T> Queue<T> get(Class<T> T){return new LinkedList<T>();}
+		};
+		assertFalse(external.isConcurrent());
+		assertTrue(external.get(Integer.class, 100) instanceof LinkedList);
+	}
+
+	@Test public void testExpectedSizeNoBound(){
+		//the expected size is a sizing hint, no queue rejects elements beyond it
+		for(QueueStrategy qs:QueueStrategy.values()){
+			if(qs==QueueStrategy.SYNCHRONOUS_QUEUE){
+				continue;
+			}
+			Queue<Integer> sized=qs.get(Integer.class, 16);
+			Queue<Integer> unsized=qs.get(Integer.class);
+			for(int i=0; i<5000; i++){
+				assertTrue(qs.toString(), sized.offer(i));
+				assertTrue(qs.toString(), unsized.offer(i));
+			}
+			assertEquals(5000, sized.size());
+			assertEquals(5000, unsized.size());
+		}
+	}
+
+	private void testOp(QueueStrategy qs){
+		Queue<Integer> queue=qs.get(Integer.class, 16);
+		if(qs==QueueStrategy.SYNCHRONOUS_QUEUE){
+			assertTrue(queue instanceof SynchronousQueue);
+			//no consumer waiting
+			assertFalse(queue.offer(1));
+			return;
+		}
+		for(int i=0; i<10; i++){
+			assertTrue(queue.offer(i));
+		}
+		assertEquals(10, queue.size());
+		for(int i=0; i<10; i++){
+			assertEquals(Integer.valueOf(i), queue.poll());
+		}
+		assertNull(queue.poll());
+		assertTrue(queue.isEmpty());
+	}
+}
@@ -0,0 +1,209 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import de.vandermeer.skb.collections.concurrent.MpmcRingBuffer;
+import de.vandermeer.skb.collections.concurrent.MpscRingBuffer;
+import de.vandermeer.skb.collections.concurrent.RingBuffer;
+import de.vandermeer.skb.collections.concurrent.SpscRingBuffer;
+
+/**
+ * Tests for ring buffer strategies.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public class Test_RingBufferStrategy {
+
+	@Test public void test(){
+		for(RingBufferStrategy rbs:RingBufferStrategy.values()){
+			RingBuffer<Integer> queue=rbs.get(Integer.class, 16);
+			switch(rbs){
+				case SPSC_RING_BUFFER:
+					assertTrue(queue instanceof SpscRingBuffer);
+					assertFalse(rbs.isMultiProducer());
+					assertFalse(rbs.isMultiConsumer());
+					break;
+				case MPSC_RING_BUFFER:
+					assertTrue(queue instanceof MpscRingBuffer);
+					assertTrue(rbs.isMultiProducer());
+					assertFalse(rbs.isMultiConsumer());
+					break;
+				case MPMC_RING_BUFFER:
+				case DEFAULT:
+				default:
+					assertTrue(queue instanceof MpmcRingBuffer);
+					assertTrue(rbs.isMultiProducer());
+					assertTrue(rbs.isMultiConsumer());
+					break;
+			}
+			for(int i=0; i<10; i++){
+				assertTrue(queue.offer(i));
+			}
+			assertEquals(10, queue.size());
+			for(int i=0; i<10; i++){
+				assertEquals(Integer.valueOf(i), queue.poll());
+			}
+			assertNull(queue.poll());
+			assertTrue(queue.isEmpty());
+		}
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testCollectionExceedsCapacity(){
+		RingBufferStrategy.MPMC_RING_BUFFER.get(Arrays.asList(1, 2, 3), 2);
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testCapacity(){
+		RingBufferStrategy.SPSC_RING_BUFFER.get(Integer.class, 0);
+	}
+
+	@Test public void testRingBuffers(){
+		for(RingBufferStrategy rbs:RingBufferStrategy.values()){
+			RingBuffer<Integer> queue=rbs.get(Integer.class, 5);
+			assertEquals(8, queue.capacity());
+			for(int round=0; round<3; round++){
+				for(int i=0; i<8; i++){
+					assertTrue(queue.offer(i));
+				}
+				assertFalse(queue.offer(8));
+				assertEquals(8, queue.size());
+				assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7), new ArrayList<>(queue));
+				assertEquals(Integer.valueOf(0), queue.peek());
+				assertEquals(Integer.valueOf(0), queue.poll());
+
+				List<Integer> drained=new ArrayList<>();
+				assertEquals(3, queue.drain(drained::add, 3));
+				assertEquals(Arrays.asList(1, 2, 3), drained);
+
+				AtomicInteger next=new AtomicInteger(100);
+				assertEquals(4, queue.fill(next::getAndIncrement, 10));
+				assertEquals(8, queue.size());
+				drained.clear();
+				assertEquals(8, queue.drain(drained::add, 100));
+				assertEquals(Arrays.asList(4, 5, 6, 7, 100, 101, 102, 103), drained);
+				assertNull(queue.poll());
+				assertTrue(queue.isEmpty());
+			}
+			List<Integer> many=new ArrayList<>();
+			for(int i=0; i<2000; i++){
+				many.add(i);
+			}
+			RingBuffer<Integer> filled=rbs.get(many, 2000);
+			assertEquals(2000, filled.size());
+			assertEquals(2048, filled.capacity());
+			assertEquals(Integer.valueOf(0), filled.peek());
+		}
+	}
+
+	@Test public void testFillFailure(){
+		for(RingBuffer<Integer> queue:Arrays.<RingBuffer<Integer>>asList(new SpscRingBuffer<>(8), new MpscRingBuffer<>(8), new MpmcRingBuffer<>(8))){
+			AtomicInteger next=new AtomicInteger();
+			try{
+				queue.fill(() -> next.get()<3?next.getAndIncrement():null, 8);
+				assertTrue(false);
+			}
+			catch(NullPointerException ex){
+				//expected, the supplied elements remain and the rest is skipped
+			}
+			assertEquals(Integer.valueOf(0), queue.poll());
+			assertEquals(Integer.valueOf(1), queue.poll());
+			assertEquals(Integer.valueOf(2), queue.poll());
+			assertNull(queue.poll());
+			assertTrue(queue.offer(3));
+			assertEquals(Integer.valueOf(3), queue.poll());
+		}
+	}
+
+	@Test public void testConcurrent() throws InterruptedException{
+		this.produceConsume(new SpscRingBuffer<Long>(64), 1, 1);
+		this.produceConsume(new MpscRingBuffer<Long>(64), 4, 1);
+		this.produceConsume(new MpmcRingBuffer<Long>(64), 4, 4);
+	}
+
+	private void produceConsume(RingBuffer<Long> queue, int producers, int consumers) throws InterruptedException{
+		int count=100000;
+		AtomicLong sum=new AtomicLong();
+		AtomicInteger consumed=new AtomicInteger();
+		List<Thread> threads=new ArrayList<>();
+		for(int t=0; t<producers; t++){
+			int producer=t;
+			threads.add(new Thread(() -> {
+				for(long i=0; i<count; ){
+					int added=0;
+					if(i%3==0){
+						long[] k={i};
+						added=queue.fill(() -> k[0]++ * producers + producer, (int)Math.min(16, count - i));
+					}
+					else if(queue.offer(i * producers + producer)){
+						added=1;
+					}
+					if(added==0){
+						//full, let the consumers run on machines with few cores
+						Thread.yield();
+					}
+					i+=added;
+				}
+			}));
+		}
+		for(int t=0; t<consumers; t++){
+			threads.add(new Thread(() -> {
+				long[] last=new long[producers];
+				Arrays.fill(last, -1);
+				while(consumed.get()<count * producers){
+					Long e=queue.poll();
+					if(e==null){
+						int drained=queue.drain(v -> sum.addAndGet(v), 8);
+						if(drained==0){
+							Thread.yield();
+						}
+						consumed.addAndGet(drained);
+						continue;
+					}
+					if(consumers==1){
+						//elements of a producer arrive in order
+						assertTrue(e>last[(int)(e % producers)]);
+						last[(int)(e % producers)]=e;
+					}
+					sum.addAndGet(e);
+					consumed.incrementAndGet();
+				}
+			}));
+		}
+		for(Thread thread : threads){
+			thread.start();
+		}
+		for(Thread thread : threads){
+			thread.join();
+		}
+		long n=(long)count * producers;
+		assertEquals(n * (n - 1) / 2, sum.get());
+		assertTrue(queue.isEmpty());
+	}
+}
@@ -16,16 +16,31 @@
 package de.vandermeer.skb.collections;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 
 import org.junit.Test;
 
 import de.vandermeer.skb.collections.SetStrategy;
+import de.vandermeer.skb.collections.adaptive.AdaptiveSet;
+import de.vandermeer.skb.collections.concurrent.ConcurrentLinkedSet;
+import de.vandermeer.skb.collections.concurrent.StripedSet;
+import de.vandermeer.skb.collections.immutable.ImmutableHashSet;
+import de.vandermeer.skb.collections.immutable.ImmutableSortedSet;
 
 /**
  * Tests for set strategy.
@@ -40,6 +55,149 @@ public class Test_SetStrategy {
 		}
 	}
 
+	@Test public void testAuto(){
+		AdaptiveSet<Integer> set=(AdaptiveSet<Integer>)SetStrategy.AUTO.get(Integer.class);
+		for(int i=0; i<100000; i++){
+			set.add(i);
+		}
+		for(int i=100; i<100000; i++){
+			set.remove(i);
+		}
+		assertEquals(SetStrategy.HASH_SET, set.getStrategy());
+
+		//iterating the few remaining elements of a large table favours a linked hash set
+		for(int k=0; k<200; k++){
+			int count=0;
+			for(Integer i : set){
+				assertNotNull(i);
+				count++;
+			}
+			assertEquals(100, count);
+		}
+		assertEquals(SetStrategy.LINKED_HASH_SET, set.getStrategy());
+		assertEquals(100, set.size());
+		assertTrue(set.contains(99));
+	}
+
+	@Test public void testConcurrent() throws InterruptedException {
+		for(SetStrategy strategy : new SetStrategy[]{SetStrategy.CONCURRENT_HASH_SET, SetStrategy.STRIPED_HASH_SET, SetStrategy.CONCURRENT_LINKED_HASH_SET}){
+			final Set<Integer> set=strategy.get(Integer.class, 1000);
+			Thread[] threads=new Thread[4];
+			for(int t=0; t<threads.length; t++){
+				threads[t]=new Thread(){
+					@Override
+					public void run(){
+						//all threads add the same elements, every second one is removed again
+						for(int i=0; i<20000; i++){
+							set.add(i);
+							if((i & 1)==1){
+								set.remove(i);
+							}
+						}
+					}
+				};
+				threads[t].start();
+			}
+			for(Thread thread : threads){
+				thread.join();
+			}
+			assertEquals(strategy.name(), 10000, set.size());
+			int count=0;
+			for(Integer i : set){
+				assertEquals(0, i & 1);
+				count++;
+			}
+			assertEquals(10000, count);
+		}
+	}
+
+	@Test public void testConcurrentLinkedOrder(){
+		Set<String> set=SetStrategy.CONCURRENT_LINKED_HASH_SET.get(Arrays.asList("c", "a", "b"));
+		set.remove("a");
+		set.add("a");
+		set.add("c");
+		Iterator<String> it=set.iterator();
+		assertEquals("c", it.next());
+		assertEquals("b", it.next());
+		it.remove();
+		assertEquals("a", it.next());
+		assertFalse(it.hasNext());
+		assertEquals(2, set.size());
+		assertFalse(set.contains("b"));
+	}
+
+	@Test public void testImmutable(){
+		Set<Integer> in=new HashSet<Integer>();
+		for(int i=0; i<10000; i++){
+			in.add(i * 7);
+		}
+		Set<Integer> set=SetStrategy.IMMUTABLE.get(in);
+		assertEquals(in, set);
+		assertEquals(in.hashCode(), set.hashCode());
+		for(int i=0; i<70000; i++){
+			assertEquals(in.contains(i), set.contains(i));
+		}
+		assertFalse(set.contains(null));
+		assertEquals(3, SetStrategy.IMMUTABLE.get(Arrays.asList(1, 2, 2, 3, 1)).size());
+		assertTrue(SetStrategy.IMMUTABLE.get(Integer.class, 10).isEmpty());
+		assertFalse(SetStrategy.IMMUTABLE.get(Integer.class).contains(1));
+		try{
+			set.add(1);
+			assertTrue("immutable set accepted an element", false);
+		}
+		catch(UnsupportedOperationException ignore){}
+	}
+
+	@Test public void testSorted(){
+		List<String> in=Arrays.asList("b", "c", "a");
+		Comparator<String> reverse=Comparator.<String>reverseOrder();
+
+		//CONCURRENT_SKIP_LIST_SET must not fall through to TREE_SET
+		assertTrue(SortedSetStrategy.CONCURRENT_SKIP_LIST_SET.get(String.class) instanceof ConcurrentSkipListSet);
+		assertTrue(SortedSetStrategy.CONCURRENT_SKIP_LIST_SET.get(String.class, reverse) instanceof ConcurrentSkipListSet);
+		assertTrue(SortedSetStrategy.TREE_SET.get(String.class) instanceof TreeSet);
+		assertTrue(SortedSetStrategy.TREE_SET.get(String.class, reverse) instanceof TreeSet);
+
+		for(SortedSetStrategy ss : new SortedSetStrategy[]{SortedSetStrategy.DEFAULT, SortedSetStrategy.TREE_SET, SortedSetStrategy.CONCURRENT_SKIP_LIST_SET}){
+			//null collections give empty sets
+			assertTrue(ss.get((List<String>)null).isEmpty());
+			assertTrue(ss.get((List<String>)null, reverse).isEmpty());
+
+			//the comparator is used when copying a collection
+			SortedSet<String> set=ss.get(in, reverse);
+			assertEquals(Arrays.asList("c", "b", "a"), new ArrayList<>(set));
+			assertEquals(reverse, set.comparator());
+			assertEquals(Arrays.asList("a", "b", "c"), new ArrayList<>(ss.get(in)));
+		}
+	}
+
+	@Test public void testImmutableSorted(){
+		List<String> in=Arrays.asList("delta", "alpha", "echo", "charlie", "bravo", "alpha");
+		SortedSet<String> set=SortedSetStrategy.IMMUTABLE.get(in);
+		assertTrue(set instanceof ImmutableSortedSet);
+		assertEquals(new TreeSet<String>(in), set);
+		assertEquals(new ArrayList<String>(new TreeSet<String>(in)), new ArrayList<String>(set));
+		assertEquals("alpha", set.first());
+		assertEquals("echo", set.last());
+		assertTrue(set.contains("charlie"));
+		assertFalse(set.contains("foxtrot"));
+		assertEquals(Arrays.asList("bravo", "charlie"), new ArrayList<String>(set.subSet("b", "d")));
+		assertEquals(Arrays.asList("alpha", "bravo"), new ArrayList<String>(set.headSet("c")));
+		assertEquals(Arrays.asList("delta", "echo"), new ArrayList<String>(set.tailSet("d")));
+		assertEquals(Arrays.asList("charlie"), new ArrayList<String>(set.tailSet("c").headSet("d")));
+		assertFalse(set.tailSet("c").contains("alpha"));
+
+		SortedSet<String> reversed=SortedSetStrategy.IMMUTABLE.get(in, Comparator.<String>reverseOrder());
+		assertEquals("echo", reversed.first());
+		assertEquals(Arrays.asList("delta", "charlie"), new ArrayList<String>(reversed.subSet("e", "c")));
+		assertTrue(SortedSetStrategy.IMMUTABLE.get(String.class).isEmpty());
+		try{
+			set.add("golf");
+			assertTrue("immutable sorted set accepted an element", false);
+		}
+		catch(UnsupportedOperationException ignore){}
+	}
+
 	private void testOp(SetStrategy strategy){
 		Set<String> stringsIn=new HashSet<String>();
 		stringsIn.add("three");
@@ -83,6 +241,36 @@ public class Test_SetStrategy {
 //				assertTrue(intSimple instanceof TreeSet);
 //				assertTrue(intMore instanceof TreeSet);
 //				break;
+			case AUTO:
+				assertTrue(strSimple instanceof AdaptiveSet);
+				assertTrue(strMore instanceof AdaptiveSet);
+				assertTrue(intSimple instanceof AdaptiveSet);
+				assertTrue(intMore instanceof AdaptiveSet);
+				break;
+			case CONCURRENT_HASH_SET:
+				assertTrue(strSimple instanceof ConcurrentHashMap.KeySetView);
+				assertTrue(strMore instanceof ConcurrentHashMap.KeySetView);
+				assertTrue(intSimple instanceof ConcurrentHashMap.KeySetView);
+				assertTrue(intMore instanceof ConcurrentHashMap.KeySetView);
+				break;
+			case STRIPED_HASH_SET:
+				assertTrue(strSimple instanceof StripedSet);
+				assertTrue(strMore instanceof StripedSet);
+				assertTrue(intSimple instanceof StripedSet);
+				assertTrue(intMore instanceof StripedSet);
+				break;
+			case CONCURRENT_LINKED_HASH_SET:
+				assertTrue(strSimple instanceof ConcurrentLinkedSet);
+				assertTrue(strMore instanceof ConcurrentLinkedSet);
+				assertTrue(intSimple instanceof ConcurrentLinkedSet);
+				assertTrue(intMore instanceof ConcurrentLinkedSet);
+				break;
+			case IMMUTABLE:
+				assertTrue(strSimple instanceof ImmutableHashSet);
+				assertTrue(strMore instanceof ImmutableHashSet);
+				assertTrue(intSimple instanceof ImmutableHashSet);
+				assertTrue(intMore instanceof ImmutableHashSet);
+				break;
 			default:
 				assertTrue("test does not (yet) support this set type <"+strategy+">", false);
 		}
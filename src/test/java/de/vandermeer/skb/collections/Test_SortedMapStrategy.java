@@ -0,0 +1,238 @@
+/* Copyright 2014 Sven van der Meer <vdmeer.sven@mykolab.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.vandermeer.skb.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.junit.Test;
+
+import de.vandermeer.skb.collections.sorted.BTreeMap;
+
+/**
+ * Tests for sorted map strategies.
+ *
+ * @author     Sven van der Meer &lt;vdmeer.sven@mykolab.com&gt;
+ * @version    v0.0.4-SNAPSHOT build 150618 (18-Jun-15) for Java 1.8
+ */
+public class Test_SortedMapStrategy {
+
+	@Test public void test(){
+		for(SortedMapStrategy sms:SortedMapStrategy.values()){
+			this.testOp(sms);
+		}
+	}
+
+	@Test public void testInheritedComparable(){
+		//LocalDate is Comparable<ChronoLocalDate>, not Comparable<LocalDate>
+		for(SortedMapStrategy sms:SortedMapStrategy.values()){
+			NavigableMap<LocalDate, String> map=sms.get(LocalDate.class, String.class);
+			map.put(LocalDate.of(2015, 6, 18), "b");
+			map.put(LocalDate.of(2015, 1, 1), "a");
+			assertEquals(LocalDate.of(2015, 1, 1), map.firstKey());
+
+			NavigableMap<LocalDate, String> copy=sms.get(map);
+			assertEquals("b", copy.lastEntry().getValue());
+		}
+	}
+
+	@Test public void testRangeQueries(){
+		for(SortedMapStrategy sms:SortedMapStrategy.values()){
+			NavigableMap<Long, String> map=sms.get(Long.class, String.class);
+			for(long time=0; time<10000; time+=10){
+				map.put(time, "e" + time);
+			}
+			assertEquals(Long.valueOf(1230), map.floorKey(1234L));
+			assertEquals(Long.valueOf(1240), map.ceilingKey(1234L));
+			assertEquals(Long.valueOf(1220), map.lowerKey(1230L));
+			assertEquals(Long.valueOf(1240), map.higherKey(1230L));
+			assertNull(map.lowerKey(0L));
+			assertNull(map.higherKey(9990L));
+
+			NavigableMap<Long, String> range=map.subMap(1000L, true, 2000L, false);
+			assertEquals(100, range.size());
+			assertEquals(Long.valueOf(1000), range.firstKey());
+			assertEquals(Long.valueOf(1990), range.lastKey());
+			assertEquals("e1500", range.get(1500L));
+			assertNull(range.get(2000L));
+			assertEquals(Long.valueOf(1990), range.descendingMap().firstKey());
+			assertEquals(Long.valueOf(1990), range.floorKey(5000L));
+		}
+	}
+
+	@Test public void testComparator(){
+		for(SortedMapStrategy sms:SortedMapStrategy.values()){
+			NavigableMap<String, Integer> map=sms.get(String.class, Integer.class, String.CASE_INSENSITIVE_ORDER);
+			map.put("b", 2);
+			map.put("A", 1);
+			map.put("B", 3);
+			assertEquals(2, map.size());
+			assertEquals("A", map.firstKey());
+			assertEquals(Integer.valueOf(3), map.get("b"));
+
+			TreeMap<Integer, Integer> input=new TreeMap<>();
+			for(int i=0; i<100; i++){
+				input.put(i, i);
+			}
+			NavigableMap<Integer, Integer> reversed=sms.get(input, Collections.reverseOrder());
+			assertEquals(Integer.valueOf(99), reversed.firstKey());
+			assertEquals(Integer.valueOf(50), reversed.ceilingKey(50));
+			assertEquals(Integer.valueOf(49), reversed.higherKey(50));
+		}
+	}
+
+	@Test public void testBTreeAgainstTreeMap(){
+		Random random=new Random(42);
+		NavigableMap<Integer, Integer> expected=new TreeMap<>();
+		NavigableMap<Integer, Integer> actual=SortedMapStrategy.B_TREE_MAP.get(Integer.class, Integer.class);
+		for(int round=0; round<3; round++){
+			//grow to several levels of inner nodes, then shrink again
+			for(int i=0; i<50000; i++){
+				int key=random.nextInt(100000);
+				assertEquals(expected.put(key, i), actual.put(key, i));
+			}
+			this.compare(expected, actual, random);
+			for(int i=0; i<60000; i++){
+				int key=random.nextInt(100000);
+				assertEquals(expected.remove(key), actual.remove(key));
+			}
+			this.compare(expected, actual, random);
+		}
+
+		//removal through iterators of the map and of a descending range
+		Iterator<Integer> it=actual.keySet().iterator();
+		Iterator<Integer> eit=expected.keySet().iterator();
+		while(it.hasNext()){
+			assertEquals(eit.next(), it.next());
+			if(random.nextBoolean()){
+				it.remove();
+				eit.remove();
+			}
+		}
+		this.compare(expected, actual, random);
+		it=actual.descendingMap().subMap(80000, false, 20000, true).keySet().iterator();
+		eit=expected.descendingMap().subMap(80000, false, 20000, true).keySet().iterator();
+		while(it.hasNext()){
+			assertEquals(eit.next(), it.next());
+			it.remove();
+			eit.remove();
+		}
+		assertFalse(eit.hasNext());
+		this.compare(expected, actual, random);
+
+		actual.clear();
+		assertTrue(actual.isEmpty());
+		assertNull(actual.firstEntry());
+		assertNull(actual.floorKey(1));
+	}
+
+	private void compare(NavigableMap<Integer, Integer> expected, NavigableMap<Integer, Integer> actual, Random random){
+		assertEquals(expected.size(), actual.size());
+		assertEquals(expected, actual);
+		assertEquals(new ArrayList<>(expected.descendingKeySet()), new ArrayList<>(actual.descendingKeySet()));
+		assertEquals(expected.firstEntry(), actual.firstEntry());
+		assertEquals(expected.lastEntry(), actual.lastEntry());
+		for(int i=0; i<1000; i++){
+			int key=random.nextInt(100002) - 1;
+			assertEquals(expected.floorEntry(key), actual.floorEntry(key));
+			assertEquals(expected.ceilingEntry(key), actual.ceilingEntry(key));
+			assertEquals(expected.lowerKey(key), actual.lowerKey(key));
+			assertEquals(expected.higherKey(key), actual.higherKey(key));
+		}
+		for(int i=0; i<20; i++){
+			int from=random.nextInt(100000);
+			int to=from + 2 + random.nextInt(5000);
+			int mid=(from + to) / 2;
+			boolean fromInclusive=random.nextBoolean();
+			boolean toInclusive=random.nextBoolean();
+			NavigableMap<Integer, Integer> e=expected.subMap(from, fromInclusive, to, toInclusive);
+			NavigableMap<Integer, Integer> a=actual.subMap(from, fromInclusive, to, toInclusive);
+			assertEquals(e.size(), a.size());
+			assertEquals(new ArrayList<>(e.entrySet()), new ArrayList<>(a.entrySet()));
+			assertEquals(new ArrayList<>(e.descendingMap().entrySet()), new ArrayList<>(a.descendingMap().entrySet()));
+			assertEquals(e.headMap(mid, true), a.headMap(mid, true));
+			assertEquals(e.descendingMap().tailMap(mid, false), a.descendingMap().tailMap(mid, false));
+			int key=from + random.nextInt(6000) - 500;
+			assertEquals(e.floorKey(key), a.floorKey(key));
+			assertEquals(e.descendingMap().ceilingKey(key), a.descendingMap().ceilingKey(key));
+		}
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testBTreeRangePut(){
+		NavigableMap<Integer, Integer> map=SortedMapStrategy.B_TREE_MAP.get(Integer.class, Integer.class);
+		map.headMap(10, false).put(10, 10);
+	}
+
+	@Test(expected=NullPointerException.class)
+	public void testBTreeNullKey(){
+		SortedMapStrategy.B_TREE_MAP.get(Integer.class, Integer.class).put(null, 1);
+	}
+
+	private void testOp(SortedMapStrategy sms){
+		NavigableMap<Integer, String> map=sms.get(Integer.class, String.class);
+		switch(sms){
+			case CONCURRENT_SKIP_LIST_MAP:
+				assertTrue(map instanceof ConcurrentSkipListMap);
+				assertTrue(sms.isConcurrent());
+				break;
+			case B_TREE_MAP:
+				assertTrue(map instanceof BTreeMap);
+				assertFalse(sms.isConcurrent());
+				break;
+			case TREE_MAP:
+			case DEFAULT:
+				assertTrue(map instanceof TreeMap);
+				assertFalse(sms.isConcurrent());
+				break;
+		}
+
+		List<Integer> keys=new ArrayList<>();
+		for(int i=0; i<1000; i++){
+			keys.add(i);
+		}
+		Collections.shuffle(keys, new Random(1));
+		for(Integer key : keys){
+			map.put(key, "v" + key);
+		}
+		assertEquals(1000, map.size());
+		int expected=0;
+		for(Entry<Integer, String> entry : map.entrySet()){
+			assertEquals(Integer.valueOf(expected), entry.getKey());
+			assertEquals("v" + expected, entry.getValue());
+			expected++;
+		}
+		assertEquals(Integer.valueOf(0), map.pollFirstEntry().getKey());
+		assertEquals(Integer.valueOf(999), map.pollLastEntry().getKey());
+		assertEquals(998, map.size());
+
+		NavigableMap<Integer, String> copy=sms.get(map);
+		assertEquals(map, copy);
+		assertEquals(sms.get(Integer.class, String.class), sms.get(null));
+	}
+}
@@ -14,9 +14,15 @@
  */
 package de.vandermeer.skb.collections;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -55,4 +61,74 @@ public class Test_ToString {
 		s=CollectionTools.MAP_TO_TEXT(m);
 		System.out.println(s);
 	}
+
+	@Test public void testFormat(){
+		String nl=System.lineSeparator();
+		List<Object> l=new ArrayList<Object>();
+		l.add("one");
+		l.add(null);
+		l.add("two\nlines");
+		l.add(Arrays.asList("a", "b"));
+		assertEquals("    - one" + nl + "    - two" + nl + "    lines" + nl + "    - ab", CollectionTools.COLLECTION_TO_TEXT(l));
+		assertEquals("", CollectionTools.COLLECTION_TO_TEXT((List<?>)null));
+
+		Map<String, Object> m=new LinkedHashMap<String, Object>();
+		m.put("eins", "one");
+		m.put("null", null);
+		m.put("multi", "a\nb");
+		assertEquals("    - eins ==> [String one]" + nl + "    - multi ==> [String " + nl + "        a" + nl + "    b]", CollectionTools.MAP_TO_TEXT(m));
+	}
+
+	@Test public void testAppendable() throws IOException {
+		StringWriter w=new StringWriter();
+		assertTrue(w==CollectionTools.COLLECTION_TO_TEXT(Arrays.asList(1, 2), w));
+		assertEquals(CollectionTools.COLLECTION_TO_TEXT(Arrays.asList(1, 2)), w.toString());
+
+		Map<String, Integer> m=new LinkedHashMap<String, Integer>();
+		m.put("one", 1);
+		StringBuilder sb=new StringBuilder(">");
+		CollectionTools.MAP_TO_TEXT(m, sb);
+		assertEquals(">    - one ==> [Integer 1]", sb.toString());
+	}
+
+	@Test public void testLog(){
+		String nl=System.lineSeparator();
+		List<Integer> big=new ArrayList<Integer>();
+		for(int i=0; i<5000000; i++){
+			big.add(i);
+		}
+		LogText log=CollectionTools.COLLECTION_TO_LOG(big);
+		String s=log.toString();
+		assertTrue(s.startsWith("    - 0" + nl + "    - 1" + nl));
+		assertTrue(s.endsWith("    - 9" + nl + "    ... 4,999,990 more"));
+
+		assertEquals("    - 0" + nl + "    ...", CollectionTools.COLLECTION_TO_LOG(big, 10, 2, 7 + nl.length() + 4).toString());
+
+		List<Object> nested=new ArrayList<Object>();
+		nested.add(Arrays.asList(1, Arrays.asList(2, Arrays.asList(3, 4)), 5, 6));
+		assertEquals("    - [1, [2, [2 elements]], ... 2 more]", CollectionTools.COLLECTION_TO_LOG(nested, 2, 2, 1000).toString());
+
+		Map<String, Object> m=new LinkedHashMap<String, Object>();
+		m.put("list", big);
+		m.put("one", 1);
+		m.put("two", 2);
+		assertEquals("    - list ==> [ArrayList [0, 1, ... 4,999,998 more]]" + nl + "    - one ==> [Integer 1]" + nl + "    ... 1 more", CollectionTools.MAP_TO_LOG(m, 2, 2, 1000).toString());
+	}
+
+	@Test public void testLogSkippedNulls(){
+		String nl=System.lineSeparator();
+		//null elements and null map values are not rendered, but counted as omitted since the count is taken from the size
+		assertEquals("    - 1" + nl + "    ... 5 more", CollectionTools.COLLECTION_TO_LOG(Arrays.asList(1, null, 2, null, 3, null), 1, 2, 1000).toString());
+
+		Map<String, Object> m=new LinkedHashMap<String, Object>();
+		m.put("a", 1);
+		m.put("b", null);
+		m.put("c", 2);
+		m.put("d", null);
+		assertEquals("    - a ==> [Integer 1]" + nl + "    ... 3 more", CollectionTools.MAP_TO_LOG(m, 1, 2, 1000).toString());
+	}
+
+	@Test(expected=IllegalArgumentException.class) public void testLogNegativeLimit(){
+		CollectionTools.MAP_TO_LOG(new HashMap<String, Object>(), -1, 1, 1);
+	}
 }